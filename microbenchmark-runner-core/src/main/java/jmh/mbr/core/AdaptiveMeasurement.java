@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Defaults;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+/**
+ * Adaptive measurement that keeps measuring benchmarks until their relative score error falls below
+ * {@link BenchmarkConfiguration#getAdaptiveTargetError() the target error} or the number of measurement iterations
+ * reaches {@link BenchmarkConfiguration#getAdaptiveMaxIterations() the maximum}. The initial run measures half of the
+ * configured iterations per fork, but at least {@link #MIN_INITIAL_ITERATIONS}, so that the target error rather than
+ * the configured iteration count determines how long a benchmark is measured. JMH runs a fixed number of iterations per fork, so additional iterations
+ * are measured through follow-up runs of the individual benchmark, each measuring up to the configured number of
+ * iterations per fork. Each follow-up run forks new JVMs that warm up again. All rounds of a benchmark are merged into
+ * a single {@link RunResult}.
+ */
+public class AdaptiveMeasurement {
+
+	/**
+	 * Lower bound of measurement iterations per fork of the initial run, the fewest iterations to determine a score error
+	 * from.
+	 */
+	public static final int MIN_INITIAL_ITERATIONS = 3;
+
+	private final double targetError;
+	private final int maxIterations;
+	private final int iterationsPerRun;
+	private final Map<String, Measurement> measurements = new ConcurrentHashMap<>();
+
+	AdaptiveMeasurement(double targetError, int maxIterations, int iterationsPerRun) {
+		this.targetError = targetError;
+		this.maxIterations = maxIterations;
+		this.iterationsPerRun = iterationsPerRun;
+	}
+
+	/**
+	 * Create a {@link AdaptiveMeasurement} if {@link BenchmarkConfiguration#getAdaptiveTargetError()} is configured.
+	 *
+	 * @param configuration the benchmark configuration.
+	 * @return the {@link AdaptiveMeasurement} or {@literal null} if adaptive measurement is not enabled.
+	 */
+	public static AdaptiveMeasurement create(BenchmarkConfiguration configuration) {
+
+		if (configuration.getAdaptiveTargetError() <= 0) {
+			return null;
+		}
+
+		return new AdaptiveMeasurement(configuration.getAdaptiveTargetError(), configuration
+				.getAdaptiveMaxIterations(), getConfiguredIterations(configuration.getMeasurementIterations()));
+	}
+
+	/**
+	 * Return the number of measurement iterations per fork for the initial run of benchmarks that do not declare
+	 * measurement iterations.
+	 *
+	 * @param measurementIterations the configured measurement iterations, {@literal 0} if not configured.
+	 * @return half of the configured (or JMH's default) measurement iterations, at least
+	 *         {@link #MIN_INITIAL_ITERATIONS} unless fewer iterations are configured.
+	 */
+	public static int getInitialIterations(int measurementIterations) {
+
+		int configured = getConfiguredIterations(measurementIterations);
+
+		return Math.min(configured, Math.max(MIN_INITIAL_ITERATIONS, configured / 2));
+	}
+
+	private static int getConfiguredIterations(int measurementIterations) {
+		return measurementIterations > 0 ? measurementIterations : Defaults.MEASUREMENT_ITERATIONS;
+	}
+
+	/**
+	 * @param params the benchmark.
+	 * @return {@literal true} if results for {@code params} were recorded already.
+	 */
+	public boolean contains(BenchmarkParams params) {
+		return measurements.containsKey(getKey(params));
+	}
+
+	/**
+	 * Record a {@link BenchmarkResult} of a measurement round.
+	 *
+	 * @param result the aggregated result of the round.
+	 * @return {@literal true} if the benchmark is complete, {@literal false} if it requires additional iterations.
+	 */
+	public boolean record(BenchmarkResult result) {
+
+		Measurement measurement = measurements.computeIfAbsent(getKey(result.getParams()), it -> new Measurement(result
+				.getParams()));
+
+		synchronized (measurement) {
+
+			measurement.results.add(result);
+
+			Result<?> primary = measurement.toRunResult().getAggregatedResult().getPrimaryResult();
+
+			// statistics count samples rather than iterations, e.g. for SampleTime
+			int iterations = 0;
+			for (BenchmarkResult round : measurement.results) {
+				iterations += round.getIterationResults().size();
+			}
+
+			measurement.iterations = iterations;
+			measurement.complete = getRelativeError(primary) <= targetError || iterations >= maxIterations;
+
+			return measurement.complete;
+		}
+	}
+
+	/**
+	 * Mark the benchmark of {@code run} as complete, typically because a follow-up run did not produce results.
+	 *
+	 * @param run the follow-up run.
+	 */
+	public void complete(FollowUpRun run) {
+
+		Measurement measurement = measurements.get(getKey(run.params));
+
+		if (measurement != null) {
+			measurement.complete = true;
+		}
+	}
+
+	/**
+	 * @return follow-up runs for benchmarks that require additional iterations.
+	 */
+	public List<FollowUpRun> getFollowUpRuns() {
+
+		List<FollowUpRun> runs = new ArrayList<>();
+
+		for (Measurement measurement : measurements.values()) {
+
+			synchronized (measurement) {
+
+				if (!measurement.complete) {
+
+					// each fork measures up to the configured number of iterations, the initial run may have measured fewer
+					int forks = Math.max(1, measurement.params.getForks());
+					int remaining = (maxIterations - measurement.iterations + forks - 1) / forks;
+					int perRun = Math.max(iterationsPerRun, measurement.params.getMeasurement().getCount());
+					int iterations = Math.min(perRun, remaining);
+
+					runs.add(new FollowUpRun(measurement.params, Math.max(1, iterations)));
+				}
+			}
+		}
+
+		return runs;
+	}
+
+	/**
+	 * @param params the benchmark.
+	 * @return the merged {@link RunResult} of the benchmark or {@literal null} if no results were recorded.
+	 */
+	public RunResult getResult(BenchmarkParams params) {
+
+		Measurement measurement = measurements.get(getKey(params));
+
+		if (measurement == null) {
+			return null;
+		}
+
+		synchronized (measurement) {
+			return measurement.toRunResult();
+		}
+	}
+
+	/**
+	 * @return the merged {@link RunResult}s of all recorded benchmarks.
+	 */
+	public Collection<RunResult> getResults() {
+
+		List<RunResult> results = new ArrayList<>();
+
+		for (Measurement measurement : measurements.values()) {
+			synchronized (measurement) {
+				results.add(measurement.toRunResult());
+			}
+		}
+
+		return results;
+	}
+
+	/**
+	 * Return the relative score error of {@link Result}. Returns {@link Double#POSITIVE_INFINITY} if the error cannot be
+	 * determined, e.g. for less than three samples.
+	 */
+	static double getRelativeError(Result<?> result) {
+
+		double score = Math.abs(result.getScore());
+		double error = result.getScoreError();
+
+		if (Double.isNaN(error) || score == 0) {
+			return Double.POSITIVE_INFINITY;
+		}
+
+		return error / score;
+	}
+
+	private static String getKey(BenchmarkParams params) {
+
+		StringBuilder key = new StringBuilder(params.getBenchmark()).append('|').append(params.getMode());
+
+		for (String paramKey : params.getParamsKeys()) {
+			key.append('|').append(paramKey).append('=').append(params.getParam(paramKey));
+		}
+
+		// benchmarks run with different JVM flag sets or JDKs are measured separately
+		key.append('|').append(params.getJvm()).append('|').append(params.getJvmArgs());
+
+		return key.toString();
+	}
+
+	/**
+	 * Follow-up run measuring a single benchmark with a specific parameter combination.
+	 */
+	public static class FollowUpRun {
+
+		private final BenchmarkParams params;
+		private final int iterations;
+
+		FollowUpRun(BenchmarkParams params, int iterations) {
+			this.params = params;
+			this.iterations = iterations;
+		}
+
+		public BenchmarkParams getParams() {
+			return params;
+		}
+
+		public int getIterations() {
+			return iterations;
+		}
+
+		/**
+		 * Apply options to run only this benchmark with its parameter values and the remaining iterations. Remaining
+		 * options, such as JVM arguments, are expected to be created the same way as for the initial run so that
+		 * results of both runs are merged.
+		 *
+		 * @param optionsBuilder must not be {@literal null}.
+		 * @return {@link ChainedOptionsBuilder} with options applied.
+		 * @see JmhSupport#jvmFlagSet(ChainedOptionsBuilder, BenchmarkOverrides, BenchmarkParams)
+		 */
+		public ChainedOptionsBuilder apply(ChainedOptionsBuilder optionsBuilder) {
+
+			optionsBuilder.include(Pattern.quote(params.getBenchmark()) + "$")
+					.mode(params.getMode())
+					.measurementIterations(iterations);
+
+			for (String paramKey : params.getParamsKeys()) {
+				optionsBuilder.param(paramKey, params.getParam(paramKey));
+			}
+
+			return optionsBuilder;
+		}
+	}
+
+	private static class Measurement {
+
+		private final BenchmarkParams params;
+		private final List<BenchmarkResult> results = new ArrayList<>();
+		private volatile int iterations;
+		private volatile boolean complete;
+
+		Measurement(BenchmarkParams params) {
+			this.params = params;
+		}
+
+		RunResult toRunResult() {
+			return new RunResult(params, results);
+		}
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jmh.mbr.core.model.BenchmarkResults;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * Asynchronous publishing stage for {@link ResultsWriter}s. Publish tasks are queued in a bounded queue holding
+ * {@link #QUEUE_CAPACITY_PER_THREAD} tasks per worker thread and processed by a worker pool. Writes never run on the
+ * submitting benchmark thread. If the queue is full, the submitting thread waits up to {@link #SATURATION_TIMEOUT} for
+ * space to become available. Tasks that still do not fit are dropped and reported. Failed writes are retried with
+ * exponential backoff. Runners {@link #flush(Duration) flush} pending tasks at the end of a run. Tasks that are still
+ * pending when the JVM shuts down get a short grace period only.
+ */
+class AsyncResultsPublisher {
+
+	static final Duration FLUSH_TIMEOUT = Duration.ofMinutes(5);
+
+	static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+	static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+
+	static final Duration SATURATION_TIMEOUT = Duration.ofSeconds(10);
+
+	static final int QUEUE_CAPACITY_PER_THREAD = 16;
+
+	private static AsyncResultsPublisher instance;
+
+	private final int threads;
+	private final ThreadPoolExecutor executor;
+	private final AtomicInteger pending = new AtomicInteger();
+
+	AsyncResultsPublisher(int threads) {
+		this(threads, Math.max(1, threads) * QUEUE_CAPACITY_PER_THREAD, SATURATION_TIMEOUT);
+	}
+
+	AsyncResultsPublisher(int threads, int capacity, Duration saturationTimeout) {
+
+		AtomicInteger counter = new AtomicInteger();
+
+		this.threads = Math.max(1, threads);
+		this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(capacity), runnable -> {
+
+			Thread thread = new Thread(runnable, "mbr-publisher-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}, waitForCapacity(saturationTimeout));
+	}
+
+	/**
+	 * Saturation policy that blocks the submitting thread until the queue has space or {@code timeout} has elapsed.
+	 *
+	 * @param timeout maximum time to wait for queue capacity.
+	 * @return the {@link RejectedExecutionHandler}.
+	 */
+	private static RejectedExecutionHandler waitForCapacity(Duration timeout) {
+
+		return (task, executor) -> {
+
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("Publishing was shut down");
+			}
+
+			try {
+				if (!executor.getQueue().offer(task, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+					throw new RejectedExecutionException(
+							String.format("Publishing queue remained full for %s", timeout));
+				}
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting for the publishing queue", e);
+			}
+		};
+	}
+
+	/**
+	 * Obtain the shared {@link AsyncResultsPublisher}. The first invocation determines the number of worker threads and
+	 * registers a shutdown hook that completes pending tasks on a best-effort basis. Requests for a different number of
+	 * worker threads are reported and use the existing worker pool.
+	 *
+	 * @param threads number of worker threads.
+	 * @return the shared {@link AsyncResultsPublisher}.
+	 */
+	static synchronized AsyncResultsPublisher getInstance(int threads) {
+
+		if (instance == null) {
+
+			AsyncResultsPublisher publisher = new AsyncResultsPublisher(threads);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> publisher.shutdown(SHUTDOWN_TIMEOUT),
+					"mbr-publisher-shutdown"));
+			instance = publisher;
+		}
+		else if (instance.threads != Math.max(1, threads)) {
+			System.err.println(String.format(
+					"Benchmark results publishing already uses %d threads, ignoring request for %d threads.",
+					instance.threads, threads));
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Publish {@link BenchmarkResults} asynchronously. Waits up to {@link #SATURATION_TIMEOUT} if the queue is full and
+	 * drops the results if the queue remains full.
+	 *
+	 * @param writer the {@link ResultsWriter} to write to.
+	 * @param uri the writer URI for error reporting.
+	 * @param output the {@link OutputFormat} to report failures to.
+	 * @param results the results to write.
+	 * @param retries number of retries after a failed attempt.
+	 */
+	void publish(ResultsWriter writer, String uri, OutputFormat output, BenchmarkResults results, int retries) {
+
+		pending.incrementAndGet();
+
+		try {
+			executor.execute(() -> {
+
+				try {
+					write(writer, uri, output, results, retries);
+				}
+				finally {
+					pending.decrementAndGet();
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+
+			// never write results on the submitting benchmark thread
+			pending.decrementAndGet();
+			System.err.println(String.format("Cannot save benchmark results to '%s'. %s.", uri, e.getMessage()));
+		}
+	}
+
+	static void write(ResultsWriter writer, String uri, OutputFormat output, BenchmarkResults results, int retries) {
+
+		long backoff = INITIAL_BACKOFF.toMillis();
+
+		for (int attempt = 0; ; attempt++) {
+
+			try {
+				writer.write(output, results);
+				return;
+			}
+			catch (Exception e) {
+
+				if (attempt >= retries) {
+					System.err.println(String
+							.format("Cannot save benchmark results to '%s' after %d attempts. Error was %s.", uri,
+									attempt + 1, e));
+					e.printStackTrace();
+					return;
+				}
+			}
+
+			try {
+				Thread.sleep(backoff);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+
+			backoff *= 2;
+		}
+	}
+
+	/**
+	 * Wait until all pending tasks are processed.
+	 *
+	 * @param timeout maximum time to wait.
+	 * @return {@literal true} if all tasks were processed.
+	 */
+	boolean flush(Duration timeout) {
+
+		long deadline = System.nanoTime() + timeout.toNanos();
+
+		while (pending.get() > 0) {
+
+			if (System.nanoTime() > deadline) {
+				return false;
+			}
+
+			try {
+				Thread.sleep(10);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	void shutdown(Duration timeout) {
+
+		executor.shutdown();
+
+		try {
+			if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+				System.err.println(String
+						.format("Benchmark results publishing did not complete within %s, %d tasks pending.", timeout,
+								pending.get()));
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -26,6 +26,9 @@ public interface BenchmarkConfigProperties {
 	ConfigProperty<String> PROJECT = new ConfigProperty<>(null, PREFIX + "project");
 	ConfigProperty<String> VERSION = new ConfigProperty<>(null, PREFIX + "project.version");
 	ConfigProperty<String> PUBLISH_URI = new ConfigProperty<>(null, PREFIX + "report.publishTo");
+	ConfigProperty<Boolean> PUBLISH_ASYNC = new ConfigProperty<>(false, PREFIX + "report.publishAsync");
+	ConfigProperty<Integer> PUBLISH_THREADS = new ConfigProperty<>(2, PREFIX + "report.publishThreads");
+	ConfigProperty<Integer> PUBLISH_RETRIES = new ConfigProperty<>(3, PREFIX + "report.publishRetries");
 	ConfigProperty<String> BENCHMARK_REPORT_DIR = new ConfigProperty<>(null, PREFIX + "report.dir");
 
 	ConfigProperty<Integer> WARMUP_ITERATIONS = new ConfigProperty<>(-1, PREFIX + "warmup.iterations", "wi");
@@ -42,6 +45,35 @@ public interface BenchmarkConfigProperties {
 
 	ConfigProperty<Integer> FORKS = new ConfigProperty<>(-1, PREFIX + "forks", "f");
 
+	ConfigProperty<Integer> PARALLELISM = new ConfigProperty<>(1, PREFIX + "parallelism");
+
+	ConfigProperty<Double> ADAPTIVE_TARGET_ERROR = new ConfigProperty<>(0.0, PREFIX + "adaptive.targetError");
+	ConfigProperty<Integer> ADAPTIVE_MAX_ITERATIONS = new ConfigProperty<>(50, PREFIX + "adaptive.maxIterations");
+
+	ConfigProperty<Boolean> DAEMON = new ConfigProperty<>(false, PREFIX + "daemon");
+
+	ConfigProperty<String> INCREMENTAL_CACHE_DIR = new ConfigProperty<>(null, PREFIX + "incremental.cacheDir");
+
+	ConfigProperty<String> BASELINE = new ConfigProperty<>(null, PREFIX + "baseline");
+	ConfigProperty<Double> BASELINE_THRESHOLD = new ConfigProperty<>(0.1, PREFIX + "baseline.threshold");
+	ConfigProperty<Double> BASELINE_CONFIDENCE = new ConfigProperty<>(0.99, PREFIX + "baseline.confidence");
+
+	ConfigProperty<String> SAMPLING_STRATEGY = new ConfigProperty<>("exhaustive", PREFIX + "sampling.strategy");
+	ConfigProperty<Integer> SAMPLING_SAMPLES = new ConfigProperty<>(10, PREFIX + "sampling.samples");
+	ConfigProperty<Long> SAMPLING_SEED = new ConfigProperty<>(42L, PREFIX + "sampling.seed");
+
+	ConfigProperty<Boolean> DISCOVERY_PARALLEL = new ConfigProperty<>(false, PREFIX + "discovery.parallel");
+
+	ConfigProperty<String> METRICS_URI = new ConfigProperty<>(null, PREFIX + "metrics.uri");
+
+	ConfigProperty<String> PROFILERS = new ConfigProperty<>(null, PREFIX + "profilers");
+	ConfigProperty<Boolean> JFR = new ConfigProperty<>(false, PREFIX + "jfr");
+
+	ConfigProperty<Boolean> ANNOTATION_OVERRIDES = new ConfigProperty<>(false, PREFIX + "annotationOverrides");
+
+	ConfigProperty<String> JVM_FLAG_SETS = new ConfigProperty<>(null, PREFIX + "jvmFlagSets");
+	ConfigProperty<String> JVMS = new ConfigProperty<>(null, PREFIX + "jvms");
+
 	/**
 	 * Return a {@link Iterator} over all {@link ConfigProperty properties}.
 	 *
@@ -58,7 +90,7 @@ public interface BenchmarkConfigProperties {
 	 */
 	static List<ConfigProperty<?>> asList() {
 		return Arrays
-				.asList(ENABLED, PROJECT, VERSION, PUBLISH_URI, BENCHMARK_REPORT_DIR, WARMUP_ITERATIONS, WARMUP_BATCH_SIZE, WARMUP_TIME, WARMUP_MODE, MEASUREMENT_ITERATIONS, MEASUREMENT_TIME, MEASUREMENT_BATCH_SIZE, MODE, TIMEOUT, FORKS);
+				.asList(ENABLED, PROJECT, VERSION, PUBLISH_URI, PUBLISH_ASYNC, PUBLISH_THREADS, PUBLISH_RETRIES, BENCHMARK_REPORT_DIR, WARMUP_ITERATIONS, WARMUP_BATCH_SIZE, WARMUP_TIME, WARMUP_MODE, MEASUREMENT_ITERATIONS, MEASUREMENT_TIME, MEASUREMENT_BATCH_SIZE, MODE, TIMEOUT, FORKS, PARALLELISM, ADAPTIVE_TARGET_ERROR, ADAPTIVE_MAX_ITERATIONS, DAEMON, INCREMENTAL_CACHE_DIR, BASELINE, BASELINE_THRESHOLD, BASELINE_CONFIDENCE, SAMPLING_STRATEGY, SAMPLING_SAMPLES, SAMPLING_SEED, DISCOVERY_PARALLEL, METRICS_URI, PROFILERS, JFR, ANNOTATION_OVERRIDES, JVM_FLAG_SETS, JVMS);
 	}
 
 	class ConfigProperty<T> {
@@ -12,6 +12,7 @@ package jmh.mbr.core;
 import java.time.Duration;
 import java.util.Map;
 
+import jmh.mbr.core.model.ParameterSampling;
 import org.openjdk.jmh.annotations.Mode;
 
 /**
@@ -41,6 +42,37 @@ public interface BenchmarkConfiguration {
 		return null;
 	}
 
+	/**
+	 * Read {@code report.publishAsync} property from {@link jmh.mbr.core.Environment}. Publishes results through a
+	 * queue and a worker pool instead of on the runner thread.
+	 *
+	 * @return false if not set.
+	 */
+	default boolean isPublishAsync() {
+		return false;
+	}
+
+	/**
+	 * Read {@code report.publishThreads} property from {@link jmh.mbr.core.Environment}. The worker pool is shared
+	 * within the JVM, the first run publishing asynchronously determines its size. The publishing queue holds 16 results
+	 * per worker thread, benchmark threads wait up to 10 seconds for space in a full queue and drop results afterwards.
+	 *
+	 * @return 2 if not set.
+	 */
+	default int getPublishThreads() {
+		return 2;
+	}
+
+	/**
+	 * Read {@code report.publishRetries} property from {@link jmh.mbr.core.Environment}. Number of retries for
+	 * asynchronous publishing if a {@link ResultsWriter} fails.
+	 *
+	 * @return 3 if not set.
+	 */
+	default int getPublishRetries() {
+		return 3;
+	}
+
 	/**
 	 * Read {@code warmupIterations} property from {@link jmh.mbr.core.Environment}.
 	 *
@@ -73,6 +105,207 @@ public interface BenchmarkConfiguration {
 	 */
 	int getForksCount();
 
+	/**
+	 * Read {@code parallelism} property from {@link jmh.mbr.core.Environment}. Values greater than one partition the
+	 * benchmarks into groups that run concurrently, each group limited to its share of the available processors.
+	 * Requires the JVM to be started with {@code -Djmh.ignoreLock=true}, benchmarks run in a single group otherwise.
+	 *
+	 * @return 1 if not set.
+	 */
+	default int getParallelism() {
+		return 1;
+	}
+
+	/**
+	 * Read {@code adaptive.targetError} property from {@link jmh.mbr.core.Environment}. Relative score error (score
+	 * error divided by score) below which a benchmark is considered converged. The initial run measures half of the
+	 * configured iterations per fork (at least {@link AdaptiveMeasurement#MIN_INITIAL_ITERATIONS}), benchmarks exceeding
+	 * the target error are measured with additional iterations.
+	 *
+	 * @return 0 (adaptive measurement disabled) if not set.
+	 */
+	default double getAdaptiveTargetError() {
+		return 0;
+	}
+
+	/**
+	 * Read {@code adaptive.maxIterations} property from {@link jmh.mbr.core.Environment}. Upper bound of measurement
+	 * iterations (across all forks) for adaptive measurement.
+	 *
+	 * @return 50 if not set.
+	 */
+	default int getAdaptiveMaxIterations() {
+		return 50;
+	}
+
+	/**
+	 * Read {@code daemon} property from {@link jmh.mbr.core.Environment}. Runs benchmarks in a long-lived worker JVM
+	 * that keeps benchmark classes loaded and compiled across runs. Benchmarks requiring a forked JVM (JVM arguments, a
+	 * specific JDK or the {@code jfr} profiler) run in forked JVMs instead.
+	 *
+	 * @return false if not set.
+	 */
+	default boolean isDaemon() {
+		return false;
+	}
+
+	/**
+	 * Read {@code incremental.cacheDir} property from {@link jmh.mbr.core.Environment}. Enables incremental execution
+	 * reusing cached results of benchmarks whose bytecode and configuration did not change.
+	 *
+	 * @return {@literal null} if not set.
+	 */
+	default String getIncrementalCacheDirectory() {
+		return null;
+	}
+
+	/**
+	 * Read {@code baseline} property from {@link jmh.mbr.core.Environment}. Location of baseline results to compare
+	 * benchmark results against: a JSON report file, a directory containing JSON reports or a URI supported by a
+	 * {@link jmh.mbr.core.baseline.BaselineFactory}.
+	 *
+	 * @return {@literal null} (regression gate disabled) if not set.
+	 */
+	default String getBaseline() {
+		return null;
+	}
+
+	/**
+	 * Read {@code baseline.threshold} property from {@link jmh.mbr.core.Environment}. Relative change of the score
+	 * compared to the baseline that is considered a regression.
+	 *
+	 * @return 0.1 if not set.
+	 */
+	default double getBaselineThreshold() {
+		return 0.1;
+	}
+
+	/**
+	 * Read {@code baseline.confidence} property from {@link jmh.mbr.core.Environment}. Confidence level at which a
+	 * score change must be statistically significant to be considered a regression.
+	 *
+	 * @return 0.99 if not set.
+	 */
+	default double getBaselineConfidence() {
+		return 0.99;
+	}
+
+	/**
+	 * Read {@code sampling.strategy} property from {@link jmh.mbr.core.Environment}. Strategy to select
+	 * {@link org.openjdk.jmh.annotations.Param} combinations: {@code exhaustive}, {@code random},
+	 * {@code latin-hypercube} or {@code pairwise}.
+	 *
+	 * @return {@code exhaustive} if not set.
+	 * @see jmh.mbr.core.model.ParameterSampling
+	 */
+	default String getSamplingStrategy() {
+		return "exhaustive";
+	}
+
+	/**
+	 * Read {@code sampling.samples} property from {@link jmh.mbr.core.Environment}. Number of parameter combinations to
+	 * select per benchmark for {@code random} and {@code latin-hypercube} sampling.
+	 *
+	 * @return 10 if not set.
+	 */
+	default int getSamplingSamples() {
+		return 10;
+	}
+
+	/**
+	 * Read {@code sampling.seed} property from {@link jmh.mbr.core.Environment}. Random seed for {@code random} and
+	 * {@code latin-hypercube} sampling.
+	 *
+	 * @return 42 if not set.
+	 */
+	default long getSamplingSeed() {
+		return 42;
+	}
+
+	/**
+	 * Create the {@link ParameterSampling} for {@link #getSamplingStrategy()}.
+	 *
+	 * @return the {@link ParameterSampling}.
+	 * @throws IllegalArgumentException if the strategy is unknown.
+	 */
+	default ParameterSampling getParameterSampling() {
+		return ParameterSampling.create(getSamplingStrategy(), getSamplingSamples(), getSamplingSeed());
+	}
+
+	/**
+	 * Read {@code discovery.parallel} property from {@link jmh.mbr.core.Environment}. Whether benchmark classes found
+	 * by classpath, package or module scanning are resolved in parallel.
+	 *
+	 * @return {@literal false} if not set.
+	 */
+	default boolean isParallelDiscovery() {
+		return false;
+	}
+
+	/**
+	 * Read {@code metrics.uri} property from {@link jmh.mbr.core.Environment}. Where to expose live metrics of running
+	 * benchmarks, either {@code http://host:port/path} or {@code file:path}.
+	 *
+	 * @return {@literal null} if not set.
+	 */
+	default String getMetricsUri() {
+		return null;
+	}
+
+	/**
+	 * Read {@code profilers} property from {@link jmh.mbr.core.Environment}. Comma-separated list of JMH profilers to
+	 * attach to benchmark runs, optionally with profiler options (e.g. {@code gc,stack:lines=5}).
+	 *
+	 * @return {@literal null} if not set.
+	 */
+	default String getProfilers() {
+		return null;
+	}
+
+	/**
+	 * Read {@code jfr} property from {@link jmh.mbr.core.Environment}. Whether to record benchmarks with Java Flight
+	 * Recorder.
+	 *
+	 * @return {@literal false} if not set.
+	 */
+	default boolean isJfr() {
+		return false;
+	}
+
+	/**
+	 * Read {@code annotationOverrides} property from {@link jmh.mbr.core.Environment}. Whether forks, iterations, mode
+	 * and timeout declared through JMH annotations on a benchmark method or class take precedence over configured
+	 * settings.
+	 *
+	 * @return {@literal false} if not set.
+	 * @see BenchmarkOverrides
+	 */
+	default boolean isAnnotationOverrides() {
+		return false;
+	}
+
+	/**
+	 * Read {@code jvmFlagSets} property from {@link jmh.mbr.core.Environment}. Sets of JVM flags separated by {@code |}
+	 * to run each benchmark with (e.g. {@code -XX:+UseG1GC | -XX:+UseZGC | -XX:+UseParallelGC}).
+	 *
+	 * @return {@literal null} if not set.
+	 * @see jmh.mbr.core.model.JvmFlagSet
+	 */
+	default String getJvmFlagSets() {
+		return null;
+	}
+
+	/**
+	 * Read {@code jvms} property from {@link jmh.mbr.core.Environment}. JDK home directories (or {@code java}
+	 * executables) separated by {@code |} to run each benchmark with (e.g. {@code /opt/jdk-17 | /opt/jdk-21}).
+	 *
+	 * @return {@literal null} if not set.
+	 * @see jmh.mbr.core.model.JvmFlagSet
+	 */
+	default String getJvms() {
+		return null;
+	}
+
 	/**
 	 * Read {@code benchmarkReportDir} property from {@link jmh.mbr.core.Environment}.
 	 *
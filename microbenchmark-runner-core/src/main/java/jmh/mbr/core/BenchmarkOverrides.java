@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+
+/**
+ * Settings that a benchmark method or its class declares through JMH annotations ({@link Fork}, {@link Warmup},
+ * {@link Measurement}, {@link BenchmarkMode} and {@link Timeout}). JMH options take precedence over annotations for
+ * all benchmarks of a {@link Runner} invocation, so benchmarks declaring different settings are
+ * {@link #group(List, Function) grouped} into separate invocations that leave declared settings to the annotations.
+ * JVM arguments such as heap size or garbage collector are declared through {@link Fork#jvmArgsAppend()}.
+ *
+ * @see BenchmarkConfiguration#isAnnotationOverrides()
+ */
+public class BenchmarkOverrides {
+
+	private static final BenchmarkOverrides NONE = new BenchmarkOverrides(EnumSet.noneOf(Setting.class),
+			Collections.emptyList(), Collections.emptyList());
+
+	private final Set<Setting> declared;
+	private final List<String> jvmArgsPrepend;
+	private final List<String> jvmArgsAppend;
+
+	private BenchmarkOverrides(Set<Setting> declared, List<String> jvmArgsPrepend, List<String> jvmArgsAppend) {
+		this.declared = declared;
+		this.jvmArgsPrepend = jvmArgsPrepend;
+		this.jvmArgsAppend = jvmArgsAppend;
+	}
+
+	/**
+	 * @return {@link BenchmarkOverrides} that do not declare any setting.
+	 */
+	public static BenchmarkOverrides none() {
+		return NONE;
+	}
+
+	/**
+	 * Resolve only JVM arguments declared through {@link Fork#jvmArgsPrepend()} and {@link Fork#jvmArgsAppend()} on the
+	 * benchmark {@link Method} or its class. JMH options that prepend or append JVM arguments replace those of
+	 * annotations, so these must be retained even if other annotation settings are overridden by options.
+	 *
+	 * @param method the benchmark method.
+	 * @return the declared {@link BenchmarkOverrides}.
+	 */
+	public static BenchmarkOverrides jvmArgs(Method method) {
+		return create(EnumSet.noneOf(Setting.class), new AnnotatedElement[] { method, method.getDeclaringClass() });
+	}
+
+	/**
+	 * Resolve settings declared on the benchmark {@link Method} or its class. Settings are resolved per attribute, so a
+	 * method-level {@link Warmup#iterations()} combines with a class-level {@link Warmup#time()}.
+	 *
+	 * @param method the benchmark method.
+	 * @return the declared {@link BenchmarkOverrides}.
+	 */
+	public static BenchmarkOverrides from(Method method) {
+
+		AnnotatedElement[] elements = { method, method.getDeclaringClass() };
+		Set<Setting> declared = EnumSet.noneOf(Setting.class);
+
+		if (isDeclared(elements, Fork.class, it -> it.value() != Fork.BLANK_FORKS)) {
+			declared.add(Setting.FORKS);
+		}
+
+		if (isDeclared(elements, Warmup.class, it -> it.iterations() != Warmup.BLANK_ITERATIONS)) {
+			declared.add(Setting.WARMUP_ITERATIONS);
+		}
+
+		if (isDeclared(elements, Warmup.class, it -> it.time() != Warmup.BLANK_TIME)) {
+			declared.add(Setting.WARMUP_TIME);
+		}
+
+		if (isDeclared(elements, Warmup.class, it -> it.batchSize() != Warmup.BLANK_BATCHSIZE)) {
+			declared.add(Setting.WARMUP_BATCH_SIZE);
+		}
+
+		if (isDeclared(elements, Measurement.class, it -> it.iterations() != Measurement.BLANK_ITERATIONS)) {
+			declared.add(Setting.MEASUREMENT_ITERATIONS);
+		}
+
+		if (isDeclared(elements, Measurement.class, it -> it.time() != Measurement.BLANK_TIME)) {
+			declared.add(Setting.MEASUREMENT_TIME);
+		}
+
+		if (isDeclared(elements, Measurement.class, it -> it.batchSize() != Measurement.BLANK_BATCHSIZE)) {
+			declared.add(Setting.MEASUREMENT_BATCH_SIZE);
+		}
+
+		if (isDeclared(elements, BenchmarkMode.class, it -> true)) {
+			declared.add(Setting.MODE);
+		}
+
+		if (isDeclared(elements, Timeout.class, it -> true)) {
+			declared.add(Setting.TIMEOUT);
+		}
+
+		return create(declared, elements);
+	}
+
+	private static BenchmarkOverrides create(Set<Setting> declared, AnnotatedElement[] elements) {
+
+		List<String> jvmArgsPrepend = getJvmArgs(elements, Fork::jvmArgsPrepend);
+		List<String> jvmArgsAppend = getJvmArgs(elements, Fork::jvmArgsAppend);
+
+		if (declared.isEmpty() && jvmArgsPrepend.isEmpty() && jvmArgsAppend.isEmpty()) {
+			return NONE;
+		}
+
+		return new BenchmarkOverrides(declared, jvmArgsPrepend, jvmArgsAppend);
+	}
+
+	/**
+	 * Group items, such as include patterns or {@link SampledRun}s, by their {@link BenchmarkOverrides}. Groups retain
+	 * the order in which their first item appears.
+	 *
+	 * @param items the items to group.
+	 * @param overrides function resolving the {@link BenchmarkOverrides} of an item.
+	 * @return the grouped items. Never {@literal null}.
+	 */
+	public static <T> Map<BenchmarkOverrides, List<T>> group(List<T> items, Function<T, BenchmarkOverrides> overrides) {
+
+		Map<BenchmarkOverrides, List<T>> groups = new LinkedHashMap<>();
+
+		for (T item : items) {
+			groups.computeIfAbsent(overrides.apply(item), it -> new ArrayList<>()).add(item);
+		}
+
+		return groups;
+	}
+
+	private static <A extends Annotation> boolean isDeclared(AnnotatedElement[] elements, Class<A> annotationType,
+			Predicate<A> declared) {
+
+		for (AnnotatedElement element : elements) {
+
+			A annotation = element.getAnnotation(annotationType);
+			if (annotation != null && declared.test(annotation)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static List<String> getJvmArgs(AnnotatedElement[] elements, Function<Fork, String[]> jvmArgs) {
+
+		for (AnnotatedElement element : elements) {
+
+			Fork fork = element.getAnnotation(Fork.class);
+			if (fork != null && !isBlank(jvmArgs.apply(fork))) {
+				return Collections.unmodifiableList(Arrays.asList(jvmArgs.apply(fork)));
+			}
+		}
+
+		return Collections.emptyList();
+	}
+
+	private static boolean isBlank(String[] args) {
+		return args.length == 1 && Fork.BLANK_ARGS.equals(args[0]);
+	}
+
+	/**
+	 * @param setting the setting to inspect.
+	 * @return {@literal true} if the benchmark declares {@code setting} through an annotation.
+	 */
+	public boolean isDeclared(Setting setting) {
+		return declared.contains(setting);
+	}
+
+	/**
+	 * @return {@literal true} if no setting is declared.
+	 */
+	public boolean isEmpty() {
+		return declared.isEmpty() && jvmArgsPrepend.isEmpty() && jvmArgsAppend.isEmpty();
+	}
+
+	/**
+	 * @return JVM arguments declared through {@link Fork#jvmArgsPrepend()}. JMH options that prepend JVM arguments
+	 * must retain these.
+	 */
+	public List<String> getJvmArgsPrepend() {
+		return jvmArgsPrepend;
+	}
+
+	/**
+	 * @return JVM arguments declared through {@link Fork#jvmArgsAppend()}. JMH options that append JVM arguments must
+	 * retain these.
+	 */
+	public List<String> getJvmArgsAppend() {
+		return jvmArgsAppend;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+
+		if (this == o) {
+			return true;
+		}
+
+		if (!(o instanceof BenchmarkOverrides)) {
+			return false;
+		}
+
+		BenchmarkOverrides that = (BenchmarkOverrides) o;
+		return declared.equals(that.declared) && jvmArgsPrepend.equals(that.jvmArgsPrepend) && jvmArgsAppend
+				.equals(that.jvmArgsAppend);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * declared.hashCode() + jvmArgsPrepend.hashCode()) + jvmArgsAppend.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return declared + " " + jvmArgsPrepend + " " + jvmArgsAppend;
+	}
+
+	/**
+	 * Settings that can be declared through annotations.
+	 */
+	public enum Setting {
+		FORKS, WARMUP_ITERATIONS, WARMUP_TIME, WARMUP_BATCH_SIZE, MEASUREMENT_ITERATIONS, MEASUREMENT_TIME, MEASUREMENT_BATCH_SIZE, MODE, TIMEOUT
+	}
+}
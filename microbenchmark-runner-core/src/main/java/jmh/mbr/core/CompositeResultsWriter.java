@@ -9,6 +9,8 @@
  */
 package jmh.mbr.core;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.List;
 
 import jmh.mbr.core.model.BenchmarkResults;
@@ -17,7 +19,7 @@ import org.openjdk.jmh.runner.format.OutputFormat;
 /**
  * Composite {@link ResultsWriter}.
  */
-class CompositeResultsWriter implements ResultsWriter {
+class CompositeResultsWriter implements ResultsWriter, Closeable {
 
 	private final List<ResultsWriter> writers;
 
@@ -32,6 +34,45 @@ class CompositeResultsWriter implements ResultsWriter {
 		}
 	}
 
+	@Override
+	public boolean isIncremental() {
+		return !writers.isEmpty() && writers.stream().allMatch(ResultsWriter::isIncremental);
+	}
+
+	/**
+	 * Close all writers that hold resources, such as connections.
+	 *
+	 * @throws IOException the first exception raised by a writer. Remaining writers are closed nevertheless.
+	 */
+	@Override
+	public void close() throws IOException {
+
+		IOException failure = null;
+
+		for (ResultsWriter writer : writers) {
+
+			if (!(writer instanceof AutoCloseable)) {
+				continue;
+			}
+
+			try {
+				((AutoCloseable) writer).close();
+			}
+			catch (Exception e) {
+				if (failure == null) {
+					failure = e instanceof IOException ? (IOException) e : new IOException(e);
+				}
+				else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
 	public void add(ResultsWriter writer) {
 		if (writer != null) {
 			this.writers.add(writer);
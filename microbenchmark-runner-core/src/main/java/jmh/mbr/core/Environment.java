@@ -86,10 +86,18 @@ public abstract class Environment {
 			return targetType.cast(Boolean.valueOf(value));
 		}
 
+		if (Integer.class.isAssignableFrom(targetType)) {
+			return targetType.cast(Integer.parseInt(value));
+		}
+
 		if (Long.class.isAssignableFrom(targetType)) {
 			return targetType.cast(Long.parseLong(value));
 		}
 
+		if (Double.class.isAssignableFrom(targetType)) {
+			return targetType.cast(Double.parseDouble(value));
+		}
+
 		if (Duration.class.isAssignableFrom(targetType)) {
 			return targetType.cast(Duration.ofSeconds(Long.parseLong(value)));
 		}
@@ -88,6 +88,116 @@ enum EnvironmentBenchmarkConfiguration implements BenchmarkConfiguration {
 		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.FORKS);
 	}
 
+	/**
+	 * Read {@code parallelism} property from {@link Environment}.
+	 *
+	 * @return 1 if not set.
+	 */
+	@Override
+	public boolean isPublishAsync() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.PUBLISH_ASYNC);
+	}
+
+	@Override
+	public int getPublishThreads() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.PUBLISH_THREADS);
+	}
+
+	@Override
+	public int getPublishRetries() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.PUBLISH_RETRIES);
+	}
+
+	@Override
+	public double getAdaptiveTargetError() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.ADAPTIVE_TARGET_ERROR);
+	}
+
+	@Override
+	public int getAdaptiveMaxIterations() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.ADAPTIVE_MAX_ITERATIONS);
+	}
+
+	@Override
+	public boolean isDaemon() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.DAEMON);
+	}
+
+	@Override
+	public String getIncrementalCacheDirectory() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.INCREMENTAL_CACHE_DIR);
+	}
+
+	@Override
+	public String getBaseline() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.BASELINE);
+	}
+
+	@Override
+	public double getBaselineThreshold() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.BASELINE_THRESHOLD);
+	}
+
+	@Override
+	public double getBaselineConfidence() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.BASELINE_CONFIDENCE);
+	}
+
+	@Override
+	public String getSamplingStrategy() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.SAMPLING_STRATEGY);
+	}
+
+	@Override
+	public int getSamplingSamples() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.SAMPLING_SAMPLES);
+	}
+
+	@Override
+	public long getSamplingSeed() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.SAMPLING_SEED);
+	}
+
+	@Override
+	public boolean isParallelDiscovery() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.DISCOVERY_PARALLEL);
+	}
+
+	@Override
+	public String getMetricsUri() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.METRICS_URI);
+	}
+
+	@Override
+	public String getProfilers() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.PROFILERS);
+	}
+
+	@Override
+	public boolean isJfr() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.JFR);
+	}
+
+	@Override
+	public boolean isAnnotationOverrides() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.ANNOTATION_OVERRIDES);
+	}
+
+	@Override
+	public String getJvmFlagSets() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.JVM_FLAG_SETS);
+	}
+
+	@Override
+	public String getJvms() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.JVMS);
+	}
+
+	@Override
+	public int getParallelism() {
+		return Environment.getPropertyOrDefault(BenchmarkConfigProperties.PARALLELISM);
+	}
+
 	/**
 	 * Read {@code benchmarkReportDir} property from {@link Environment}.
 	 *
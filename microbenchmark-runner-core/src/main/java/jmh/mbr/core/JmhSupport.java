@@ -14,22 +14,53 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Method;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import jmh.mbr.core.BenchmarkOverrides.Setting;
+import jmh.mbr.core.daemon.BenchmarkDaemonClient;
+import jmh.mbr.core.metrics.BenchmarkMetrics;
 import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.core.model.JvmFlagSet;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.BenchmarkList;
+import org.openjdk.jmh.runner.BenchmarkListEntry;
 import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.format.OutputFormatFactory;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
 import org.openjdk.jmh.runner.options.TimeValue;
 import org.openjdk.jmh.runner.options.WarmupMode;
+import org.openjdk.jmh.util.Optional;
 import org.openjdk.jmh.util.UnCloseablePrintStream;
 import org.openjdk.jmh.util.Utils;
 
@@ -38,8 +69,27 @@ import org.openjdk.jmh.util.Utils;
  */
 public class JmhSupport {
 
+	/**
+	 * {@link Runner} guards against concurrent runs with a lock file and reads {@code jmh.ignoreLock} only once when the
+	 * class is initialized. Setting the property at runtime has no effect once any benchmark ran in this JVM, so
+	 * partitions run concurrently only if the property was set upon JVM start.
+	 */
+	private static final boolean LOCK_IGNORED = Boolean.getBoolean("jmh.ignoreLock");
+
+	private static final AtomicBoolean PARALLELISM_WARNED = new AtomicBoolean();
+
 	private final BenchmarkConfiguration jmhOptions;
 
+	/**
+	 * Metrics URIs obtained through {@link #decorate(OutputFormat)} that are released by {@link #flushResults()}.
+	 */
+	private final Queue<String> metricsUris = new ConcurrentLinkedQueue<>();
+
+	/**
+	 * {@link ResultsWriter}s of the current run, resolved on first use and closed by {@link #flushResults()}.
+	 */
+	private Map<String, ResultsWriter> writers;
+
 	public JmhSupport(BenchmarkConfiguration jmhOptions) {
 		this.jmhOptions = jmhOptions;
 	}
@@ -52,9 +102,56 @@ public class JmhSupport {
 	 * @throws Exception the offending exception raised by JMH
 	 */
 	public ChainedOptionsBuilder options(Class<?> jmhTestClass) throws Exception {
+		return options(jmhTestClass, 0, 1);
+	}
+
+	/**
+	 * Collect all options for the {@link Runner} that runs a single partition out of {@code partitions} concurrently
+	 * running partitions. Each partition reports into its own report file.
+	 *
+	 * @param jmhTestClass class under benchmark.
+	 * @param partition zero-based partition index.
+	 * @param partitions total number of partitions.
+	 * @return never {@literal null}.
+	 * @throws Exception the offending exception raised by JMH
+	 * @see #partition(List)
+	 */
+	public ChainedOptionsBuilder options(Class<?> jmhTestClass, int partition, int partitions) throws Exception {
+		return options(jmhTestClass, partitions > 1 ? "_" + partition : "", partitions);
+	}
+
+	/**
+	 * Collect all options for the {@link Runner} that runs within one out of {@code partitions} concurrently running
+	 * partitions and reports into a report file with the given suffix. Used for partitions that invoke the
+	 * {@link Runner} multiple times, such as {@link SampledRun}s.
+	 *
+	 * @param jmhTestClass class under benchmark.
+	 * @param reportSuffix suffix of the report file name.
+	 * @param partitions total number of partitions.
+	 * @return never {@literal null}.
+	 * @throws Exception the offending exception raised by JMH
+	 */
+	public ChainedOptionsBuilder options(Class<?> jmhTestClass, String reportSuffix, int partitions) throws Exception {
+		return options(jmhTestClass, reportSuffix, partitions, BenchmarkOverrides.none());
+	}
+
+	/**
+	 * Collect all options for the {@link Runner} that runs benchmarks declaring {@link BenchmarkOverrides} within one
+	 * out of {@code partitions} concurrently running partitions.
+	 *
+	 * @param jmhTestClass class under benchmark.
+	 * @param reportSuffix suffix of the report file name.
+	 * @param partitions total number of partitions.
+	 * @param overrides settings declared by the benchmarks to run.
+	 * @return never {@literal null}.
+	 * @throws Exception the offending exception raised by JMH
+	 * @see #overrides(Method)
+	 */
+	public ChainedOptionsBuilder options(Class<?> jmhTestClass, String reportSuffix, int partitions,
+			BenchmarkOverrides overrides) throws Exception {
 
-		ChainedOptionsBuilder optionsBuilder = options();
-		return report(optionsBuilder, jmhTestClass);
+		ChainedOptionsBuilder optionsBuilder = cpuSet(options(overrides), partitions, overrides);
+		return report(optionsBuilder, jmhTestClass, reportSuffix);
 	}
 
 	/**
@@ -63,27 +160,52 @@ public class JmhSupport {
 	 * @return never {@literal null}.
 	 */
 	public ChainedOptionsBuilder options() {
+		return options(BenchmarkOverrides.none());
+	}
+
+	/**
+	 * Collect all options for the {@link Runner} that runs benchmarks declaring {@link BenchmarkOverrides}. Settings
+	 * declared by the benchmarks are left to their annotations.
+	 *
+	 * @param overrides settings declared by the benchmarks to run.
+	 * @return never {@literal null}.
+	 */
+	public ChainedOptionsBuilder options(BenchmarkOverrides overrides) {
 
 		ChainedOptionsBuilder optionsBuilder = new OptionsBuilder();
 
-		optionsBuilder = warmup(optionsBuilder);
-		optionsBuilder = measure(optionsBuilder);
-		optionsBuilder = forks(optionsBuilder);
+		optionsBuilder = warmup(optionsBuilder, overrides);
+		optionsBuilder = measure(optionsBuilder, overrides);
+		optionsBuilder = forks(optionsBuilder, overrides);
+		optionsBuilder = profilers(optionsBuilder);
+		optionsBuilder = jfr(optionsBuilder);
 
 		Duration timeout = jmhOptions.getTimeout();
-		if (!timeout.isZero() && !timeout.isNegative()) {
+		if (!timeout.isZero() && !timeout.isNegative() && !overrides.isDeclared(Setting.TIMEOUT)) {
 			optionsBuilder = optionsBuilder
 					.timeout(TimeValue.seconds(timeout.getSeconds()));
 		}
 
 		String mode = jmhOptions.getMode();
-		if (StringUtils.hasText(mode)) {
+		if (StringUtils.hasText(mode) && !overrides.isDeclared(Setting.MODE)) {
 			optionsBuilder = optionsBuilder.mode(Mode.valueOf(mode));
 		}
 
 		return optionsBuilder;
 	}
 
+	/**
+	 * Resolve the {@link BenchmarkOverrides} of a benchmark method. Resolves only
+	 * {@link BenchmarkOverrides#jvmArgs(Method) JVM arguments} unless
+	 * {@link BenchmarkConfiguration#isAnnotationOverrides() annotation overrides} are enabled.
+	 *
+	 * @param method the benchmark method.
+	 * @return never {@literal null}.
+	 */
+	public BenchmarkOverrides overrides(Method method) {
+		return jmhOptions.isAnnotationOverrides() ? BenchmarkOverrides.from(method) : BenchmarkOverrides.jvmArgs(method);
+	}
+
 	/**
 	 * Read {@code benchmarksEnabled} property from {@link jmh.mbr.core.Environment}.
 	 *
@@ -93,14 +215,340 @@ public class JmhSupport {
 		return jmhOptions.isEnabled();
 	}
 
+	/**
+	 * Partition benchmark include patterns into groups that are run concurrently by separate {@link Runner} invocations.
+	 * Returns a single group containing all patterns if {@link BenchmarkConfiguration#getParallelism() parallelism} is
+	 * not greater than one or if the JVM was not started with {@code -Djmh.ignoreLock=true}.
+	 *
+	 * @param includePatterns benchmark include patterns or other units of work, such as {@link SampledRun}s.
+	 * @return the partitioned include patterns. Never {@literal null}.
+	 */
+	public <T> List<List<T>> partition(List<T> includePatterns) {
+		return partition(includePatterns, getParallelism());
+	}
+
+	/**
+	 * Partition {@code includePatterns} round-robin into at most {@code parallelism} groups.
+	 */
+	static <T> List<List<T>> partition(List<T> includePatterns, int parallelism) {
+
+		int partitions = Math.min(parallelism, includePatterns.size());
+
+		List<List<T>> result = new ArrayList<>();
+
+		if (partitions <= 1) {
+			result.add(includePatterns);
+			return result;
+		}
+
+		for (int i = 0; i < partitions; i++) {
+			result.add(new ArrayList<>());
+		}
+
+		for (int i = 0; i < includePatterns.size(); i++) {
+			result.get(i % partitions).add(includePatterns.get(i));
+		}
+
+		return result;
+	}
+
+	/**
+	 * Return the number of concurrently running partitions. Falls back to a single partition if concurrent runs would
+	 * fail on the JMH lock file.
+	 *
+	 * @see BenchmarkConfiguration#getParallelism()
+	 */
+	private int getParallelism() {
+
+		int parallelism = jmhOptions.getParallelism();
+
+		if (parallelism > 1 && !LOCK_IGNORED) {
+
+			if (PARALLELISM_WARNED.compareAndSet(false, true)) {
+				System.err.println(String.format(
+						"Cannot run benchmarks with parallelism %d as JMH allows only one run per JVM. Start the JVM with -Djmh.ignoreLock=true to run benchmarks concurrently.",
+						parallelism));
+			}
+
+			return 1;
+		}
+
+		return parallelism;
+	}
+
+	/**
+	 * Apply CPU set options to {@link ChainedOptionsBuilder} so that forked JVMs of concurrently running partitions do
+	 * not compete for the same processors.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @param partitions total number of partitions.
+	 * @return {@link ChainedOptionsBuilder} with options applied.
+	 */
+	public ChainedOptionsBuilder cpuSet(ChainedOptionsBuilder optionsBuilder, int partitions) {
+		return cpuSet(optionsBuilder, partitions, BenchmarkOverrides.none());
+	}
+
+	/**
+	 * Apply CPU set options to {@link ChainedOptionsBuilder} for benchmarks declaring {@link BenchmarkOverrides}. JVM
+	 * arguments prepended through annotations are retained as the option replaces them.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @param partitions total number of partitions.
+	 * @param overrides settings declared by the benchmarks to run.
+	 * @return {@link ChainedOptionsBuilder} with options applied.
+	 */
+	public ChainedOptionsBuilder cpuSet(ChainedOptionsBuilder optionsBuilder, int partitions,
+			BenchmarkOverrides overrides) {
+
+		if (partitions <= 1) {
+			return optionsBuilder;
+		}
+
+		int processors = Math.max(1, Runtime.getRuntime().availableProcessors() / partitions);
+
+		List<String> jvmArgs = new ArrayList<>();
+		jvmArgs.add("-XX:ActiveProcessorCount=" + processors);
+		jvmArgs.addAll(overrides.getJvmArgsPrepend());
+
+		return optionsBuilder.jvmArgsPrepend(jvmArgs.toArray(new String[0]));
+	}
+
+	/**
+	 * Expand {@link ChainedOptionsBuilder} into one {@link ChainedOptionsBuilder} per configured
+	 * {@link JvmFlagSet JVM flag set}. Flags are appended to the JVM arguments of forks after JVM arguments appended
+	 * through annotations, flag sets running on a specific JDK fork the {@code java} executable of that JDK. Returns
+	 * {@code optionsBuilder} as is if neither flag sets nor JDKs are configured.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @param overrides settings declared by the benchmarks to run.
+	 * @return the {@link ChainedOptionsBuilder}s to run. Never {@literal null}.
+	 * @see BenchmarkConfiguration#getJvmFlagSets()
+	 * @see BenchmarkConfiguration#getJvms()
+	 */
+	public List<ChainedOptionsBuilder> jvmFlagSets(ChainedOptionsBuilder optionsBuilder, BenchmarkOverrides overrides) {
+
+		List<JvmFlagSet> flagSets = getJvmFlagSets();
+
+		if (flagSets.isEmpty()) {
+			return Collections.singletonList(optionsBuilder);
+		}
+
+		Options options = optionsBuilder.build();
+		List<ChainedOptionsBuilder> result = new ArrayList<>();
+
+		for (JvmFlagSet flagSet : flagSets) {
+
+			ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+
+			if (!flagSet.getFlags().isEmpty()) {
+
+				List<String> jvmArgs = new ArrayList<>(overrides.getJvmArgsAppend());
+				jvmArgs.addAll(flagSet.getFlags());
+				builder.jvmArgsAppend(jvmArgs.toArray(new String[0]));
+			}
+
+			if (flagSet.getJvm() != null) {
+				builder.jvm(flagSet.getJvm());
+			}
+
+			result.add(builder);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Select the {@link ChainedOptionsBuilder} of the {@link JvmFlagSet JVM flag set} that a benchmark was run with,
+	 * e.g. to measure the benchmark again with the same JVM and flags. Returns {@code optionsBuilder} as is if no flag
+	 * set matches.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @param overrides settings declared by the benchmark.
+	 * @param params parameters of the benchmark run.
+	 * @return the {@link ChainedOptionsBuilder} to run. Never {@literal null}.
+	 * @see #jvmFlagSets(ChainedOptionsBuilder, BenchmarkOverrides)
+	 */
+	public ChainedOptionsBuilder jvmFlagSet(ChainedOptionsBuilder optionsBuilder, BenchmarkOverrides overrides,
+			BenchmarkParams params) {
+
+		List<JvmFlagSet> flagSets = getJvmFlagSets();
+		int index = JvmFlagSet.find(flagSets, params).map(flagSets::indexOf).orElse(-1);
+
+		return index == -1 ? optionsBuilder : jvmFlagSets(optionsBuilder, overrides).get(index);
+	}
+
+	/**
+	 * @return the configured {@link JvmFlagSet JVM flag sets}, one per flag set and JDK. Empty if not configured.
+	 * @see BenchmarkConfiguration#getJvmFlagSets()
+	 * @see BenchmarkConfiguration#getJvms()
+	 */
+	public List<JvmFlagSet> getJvmFlagSets() {
+		return JvmFlagSet.parse(jmhOptions.getJvms(), jmhOptions.getJvmFlagSets());
+	}
+
+	/**
+	 * Run benchmarks using {@link Options}. Runs benchmarks in a {@link BenchmarkDaemonClient daemon} if
+	 * {@link BenchmarkConfiguration#isDaemon()} is enabled, otherwise using a {@link Runner} within this JVM. The daemon
+	 * runs benchmarks without forking, so benchmarks that require a forked JVM run using a {@link Runner} instead.
+	 *
+	 * @param options the run options.
+	 * @param outputFormat the {@link OutputFormat} to report progress to.
+	 * @return the {@link RunResult}s.
+	 * @throws RunnerException if the run fails.
+	 */
+	public Collection<RunResult> run(Options options, OutputFormat outputFormat) throws RunnerException {
+
+		if (jmhOptions.isDaemon()) {
+
+			String requirement = getForkRequirement(options, outputFormat);
+
+			if (requirement == null) {
+				return BenchmarkDaemonClient.create().run(options, outputFormat);
+			}
+
+			System.err.println(String
+					.format("Cannot run benchmarks in daemon as they require %s. Running benchmarks in forked JVMs.", requirement));
+		}
+
+		return new Runner(options, outputFormat).run();
+	}
+
+	/**
+	 * Determine whether benchmarks run with {@link Options} depend on a forked JVM. Forked JVMs apply JVM arguments
+	 * (such as {@code -XX:ActiveProcessorCount}, {@link org.openjdk.jmh.annotations.Fork} arguments and
+	 * {@link JvmFlagSet JVM flag sets}), run on a specific JDK and host the {@code jfr} profiler.
+	 *
+	 * @return the description of the requirement or {@literal null} if benchmarks can run without forking.
+	 */
+	static String getForkRequirement(Options options, OutputFormat outputFormat) {
+
+		if (options.getJvm().hasValue()) {
+			return String.format("JVM '%s'", options.getJvm().get());
+		}
+
+		if (hasValues(options.getJvmArgs()) || hasValues(options.getJvmArgsPrepend()) || hasValues(options
+				.getJvmArgsAppend())) {
+			return "JVM arguments";
+		}
+
+		for (ProfilerConfig profiler : options.getProfilers()) {
+			if (profiler.getKlass().equals("jfr") || profiler.getKlass().endsWith(".JavaFlightRecorderProfiler")) {
+				return "the jfr profiler";
+			}
+		}
+
+		SortedSet<BenchmarkListEntry> benchmarks;
+		try {
+			benchmarks = BenchmarkList.defaultList().find(outputFormat, options.getIncludes(), options.getExcludes());
+		} catch (RuntimeException e) {
+			// no benchmark list, the daemon reports the failure
+			return null;
+		}
+
+		for (BenchmarkListEntry benchmark : benchmarks) {
+			if (benchmark.getJvm().hasValue() || hasValues(benchmark.getJvmArgs()) || hasValues(benchmark
+					.getJvmArgsPrepend()) || hasValues(benchmark.getJvmArgsAppend())) {
+				return String.format("JVM settings declared through @Fork on %s", benchmark.getUsername());
+			}
+		}
+
+		return null;
+	}
+
+	private static boolean hasValues(Optional<? extends Collection<String>> values) {
+		return values.hasValue() && !values.get().isEmpty();
+	}
+
+	/**
+	 * Run benchmark partitions concurrently and collect their results. Runs the only partition on the calling thread.
+	 * Partitions run one after another on the calling thread if the JVM was not started with
+	 * {@code -Djmh.ignoreLock=true} as concurrent {@link Runner}s would fail on the JMH lock file.
+	 *
+	 * @param runs the partitions to run.
+	 * @return the combined {@link RunResult}s.
+	 * @throws RunnerException if any partition fails.
+	 */
+	public static Collection<RunResult> runConcurrently(List<Callable<Collection<RunResult>>> runs) throws RunnerException {
+
+		if (runs.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		if (runs.size() == 1 || !LOCK_IGNORED) {
+
+			List<RunResult> results = new ArrayList<>();
+			for (Callable<Collection<RunResult>> run : runs) {
+				results.addAll(call(run));
+			}
+
+			return results;
+		}
+
+		AtomicInteger counter = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(runs.size(), runnable -> {
+
+			Thread thread = new Thread(runnable, "mbr-partition-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+
+			List<Future<Collection<RunResult>>> futures = new ArrayList<>();
+			for (Callable<Collection<RunResult>> run : runs) {
+				futures.add(executor.submit(run));
+			}
+
+			List<RunResult> results = new ArrayList<>();
+			for (Future<Collection<RunResult>> future : futures) {
+				results.addAll(future.get());
+			}
+
+			return results;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RunnerException("Interrupted while running benchmarks", e);
+		}
+		catch (ExecutionException e) {
+
+			if (e.getCause() instanceof RunnerException) {
+				throw (RunnerException) e.getCause();
+			}
+
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+
+			throw new RunnerException("Benchmark partition failed", e.getCause());
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Collection<RunResult> call(Callable<Collection<RunResult>> run) throws RunnerException {
+
+		try {
+			return run.call();
+		}
+		catch (RunnerException | RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new RunnerException("Benchmark run failed", e);
+		}
+	}
+
 	/**
 	 * Returns the report file name for {@link Class class under benchmark}.
 	 *
 	 * @param jmhTestClass class under benchmark.
+	 * @param suffix report file name suffix, empty if not used.
 	 * @return the report file name such as {@code project.version_yyyy-MM-dd_ClassName.json} eg.
 	 * {@literal 1.11.0.BUILD-SNAPSHOT_2017-03-07_MappingMongoConverterBenchmark.json}
 	 */
-	private String reportFilename(Class<?> jmhTestClass) {
+	private String reportFilename(Class<?> jmhTestClass, String suffix) {
 
 		StringBuilder sb = new StringBuilder();
 
@@ -113,6 +561,7 @@ public class JmhSupport {
 		sb.append(new SimpleDateFormat("yyyy-MM-dd").format(new Date()));
 		sb.append("_");
 		sb.append(jmhTestClass.getSimpleName());
+		sb.append(suffix);
 		sb.append(".json");
 		return sb.toString();
 	}
@@ -121,26 +570,33 @@ public class JmhSupport {
 	 * Apply measurement options to {@link ChainedOptionsBuilder}.
 	 *
 	 * @param optionsBuilder must not be {@literal null}.
+	 * @param overrides settings declared by the benchmarks to run.
 	 * @return {@link ChainedOptionsBuilder} with options applied.
 	 * @see BenchmarkConfiguration#getMeasurementIterations()
 	 * @see BenchmarkConfiguration#getMeasurementTime()
+	 * @see AdaptiveMeasurement#getInitialIterations(int)
 	 */
-	private ChainedOptionsBuilder measure(ChainedOptionsBuilder optionsBuilder) {
+	private ChainedOptionsBuilder measure(ChainedOptionsBuilder optionsBuilder, BenchmarkOverrides overrides) {
 
 		int measurementIterations = jmhOptions.getMeasurementIterations();
-		if (measurementIterations > 0) {
+		if (jmhOptions.getAdaptiveTargetError() > 0) {
+			// adaptive measurement starts small and lets the target error drive additional iterations
+			measurementIterations = AdaptiveMeasurement.getInitialIterations(measurementIterations);
+		}
+
+		if (measurementIterations > 0 && !overrides.isDeclared(Setting.MEASUREMENT_ITERATIONS)) {
 			optionsBuilder = optionsBuilder
 					.measurementIterations(measurementIterations);
 		}
 
 		long measurementTime = jmhOptions.getMeasurementTime().getSeconds();
-		if (measurementTime > 0) {
+		if (measurementTime > 0 && !overrides.isDeclared(Setting.MEASUREMENT_TIME)) {
 			optionsBuilder = optionsBuilder
 					.measurementTime(TimeValue.seconds(measurementTime));
 		}
 
 		int measurementBatchSize = jmhOptions.getMeasurementBatchSize();
-		if (measurementBatchSize > 0) {
+		if (measurementBatchSize > 0 && !overrides.isDeclared(Setting.MEASUREMENT_BATCH_SIZE)) {
 			optionsBuilder = optionsBuilder
 					.measurementBatchSize(measurementBatchSize);
 		}
@@ -158,24 +614,25 @@ public class JmhSupport {
 	 * Apply warmup options to {@link ChainedOptionsBuilder}.
 	 *
 	 * @param optionsBuilder must not be {@literal null}.
+	 * @param overrides settings declared by the benchmarks to run.
 	 * @return {@link ChainedOptionsBuilder} with options applied.
 	 * @see BenchmarkConfiguration#getWarmupIterations()
 	 * @see BenchmarkConfiguration#getWarmupTime()
 	 */
-	private ChainedOptionsBuilder warmup(ChainedOptionsBuilder optionsBuilder) {
+	private ChainedOptionsBuilder warmup(ChainedOptionsBuilder optionsBuilder, BenchmarkOverrides overrides) {
 
 		int warmupIterations = jmhOptions.getWarmupIterations();
-		if (warmupIterations > 0) {
+		if (warmupIterations > 0 && !overrides.isDeclared(Setting.WARMUP_ITERATIONS)) {
 			optionsBuilder = optionsBuilder.warmupIterations(warmupIterations);
 		}
 
 		long warmupTime = jmhOptions.getWarmupTime().getSeconds();
-		if (warmupTime > 0) {
+		if (warmupTime > 0 && !overrides.isDeclared(Setting.WARMUP_TIME)) {
 			optionsBuilder = optionsBuilder.warmupTime(TimeValue.seconds(warmupTime));
 		}
 
 		int warmupBatchSize = jmhOptions.getWarmupBatchSize();
-		if (warmupBatchSize > 0) {
+		if (warmupBatchSize > 0 && !overrides.isDeclared(Setting.WARMUP_BATCH_SIZE)) {
 			optionsBuilder = optionsBuilder.warmupBatchSize(warmupBatchSize);
 		}
 
@@ -186,29 +643,100 @@ public class JmhSupport {
 	 * Apply forks option to {@link ChainedOptionsBuilder}.
 	 *
 	 * @param optionsBuilder must not be {@literal null}.
+	 * @param overrides settings declared by the benchmarks to run.
 	 * @return {@link ChainedOptionsBuilder} with options applied.
 	 * @see BenchmarkConfiguration#getForksCount()
 	 */
-	private ChainedOptionsBuilder forks(ChainedOptionsBuilder optionsBuilder) {
+	private ChainedOptionsBuilder forks(ChainedOptionsBuilder optionsBuilder, BenchmarkOverrides overrides) {
 
 		int forks = jmhOptions.getForksCount();
 
-		if (forks <= 0) {
+		if (forks <= 0 || overrides.isDeclared(Setting.FORKS)) {
 			return optionsBuilder;
 		}
 
 		return optionsBuilder.forks(forks);
 	}
 
+	/**
+	 * Apply profilers option to {@link ChainedOptionsBuilder}. Profilers are separated by comma, profiler options are
+	 * separated from the profiler name by a colon.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @return {@link ChainedOptionsBuilder} with options applied.
+	 * @see BenchmarkConfiguration#getProfilers()
+	 */
+	private ChainedOptionsBuilder profilers(ChainedOptionsBuilder optionsBuilder) {
+
+		String profilers = jmhOptions.getProfilers();
+
+		if (!StringUtils.hasText(profilers)) {
+			return optionsBuilder;
+		}
+
+		for (String profiler : profilers.split(",")) {
+
+			profiler = profiler.trim();
+			if (profiler.isEmpty()) {
+				continue;
+			}
+
+			int separator = profiler.indexOf(':');
+			if (separator == -1) {
+				optionsBuilder = optionsBuilder.addProfiler(profiler);
+			}
+			else {
+				optionsBuilder = optionsBuilder
+						.addProfiler(profiler.substring(0, separator), profiler.substring(separator + 1));
+			}
+		}
+
+		return optionsBuilder;
+	}
+
+	/**
+	 * Apply the JMH {@code jfr} profiler to {@link ChainedOptionsBuilder}. Recordings are stored within the report
+	 * directory if configured, otherwise in the working directory, in a subdirectory per benchmark. The profiler is not
+	 * added twice if it is already configured through {@code profilers}.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @return {@link ChainedOptionsBuilder} with options applied.
+	 * @see BenchmarkConfiguration#isJfr()
+	 */
+	private ChainedOptionsBuilder jfr(ChainedOptionsBuilder optionsBuilder) {
+
+		if (!jmhOptions.isJfr()) {
+			return optionsBuilder;
+		}
+
+		String profilers = jmhOptions.getProfilers();
+		if (StringUtils.hasText(profilers)) {
+			for (String profiler : profilers.split(",")) {
+				if (profiler.trim().equals("jfr") || profiler.trim().startsWith("jfr:")) {
+					return optionsBuilder;
+				}
+			}
+		}
+
+		String reportDir = jmhOptions.getReportDirectory();
+
+		if (!StringUtils.hasText(reportDir)) {
+			return optionsBuilder.addProfiler("jfr");
+		}
+
+		return optionsBuilder.addProfiler("jfr", "dir=" + new File(reportDir).getAbsolutePath());
+	}
+
 	/**
 	 * Apply report option to {@link ChainedOptionsBuilder}.
 	 *
 	 * @param optionsBuilder must not be {@literal null}.
+	 * @param suffix report file name suffix.
 	 * @return {@link ChainedOptionsBuilder} with options applied.
 	 * @throws IOException if report file cannot be created.
 	 * @see BenchmarkConfiguration#getReportDirectory()
 	 */
-	private ChainedOptionsBuilder report(ChainedOptionsBuilder optionsBuilder, Class<?> jmhTestClass) throws IOException {
+	private ChainedOptionsBuilder report(ChainedOptionsBuilder optionsBuilder, Class<?> jmhTestClass, String suffix) throws IOException {
 
 		String reportDir = jmhOptions.getReportDirectory();
 
@@ -218,7 +746,7 @@ public class JmhSupport {
 
 		String reportFilePath = reportDir + (reportDir
 				.endsWith(File.separator) ? "" : File.separator)
-				+ reportFilename(jmhTestClass);
+				+ reportFilename(jmhTestClass, suffix);
 		File file = new File(reportFilePath);
 
 		if (file.exists()) {
@@ -237,27 +765,148 @@ public class JmhSupport {
 	}
 
 	/**
-	 * Publish results to an external system.
+	 * Publish results to an external system. When publishing {@link BenchmarkConfiguration#isPublishAsync()
+	 * asynchronously}, results are queued for publishing and this method returns immediately.
+	 * {@link ResultsWriter#isIncremental() Incremental writers} are skipped in that case as they received results
+	 * through {@link #publishResult(OutputFormat, RunResult)} already.
 	 *
 	 * @param results must not be {@literal null}.
 	 */
 	public void publishResults(OutputFormat output, BenchmarkResults results) {
+		publishResults(output, results, Collections.emptyList());
+	}
 
-		String uris = jmhOptions.publishUri();
+	/**
+	 * Publish results of a run that contains results replayed from a cache. Replayed results are published along with
+	 * measured results so that reports cover all benchmarks of the run. {@link ResultsWriter#isIncremental()
+	 * Incremental writers} append to stores that received replayed results when they were measured, so these receive
+	 * only measured results.
+	 *
+	 * @param results must not be {@literal null}.
+	 * @param replayedResults results contained in {@code results} that were replayed from a cache.
+	 * @see #publishResults(OutputFormat, BenchmarkResults)
+	 */
+	public void publishResults(OutputFormat output, BenchmarkResults results, Collection<RunResult> replayedResults) {
 
-		String[] split;
-		if (uris != null) {
-			split = uris.split(",");
+		BenchmarkResults measuredResults = results;
+
+		if (!replayedResults.isEmpty()) {
+
+			Set<RunResult> replayed = Collections.newSetFromMap(new IdentityHashMap<>());
+			replayed.addAll(replayedResults);
+
+			List<RunResult> measured = new ArrayList<>();
+			for (RunResult result : results.getRawResults()) {
+				if (!replayed.contains(result)) {
+					measured.add(result);
+				}
+			}
+
+			measuredResults = new BenchmarkResults(results.getMetaData(), measured);
+		}
+
+		for (Map.Entry<String, ResultsWriter> entry : getWriters().entrySet()) {
+
+			String uri = entry.getKey();
+			ResultsWriter writer = entry.getValue();
+
+			try {
+				if (!jmhOptions.isPublishAsync()) {
+					writer.write(output, writer.isIncremental() ? measuredResults : results);
+				}
+				else if (!writer.isIncremental()) {
+					getPublisher().publish(writer, uri, output, results, jmhOptions.getPublishRetries());
+				}
+			}
+			catch (Exception e) {
+				System.err.println(String
+						.format("Cannot save benchmark results to '%s'. Error was %s.", uri, e));
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Publish the result of a single completed benchmark to {@link ResultsWriter#isIncremental() incremental writers}.
+	 * Results are published only when publishing {@link BenchmarkConfiguration#isPublishAsync() asynchronously}.
+	 *
+	 * @param output the {@link OutputFormat} to report failures to.
+	 * @param result the benchmark result.
+	 */
+	public void publishResult(OutputFormat output, RunResult result) {
+
+		if (!jmhOptions.isPublishAsync()) {
+			return;
+		}
+
+		BenchmarkResults results = new BenchmarkResults(MetaData.from(jmhOptions.asMap()), Collections
+				.singletonList(result));
+
+		for (Map.Entry<String, ResultsWriter> entry : getWriters().entrySet()) {
+
+			String uri = entry.getKey();
+			ResultsWriter writer = entry.getValue();
+
+			try {
+				if (writer.isIncremental()) {
+					getPublisher().publish(writer, uri, output, results, jmhOptions.getPublishRetries());
+				}
+			}
+			catch (Exception e) {
+				System.err.println(String
+						.format("Cannot save benchmark results to '%s'. Error was %s.", uri, e));
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Wait until results published {@link BenchmarkConfiguration#isPublishAsync() asynchronously} are written, close
+	 * the {@link ResultsWriter}s of this run and stop exporting {@link BenchmarkMetrics metrics} of this run. Runners
+	 * call this method at the end of a run so that publishing does not depend on the JVM shutdown and neither writers
+	 * nor the metrics endpoint keep resources of the run alive. Writers are left open if pending results are not written
+	 * within {@link AsyncResultsPublisher#FLUSH_TIMEOUT} so that writes still in progress do not fail.
+	 */
+	public void flushResults() {
+
+		if (jmhOptions.isPublishAsync() && !getPublisher().flush(AsyncResultsPublisher.FLUSH_TIMEOUT)) {
+
+			// pending tasks still use the writers, leave them open and let the next run resolve new ones
+			System.err.println(String.format(
+					"Benchmark results publishing did not complete within %s. Results writers are left open.",
+					AsyncResultsPublisher.FLUSH_TIMEOUT));
+			detachWriters();
 		}
 		else {
-			// If not specified we pass in null so the result writer has a chance
-			split = new String[] {""};
+			closeWriters(detachWriters());
+		}
+
+		String metricsUri;
+		while ((metricsUri = metricsUris.poll()) != null) {
+			BenchmarkMetrics.release(metricsUri);
+		}
+	}
+
+	/**
+	 * Resolve the {@link ResultsWriter}s of the publish URIs once per run so that {@link #publishResult(OutputFormat,
+	 * RunResult)} and {@link #publishResults(OutputFormat, BenchmarkResults)} share writers and their connections.
+	 *
+	 * @return {@link ResultsWriter}s keyed by their URI.
+	 */
+	private synchronized Map<String, ResultsWriter> getWriters() {
+
+		if (writers != null) {
+			return writers;
 		}
-		for (String uri : split) {
+
+		Map<String, ResultsWriter> resolved = new LinkedHashMap<>();
+
+		for (String uri : getPublishUris()) {
 			try {
 				ResultsWriter writer = ResultsWriter.forUri(uri.trim());
+
 				if (writer != null) {
-					writer.write(output, results);
+					resolved.put(uri, writer);
 				}
 			}
 			catch (Exception e) {
@@ -266,9 +915,76 @@ public class JmhSupport {
 				e.printStackTrace();
 			}
 		}
+
+		writers = resolved;
+		return writers;
 	}
 
+	private synchronized Map<String, ResultsWriter> detachWriters() {
+
+		Map<String, ResultsWriter> writers = this.writers;
+		this.writers = null;
+		return writers;
+	}
+
+	private static void closeWriters(Map<String, ResultsWriter> writers) {
+
+		if (writers == null) {
+			return;
+		}
+
+		for (Map.Entry<String, ResultsWriter> entry : writers.entrySet()) {
+
+			if (!(entry.getValue() instanceof AutoCloseable)) {
+				continue;
+			}
+
+			try {
+				((AutoCloseable) entry.getValue()).close();
+			}
+			catch (Exception e) {
+				System.err.println(String
+						.format("Cannot close results writer for '%s'. Error was %s.", entry.getKey(), e));
+			}
+		}
+	}
+
+	private String[] getPublishUris() {
+
+		String uris = jmhOptions.publishUri();
+
+		if (uris != null) {
+			return uris.split(",");
+		}
+
+		// If not specified we pass in null so the result writer has a chance
+		return new String[] {""};
+	}
+
+	private AsyncResultsPublisher getPublisher() {
+		return AsyncResultsPublisher.getInstance(jmhOptions.getPublishThreads());
+	}
+
+	/**
+	 * Create the {@link OutputFormat} for a benchmark run using {@link Options} that records
+	 * {@link BenchmarkConfiguration#getMetricsUri() metrics} of the run if configured.
+	 *
+	 * @param options the run options.
+	 * @return the {@link OutputFormat}.
+	 */
 	public OutputFormat createOutputFormat(Options options) {
+		return decorate(createSharedOutputFormat(options));
+	}
+
+	/**
+	 * Create the {@link OutputFormat} for {@link Options} without recording metrics. Concurrently running partitions
+	 * share this output and {@link #decorate(OutputFormat) decorate} it per partition so that metrics distinguish their
+	 * runs.
+	 *
+	 * @param options the run options.
+	 * @return the {@link OutputFormat}.
+	 */
+	public OutputFormat createSharedOutputFormat(Options options) {
 
 		// sadly required here as the check cannot be made before calling this method in
 		// constructor
@@ -296,7 +1012,27 @@ public class JmhSupport {
 			}
 		}
 
-		return OutputFormatFactory.createFormatInstance(out, options.verbosity()
-				.orElse(Defaults.VERBOSITY));
+		return OutputFormatFactory.createFormatInstance(out, options.verbosity().orElse(Defaults.VERBOSITY));
+	}
+
+	/**
+	 * Decorate {@link OutputFormat} to record {@link BenchmarkConfiguration#getMetricsUri() metrics} of a single
+	 * benchmark run. Each decorated {@link OutputFormat} reports a separate run.
+	 *
+	 * @param output the {@link OutputFormat} to decorate.
+	 * @return the decorated {@link OutputFormat} or {@code output} if metrics are not configured.
+	 */
+	public OutputFormat decorate(OutputFormat output) {
+
+		String metricsUri = jmhOptions.getMetricsUri();
+		if (StringUtils.hasText(metricsUri)) {
+
+			BenchmarkMetrics metrics = BenchmarkMetrics.getInstance(metricsUri.trim());
+			metricsUris.add(metricsUri.trim());
+
+			return metrics.decorate(output);
+		}
+
+		return output;
 	}
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jmh.mbr.core.baseline.Baseline;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.inference.TestUtils;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.util.ScoreFormatter;
+
+/**
+ * Regression gate comparing primary results against a {@link Baseline}. A result is considered a regression if its
+ * mean score is worse than the baseline by more than {@link BenchmarkConfiguration#getBaselineThreshold() the
+ * threshold} and the difference is statistically significant according to Welch's t-test at
+ * {@link BenchmarkConfiguration#getBaselineConfidence() the confidence level}. Lower scores are worse for throughput
+ * benchmarks, higher scores are worse for all other modes. Results with less than two samples on either side are
+ * compared by threshold only.
+ */
+public class RegressionGate {
+
+	private final Baseline baseline;
+	private final double threshold;
+	private final double confidence;
+
+	RegressionGate(Baseline baseline, double threshold, double confidence) {
+		this.baseline = baseline;
+		this.threshold = threshold;
+		this.confidence = confidence;
+	}
+
+	/**
+	 * Create a {@link RegressionGate} if {@link BenchmarkConfiguration#getBaseline()} is configured. The baseline is
+	 * loaded eagerly so that reports written by the current run do not affect the comparison.
+	 *
+	 * @param configuration the benchmark configuration.
+	 * @return the {@link RegressionGate} or {@literal null} if no baseline is configured.
+	 * @throws IllegalArgumentException if the baseline cannot be loaded.
+	 */
+	public static RegressionGate create(BenchmarkConfiguration configuration) {
+
+		String baseline = configuration.getBaseline();
+
+		if (!StringUtils.hasText(baseline)) {
+			return null;
+		}
+
+		return new RegressionGate(Baseline.forUri(baseline.trim()), configuration.getBaselineThreshold(),
+				configuration.getBaselineConfidence());
+	}
+
+	/**
+	 * Compare the primary result of {@link RunResult} with the baseline.
+	 *
+	 * @param result the benchmark result.
+	 * @return a description of the regression or {@literal null} if the result did not regress or the baseline does
+	 * not contain the benchmark.
+	 */
+	public String check(RunResult result) {
+
+		BenchmarkParams params = result.getParams();
+		Map<String, String> paramValues = new LinkedHashMap<>();
+		for (String key : params.getParamsKeys()) {
+			paramValues.put(key, params.getParam(key));
+		}
+
+		StatisticalSummary expected = baseline
+				.getPrimaryResult(params.getBenchmark(), params.getMode().shortLabel(), paramValues);
+
+		if (expected == null || expected.getN() == 0 || expected.getMean() == 0) {
+			return null;
+		}
+
+		Result<?> primary = result.getPrimaryResult();
+		StatisticalSummary actual = primary.getStatistics();
+
+		double change = (actual.getMean() - expected.getMean()) / Math.abs(expected.getMean());
+		double regression = params.getMode() == Mode.Throughput ? -change : change;
+
+		if (regression <= threshold || !isSignificant(expected, actual)) {
+			return null;
+		}
+
+		return String.format("%s regressed by %.1f%% compared to baseline (baseline: %s %s, actual: %s %s)",
+				params.getBenchmark() + (paramValues.isEmpty() ? "" : " " + paramValues), regression * 100,
+				ScoreFormatter.format(expected.getMean()), primary.getScoreUnit(), ScoreFormatter
+						.format(actual.getMean()), primary.getScoreUnit());
+	}
+
+	private boolean isSignificant(StatisticalSummary expected, StatisticalSummary actual) {
+
+		if (expected.getN() < 2 || actual.getN() < 2) {
+			return true;
+		}
+
+		// identical samples cannot be tested but differ by more than the threshold
+		if (expected.getVariance() == 0 && actual.getVariance() == 0) {
+			return true;
+		}
+
+		double alpha = Math.min(0.5, Math.max(Double.MIN_VALUE, 1 - confidence));
+		return TestUtils.tTest(actual, expected, alpha);
+	}
+}
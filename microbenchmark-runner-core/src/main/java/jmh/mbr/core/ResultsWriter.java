@@ -19,6 +19,9 @@ import org.openjdk.jmh.runner.format.OutputFormat;
 
 /**
  * Writes JMH results to an external target. This can be targets such as files, HTTP endpoints, or databases. {@link ResultsWriter} can be contributed through Java's {@link ServiceLoader} plugin mechanism.
+ * <p>
+ * Writers are resolved once per run and are used for all results of the run. Writers holding resources such as
+ * connections implement {@link AutoCloseable} and are closed when the run completes.
  *
  * @see ResultsWriterFactory
  */
@@ -32,6 +35,17 @@ public interface ResultsWriter {
 	 */
 	void write(OutputFormat output, BenchmarkResults results);
 
+	/**
+	 * Whether this writer can publish results of individual benchmarks. When publishing asynchronously, incremental
+	 * writers receive the result of each benchmark as soon as the benchmark completes instead of the results of the
+	 * whole run. Incremental writers append to stores that retain earlier results, so they do not receive results
+	 * replayed from a cache again.
+	 *
+	 * @return {@literal true} if the writer supports incremental publishing. {@literal false} by default.
+	 */
+	default boolean isIncremental() {
+		return false;
+	}
 
 	/**
 	 * Creates a {@link ResultsWriter} given a {@code uri}. This method considers {@link ResultsWriter} plugins provided by {@link ResultsWriterFactory} via Java's {@link ServiceLoader} mechanism. Returns {@literal null} if no applicable {@link ResultsWriter} was found.
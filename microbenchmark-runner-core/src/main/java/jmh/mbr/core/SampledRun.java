@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import jmh.mbr.core.model.BenchmarkFixture;
+import jmh.mbr.core.model.ParameterSampling;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+/**
+ * Run of a benchmark method restricted to sampled parameter combinations. JMH runs the cartesian product of
+ * {@link ChainedOptionsBuilder#param(String, String...) parameter values}, so a sample that is not a cartesian product
+ * requires multiple runs. Combinations that differ only in their last parameter share a run.
+ *
+ * @see ParameterSampling
+ */
+public class SampledRun {
+
+	private final String includePattern;
+	private final Map<String, String> prefix;
+	private final String name;
+	private final Set<String> values;
+
+	private SampledRun(String includePattern, Map<String, String> prefix, String name, Set<String> values) {
+		this.includePattern = includePattern;
+		this.prefix = prefix;
+		this.name = name;
+		this.values = values;
+	}
+
+	/**
+	 * Create {@link SampledRun}s for the sampled fixtures of a benchmark method.
+	 *
+	 * @param includePattern the include pattern matching the benchmark method only.
+	 * @param fixtures the sampled fixtures.
+	 * @return the {@link SampledRun}s covering all {@code fixtures}.
+	 */
+	public static List<SampledRun> create(String includePattern, Iterable<BenchmarkFixture> fixtures) {
+
+		Map<Map<String, String>, SampledRun> runs = new LinkedHashMap<>();
+
+		for (BenchmarkFixture fixture : fixtures) {
+
+			Map<String, String> prefix = new LinkedHashMap<>();
+			String name = null;
+			String value = null;
+
+			for (Iterator<Map.Entry<String, Object>> iterator = fixture.getFixture().entrySet().iterator(); iterator
+					.hasNext(); ) {
+
+				Map.Entry<String, Object> entry = iterator.next();
+
+				if (iterator.hasNext()) {
+					prefix.put(entry.getKey(), String.valueOf(entry.getValue()));
+				}
+				else {
+					name = entry.getKey();
+					value = String.valueOf(entry.getValue());
+				}
+			}
+
+			if (name == null) {
+				continue;
+			}
+
+			String lastName = name;
+			runs.computeIfAbsent(prefix, it -> new SampledRun(includePattern, it, lastName, new LinkedHashSet<>())).values
+					.add(value);
+		}
+
+		return new ArrayList<>(runs.values());
+	}
+
+	public String getIncludePattern() {
+		return includePattern;
+	}
+
+	/**
+	 * Apply options to run only the benchmark method with the sampled parameter values.
+	 *
+	 * @param optionsBuilder must not be {@literal null}.
+	 * @return {@link ChainedOptionsBuilder} with options applied.
+	 */
+	public ChainedOptionsBuilder apply(ChainedOptionsBuilder optionsBuilder) {
+
+		optionsBuilder.include(includePattern);
+
+		prefix.forEach(optionsBuilder::param);
+		optionsBuilder.param(name, values.toArray(new String[0]));
+
+		return optionsBuilder;
+	}
+
+	@Override
+	public String toString() {
+
+		Map<String, Object> params = new LinkedHashMap<>(prefix);
+		params.put(name, values);
+
+		return includePattern + " " + params;
+	}
+}
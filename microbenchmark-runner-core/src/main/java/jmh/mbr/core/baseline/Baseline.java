@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.baseline;
+
+import java.io.File;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
+/**
+ * Baseline results to compare benchmark results against. {@link Baseline}s can be contributed through Java's
+ * {@link ServiceLoader} plugin mechanism.
+ *
+ * @see BaselineFactory
+ */
+public interface Baseline {
+
+	/**
+	 * Retrieve the primary result statistics of a benchmark.
+	 *
+	 * @param benchmark the fully qualified benchmark method name.
+	 * @param mode the short label of the benchmark mode, e.g. {@code thrpt}.
+	 * @param params the benchmark parameters.
+	 * @return the {@link StatisticalSummary} of the primary result or {@literal null} if the baseline does not contain
+	 * the benchmark.
+	 */
+	StatisticalSummary getPrimaryResult(String benchmark, String mode, Map<String, String> params);
+
+	/**
+	 * Creates a {@link Baseline} given a {@code uri}. This method considers {@link BaselineFactory} plugins provided via
+	 * Java's {@link ServiceLoader} mechanism first. Otherwise, {@code uri} is considered a JSON report file or a
+	 * directory containing JSON reports.
+	 *
+	 * @param uri the baseline location.
+	 * @return the {@link Baseline}.
+	 * @throws IllegalArgumentException if the baseline cannot be loaded.
+	 */
+	static Baseline forUri(String uri) {
+
+		for (BaselineFactory factory : ServiceLoader.load(BaselineFactory.class)) {
+
+			Baseline baseline = factory.forUri(uri);
+			if (baseline != null) {
+				return baseline;
+			}
+		}
+
+		return JsonReportBaseline.load(new File(uri));
+	}
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.baseline;
+
+/**
+ * SPI for {@link Baseline} plugins. Uses an opaque {@code uri} to specify the location of baseline results.
+ *
+ * @see java.util.ServiceLoader
+ */
+public interface BaselineFactory {
+
+	/**
+	 * Creates a new {@link Baseline} for {@code uri}. Implementations may return {@literal null} if the {@code uri} is
+	 * not supported.
+	 *
+	 * @param uri location of the baseline results.
+	 * @return the {@link Baseline} implementation or {@literal null} if the {@code uri} is not supported.
+	 */
+	Baseline forUri(String uri);
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.baseline;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser for JMH reports. Objects are parsed into {@link Map}s, arrays into {@link List}s, numbers into
+ * {@link Double}s. Strings, booleans and {@literal null} are parsed into their Java counterparts.
+ */
+class JsonParser {
+
+	private final String json;
+	private int position;
+
+	private JsonParser(String json) {
+		this.json = json;
+	}
+
+	/**
+	 * Parse a JSON document.
+	 *
+	 * @param json the JSON document.
+	 * @return the parsed value.
+	 * @throws IllegalArgumentException if the document is malformed.
+	 */
+	static Object parse(String json) {
+
+		JsonParser parser = new JsonParser(json);
+		Object value = parser.readValue();
+		parser.skipWhitespace();
+
+		if (parser.position != json.length()) {
+			throw parser.error("Unexpected trailing content");
+		}
+
+		return value;
+	}
+
+	private Object readValue() {
+
+		skipWhitespace();
+
+		if (position >= json.length()) {
+			throw error("Unexpected end of document");
+		}
+
+		char c = json.charAt(position);
+
+		switch (c) {
+			case '{':
+				return readObject();
+			case '[':
+				return readArray();
+			case '"':
+				return readString();
+			case 't':
+				expect("true");
+				return Boolean.TRUE;
+			case 'f':
+				expect("false");
+				return Boolean.FALSE;
+			case 'n':
+				expect("null");
+				return null;
+			default:
+				return readNumber();
+		}
+	}
+
+	private Map<String, Object> readObject() {
+
+		Map<String, Object> object = new LinkedHashMap<>();
+		position++;
+		skipWhitespace();
+
+		if (peek() == '}') {
+			position++;
+			return object;
+		}
+
+		while (true) {
+
+			skipWhitespace();
+			String key = readString();
+			skipWhitespace();
+			consume(':');
+			object.put(key, readValue());
+			skipWhitespace();
+
+			if (peek() == ',') {
+				position++;
+				continue;
+			}
+
+			consume('}');
+			return object;
+		}
+	}
+
+	private List<Object> readArray() {
+
+		List<Object> array = new ArrayList<>();
+		position++;
+		skipWhitespace();
+
+		if (peek() == ']') {
+			position++;
+			return array;
+		}
+
+		while (true) {
+
+			array.add(readValue());
+			skipWhitespace();
+
+			if (peek() == ',') {
+				position++;
+				continue;
+			}
+
+			consume(']');
+			return array;
+		}
+	}
+
+	private String readString() {
+
+		consume('"');
+		StringBuilder builder = new StringBuilder();
+
+		while (position < json.length()) {
+
+			char c = json.charAt(position++);
+
+			if (c == '"') {
+				return builder.toString();
+			}
+
+			if (c != '\\') {
+				builder.append(c);
+				continue;
+			}
+
+			if (position >= json.length()) {
+				break;
+			}
+
+			char escaped = json.charAt(position++);
+			switch (escaped) {
+				case 'b':
+					builder.append('\b');
+					break;
+				case 'f':
+					builder.append('\f');
+					break;
+				case 'n':
+					builder.append('\n');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				case 't':
+					builder.append('\t');
+					break;
+				case 'u':
+					if (position + 4 > json.length()) {
+						throw error("Malformed unicode escape");
+					}
+					builder.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+					position += 4;
+					break;
+				default:
+					builder.append(escaped);
+			}
+		}
+
+		throw error("Unterminated string");
+	}
+
+	private Double readNumber() {
+
+		int start = position;
+
+		while (position < json.length() && "+-0123456789.eE".indexOf(json.charAt(position)) != -1) {
+			position++;
+		}
+
+		if (start == position) {
+			throw error("Unexpected character '" + json.charAt(position) + "'");
+		}
+
+		return Double.valueOf(json.substring(start, position));
+	}
+
+	private void expect(String literal) {
+
+		if (!json.startsWith(literal, position)) {
+			throw error("Expected " + literal);
+		}
+
+		position += literal.length();
+	}
+
+	private void consume(char c) {
+
+		if (peek() != c) {
+			throw error("Expected '" + c + "'");
+		}
+
+		position++;
+	}
+
+	private char peek() {
+		return position < json.length() ? json.charAt(position) : 0;
+	}
+
+	private void skipWhitespace() {
+		while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+			position++;
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + position);
+	}
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.baseline;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+
+/**
+ * {@link Baseline} backed by JMH JSON reports. Statistics are computed from the raw measurement data of the primary
+ * metric. If a directory is given, all JSON reports within the directory are considered with more recently modified
+ * reports taking precedence.
+ */
+class JsonReportBaseline implements Baseline {
+
+	private final Map<String, StatisticalSummary> results;
+
+	private JsonReportBaseline(Map<String, StatisticalSummary> results) {
+		this.results = results;
+	}
+
+	/**
+	 * Load a {@link JsonReportBaseline} from a JSON report file or a directory containing JSON reports.
+	 *
+	 * @param location the report file or directory.
+	 * @return the {@link JsonReportBaseline}.
+	 * @throws IllegalArgumentException if the reports cannot be read.
+	 */
+	static JsonReportBaseline load(File location) {
+
+		List<File> files = new ArrayList<>();
+
+		if (location.isDirectory()) {
+
+			File[] reports = location.listFiles((dir, name) -> name.endsWith(".json"));
+
+			if (reports != null) {
+				files.addAll(Arrays.asList(reports));
+				files.sort(Comparator.comparingLong(File::lastModified));
+			}
+		}
+		else if (location.isFile()) {
+			files.add(location);
+		}
+		else {
+			throw new IllegalArgumentException(String.format("Baseline %s does not exist", location));
+		}
+
+		Map<String, StatisticalSummary> results = new HashMap<>();
+
+		for (File file : files) {
+
+			try {
+				String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+				read(JsonParser.parse(json), results);
+			}
+			catch (IOException | RuntimeException e) {
+				throw new IllegalArgumentException(String.format("Cannot read baseline report %s", file), e);
+			}
+		}
+
+		return new JsonReportBaseline(results);
+	}
+
+	@Override
+	public StatisticalSummary getPrimaryResult(String benchmark, String mode, Map<String, String> params) {
+		return results.get(getKey(benchmark, mode, params));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void read(Object report, Map<String, StatisticalSummary> results) {
+
+		if (!(report instanceof List)) {
+			return;
+		}
+
+		for (Object item : (List<Object>) report) {
+
+			Map<String, Object> benchmark = (Map<String, Object>) item;
+			Map<String, Object> primaryMetric = (Map<String, Object>) benchmark.get("primaryMetric");
+			Map<String, String> params = (Map<String, String>) benchmark.get("params");
+
+			if (primaryMetric == null) {
+				continue;
+			}
+
+			Accumulator statistics = new Accumulator();
+			addRawData(primaryMetric.get("rawData"), statistics);
+			addRawDataHistogram(primaryMetric.get("rawDataHistogram"), statistics);
+
+			if (statistics.getN() > 0) {
+				results.put(getKey((String) benchmark.get("benchmark"), (String) benchmark.get("mode"), params),
+						statistics.toSummary());
+			}
+		}
+	}
+
+	/**
+	 * Raw data is reported per fork and iteration: {@code [[1.0, 2.0], [3.0, 4.0]]}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void addRawData(Object rawData, Accumulator statistics) {
+
+		if (rawData == null) {
+			return;
+		}
+
+		for (Object fork : (List<Object>) rawData) {
+			for (Object value : (List<Object>) fork) {
+				statistics.add(toDouble(value), 1);
+			}
+		}
+	}
+
+	/**
+	 * Sampled data is reported per fork, iteration and value: {@code [[[[1.0, 10], [2.0, 5]]]]}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void addRawDataHistogram(Object rawDataHistogram, Accumulator statistics) {
+
+		if (rawDataHistogram == null) {
+			return;
+		}
+
+		for (Object fork : (List<Object>) rawDataHistogram) {
+			for (Object iteration : (List<Object>) fork) {
+				for (Object entry : (List<Object>) iteration) {
+
+					List<Object> valueCount = (List<Object>) entry;
+					statistics.add(toDouble(valueCount.get(0)), (long) toDouble(valueCount.get(1)));
+				}
+			}
+		}
+	}
+
+	private static double toDouble(Object value) {
+		return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+	}
+
+	static String getKey(String benchmark, String mode, Map<String, String> params) {
+		return benchmark + "|" + mode + "|" + (params != null ? new TreeMap<>(params) : Collections.emptyMap());
+	}
+
+	/**
+	 * Accumulator for weighted values using Welford's algorithm so that histograms do not need to be expanded.
+	 */
+	static class Accumulator {
+
+		private long n;
+		private double mean;
+		private double m2;
+		private double sum;
+		private double min = Double.NaN;
+		private double max = Double.NaN;
+
+		void add(double value, long count) {
+
+			if (count <= 0) {
+				return;
+			}
+
+			n += count;
+			double delta = value - mean;
+			mean += delta * count / n;
+			m2 += delta * (value - mean) * count;
+			sum += value * count;
+			min = Double.isNaN(min) ? value : Math.min(min, value);
+			max = Double.isNaN(max) ? value : Math.max(max, value);
+		}
+
+		long getN() {
+			return n;
+		}
+
+		StatisticalSummary toSummary() {
+			return new StatisticalSummaryValues(mean, n > 1 ? m2 / (n - 1) : 0, n, max, min, sum);
+		}
+	}
+}
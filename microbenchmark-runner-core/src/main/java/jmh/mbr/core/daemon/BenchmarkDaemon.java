@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Properties;
+
+import jmh.mbr.core.daemon.DaemonMessage.Type;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Long-lived worker JVM that runs benchmarks on behalf of {@link BenchmarkDaemonClient}. The daemon keeps benchmark
+ * classes loaded and compiled across runs by running benchmarks within its own JVM ({@code forks=0}). Run requests
+ * are processed one at a time. The daemon shuts down if a run request originates from a different classpath, when
+ * receiving a {@link Type#SHUTDOWN} request or after being idle for {@link #IDLE_TIMEOUT}.
+ * <p>
+ * The daemon listens on the loopback interface and publishes its port together with a random token to a state file
+ * that only the current user can read. Connections must present the token before any message is deserialized and
+ * messages are restricted to the types accepted by {@link DaemonObjectInputStream}.
+ */
+public class BenchmarkDaemon {
+
+	static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+	/**
+	 * Read timeout for run requests on accepted connections.
+	 */
+	static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(10);
+
+	static final String STATE_FILE = "daemon.properties";
+
+	private final Path stateDirectory;
+	private final String fingerprint;
+	private final String token;
+
+	BenchmarkDaemon(Path stateDirectory, String fingerprint) {
+		this.stateDirectory = stateDirectory;
+		this.fingerprint = fingerprint;
+		this.token = newToken();
+	}
+
+	/**
+	 * Entry point to start the daemon.
+	 *
+	 * @param args the state directory to publish the daemon port to.
+	 * @throws IOException if the daemon cannot bind its server socket.
+	 */
+	public static void main(String[] args) throws IOException {
+
+		if (args.length != 1) {
+			throw new IllegalArgumentException("Usage: BenchmarkDaemon <state directory>");
+		}
+
+		String fingerprint = ClasspathFingerprint.of(System.getProperty("java.class.path"));
+		new BenchmarkDaemon(new File(args[0]).toPath(), fingerprint).run();
+	}
+
+	void run() throws IOException {
+
+		try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+
+			server.setSoTimeout((int) IDLE_TIMEOUT.toMillis());
+			publishState(server.getLocalPort());
+
+			try {
+				while (accept(server)) {
+					// keep serving
+				}
+			}
+			catch (SocketTimeoutException e) {
+				// idle, shut down
+			}
+			finally {
+				removeState();
+			}
+		}
+	}
+
+	private boolean accept(ServerSocket server) throws IOException {
+
+		Socket socket = server.accept();
+
+		try (Socket connection = socket) {
+
+			connection.setSoTimeout((int) CONNECTION_TIMEOUT.toMillis());
+
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+			out.flush();
+			ObjectInputStream in = new DaemonObjectInputStream(new BufferedInputStream(connection.getInputStream()));
+
+			if (!MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), in.readUTF()
+					.getBytes(StandardCharsets.UTF_8))) {
+				return true;
+			}
+
+			RemoteOutputFormat output = new RemoteOutputFormat(out);
+			DaemonMessage request = (DaemonMessage) in.readObject();
+
+			if (request.getType() == Type.SHUTDOWN) {
+				return false;
+			}
+
+			if (request.getType() != Type.RUN) {
+				output.send(Type.FAILED, String.format("Unexpected message %s", request.getType()));
+				return true;
+			}
+
+			if (!fingerprint.equals(request.getArgument(0))) {
+				output.send(Type.RESTART);
+				return false;
+			}
+
+			run(request.getArgument(1), output);
+			return true;
+		}
+		catch (IOException | UncheckedIOException | ClassNotFoundException | ClassCastException e) {
+
+			// client went away, timed out or sent garbage, keep serving
+			return true;
+		}
+	}
+
+	private static void run(Options options, RemoteOutputFormat output) {
+
+		Options inProcess = new OptionsBuilder().parent(options).forks(0).build();
+
+		try {
+			Collection<RunResult> results = new Runner(inProcess, output).run();
+			output.send(Type.COMPLETED, new ArrayList<>(results));
+		}
+		catch (Exception e) {
+			output.send(Type.FAILED, e.toString());
+		}
+	}
+
+	private void publishState(int port) throws IOException {
+
+		Properties properties = new Properties();
+		properties.setProperty("port", Integer.toString(port));
+		properties.setProperty("fingerprint", fingerprint);
+		properties.setProperty("token", token);
+
+		BenchmarkDaemonClient.createPrivateDirectory(stateDirectory);
+		Path temp = BenchmarkDaemonClient.createPrivateFile(stateDirectory, "daemon", ".tmp");
+
+		try (OutputStream out = Files.newOutputStream(temp)) {
+			properties.store(out, "Benchmark daemon");
+		}
+
+		Files.move(temp, stateDirectory.resolve(STATE_FILE), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static String newToken() {
+
+		byte[] bytes = new byte[32];
+		new SecureRandom().nextBytes(bytes);
+
+		return ClasspathFingerprint.toHex(bytes);
+	}
+
+	private void removeState() throws IOException {
+
+		Properties properties = BenchmarkDaemonClient.readState(stateDirectory);
+
+		if (properties != null && fingerprint.equals(properties.getProperty("fingerprint"))) {
+			Files.deleteIfExists(stateDirectory.resolve(STATE_FILE));
+		}
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jmh.mbr.core.daemon.DaemonMessage.Type;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.options.Options;
+
+/**
+ * Client to run benchmarks in a {@link BenchmarkDaemon}. The client starts a daemon using the current classpath if no
+ * daemon is running or if the running daemon was started from a different classpath. Daemons are scoped to the
+ * working directory so that different projects use different daemons. Daemon state is kept in a per-user directory
+ * that only the current user can access.
+ */
+public class BenchmarkDaemonClient {
+
+	static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+
+	private static final Set<PosixFilePermission> OWNER_ONLY_FILE = PosixFilePermissions.fromString("rw-------");
+
+	/**
+	 * {@link FileLock}s are held on behalf of the whole JVM and cannot be acquired twice, so threads running partitions
+	 * concurrently coordinate through this lock before locking the state directory.
+	 */
+	private static final ReentrantLock DAEMON_LOCK = new ReentrantLock();
+
+	private final Path userDirectory;
+	private final Path stateDirectory;
+	private final String classpath;
+
+	BenchmarkDaemonClient(Path userDirectory, String id, String classpath) {
+		this.userDirectory = userDirectory;
+		this.stateDirectory = userDirectory.resolve(id);
+		this.classpath = classpath;
+	}
+
+	/**
+	 * Create a {@link BenchmarkDaemonClient} for the current working directory and classpath.
+	 *
+	 * @return the {@link BenchmarkDaemonClient}.
+	 */
+	public static BenchmarkDaemonClient create() {
+
+		String scope = System.getProperty("user.dir") + File.pathSeparator + System.getProperty("java.home");
+		String id = ClasspathFingerprint.toHex(ClasspathFingerprint.newDigest()
+				.digest(scope.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+
+		String user = System.getProperty("user.name").replaceAll("[^A-Za-z0-9._-]", "_");
+
+		return new BenchmarkDaemonClient(Paths.get(System.getProperty("java.io.tmpdir"), "jmh-mbr-daemon-" + user), id,
+				System.getProperty("java.class.path"));
+	}
+
+	/**
+	 * Run benchmarks in the daemon and replay progress onto {@link OutputFormat}.
+	 *
+	 * @param options the run options.
+	 * @param output the {@link OutputFormat} to report progress to.
+	 * @return the {@link RunResult}s.
+	 * @throws RunnerException if the run fails or the daemon cannot be reached.
+	 */
+	public Collection<RunResult> run(Options options, OutputFormat output) throws RunnerException {
+
+		String fingerprint = ClasspathFingerprint.of(classpath);
+
+		try {
+			for (int attempt = 0; attempt < 2; attempt++) {
+
+				Collection<RunResult> results = run(ensureDaemon(fingerprint), fingerprint, options, output);
+
+				if (results != null) {
+					return results;
+				}
+			}
+		}
+		catch (IOException | ClassNotFoundException e) {
+			throw new RunnerException("Cannot run benchmarks in daemon", e);
+		}
+
+		throw new RunnerException("Benchmark daemon did not accept classpath");
+	}
+
+	/**
+	 * Run benchmarks against the daemon listening on {@code port}.
+	 *
+	 * @return the {@link RunResult}s or {@literal null} if the daemon was restarted.
+	 */
+	private Collection<RunResult> run(Properties state, String fingerprint, Options options, OutputFormat output)
+			throws IOException, ClassNotFoundException, RunnerException {
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), getPort(state))) {
+
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeUTF(state.getProperty("token", ""));
+			out.writeObject(new DaemonMessage(Type.RUN, fingerprint, options));
+			out.flush();
+
+			ObjectInputStream in = new DaemonObjectInputStream(new BufferedInputStream(socket.getInputStream()));
+
+			while (true) {
+
+				DaemonMessage message = (DaemonMessage) in.readObject();
+
+				switch (message.getType()) {
+					case COMPLETED:
+						return message.getArgument(0);
+					case FAILED:
+						throw new RunnerException(message.<String> getArgument(0));
+					case RESTART:
+						return null;
+					default:
+						message.replay(output);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Return the state of a daemon running with {@code fingerprint}, start a new daemon if necessary.
+	 */
+	Properties ensureDaemon(String fingerprint) throws IOException {
+
+		createPrivateDirectory(userDirectory);
+		createPrivateDirectory(stateDirectory);
+		DAEMON_LOCK.lock();
+
+		try (FileChannel channel = FileChannel.open(stateDirectory.resolve("daemon.lock"), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE)) {
+
+			FileLock lock = channel.lock();
+
+			try {
+				return ensureDaemonLocked(fingerprint);
+			}
+			finally {
+				lock.release();
+			}
+		}
+		finally {
+			DAEMON_LOCK.unlock();
+		}
+	}
+
+	private Properties ensureDaemonLocked(String fingerprint) throws IOException {
+
+		Properties state = readState(stateDirectory);
+
+		if (state != null && fingerprint.equals(state.getProperty("fingerprint")) && isReachable(state)) {
+			return state;
+		}
+
+		if (state != null) {
+			shutdown(state);
+		}
+
+		Files.deleteIfExists(stateDirectory.resolve(BenchmarkDaemon.STATE_FILE));
+		return startDaemon(fingerprint);
+	}
+
+	/**
+	 * Request the daemon described by {@code state} to shut down. A daemon that cannot be connected to or that closes
+	 * the connection is considered already gone.
+	 */
+	void shutdown(Properties state) throws IOException {
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), getPort(state))) {
+
+			ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeUTF(state.getProperty("token", ""));
+			out.writeObject(new DaemonMessage(Type.SHUTDOWN));
+			out.flush();
+		}
+		catch (SocketException e) {
+			// daemon terminated in the meantime
+		}
+	}
+
+	private Properties startDaemon(String fingerprint) throws IOException {
+
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+		List<String> command = Arrays.asList(java, "-cp", classpath, BenchmarkDaemon.class.getName(),
+				stateDirectory.toString());
+
+		Process process = new ProcessBuilder(command).redirectErrorStream(true)
+				.redirectOutput(stateDirectory.resolve("daemon.log").toFile()).start();
+
+		long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+		while (System.nanoTime() < deadline) {
+
+			Properties state = readState(stateDirectory);
+
+			if (state != null && fingerprint.equals(state.getProperty("fingerprint"))) {
+				return state;
+			}
+
+			if (!process.isAlive()) {
+				throw new IOException(String.format("Benchmark daemon terminated with exit code %d, see %s",
+						process.exitValue(), stateDirectory.resolve("daemon.log")));
+			}
+
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while waiting for benchmark daemon", e);
+			}
+		}
+
+		process.destroy();
+		throw new IOException("Benchmark daemon did not start within " + STARTUP_TIMEOUT);
+	}
+
+	private static boolean isReachable(Properties state) {
+
+		try {
+			new Socket(InetAddress.getLoopbackAddress(), getPort(state)).close();
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static int getPort(Properties state) {
+		return Integer.parseInt(state.getProperty("port"));
+	}
+
+	/**
+	 * Create {@code directory} if necessary and restrict access to the current user. Fails if the directory is a
+	 * symbolic link or, on POSIX file systems, owned by a different user.
+	 */
+	static void createPrivateDirectory(Path directory) throws IOException {
+
+		if (Files.isSymbolicLink(directory)) {
+			throw new IOException(String.format("Benchmark daemon directory %s must not be a symbolic link", directory));
+		}
+
+		if (!isPosix(directory)) {
+			Files.createDirectories(directory);
+			return;
+		}
+
+		if (!Files.isDirectory(directory)) {
+			Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_ONLY_DIRECTORY));
+		}
+
+		// permissions can only be changed by the owner
+		Files.setPosixFilePermissions(directory, OWNER_ONLY_DIRECTORY);
+	}
+
+	/**
+	 * Create a new file in {@code directory} that only the current user can read and write.
+	 */
+	static Path createPrivateFile(Path directory, String prefix, String suffix) throws IOException {
+
+		FileAttribute<?>[] attributes = isPosix(directory) ? new FileAttribute<?>[] {
+				PosixFilePermissions.asFileAttribute(OWNER_ONLY_FILE) } : new FileAttribute<?>[0];
+
+		return Files.createTempFile(directory, prefix, suffix, attributes);
+	}
+
+	private static boolean isPosix(Path path) {
+		return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+	}
+
+	static Properties readState(Path stateDirectory) throws IOException {
+
+		Path file = stateDirectory.resolve(BenchmarkDaemon.STATE_FILE);
+
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		return properties;
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprint of a classpath computed from path, size and modification time of all classpath elements. Directories
+ * are considered with all files they contain so that recompiled classes result in a different fingerprint. JARs
+ * are expanded by the {@code Class-Path} entries of their manifest, so that manifest-only JARs (as used by Surefire
+ * and IDEs to shorten the command line) are fingerprinted by the classpath they refer to.
+ */
+class ClasspathFingerprint {
+
+	private ClasspathFingerprint() {
+	}
+
+	/**
+	 * Compute the fingerprint of {@code classpath}.
+	 *
+	 * @param classpath classpath using {@link File#pathSeparator} to separate entries.
+	 * @return the hex-encoded fingerprint.
+	 */
+	static String of(String classpath) {
+
+		MessageDigest digest = newDigest();
+		Set<Path> visited = new HashSet<>();
+
+		for (String entry : classpath.split(File.pathSeparator)) {
+
+			if (entry.isEmpty()) {
+				continue;
+			}
+
+			fingerprint(digest, new File(entry).toPath(), visited);
+		}
+
+		return toHex(digest.digest());
+	}
+
+	private static void fingerprint(MessageDigest digest, Path path, Set<Path> visited) {
+
+		if (!visited.add(path.toAbsolutePath().normalize())) {
+			return;
+		}
+
+		update(digest, path.toString());
+
+		if (Files.isDirectory(path)) {
+			for (Path file : list(path)) {
+				update(digest, file);
+			}
+		}
+		else if (Files.exists(path)) {
+
+			update(digest, path);
+
+			for (Path element : getManifestClassPath(path)) {
+				fingerprint(digest, element, visited);
+			}
+		}
+	}
+
+	/**
+	 * Resolve the {@code Class-Path} manifest entries of {@code jar} relative to the JAR location.
+	 *
+	 * @param jar the JAR file.
+	 * @return the referenced classpath elements, empty if the file is not a JAR or has no {@code Class-Path}.
+	 */
+	static List<Path> getManifestClassPath(Path jar) {
+
+		Manifest manifest;
+
+		try (JarFile jarFile = new JarFile(jar.toFile())) {
+			manifest = jarFile.getManifest();
+		}
+		catch (IOException e) {
+			return Collections.emptyList();
+		}
+
+		String classPath = manifest != null ? manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) : null;
+
+		if (classPath == null) {
+			return Collections.emptyList();
+		}
+
+		List<Path> elements = new ArrayList<>();
+		URI base = jar.toUri();
+
+		for (String element : classPath.trim().split("\\s+")) {
+
+			if (element.isEmpty()) {
+				continue;
+			}
+
+			try {
+				URI uri = base.resolve(element);
+
+				if ("file".equals(uri.getScheme())) {
+					elements.add(Paths.get(uri));
+				}
+			}
+			catch (IllegalArgumentException e) {
+				// malformed entries are ignored by the JVM as well
+			}
+		}
+
+		return elements;
+	}
+
+	private static List<Path> list(Path directory) {
+
+		try (Stream<Path> files = Files.walk(directory)) {
+			return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, Path file) {
+
+		try {
+			update(digest, file + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis());
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	static MessageDigest newDigest() {
+
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static String toHex(byte[] bytes) {
+
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+}
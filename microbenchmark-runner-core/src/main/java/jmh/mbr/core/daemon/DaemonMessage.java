@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Collection;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * Message exchanged between {@link BenchmarkDaemonClient} and {@link BenchmarkDaemon}. Messages are either run
+ * requests, {@link OutputFormat} callbacks to replay on the client side or the outcome of a run.
+ */
+class DaemonMessage implements Serializable {
+
+	private static final long serialVersionUID = 3018251340728541733L;
+
+	private final Type type;
+	private final Object[] arguments;
+
+	DaemonMessage(Type type, Object... arguments) {
+		this.type = type;
+		this.arguments = arguments;
+	}
+
+	Type getType() {
+		return type;
+	}
+
+	@SuppressWarnings("unchecked")
+	<T> T getArgument(int index) {
+		return (T) arguments[index];
+	}
+
+	/**
+	 * Replay an {@link OutputFormat} callback onto {@link OutputFormat}.
+	 *
+	 * @param output the target {@link OutputFormat}.
+	 * @throws IOException propagated from {@link OutputFormat#write(byte[])}.
+	 */
+	void replay(OutputFormat output) throws IOException {
+
+		switch (type) {
+			case ITERATION:
+				output.iteration(getArgument(0), getArgument(1), this.<Integer> getArgument(2));
+				break;
+			case ITERATION_RESULT:
+				output.iterationResult(getArgument(0), getArgument(1), this.<Integer> getArgument(2), getArgument(3));
+				break;
+			case START_BENCHMARK:
+				output.startBenchmark(getArgument(0));
+				break;
+			case END_BENCHMARK:
+				output.endBenchmark(getArgument(0));
+				break;
+			case START_RUN:
+				output.startRun();
+				break;
+			case END_RUN:
+				output.endRun(getArgument(0));
+				break;
+			case PRINT:
+				output.print(getArgument(0));
+				break;
+			case PRINTLN:
+				output.println(getArgument(0));
+				break;
+			case VERBOSE_PRINTLN:
+				output.verbosePrintln(getArgument(0));
+				break;
+			case WRITE:
+				output.write(this.<byte[]> getArgument(0));
+				break;
+			case FLUSH:
+				output.flush();
+				break;
+			default:
+				throw new IllegalStateException(String.format("Cannot replay %s", type));
+		}
+	}
+
+	enum Type {
+
+		/**
+		 * Run request carrying the classpath fingerprint and {@link org.openjdk.jmh.runner.options.Options}.
+		 */
+		RUN,
+
+		/**
+		 * {@link OutputFormat#iteration(BenchmarkParams, IterationParams, int)}.
+		 */
+		ITERATION,
+
+		/**
+		 * {@link OutputFormat#iterationResult(BenchmarkParams, IterationParams, int, IterationResult)}.
+		 */
+		ITERATION_RESULT,
+
+		/**
+		 * {@link OutputFormat#startBenchmark(BenchmarkParams)}.
+		 */
+		START_BENCHMARK,
+
+		/**
+		 * {@link OutputFormat#endBenchmark(BenchmarkResult)}.
+		 */
+		END_BENCHMARK,
+
+		/**
+		 * {@link OutputFormat#startRun()}.
+		 */
+		START_RUN,
+
+		/**
+		 * {@link OutputFormat#endRun(Collection)}.
+		 */
+		END_RUN,
+
+		PRINT, PRINTLN, VERBOSE_PRINTLN, WRITE, FLUSH,
+
+		/**
+		 * Run completed carrying the {@link RunResult}s.
+		 */
+		COMPLETED,
+
+		/**
+		 * Run failed carrying the failure message.
+		 */
+		FAILED,
+
+		/**
+		 * The daemon runs on a stale classpath and shuts down. The client is expected to start a new daemon.
+		 */
+		RESTART,
+
+		/**
+		 * Request to shut down the daemon, e.g. because it runs on a stale classpath.
+		 */
+		SHUTDOWN
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link ObjectInputStream} that deserializes only {@link DaemonMessage}s and the JMH option and result types they
+ * carry. Any other class is rejected before it is loaded to prevent deserialization of arbitrary classes received over
+ * the daemon socket.
+ */
+class DaemonObjectInputStream extends ObjectInputStream {
+
+	private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(DaemonMessage.class.getName(),
+			DaemonMessage.Type.class.getName(), "java.lang.Boolean", "java.lang.Byte", "java.lang.Character",
+			"java.lang.Double", "java.lang.Enum", "java.lang.Float", "java.lang.Integer", "java.lang.Long",
+			"java.lang.Number", "java.lang.Object", "java.lang.Short", "java.lang.String", "java.util.ArrayList",
+			"java.util.Arrays$ArrayList", "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap",
+			"java.util.Collections$EmptySet", "java.util.Collections$SingletonList", "java.util.Collections$SingletonMap",
+			"java.util.Collections$SingletonSet", "java.util.Collections$UnmodifiableCollection",
+			"java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableMap",
+			"java.util.Collections$UnmodifiableRandomAccessList", "java.util.Collections$UnmodifiableSet",
+			"java.util.Collections$UnmodifiableSortedMap", "java.util.Collections$UnmodifiableSortedSet",
+			"java.util.EnumSet$SerializationProxy", "java.util.HashMap", "java.util.HashSet", "java.util.LinkedHashMap",
+			"java.util.LinkedHashSet", "java.util.LinkedList", "java.util.TreeMap", "java.util.TreeSet",
+			"java.util.concurrent.TimeUnit", "org.openjdk.jmh.runner.IterationType",
+			"org.openjdk.jmh.runner.WorkloadParams"));
+
+	private static final List<String> ALLOWED_PACKAGES = Arrays.asList("org.openjdk.jmh.annotations.",
+			"org.openjdk.jmh.infra.", "org.openjdk.jmh.results.", "org.openjdk.jmh.runner.options.",
+			"org.openjdk.jmh.util.");
+
+	DaemonObjectInputStream(InputStream in) throws IOException {
+		super(in);
+	}
+
+	@Override
+	protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+
+		if (!isAllowed(desc.getName())) {
+			throw new InvalidClassException(desc.getName(), "Class not allowed in benchmark daemon messages");
+		}
+
+		return super.resolveClass(desc);
+	}
+
+	@Override
+	protected Class<?> resolveProxyClass(String[] interfaces) throws IOException {
+		throw new InvalidClassException("Proxy classes not allowed in benchmark daemon messages");
+	}
+
+	/**
+	 * @param className the binary class name, arrays in their descriptor form (e.g. {@code [Ljava.lang.String;}).
+	 * @return {@literal true} if instances of {@code className} may be deserialized.
+	 */
+	static boolean isAllowed(String className) {
+
+		if (className.startsWith("[")) {
+
+			String component = className.replaceFirst("^\\[+", "");
+
+			if (component.length() == 1) {
+				return true; // primitive array
+			}
+
+			return component.startsWith("L") && component.endsWith(";")
+					&& isAllowed(component.substring(1, component.length() - 1));
+		}
+
+		if (ALLOWED_CLASSES.contains(className)) {
+			return true;
+		}
+
+		for (String allowedPackage : ALLOWED_PACKAGES) {
+			if (className.startsWith(allowedPackage)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+import jmh.mbr.core.daemon.DaemonMessage.Type;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * {@link OutputFormat} that sends all callbacks as {@link DaemonMessage} to the connected
+ * {@link BenchmarkDaemonClient}.
+ */
+class RemoteOutputFormat implements OutputFormat {
+
+	private final ObjectOutputStream out;
+
+	RemoteOutputFormat(ObjectOutputStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void iteration(BenchmarkParams benchParams, IterationParams params, int iteration) {
+		send(Type.ITERATION, benchParams, params, iteration);
+	}
+
+	@Override
+	public void iterationResult(BenchmarkParams benchParams, IterationParams params, int iteration,
+			IterationResult data) {
+		send(Type.ITERATION_RESULT, benchParams, params, iteration, data);
+	}
+
+	@Override
+	public void startBenchmark(BenchmarkParams benchParams) {
+		send(Type.START_BENCHMARK, benchParams);
+	}
+
+	@Override
+	public void endBenchmark(BenchmarkResult result) {
+		send(Type.END_BENCHMARK, result);
+	}
+
+	@Override
+	public void startRun() {
+		send(Type.START_RUN);
+	}
+
+	@Override
+	public void endRun(Collection<RunResult> result) {
+		send(Type.END_RUN, new ArrayList<>(result));
+	}
+
+	@Override
+	public void print(String s) {
+		send(Type.PRINT, s);
+	}
+
+	@Override
+	public void println(String s) {
+		send(Type.PRINTLN, s);
+	}
+
+	@Override
+	public void flush() {
+		send(Type.FLUSH);
+	}
+
+	@Override
+	public void close() {
+		// the connection is owned by the daemon
+	}
+
+	@Override
+	public void verbosePrintln(String s) {
+		send(Type.VERBOSE_PRINTLN, s);
+	}
+
+	@Override
+	public void write(int b) {
+		send(Type.WRITE, (Object) new byte[] { (byte) b });
+	}
+
+	@Override
+	public void write(byte[] b) {
+		send(Type.WRITE, (Object) b);
+	}
+
+	/**
+	 * Send a {@link DaemonMessage} to the client.
+	 *
+	 * @param type message type.
+	 * @param arguments message arguments.
+	 */
+	synchronized void send(Type type, Object... arguments) {
+
+		try {
+			out.writeObject(new DaemonMessage(type, arguments));
+			out.flush();
+
+			// messages are not referenced again, avoid retaining them in the stream handle table
+			out.reset();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
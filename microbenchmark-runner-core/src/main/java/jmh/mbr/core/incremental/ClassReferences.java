@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.incremental;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal class file reader extracting the names of classes referenced from the constant pool of a class file. Class
+ * names are returned in internal form ({@code java/lang/Object}).
+ */
+class ClassReferences {
+
+	private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w/$]+)[;<]");
+
+	private ClassReferences() {
+	}
+
+	/**
+	 * Read referenced class names from {@code bytecode}.
+	 *
+	 * @param bytecode the class file contents.
+	 * @return referenced class names in internal form.
+	 * @throws IOException if the class file is malformed.
+	 */
+	static Set<String> read(byte[] bytecode) throws IOException {
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytecode));
+
+		if (in.readInt() != 0xCAFEBABE) {
+			throw new IOException("Not a class file");
+		}
+
+		in.readUnsignedShort(); // minor
+		in.readUnsignedShort(); // major
+
+		int count = in.readUnsignedShort();
+		String[] utf8 = new String[count];
+		int[] classes = new int[count];
+		int classCount = 0;
+
+		for (int i = 1; i < count; i++) {
+
+			int tag = in.readUnsignedByte();
+
+			switch (tag) {
+				case 1: // Utf8
+					utf8[i] = in.readUTF();
+					break;
+				case 7: // Class
+					classes[classCount++] = in.readUnsignedShort();
+					break;
+				case 8: // String
+				case 16: // MethodType
+				case 19: // Module
+				case 20: // Package
+					in.skipBytes(2);
+					break;
+				case 15: // MethodHandle
+					in.skipBytes(3);
+					break;
+				case 3: // Integer
+				case 4: // Float
+				case 9: // Fieldref
+				case 10: // Methodref
+				case 11: // InterfaceMethodref
+				case 12: // NameAndType
+				case 17: // Dynamic
+				case 18: // InvokeDynamic
+					in.skipBytes(4);
+					break;
+				case 5: // Long
+				case 6: // Double
+					in.skipBytes(8);
+					i++;
+					break;
+				default:
+					throw new IOException("Unknown constant pool tag " + tag);
+			}
+		}
+
+		Set<String> references = new TreeSet<>();
+
+		for (int i = 0; i < classCount; i++) {
+
+			String name = utf8[classes[i]];
+
+			if (name.startsWith("[")) {
+				addDescriptorTypes(name, references);
+			}
+			else {
+				references.add(name);
+			}
+		}
+
+		// field and method descriptors and generic signatures
+		for (String value : utf8) {
+			if (value != null && value.indexOf('L') != -1) {
+				addDescriptorTypes(value, references);
+			}
+		}
+
+		return references;
+	}
+
+	private static void addDescriptorTypes(String descriptor, Set<String> references) {
+
+		Matcher matcher = DESCRIPTOR_TYPE.matcher(descriptor);
+
+		while (matcher.find()) {
+			references.add(matcher.group(1));
+		}
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.incremental;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import jmh.mbr.core.BenchmarkConfigProperties;
+import jmh.mbr.core.BenchmarkConfiguration;
+import jmh.mbr.core.StringUtils;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.util.Version;
+
+/**
+ * Cache of {@link RunResult}s keyed by a fingerprint of the benchmark method. The fingerprint covers the bytecode of
+ * the benchmark class and all classes reachable from it that are loaded from a directory (i.e. classes of the project
+ * under development). Classes loaded from archives contribute their bytecode without being traversed further. JDK and
+ * JMH classes are not considered. The fingerprint further covers the benchmark configuration, the Java version and the
+ * JMH version so that results are only reused if they were measured under the same conditions.
+ */
+public class IncrementalResultsCache {
+
+	private static final String[] EXCLUDED_PACKAGES = { "java/", "javax/", "jdk/", "sun/", "com/sun/",
+			"org/openjdk/jmh/" };
+
+	private static final Set<String> EXCLUDED_PROPERTIES = new TreeSet<>();
+
+	static {
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.PUBLISH_URI.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.BENCHMARK_REPORT_DIR.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.INCREMENTAL_CACHE_DIR.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.BASELINE.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.BASELINE_THRESHOLD.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.BASELINE_CONFIDENCE.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.DISCOVERY_PARALLEL.propertyName());
+		EXCLUDED_PROPERTIES.add(BenchmarkConfigProperties.METRICS_URI.propertyName());
+	}
+
+	private final Path directory;
+	private final String configuration;
+
+	IncrementalResultsCache(Path directory, Map<String, Object> configuration) {
+
+		Map<String, Object> relevant = new TreeMap<>();
+		configuration.forEach((key, value) -> {
+			if (!EXCLUDED_PROPERTIES.contains(key)) {
+				relevant.put(key, value);
+			}
+		});
+
+		this.directory = directory;
+		this.configuration = relevant + "|" + System.getProperty("java.version") + "|" + Version.getPlainVersion();
+	}
+
+	/**
+	 * Create a {@link IncrementalResultsCache} if {@link BenchmarkConfiguration#getIncrementalCacheDirectory()} is
+	 * configured.
+	 *
+	 * @param configuration the benchmark configuration.
+	 * @return the {@link IncrementalResultsCache} or {@literal null} if incremental execution is not enabled.
+	 */
+	public static IncrementalResultsCache create(BenchmarkConfiguration configuration) {
+
+		String directory = configuration.getIncrementalCacheDirectory();
+
+		if (!StringUtils.hasText(directory)) {
+			return null;
+		}
+
+		return new IncrementalResultsCache(new File(directory).toPath(), configuration.asMap());
+	}
+
+	/**
+	 * Compute the fingerprint for a benchmark method.
+	 *
+	 * @param benchmarkMethod the {@link org.openjdk.jmh.annotations.Benchmark} method.
+	 * @return the hex-encoded fingerprint.
+	 */
+	public String fingerprint(Method benchmarkMethod) {
+
+		MessageDigest digest = newDigest();
+		ClassLoader classLoader = benchmarkMethod.getDeclaringClass().getClassLoader();
+
+		update(digest, configuration);
+		update(digest, benchmarkMethod.getDeclaringClass().getName() + "#" + benchmarkMethod.getName());
+
+		Set<String> visited = new TreeSet<>();
+		Deque<String> queue = new ArrayDeque<>();
+		queue.add(benchmarkMethod.getDeclaringClass().getName().replace('.', '/'));
+
+		Map<String, byte[]> bytecode = new TreeMap<>();
+
+		while (!queue.isEmpty()) {
+
+			String className = queue.poll();
+
+			if (!visited.add(className) || isExcluded(className)) {
+				continue;
+			}
+
+			URL resource = classLoader.getResource(className + ".class");
+
+			if (resource == null) {
+				continue;
+			}
+
+			byte[] bytes = read(resource);
+			bytecode.put(className, bytes);
+
+			if (!"file".equals(resource.getProtocol())) {
+				continue;
+			}
+
+			try {
+				queue.addAll(ClassReferences.read(bytes));
+			}
+			catch (IOException e) {
+				// not a class file we can read, its bytes are considered nevertheless
+			}
+		}
+
+		bytecode.forEach((className, bytes) -> {
+			update(digest, className);
+			digest.update(bytes);
+		});
+
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Retrieve cached {@link RunResult}s.
+	 *
+	 * @param fingerprint the benchmark fingerprint.
+	 * @return the cached {@link RunResult}s or {@literal null} if none are cached or the cache entry cannot be read.
+	 */
+	@SuppressWarnings("unchecked")
+	public Collection<RunResult> get(String fingerprint) {
+
+		Path file = directory.resolve(fingerprint + ".ser");
+
+		if (!Files.exists(file)) {
+			return null;
+		}
+
+		try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file))) {
+			return (Collection<RunResult>) in.readObject();
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Store {@link RunResult}s.
+	 *
+	 * @param fingerprint the benchmark fingerprint.
+	 * @param results the results to cache.
+	 */
+	public void put(String fingerprint, Collection<RunResult> results) {
+
+		try {
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, fingerprint, ".tmp");
+
+			try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(temp))) {
+				out.writeObject(new ArrayList<>(results));
+			}
+
+			Files.move(temp, directory.resolve(fingerprint + ".ser"), StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static boolean isExcluded(String className) {
+
+		for (String excludedPackage : EXCLUDED_PACKAGES) {
+			if (className.startsWith(excludedPackage)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static byte[] read(URL resource) {
+
+		try (InputStream in = resource.openStream()) {
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() {
+
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+}
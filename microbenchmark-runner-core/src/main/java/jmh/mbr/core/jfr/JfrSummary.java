@@ -0,0 +1,437 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.jfr;
+
+import java.io.Closeable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.TextResult;
+
+/**
+ * Summary of a Java Flight Recorder recording of a benchmark: hot methods by execution samples, allocation sites by
+ * allocated bytes and lock contention by time spent blocked on monitors.
+ * <p>
+ * Recordings are created by the JMH {@code jfr} profiler and read through the {@code jdk.jfr.consumer} API. The API is
+ * accessed reflectively as it is not available on Java 8. Summaries are not available if the runtime does not provide
+ * the API.
+ */
+public class JfrSummary {
+
+	static final int TOP = 5;
+
+	private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+	private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+	private static final String ALLOCATION_IN_NEW_TLAB = "jdk.ObjectAllocationInNewTLAB";
+	private static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+	private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+
+	private final Path recording;
+	private final List<Entry> hotMethods;
+	private final List<Entry> allocationSites;
+	private final List<Entry> lockContention;
+
+	JfrSummary(Path recording, List<Entry> hotMethods, List<Entry> allocationSites, List<Entry> lockContention) {
+		this.recording = recording;
+		this.hotMethods = hotMethods;
+		this.allocationSites = allocationSites;
+		this.lockContention = lockContention;
+	}
+
+	/**
+	 * Find recordings reported by the JMH {@code jfr} profiler as part of the secondary results.
+	 *
+	 * @param result the benchmark result.
+	 * @return paths to existing recordings, empty if the benchmark was not recorded.
+	 */
+	public static List<Path> findRecordings(RunResult result) {
+
+		List<Path> recordings = new ArrayList<>();
+
+		for (Result<?> secondary : result.getSecondaryResults().values()) {
+
+			if (!(secondary instanceof TextResult)) {
+				continue;
+			}
+
+			for (String line : secondary.extendedInfo().split("\\R")) {
+
+				String candidate = line.trim();
+				if (candidate.endsWith(".jfr")) {
+
+					Path path = Paths.get(candidate);
+					if (Files.isRegularFile(path) && !recordings.contains(path)) {
+						recordings.add(path);
+					}
+				}
+			}
+		}
+
+		return recordings;
+	}
+
+	/**
+	 * Summarize all recordings of a benchmark that can be read.
+	 *
+	 * @param result the benchmark result.
+	 * @return the summaries, empty if the benchmark was not recorded.
+	 * @see #findRecordings(RunResult)
+	 */
+	public static List<JfrSummary> summarize(RunResult result) {
+
+		List<JfrSummary> summaries = new ArrayList<>();
+		for (Path recording : findRecordings(result)) {
+			read(recording).ifPresent(summaries::add);
+		}
+
+		return summaries;
+	}
+
+	/**
+	 * Read a recording and summarize it.
+	 *
+	 * @param recording the JFR recording.
+	 * @return the summary or {@link Optional#empty()} if the {@code jdk.jfr.consumer} API is not available or the
+	 * recording cannot be read.
+	 */
+	public static Optional<JfrSummary> read(Path recording) {
+
+		RecordingReader reader = RecordingReader.INSTANCE;
+
+		if (reader == null) {
+			return Optional.empty();
+		}
+
+		try {
+			return Optional.of(reader.read(recording));
+		}
+		catch (ReflectiveOperationException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	public Path getRecording() {
+		return recording;
+	}
+
+	/**
+	 * @return methods with the most execution samples, share of samples in percent.
+	 */
+	public List<Entry> getHotMethods() {
+		return hotMethods;
+	}
+
+	/**
+	 * @return allocation sites (method and allocated type) with the most allocated bytes.
+	 */
+	public List<Entry> getAllocationSites() {
+		return allocationSites;
+	}
+
+	/**
+	 * @return monitor classes with the most time spent blocked, in milliseconds.
+	 */
+	public List<Entry> getLockContention() {
+		return lockContention;
+	}
+
+	/**
+	 * Render the summary as key-value pairs, e.g. for test report entries.
+	 *
+	 * @return the summary as map.
+	 */
+	public Map<String, String> toMap() {
+
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("jfr.recording", recording.toString());
+		values.put("jfr.hotMethods", format(hotMethods, "%%"));
+		values.put("jfr.allocationSites", format(allocationSites, " MB"));
+		values.put("jfr.lockContention", format(lockContention, " ms"));
+		return values;
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder builder = new StringBuilder();
+		builder.append("JFR summary of ").append(recording).append(System.lineSeparator());
+		append(builder, "Hot methods", hotMethods, "%%");
+		append(builder, "Allocation sites", allocationSites, " MB");
+		append(builder, "Lock contention", lockContention, " ms");
+		return builder.toString();
+	}
+
+	private static void append(StringBuilder builder, String title, List<Entry> entries, String unit) {
+
+		builder.append("  ").append(title).append(':').append(System.lineSeparator());
+
+		if (entries.isEmpty()) {
+			builder.append("    (none)").append(System.lineSeparator());
+		}
+
+		for (Entry entry : entries) {
+			builder.append(String.format(Locale.ROOT, "    %8.2f" + unit + "  %s", entry.getValue(), entry.getName()))
+					.append(System.lineSeparator());
+		}
+	}
+
+	private static String format(List<Entry> entries, String unit) {
+
+		if (entries.isEmpty()) {
+			return "none";
+		}
+
+		StringBuilder builder = new StringBuilder();
+		for (Entry entry : entries) {
+
+			if (builder.length() != 0) {
+				builder.append("; ");
+			}
+			builder.append(entry.getName())
+					.append(String.format(Locale.ROOT, " (%.2f" + unit + ")", entry.getValue()));
+		}
+
+		return builder.toString();
+	}
+
+	static List<Entry> top(Map<String, Double> values, double scale) {
+
+		List<Map.Entry<String, Double>> sorted = new ArrayList<>(values.entrySet());
+		sorted.sort(Map.Entry.<String, Double> comparingByValue().reversed());
+
+		List<Entry> entries = new ArrayList<>();
+		for (Map.Entry<String, Double> entry : sorted.subList(0, Math.min(TOP, sorted.size()))) {
+			entries.add(new Entry(entry.getKey(), entry.getValue() * scale));
+		}
+
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Named value of a summary.
+	 */
+	public static class Entry {
+
+		private final String name;
+		private final double value;
+
+		Entry(String name, double value) {
+			this.name = name;
+			this.value = value;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		@Override
+		public String toString() {
+			return name + "=" + value;
+		}
+	}
+
+	/**
+	 * Reflective access to {@code jdk.jfr.consumer}. Methods are resolved from the public API types so that
+	 * invocations do not depend on accessibility of implementation classes.
+	 */
+	static class RecordingReader {
+
+		static final RecordingReader INSTANCE = create();
+
+		private final Constructor<?> recordingFile;
+		private final Method hasMoreEvents;
+		private final Method readEvent;
+		private final Method getEventType;
+		private final Method getEventTypeName;
+		private final Method getStackTrace;
+		private final Method getFrames;
+		private final Method getMethod;
+		private final Method getMethodType;
+		private final Method getMethodName;
+		private final Method getClassName;
+		private final Method hasField;
+		private final Method getLong;
+		private final Method getRecordedClass;
+		private final Method getDuration;
+
+		private RecordingReader() throws ReflectiveOperationException {
+
+			ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+			Class<?> recordingFileType = Class.forName("jdk.jfr.consumer.RecordingFile", false, classLoader);
+			Class<?> recordedObject = Class.forName("jdk.jfr.consumer.RecordedObject", false, classLoader);
+			Class<?> recordedEvent = Class.forName("jdk.jfr.consumer.RecordedEvent", false, classLoader);
+			Class<?> recordedStackTrace = Class.forName("jdk.jfr.consumer.RecordedStackTrace", false, classLoader);
+			Class<?> recordedFrame = Class.forName("jdk.jfr.consumer.RecordedFrame", false, classLoader);
+			Class<?> recordedMethod = Class.forName("jdk.jfr.consumer.RecordedMethod", false, classLoader);
+			Class<?> recordedClass = Class.forName("jdk.jfr.consumer.RecordedClass", false, classLoader);
+			Class<?> eventType = Class.forName("jdk.jfr.EventType", false, classLoader);
+
+			this.recordingFile = recordingFileType.getConstructor(Path.class);
+			this.hasMoreEvents = recordingFileType.getMethod("hasMoreEvents");
+			this.readEvent = recordingFileType.getMethod("readEvent");
+			this.getEventType = recordedEvent.getMethod("getEventType");
+			this.getEventTypeName = eventType.getMethod("getName");
+			this.getStackTrace = recordedEvent.getMethod("getStackTrace");
+			this.getFrames = recordedStackTrace.getMethod("getFrames");
+			this.getMethod = recordedFrame.getMethod("getMethod");
+			this.getMethodType = recordedMethod.getMethod("getType");
+			this.getMethodName = recordedMethod.getMethod("getName");
+			this.getClassName = recordedClass.getMethod("getName");
+			this.hasField = recordedObject.getMethod("hasField", String.class);
+			this.getLong = recordedObject.getMethod("getLong", String.class);
+			this.getRecordedClass = recordedObject.getMethod("getClass", String.class);
+			this.getDuration = recordedEvent.getMethod("getDuration");
+		}
+
+		private static RecordingReader create() {
+
+			try {
+				return new RecordingReader();
+			}
+			catch (ReflectiveOperationException | LinkageError e) {
+				return null;
+			}
+		}
+
+		JfrSummary read(Path recording) throws ReflectiveOperationException {
+
+			Map<String, Double> samples = new HashMap<>();
+			Map<String, Double> sampledAllocations = new HashMap<>();
+			Map<String, Double> tlabAllocations = new HashMap<>();
+			Map<String, Double> contention = new HashMap<>();
+			long sampleCount = 0;
+
+			Object file = recordingFile.newInstance(recording);
+
+			try {
+
+				while ((Boolean) hasMoreEvents.invoke(file)) {
+
+					Object event = readEvent.invoke(file);
+					String type = (String) getEventTypeName.invoke(getEventType.invoke(event));
+
+					switch (type) {
+						case EXECUTION_SAMPLE:
+							String method = getTopFrame(event);
+							if (method != null) {
+								samples.merge(method, 1d, Double::sum);
+								sampleCount++;
+							}
+							break;
+						case ALLOCATION_SAMPLE:
+							recordAllocation(event, "weight", sampledAllocations);
+							break;
+						case ALLOCATION_IN_NEW_TLAB:
+							recordAllocation(event, "tlabSize", tlabAllocations);
+							break;
+						case ALLOCATION_OUTSIDE_TLAB:
+							recordAllocation(event, "allocationSize", tlabAllocations);
+							break;
+						case MONITOR_ENTER:
+							String monitor = getClassName(event, "monitorClass");
+							Duration duration = (Duration) getDuration.invoke(event);
+							contention.merge(monitor != null ? monitor : "unknown", (double) duration.toNanos(),
+									Double::sum);
+							break;
+						default:
+					}
+				}
+			}
+			catch (InvocationTargetException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw e;
+			}
+			finally {
+				if (file instanceof Closeable) {
+					try {
+						((Closeable) file).close();
+					}
+					catch (Exception e) {
+						// ignore
+					}
+				}
+			}
+
+			// allocation samples (JDK 16+) and TLAB events describe the same allocations
+			Map<String, Double> allocations = sampledAllocations.isEmpty() ? tlabAllocations : sampledAllocations;
+
+			return new JfrSummary(recording, top(samples, sampleCount == 0 ? 0 : 100d / sampleCount),
+					top(allocations, 1d / (1024 * 1024)), top(contention, 1d / 1_000_000));
+		}
+
+		private void recordAllocation(Object event, String weightField, Map<String, Double> allocations)
+				throws ReflectiveOperationException {
+
+			if (!(Boolean) hasField.invoke(event, weightField)) {
+				return;
+			}
+
+			String method = getTopFrame(event);
+			String objectClass = getClassName(event, "objectClass");
+			String site = (method != null ? method : "unknown") + " (" + (objectClass != null ? objectClass : "unknown")
+					+ ")";
+
+			allocations.merge(site, (double) (Long) getLong.invoke(event, weightField), Double::sum);
+		}
+
+		private String getClassName(Object event, String field) throws ReflectiveOperationException {
+
+			if (!(Boolean) hasField.invoke(event, field)) {
+				return null;
+			}
+
+			Object recordedClass = getRecordedClass.invoke(event, field);
+			return recordedClass != null ? (String) getClassName.invoke(recordedClass) : null;
+		}
+
+		private String getTopFrame(Object event) throws ReflectiveOperationException {
+
+			Object stackTrace = getStackTrace.invoke(event);
+			if (stackTrace == null) {
+				return null;
+			}
+
+			List<?> frames = (List<?>) getFrames.invoke(stackTrace);
+			if (frames.isEmpty()) {
+				return null;
+			}
+
+			Object method = getMethod.invoke(frames.get(0));
+			if (method == null) {
+				return null;
+			}
+
+			Object type = getMethodType.invoke(method);
+			String typeName = type != null ? (String) getClassName.invoke(type) : "unknown";
+			return typeName + "." + getMethodName.invoke(method);
+		}
+	}
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * Live metrics of running benchmarks. Metrics are exposed as gauges in the OpenMetrics text format through an HTTP
+ * endpoint ({@code http://host:port/path}) or a periodically rewritten text file ({@code file:path}) that can be
+ * picked up by the Prometheus node exporter textfile collector.
+ * <p>
+ * Progress is reported through {@link OutputFormat} instances obtained from {@link #decorate(OutputFormat)}. Each
+ * decorated {@link OutputFormat} represents a benchmark run, concurrent runs are distinguished by the {@code run}
+ * label.
+ */
+public class BenchmarkMetrics {
+
+	private static final Map<String, BenchmarkMetrics> instances = new HashMap<>();
+
+	private final AtomicInteger runCounter = new AtomicInteger();
+	private final Map<Integer, RunState> runs = new ConcurrentHashMap<>();
+	private final Map<String, LastScore> lastScores = new ConcurrentHashMap<>();
+	private final AtomicLong completed = new AtomicLong();
+
+	// guarded by BenchmarkMetrics.class
+	private int users;
+	private Closeable exporter;
+
+	BenchmarkMetrics() {
+	}
+
+	/**
+	 * Obtain the shared {@link BenchmarkMetrics} for {@code uri} and start exporting metrics to it unless already
+	 * exporting. Callers {@link #release(String) release} the URI once their run completes so that the exporter stops
+	 * when no run uses it anymore. Metrics are retained across exporter restarts.
+	 *
+	 * @param uri the metrics URI, either {@code http://host:port/path} or {@code file:path}.
+	 * @return the shared {@link BenchmarkMetrics}.
+	 * @throws IllegalArgumentException if the URI is not supported or the exporter cannot be started.
+	 */
+	public static synchronized BenchmarkMetrics getInstance(String uri) {
+
+		BenchmarkMetrics metrics = instances.computeIfAbsent(uri, key -> new BenchmarkMetrics());
+
+		if (metrics.exporter == null) {
+			metrics.exporter = MetricsExporter.start(uri, metrics);
+		}
+
+		metrics.users++;
+		return metrics;
+	}
+
+	/**
+	 * Release the {@link BenchmarkMetrics} obtained through {@link #getInstance(String)}. Stops exporting metrics to
+	 * {@code uri} once all users released it.
+	 *
+	 * @param uri the metrics URI.
+	 */
+	public static synchronized void release(String uri) {
+
+		BenchmarkMetrics metrics = instances.get(uri);
+
+		if (metrics == null || metrics.users == 0 || --metrics.users > 0) {
+			return;
+		}
+
+		try {
+			metrics.exporter.close();
+		}
+		catch (IOException | UncheckedIOException e) {
+			System.err.println(String.format("Cannot stop metrics export to '%s'. Error was %s.", uri, e));
+		}
+		finally {
+			metrics.exporter = null;
+		}
+	}
+
+	/**
+	 * Decorate {@link OutputFormat} to record progress of a benchmark run.
+	 *
+	 * @param delegate the {@link OutputFormat} to decorate.
+	 * @return the decorated {@link OutputFormat}.
+	 */
+	public OutputFormat decorate(OutputFormat delegate) {
+		return new MetricsOutputFormat(delegate, this);
+	}
+
+	RunState startRun() {
+
+		RunState run = new RunState(runCounter.incrementAndGet());
+		runs.put(run.id, run);
+		return run;
+	}
+
+	void endRun(RunState run) {
+		runs.remove(run.id);
+	}
+
+	void completed(BenchmarkParams params, double score, String unit) {
+
+		Map<String, String> labels = getBenchmarkLabels(params);
+		lastScores.put(labels.toString(), new LastScore(labels, score, unit));
+		completed.incrementAndGet();
+	}
+
+	/**
+	 * Render metrics in the OpenMetrics text format.
+	 *
+	 * @param terminate whether to terminate the exposition with {@code # EOF} as required by OpenMetrics. The
+	 * Prometheus text format does not use a terminator.
+	 * @return the rendered metrics.
+	 */
+	String render(boolean terminate) {
+
+		// snapshots prevent observing concurrent updates while rendering
+		List<RunState> runs = new ArrayList<>();
+		this.runs.values().forEach(it -> runs.add(it.snapshot()));
+		runs.sort((a, b) -> Integer.compare(a.id, b.id));
+
+		MetricsWriter writer = new MetricsWriter();
+
+		writer.family("mbr_run_progress_ratio", "Progress of a benchmark run as reported by JMH.");
+		for (RunState run : runs) {
+			if (!Double.isNaN(run.progress)) {
+				writer.sample("mbr_run_progress_ratio", runLabels(run), run.progress);
+			}
+		}
+
+		writer.family("mbr_run_eta_seconds", "Estimated remaining time of a benchmark run as reported by JMH.");
+		for (RunState run : runs) {
+			if (run.etaSeconds >= 0) {
+				writer.sample("mbr_run_eta_seconds", runLabels(run), run.etaSeconds);
+			}
+		}
+
+		writer.family("mbr_benchmark_running", "Benchmark that is currently running.");
+		for (RunState run : runs) {
+			if (run.benchmark != null) {
+				writer.sample("mbr_benchmark_running", benchmarkLabels(run), 1);
+			}
+		}
+
+		writer.family("mbr_benchmark_iteration", "Current iteration of a running benchmark.");
+		for (RunState run : runs) {
+			if (run.benchmark != null && run.phase != null) {
+				writer.sample("mbr_benchmark_iteration", iterationLabels(run), run.iteration);
+			}
+		}
+
+		writer.family("mbr_benchmark_iterations", "Number of iterations of the current phase of a running benchmark.");
+		for (RunState run : runs) {
+			if (run.benchmark != null && run.phase != null) {
+				writer.sample("mbr_benchmark_iterations", iterationLabels(run), run.iterations);
+			}
+		}
+
+		writer.family("mbr_benchmark_iteration_score", "Score of the last iteration of a running benchmark.");
+		for (RunState run : runs) {
+			if (run.benchmark != null && run.phase != null && !Double.isNaN(run.score)) {
+				Map<String, String> labels = iterationLabels(run);
+				labels.put("unit", run.unit);
+				writer.sample("mbr_benchmark_iteration_score", labels, run.score);
+			}
+		}
+
+		writer.family("mbr_benchmark_iteration_gc_time_seconds",
+				"GC time of the last iteration of a running benchmark as reported by the gc profiler.");
+		for (RunState run : runs) {
+			if (run.benchmark != null && run.phase != null && !Double.isNaN(run.gcTimeSeconds)) {
+				writer.sample("mbr_benchmark_iteration_gc_time_seconds", iterationLabels(run), run.gcTimeSeconds);
+			}
+		}
+
+		writer.family("mbr_benchmark_score", "Score of a completed benchmark.");
+		for (LastScore score : lastScores.values()) {
+			Map<String, String> labels = new LinkedHashMap<>(score.labels);
+			labels.put("unit", score.unit);
+			writer.sample("mbr_benchmark_score", labels, score.score);
+		}
+
+		writer.family("mbr_benchmarks_completed", "Number of completed benchmarks.");
+		writer.sample("mbr_benchmarks_completed", new HashMap<>(), completed.get());
+
+		writer.family("mbr_jvm_gc_time_seconds", "Accumulated GC time of the JVM running benchmarks without forking.");
+		writer.sample("mbr_jvm_gc_time_seconds", new HashMap<>(), getJvmGcTimeSeconds());
+
+		if (terminate) {
+			writer.eof();
+		}
+
+		return writer.toString();
+	}
+
+	private static double getJvmGcTimeSeconds() {
+
+		long millis = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, bean.getCollectionTime());
+		}
+
+		return millis / 1000.0;
+	}
+
+	private static Map<String, String> runLabels(RunState run) {
+
+		Map<String, String> labels = new LinkedHashMap<>();
+		labels.put("run", Integer.toString(run.id));
+		return labels;
+	}
+
+	private static Map<String, String> benchmarkLabels(RunState run) {
+
+		Map<String, String> labels = runLabels(run);
+		labels.putAll(getBenchmarkLabels(run.benchmark));
+		return labels;
+	}
+
+	private static Map<String, String> iterationLabels(RunState run) {
+
+		Map<String, String> labels = benchmarkLabels(run);
+		labels.put("phase", run.phase);
+		return labels;
+	}
+
+	private static Map<String, String> getBenchmarkLabels(BenchmarkParams params) {
+
+		StringBuilder paramValues = new StringBuilder();
+		for (String key : params.getParamsKeys()) {
+
+			if (paramValues.length() != 0) {
+				paramValues.append(',');
+			}
+			paramValues.append(key).append('=').append(params.getParam(key));
+		}
+
+		Map<String, String> labels = new LinkedHashMap<>();
+		labels.put("benchmark", params.getBenchmark());
+		labels.put("mode", params.getMode().shortLabel());
+		labels.put("params", paramValues.toString());
+		return labels;
+	}
+
+	/**
+	 * State of a benchmark run. Updated by the thread running benchmarks and read when rendering metrics.
+	 */
+	static class RunState {
+
+		final int id;
+
+		volatile BenchmarkParams benchmark;
+		volatile String phase;
+		volatile int iteration;
+		volatile int iterations;
+		volatile double score = Double.NaN;
+		volatile String unit;
+		volatile double gcTimeSeconds = Double.NaN;
+		volatile double progress = Double.NaN;
+		volatile long etaSeconds = -1;
+
+		RunState(int id) {
+			this.id = id;
+		}
+
+		RunState snapshot() {
+
+			RunState snapshot = new RunState(id);
+			snapshot.benchmark = benchmark;
+			snapshot.phase = phase;
+			snapshot.iteration = iteration;
+			snapshot.iterations = iterations;
+			snapshot.score = score;
+			snapshot.unit = unit;
+			snapshot.gcTimeSeconds = gcTimeSeconds;
+			snapshot.progress = progress;
+			snapshot.etaSeconds = etaSeconds;
+			return snapshot;
+		}
+	}
+
+	private static class LastScore {
+
+		private final Map<String, String> labels;
+		private final double score;
+		private final String unit;
+
+		LastScore(Map<String, String> labels, double score, String unit) {
+			this.labels = labels;
+			this.score = score;
+			this.unit = unit;
+		}
+	}
+}
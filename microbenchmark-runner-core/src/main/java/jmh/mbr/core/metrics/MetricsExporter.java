@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Exports {@link BenchmarkMetrics} either through an embedded HTTP server or by periodically rewriting a text file.
+ * Exporters run until they are {@link Closeable#close() closed}. Text files are rewritten a last time when closing the
+ * exporter or when the JVM shuts down, whichever happens first.
+ */
+class MetricsExporter {
+
+	static final Duration WRITE_INTERVAL = Duration.ofSeconds(1);
+
+	static final String OPENMETRICS_CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+	private MetricsExporter() {
+	}
+
+	/**
+	 * Start exporting {@link BenchmarkMetrics} to {@code uri}.
+	 *
+	 * @param uri either {@code http://host:port/path} or {@code file:path}.
+	 * @param metrics the metrics to export.
+	 * @return handle to stop exporting.
+	 * @throws IllegalArgumentException if the URI is not supported or the exporter cannot be started.
+	 */
+	static Closeable start(String uri, BenchmarkMetrics metrics) {
+
+		URI parsed = URI.create(uri);
+
+		if ("http".equals(parsed.getScheme())) {
+			return startHttpServer(parsed, metrics);
+		}
+
+		if ("file".equals(parsed.getScheme())) {
+			return startFileWriter(getPath(parsed), metrics);
+		}
+
+		throw new IllegalArgumentException(
+				String.format("Unsupported metrics URI '%s', use http://host:port/path or file:path", uri));
+	}
+
+	private static Closeable startHttpServer(URI uri, BenchmarkMetrics metrics) {
+
+		String host = uri.getHost() != null ? uri.getHost() : "localhost";
+		int port = uri.getPort() != -1 ? uri.getPort() : 80;
+		String path = uri.getPath() != null && !uri.getPath().isEmpty() ? uri.getPath() : "/metrics";
+
+		HttpServer server;
+		try {
+			server = HttpServer.create(new InetSocketAddress(host, port), 0);
+		}
+		catch (IOException e) {
+			throw new IllegalArgumentException(String.format("Cannot start metrics endpoint at '%s'", uri), e);
+		}
+
+		server.createContext(path, exchange -> {
+
+			try {
+
+				byte[] body = metrics.render(true).getBytes(StandardCharsets.UTF_8);
+
+				exchange.getResponseHeaders().set("Content-Type", OPENMETRICS_CONTENT_TYPE);
+				exchange.sendResponseHeaders(200, body.length);
+
+				try (OutputStream out = exchange.getResponseBody()) {
+					out.write(body);
+				}
+			}
+			finally {
+				exchange.close();
+			}
+		});
+
+		ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+
+			Thread thread = new Thread(runnable, "mbr-metrics-http");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		server.setExecutor(executor);
+		server.start();
+
+		// the HttpServer dispatcher thread is not a daemon thread and keeps the JVM alive until the server is stopped
+		return () -> {
+			server.stop(0);
+			executor.shutdown();
+		};
+	}
+
+	private static Closeable startFileWriter(Path file, BenchmarkMetrics metrics) {
+
+		ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+
+			Thread thread = new Thread(runnable, "mbr-metrics-file");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		executor.scheduleWithFixedDelay(() -> {
+
+			try {
+				write(file, metrics);
+			}
+			catch (UncheckedIOException e) {
+				System.err.println(String.format("Cannot write metrics to '%s'. Error was %s.", file, e.getCause()));
+			}
+		}, 0, WRITE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+
+		Thread shutdownHook = new Thread(() -> {
+
+			executor.shutdown();
+			try {
+				write(file, metrics);
+			}
+			catch (UncheckedIOException e) {
+				// ignore, JVM is shutting down
+			}
+		}, "mbr-metrics-shutdown");
+
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+
+		return () -> {
+
+			try {
+				Runtime.getRuntime().removeShutdownHook(shutdownHook);
+			}
+			catch (IllegalStateException e) {
+				// JVM is shutting down, the hook writes the file
+				return;
+			}
+
+			executor.shutdownNow();
+			try {
+				executor.awaitTermination(WRITE_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			write(file, metrics);
+		};
+	}
+
+	/**
+	 * Write metrics to a temporary file and move it into place so that readers never observe partially written
+	 * content. The file uses the Prometheus text format that is understood by the node exporter textfile collector.
+	 */
+	static void write(Path file, BenchmarkMetrics metrics) {
+
+		try {
+
+			Path directory = file.toAbsolutePath().getParent();
+			if (directory != null) {
+				Files.createDirectories(directory);
+			}
+
+			Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			Files.write(temp, metrics.render(false).getBytes(StandardCharsets.UTF_8));
+
+			try {
+				Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static Path getPath(URI uri) {
+
+		if (uri.isOpaque()) {
+			return Paths.get(uri.getSchemeSpecificPart());
+		}
+
+		return Paths.get(uri);
+	}
+}
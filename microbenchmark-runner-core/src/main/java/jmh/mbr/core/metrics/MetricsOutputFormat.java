@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.metrics;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jmh.mbr.core.metrics.BenchmarkMetrics.RunState;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * {@link OutputFormat} that records the progress of a benchmark run in {@link BenchmarkMetrics} and delegates to
+ * another {@link OutputFormat}.
+ */
+class MetricsOutputFormat implements OutputFormat {
+
+	private static final Pattern RUN_PROGRESS = Pattern
+			.compile("# Run progress: ([0-9.,]+)% complete, ETA (?:(\\d+) days, )?(\\d+):(\\d+):(\\d+)");
+
+	private final OutputFormat delegate;
+	private final BenchmarkMetrics metrics;
+
+	private volatile RunState run;
+
+	MetricsOutputFormat(OutputFormat delegate, BenchmarkMetrics metrics) {
+		this.delegate = delegate;
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void iteration(BenchmarkParams benchParams, IterationParams params, int iteration) {
+
+		RunState run = getRun();
+		run.benchmark = benchParams;
+		run.phase = params.getType() == IterationType.WARMUP ? "warmup" : "measurement";
+		run.iteration = iteration;
+		run.iterations = params.getCount();
+
+		delegate.iteration(benchParams, params, iteration);
+	}
+
+	@Override
+	public void iterationResult(BenchmarkParams benchParams, IterationParams params, int iteration,
+			IterationResult data) {
+
+		RunState run = getRun();
+		Result<?> primary = data.getPrimaryResult();
+		run.score = primary.getScore();
+		run.unit = primary.getScoreUnit();
+		run.gcTimeSeconds = getGcTimeSeconds(data.getSecondaryResults());
+
+		delegate.iterationResult(benchParams, params, iteration, data);
+	}
+
+	@Override
+	public void startBenchmark(BenchmarkParams benchParams) {
+
+		RunState run = getRun();
+		run.benchmark = benchParams;
+		run.phase = null;
+		run.score = Double.NaN;
+		run.gcTimeSeconds = Double.NaN;
+
+		delegate.startBenchmark(benchParams);
+	}
+
+	@Override
+	public void endBenchmark(BenchmarkResult result) {
+
+		RunState run = getRun();
+		run.benchmark = null;
+		run.phase = null;
+
+		if (result != null) {
+			Result<?> primary = result.getPrimaryResult();
+			metrics.completed(result.getParams(), primary.getScore(), primary.getScoreUnit());
+		}
+
+		delegate.endBenchmark(result);
+	}
+
+	@Override
+	public void startRun() {
+		getRun();
+		delegate.startRun();
+	}
+
+	@Override
+	public void endRun(Collection<RunResult> result) {
+
+		RunState run = this.run;
+		if (run != null) {
+			metrics.endRun(run);
+			this.run = null;
+		}
+
+		delegate.endRun(result);
+	}
+
+	@Override
+	public void print(String s) {
+		delegate.print(s);
+	}
+
+	@Override
+	public void println(String s) {
+
+		Matcher matcher = RUN_PROGRESS.matcher(s);
+		if (matcher.lookingAt()) {
+
+			RunState run = getRun();
+			run.progress = Double.parseDouble(matcher.group(1).replace(',', '.')) / 100;
+			run.etaSeconds = TimeUnit.DAYS.toSeconds(matcher.group(2) != null ? Long.parseLong(matcher.group(2)) : 0)
+					+ TimeUnit.HOURS.toSeconds(Long.parseLong(matcher.group(3)))
+					+ TimeUnit.MINUTES.toSeconds(Long.parseLong(matcher.group(4))) + Long.parseLong(matcher.group(5));
+		}
+
+		delegate.println(s);
+	}
+
+	@Override
+	public void flush() {
+		delegate.flush();
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+
+	@Override
+	public void verbosePrintln(String s) {
+		delegate.verbosePrintln(s);
+	}
+
+	@Override
+	public void write(int b) {
+		delegate.write(b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		delegate.write(b);
+	}
+
+	private RunState getRun() {
+
+		RunState run = this.run;
+
+		if (run == null) {
+			run = metrics.startRun();
+			this.run = run;
+		}
+
+		return run;
+	}
+
+	/**
+	 * Obtain the GC time reported by the gc profiler ({@code gc.time} in milliseconds).
+	 *
+	 * @return the GC time in seconds or {@link Double#NaN} if not available.
+	 */
+	static double getGcTimeSeconds(Map<String, Result> secondaryResults) {
+
+		for (Map.Entry<String, Result> entry : secondaryResults.entrySet()) {
+
+			if (entry.getKey().endsWith("gc.time")) {
+
+				Result<?> result = entry.getValue();
+				return "ms".equals(result.getScoreUnit()) ? result.getScore() / 1000 : result.getScore();
+			}
+		}
+
+		return Double.NaN;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writer for gauge metric families in the OpenMetrics text format. The output is compatible with the Prometheus text
+ * format unless terminated with {@link #eof()}.
+ */
+class MetricsWriter {
+
+	private final StringBuilder builder = new StringBuilder();
+
+	/**
+	 * Start a gauge metric family.
+	 *
+	 * @param name the metric name.
+	 * @param help the help text.
+	 */
+	void family(String name, String help) {
+		builder.append("# TYPE ").append(name).append(" gauge\n");
+		builder.append("# HELP ").append(name).append(' ').append(escape(help)).append('\n');
+	}
+
+	/**
+	 * Write a sample of the current metric family.
+	 *
+	 * @param name the metric name.
+	 * @param labels the labels of the sample.
+	 * @param value the value.
+	 */
+	void sample(String name, Map<String, String> labels, double value) {
+
+		builder.append(name);
+
+		if (!labels.isEmpty()) {
+
+			builder.append('{');
+
+			boolean first = true;
+			for (Map.Entry<String, String> entry : labels.entrySet()) {
+
+				if (!first) {
+					builder.append(',');
+				}
+
+				builder.append(entry.getKey()).append("=\"").append(escape(entry.getValue())).append('"');
+				first = false;
+			}
+
+			builder.append('}');
+		}
+
+		builder.append(' ').append(format(value)).append('\n');
+	}
+
+	void eof() {
+		builder.append("# EOF\n");
+	}
+
+	static String format(double value) {
+
+		if (Double.isNaN(value)) {
+			return "NaN";
+		}
+
+		if (Double.isInfinite(value)) {
+			return value > 0 ? "+Inf" : "-Inf";
+		}
+
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+
+		return String.format(Locale.ROOT, "%s", value);
+	}
+
+	static String escape(String value) {
+
+		if (value == null) {
+			return "";
+		}
+
+		return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+	}
+
+	@Override
+	public String toString() {
+		return builder.toString();
+	}
+}
@@ -16,5 +16,6 @@ package jmh.mbr.core.model;
  * @see BenchmarkMethod
  * @see ParametrizedBenchmarkMethod
  * @see BenchmarkFixture
+ * @see JvmFlagSet
  */
 public interface BenchmarkDescriptor {}
@@ -16,8 +16,6 @@ import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -33,16 +31,31 @@ import org.openjdk.jmh.annotations.Benchmark;
 public class BenchmarkDescriptorFactory {
 
 	private final Class<?> benchmarkClass;
+	private final ParameterSampling sampling;
 
-	private BenchmarkDescriptorFactory(Class<?> benchmarkClass) {
+	private BenchmarkDescriptorFactory(Class<?> benchmarkClass, ParameterSampling sampling) {
 		this.benchmarkClass = benchmarkClass;
+		this.sampling = sampling;
 	}
 
 	public static BenchmarkDescriptorFactory create(Class<?> benchmarkClass) {
+		return create(benchmarkClass, ParameterSampling.exhaustive());
+	}
+
+	/**
+	 * Create a {@link BenchmarkDescriptorFactory} that restricts fixtures of parametrized benchmarks to the
+	 * combinations selected by {@link ParameterSampling}.
+	 *
+	 * @param benchmarkClass the benchmark class.
+	 * @param sampling the sampling strategy.
+	 * @return the {@link BenchmarkDescriptorFactory}.
+	 */
+	public static BenchmarkDescriptorFactory create(Class<?> benchmarkClass, ParameterSampling sampling) {
 
 		Objects.requireNonNull(benchmarkClass, "Benchmark class must not be null");
+		Objects.requireNonNull(sampling, "ParameterSampling must not be null");
 
-		return new BenchmarkDescriptorFactory(benchmarkClass);
+		return new BenchmarkDescriptorFactory(benchmarkClass, sampling);
 	}
 
 	/**
@@ -69,7 +82,8 @@ public class BenchmarkDescriptorFactory {
 	 * Creates {@link BenchmarkFixture} for a parametrized {@link BenchmarkMethod}.
 	 *
 	 * @param method the {@link BenchmarkMethod} to inspect.
-	 * @return list of fixtures if parameterized. Empty list if the method is not parametrized.
+	 * @return list of fixtures if parameterized. Empty list if the method is not parametrized. Fixtures are generated
+	 *         lazily on access and restricted to the combinations selected by {@link ParameterSampling}.
 	 */
 	public List<BenchmarkFixture> createFixtures(BenchmarkMethod method) {
 
@@ -88,39 +102,8 @@ public class BenchmarkDescriptorFactory {
 		stateClasses.addAll(argumentStateClasses);
 
 		Collection<BenchmarkArgument> arguments = BenchmarkParameters.discover(stateClasses);
-		Iterator<BenchmarkArgument> iterator = arguments.iterator();
-
-		return iterator.hasNext() ? createFixtures(iterator.next(), iterator) : Collections.emptyList();
-	}
-
-	private List<BenchmarkFixture> createFixtures(BenchmarkArgument argument, Iterator<BenchmarkArgument> iterator) {
-
-		List<BenchmarkFixture> fixtures = new ArrayList<>(argument.getParameterCount());
-
-		for (String parameter : argument.getParameters()) {
-			fixtures.add(BenchmarkFixture.create(argument.getName(), parameter));
-		}
-
-		while (iterator.hasNext()) {
-			fixtures = enhance(fixtures, iterator.next());
-		}
-
-		return fixtures;
-
-	}
-
-	private List<BenchmarkFixture> enhance(List<BenchmarkFixture> fixtures, BenchmarkArgument argument) {
-
-		List<BenchmarkFixture> enhanced = new ArrayList<>(fixtures.size() * argument.getParameterCount());
-
-		for (BenchmarkFixture fixture : fixtures) {
-
-			for (String parameter : argument.getParameters()) {
-				enhanced.add(fixture.enhance(argument.getName(), parameter));
-			}
-		}
 
-		return enhanced;
+		return FixtureSpace.of(arguments).sample(sampling);
 	}
 
 	public Optional<BenchmarkMethod> getBenchmarkMethod(String name, Class<?>... parameterTypes) {
@@ -136,9 +119,8 @@ public class BenchmarkDescriptorFactory {
 
 	private Stream<BenchmarkMethod> getBenchmarkMethods(Predicate<Method> filter) {
 
-		return Stream.concat(Arrays.stream(benchmarkClass.getMethods()), Arrays.stream(benchmarkClass.getDeclaredMethods())) //
+		return ClassMetadata.of(benchmarkClass).getMethods().stream() //
 				.filter(filter) //
-				.distinct() //
 				.map(BenchmarkMethod::new);
 	}
 }
@@ -21,7 +21,7 @@ public class BenchmarkFixture implements BenchmarkDescriptor {
 
 	private final Map<String, Object> fixture;
 
-	private BenchmarkFixture(Map<String, Object> fixture) {
+	BenchmarkFixture(Map<String, Object> fixture) {
 		this.fixture = fixture;
 	}
 
@@ -20,6 +20,7 @@ import java.util.Map.Entry;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+import jmh.mbr.core.BenchmarkConfigProperties;
 import jmh.mbr.core.Environment;
 import jmh.mbr.core.model.BenchmarkResults.BenchmarkResult;
 import org.openjdk.jmh.infra.BenchmarkParams;
@@ -46,7 +47,7 @@ public class BenchmarkResults implements Iterable<BenchmarkResult> {
 	 * @return a {@link Stream} of {@link BenchmarkResult}.
 	 */
 	public Stream<BenchmarkResult> stream() {
-		return runResults.stream().map(it -> new BenchmarkResult(metaData, it));
+		return runResults.stream().map(it -> new BenchmarkResult(metaData.forResult(it), it));
 	}
 
 	public MetaData getMetaData() {
@@ -62,7 +63,7 @@ public class BenchmarkResults implements Iterable<BenchmarkResult> {
 
 	@Override
 	public Iterator<BenchmarkResult> iterator() {
-		return runResults.stream().map(it -> new BenchmarkResult(metaData, it))
+		return runResults.stream().map(it -> new BenchmarkResult(metaData.forResult(it), it))
 				.iterator();
 	}
 
@@ -111,6 +112,16 @@ public class BenchmarkResults implements Iterable<BenchmarkResult> {
 
 	public static class MetaData {
 
+		/**
+		 * Additional parameter tagging results with the {@link JvmFlagSet} they were run with.
+		 */
+		public static final String JVM_FLAGS = "jvmFlags";
+
+		/**
+		 * Additional parameter tagging results with the JDK they were run with.
+		 */
+		public static final String JDK = "jdk";
+
 		private String project;
 		private String version;
 		private Instant time;
@@ -131,6 +142,45 @@ public class BenchmarkResults implements Iterable<BenchmarkResult> {
 			return new MetaData();
 		}
 
+		/**
+		 * Obtain {@link MetaData} for a single {@link RunResult}. Results run with one out of multiple
+		 * {@link BenchmarkConfigProperties#JVM_FLAG_SETS JVM flag sets} or {@link BenchmarkConfigProperties#JVMS JDKs}
+		 * are tagged with their {@link #JVM_FLAGS flag set} and {@link #JDK JDK}.
+		 *
+		 * @param runResult the result.
+		 * @return this {@link MetaData} or a copy with additional parameters.
+		 */
+		public MetaData forResult(RunResult runResult) {
+
+			Object flagSets = additionalParameters.get(BenchmarkConfigProperties.JVM_FLAG_SETS.propertyName());
+			Object jdks = additionalParameters.get(BenchmarkConfigProperties.JVMS.propertyName());
+
+			if (flagSets == null && jdks == null) {
+				return this;
+			}
+
+			List<JvmFlagSet> candidates = JvmFlagSet.parse(jdks == null ? null : jdks.toString(),
+					flagSets == null ? null : flagSets.toString());
+
+			return JvmFlagSet.find(candidates, runResult.getParams()).map(it -> {
+
+				MetaData target = new MetaData(project, version);
+				target.time = time;
+				target.os = os;
+				target.additionalParameters.putAll(additionalParameters);
+
+				if (!it.getFlags().isEmpty()) {
+					target.additionalParameters.put(JVM_FLAGS, String.join(" ", it.getFlags()));
+				}
+
+				if (it.getJdk() != null) {
+					target.additionalParameters.put(JDK, it.getJdk());
+				}
+
+				return target;
+			}).orElse(this);
+		}
+
 		public String getProject() {
 			return project;
 		}
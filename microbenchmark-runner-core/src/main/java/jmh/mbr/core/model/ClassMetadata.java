@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reflection metadata of a benchmark or state class. Metadata is computed once per {@link Class} and shared across
+ * threads. Entries are associated with the {@link Class} through {@link ClassValue} and do not prevent class unloading.
+ */
+class ClassMetadata {
+
+	private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+		@Override
+		protected ClassMetadata computeValue(Class<?> type) {
+			return new ClassMetadata(type);
+		}
+	};
+
+	private final List<Method> methods;
+	private final List<Field> parametrizedFields;
+	private final boolean parametrized;
+
+	private ClassMetadata(Class<?> type) {
+
+		this.methods = Collections.unmodifiableList(Stream
+				.concat(Arrays.stream(type.getMethods()), Arrays.stream(type.getDeclaredMethods())) //
+				.distinct() //
+				.collect(Collectors.toList()));
+
+		this.parametrizedFields = Collections.unmodifiableList(Stream
+				.concat(Arrays.stream(type.getFields()), Arrays.stream(type.getDeclaredFields())) //
+				.filter(it -> it.isAnnotationPresent(Param.class)) //
+				.distinct() //
+				.collect(Collectors.toList()));
+
+		this.parametrized = type.isAnnotationPresent(State.class) && !parametrizedFields.isEmpty();
+	}
+
+	/**
+	 * Obtain the {@link ClassMetadata} for {@link Class}.
+	 *
+	 * @param type must not be {@literal null}.
+	 * @return the {@link ClassMetadata}.
+	 */
+	static ClassMetadata of(Class<?> type) {
+
+		Objects.requireNonNull(type, "Class must not be null!");
+
+		return CACHE.get(type);
+	}
+
+	/**
+	 * @return public and declared methods of the class.
+	 */
+	List<Method> getMethods() {
+		return methods;
+	}
+
+	/**
+	 * @return public and declared {@link Param} fields of the class.
+	 */
+	List<Field> getParametrizedFields() {
+		return parametrizedFields;
+	}
+
+	/**
+	 * @return {@literal true} if the class is a {@link State} class declaring {@link Param} fields.
+	 */
+	boolean isParametrized() {
+		return parametrized;
+	}
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+
+import jmh.mbr.core.model.BenchmarkParameters.BenchmarkArgument;
+
+/**
+ * Lazy cartesian product of {@link BenchmarkArgument} values. Fixtures are generated on access by decoding their index
+ * as mixed-radix number, the last argument varying fastest. Generated {@link BenchmarkFixture fixtures} are views onto
+ * the shared argument names and values and do not copy parameter maps. A space can be restricted to a selection of
+ * combinations through {@link ParameterSampling}.
+ */
+class FixtureSpace extends AbstractList<BenchmarkFixture> implements RandomAccess {
+
+	private final String[] names;
+	private final String[][] values;
+	private final int[] strides;
+	private final int size;
+	private final int[] selection;
+
+	private FixtureSpace(String[] names, String[][] values) {
+
+		this.names = names;
+		this.values = values;
+		this.strides = new int[names.length];
+		this.selection = null;
+
+		int size = names.length == 0 ? 0 : 1;
+		for (int i = names.length - 1; i >= 0; i--) {
+
+			strides[i] = size;
+
+			try {
+				size = Math.multiplyExact(size, values[i].length);
+			}
+			catch (ArithmeticException e) {
+				throw new IllegalArgumentException("Too many parameter combinations for " + String.join(", ", names));
+			}
+		}
+
+		this.size = size;
+	}
+
+	private FixtureSpace(FixtureSpace space, int[] selection) {
+
+		this.names = space.names;
+		this.values = space.values;
+		this.strides = space.strides;
+		this.size = selection.length;
+		this.selection = selection;
+	}
+
+	/**
+	 * Create a {@link FixtureSpace} for the given {@link BenchmarkArgument arguments}.
+	 *
+	 * @param arguments the benchmark arguments along with their parameter values.
+	 * @return the {@link FixtureSpace}.
+	 */
+	static FixtureSpace of(Collection<BenchmarkArgument> arguments) {
+
+		String[] names = new String[arguments.size()];
+		String[][] values = new String[arguments.size()][];
+
+		int i = 0;
+		for (BenchmarkArgument argument : arguments) {
+			names[i] = argument.getName();
+			values[i] = argument.getParameters().toArray(new String[0]);
+			i++;
+		}
+
+		return new FixtureSpace(names, values);
+	}
+
+	/**
+	 * Restrict this space to the combinations selected by {@link ParameterSampling}.
+	 *
+	 * @param sampling the sampling strategy.
+	 * @return the sampled {@link FixtureSpace} or this space if {@code sampling} selects all combinations.
+	 */
+	FixtureSpace sample(ParameterSampling sampling) {
+
+		if (sampling.isExhaustive() || selection != null || size == 0) {
+			return this;
+		}
+
+		int[] radices = new int[values.length];
+		for (int i = 0; i < values.length; i++) {
+			radices[i] = values[i].length;
+		}
+
+		int[] selection = sampling.select(radices, size);
+
+		return selection == null ? this : new FixtureSpace(this, selection);
+	}
+
+	/**
+	 * @return {@literal true} if this space contains a subset of all combinations.
+	 */
+	boolean isSampled() {
+		return selection != null;
+	}
+
+	@Override
+	public BenchmarkFixture get(int index) {
+
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+
+		return new BenchmarkFixture(new FixtureMap(selection == null ? index : selection[index]));
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Find the fixture by its {@link BenchmarkFixture#getDisplayName() display name} without generating other fixtures.
+	 *
+	 * @param displayName the display name, e.g. {@code [foo=1, bar=2]}.
+	 * @return the {@link BenchmarkFixture} if the display name denotes a fixture within this space.
+	 */
+	Optional<BenchmarkFixture> find(String displayName) {
+
+		if (size == 0 || !displayName.startsWith("[") || !displayName.endsWith("]")) {
+			return Optional.empty();
+		}
+
+		int index = 0;
+		int offset = 1;
+
+		for (int i = 0; i < names.length; i++) {
+
+			if (!displayName.startsWith(names[i] + "=", offset)) {
+				return Optional.empty();
+			}
+
+			offset += names[i].length() + 1;
+			String terminator = i == names.length - 1 ? "]" : ", " + names[i + 1] + "=";
+
+			int valueIndex = findValue(displayName, offset, values[i], terminator);
+
+			if (valueIndex == -1) {
+				return Optional.empty();
+			}
+
+			index += valueIndex * strides[i];
+			offset += values[i][valueIndex].length() + (i == names.length - 1 ? 1 : 2);
+		}
+
+		if (offset != displayName.length()) {
+			return Optional.empty();
+		}
+
+		if (selection != null && Arrays.binarySearch(selection, index) < 0) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new BenchmarkFixture(new FixtureMap(index)));
+	}
+
+	/**
+	 * Find the fixture by its parameter values without generating other fixtures.
+	 *
+	 * @param params parameter values by parameter name, e.g. as reported by JMH.
+	 * @return the {@link BenchmarkFixture} if the parameter values denote a fixture within this space.
+	 */
+	Optional<BenchmarkFixture> find(Map<String, String> params) {
+
+		if (size == 0) {
+			return Optional.empty();
+		}
+
+		int index = 0;
+
+		for (int i = 0; i < names.length; i++) {
+
+			int valueIndex = Arrays.asList(values[i]).indexOf(params.get(names[i]));
+
+			if (valueIndex == -1) {
+				return Optional.empty();
+			}
+
+			index += valueIndex * strides[i];
+		}
+
+		if (selection != null && Arrays.binarySearch(selection, index) < 0) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new BenchmarkFixture(new FixtureMap(index)));
+	}
+
+	private static int findValue(String displayName, int offset, String[] candidates, String terminator) {
+
+		for (int i = 0; i < candidates.length; i++) {
+			if (displayName.startsWith(candidates[i], offset)
+					&& displayName.startsWith(terminator, offset + candidates[i].length())) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Read-only parameter map of a single fixture.
+	 */
+	private class FixtureMap extends AbstractMap<String, Object> {
+
+		private final int index;
+
+		FixtureMap(int index) {
+			this.index = index;
+		}
+
+		String getValue(int argument) {
+			return values[argument][(index / strides[argument]) % values[argument].length];
+		}
+
+		@Override
+		public Object get(Object key) {
+
+			for (int i = 0; i < names.length; i++) {
+				if (names[i].equals(key)) {
+					return getValue(i);
+				}
+			}
+
+			return null;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return get(key) != null;
+		}
+
+		@Override
+		public int size() {
+			return names.length;
+		}
+
+		@Override
+		public Set<Entry<String, Object>> entrySet() {
+
+			return new AbstractSet<Entry<String, Object>>() {
+
+				@Override
+				public Iterator<Entry<String, Object>> iterator() {
+
+					return new Iterator<Entry<String, Object>>() {
+
+						int next;
+
+						@Override
+						public boolean hasNext() {
+							return next < names.length;
+						}
+
+						@Override
+						public Entry<String, Object> next() {
+
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+
+							int argument = next++;
+							return new SimpleImmutableEntry<>(names[argument], getValue(argument));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return names.length;
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Represents a set of JVM flags (e.g. garbage collector or JIT options) that benchmarks are run with in addition to
+ * other sets of flags. Each set runs in separate forks, its flags are appended to the JVM arguments of the fork. A flag
+ * set may run on a specific JDK to compare benchmarks across JDKs, forks then use the {@code java} executable of that
+ * JDK.
+ */
+public class JvmFlagSet implements BenchmarkDescriptor {
+
+	private final String jdk;
+	private final List<String> flags;
+
+	private JvmFlagSet(String jdk, List<String> flags) {
+		this.jdk = jdk;
+		this.flags = flags;
+	}
+
+	/**
+	 * Parse flag sets separated by {@code |}. Flags within a set are separated by whitespace, e.g.
+	 * {@code -XX:+UseG1GC | -XX:+UseZGC -XX:+ZGenerational | -XX:+UseParallelGC}.
+	 *
+	 * @param flagSets the flag sets, may be {@literal null}.
+	 * @return the parsed {@link JvmFlagSet}s, empty if {@code flagSets} is {@literal null} or blank.
+	 */
+	public static List<JvmFlagSet> parse(String flagSets) {
+
+		if (flagSets == null) {
+			return Collections.emptyList();
+		}
+
+		List<JvmFlagSet> result = new ArrayList<>();
+
+		for (String flagSet : flagSets.split("\\|")) {
+
+			String trimmed = flagSet.trim();
+			if (!trimmed.isEmpty()) {
+				result.add(new JvmFlagSet(null, Collections.unmodifiableList(Arrays.asList(trimmed.split("\\s+")))));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Parse JDKs and flag sets separated by {@code |} into the matrix of flag sets to run on each JDK. JDKs are JDK home
+	 * directories or {@code java} executables, e.g. {@code /opt/jdk-17 | /opt/jdk-21}.
+	 *
+	 * @param jdks the JDKs, may be {@literal null} to run flag sets on the JVM configured through JMH.
+	 * @param flagSets the flag sets, may be {@literal null}.
+	 * @return the parsed {@link JvmFlagSet}s, empty if neither JDKs nor flag sets are configured.
+	 * @see #parse(String)
+	 */
+	public static List<JvmFlagSet> parse(String jdks, String flagSets) {
+
+		List<JvmFlagSet> parsed = parse(flagSets);
+
+		if (jdks == null || jdks.trim().isEmpty()) {
+			return parsed;
+		}
+
+		List<JvmFlagSet> result = new ArrayList<>();
+
+		for (String jdk : jdks.split("\\|")) {
+
+			String trimmed = jdk.trim();
+			if (trimmed.isEmpty()) {
+				continue;
+			}
+
+			if (parsed.isEmpty()) {
+				result.add(new JvmFlagSet(trimmed, Collections.emptyList()));
+			}
+
+			for (JvmFlagSet flagSet : parsed) {
+				result.add(new JvmFlagSet(trimmed, flagSet.flags));
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Find the {@link JvmFlagSet} a benchmark was run with. Flag sets are appended to the JVM arguments of the fork so
+	 * the longest flag set that ends the JVM arguments of {@link BenchmarkParams} is considered a match. Flag sets
+	 * running on a specific JDK additionally require {@link BenchmarkParams#getJvm()} to match.
+	 *
+	 * @param flagSets the candidate flag sets.
+	 * @param params the benchmark.
+	 * @return the matching {@link JvmFlagSet}.
+	 */
+	public static Optional<JvmFlagSet> find(Collection<JvmFlagSet> flagSets, BenchmarkParams params) {
+
+		JvmFlagSet match = null;
+
+		for (JvmFlagSet flagSet : flagSets) {
+			if (flagSet.matches(params.getJvm(), params.getJvmArgs()) && (match == null || flagSet.flags.size() > match.flags.size())) {
+				match = flagSet;
+			}
+		}
+
+		return Optional.ofNullable(match);
+	}
+
+	boolean matches(String jvm, Collection<String> jvmArgs) {
+
+		if (jdk != null && !getJvm().equals(jvm)) {
+			return false;
+		}
+
+		if (jvmArgs.size() < flags.size()) {
+			return false;
+		}
+
+		List<String> args = new ArrayList<>(jvmArgs);
+		return args.subList(args.size() - flags.size(), args.size()).equals(flags);
+	}
+
+	/**
+	 * @return the JDK home directory or {@code java} executable, {@literal null} if not running on a specific JDK.
+	 */
+	public String getJdk() {
+		return jdk;
+	}
+
+	/**
+	 * @return the {@code java} executable of the {@link #getJdk() JDK}, {@literal null} if not running on a specific
+	 * JDK.
+	 */
+	public String getJvm() {
+
+		if (jdk == null) {
+			return null;
+		}
+
+		File home = new File(jdk);
+
+		if (!home.isDirectory()) {
+			return jdk;
+		}
+
+		String executable = File.separatorChar == '\\' ? "java.exe" : "java";
+		return new File(new File(home, "bin"), executable).getPath();
+	}
+
+	public List<String> getFlags() {
+		return flags;
+	}
+
+	public String getDisplayName() {
+
+		List<String> names = new ArrayList<>();
+
+		if (jdk != null) {
+			File home = new File(jdk);
+			names.add(home.isDirectory() ? home.getName() : jdk);
+		}
+
+		names.addAll(flags);
+		return "[" + String.join(" ", names) + "]";
+	}
+
+	@Override
+	public String toString() {
+		return jdk == null ? String.join(" ", flags) : (jdk + " " + String.join(" ", flags)).trim();
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+
+		JvmFlagSet that = (JvmFlagSet) o;
+
+		return Objects.equals(jdk, that.jdk) && flags.equals(that.flags);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Objects.hashCode(jdk) + flags.hashCode();
+	}
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Sampling strategy over the {@link org.openjdk.jmh.annotations.Param} space of a benchmark. Strategies select
+ * parameter combinations by their index within the cartesian product of parameter values. Randomized strategies use a
+ * fixed seed so that repeated discovery selects the same combinations.
+ * <ul>
+ * <li>{@code exhaustive}: all combinations.</li>
+ * <li>{@code random}: {@code samples} distinct combinations chosen uniformly at random.</li>
+ * <li>{@code latin-hypercube}: {@code samples} combinations chosen such that the values of each parameter are spread
+ * evenly across samples.</li>
+ * <li>{@code pairwise}: combinations covering every pair of values of any two parameters.</li>
+ * </ul>
+ */
+public class ParameterSampling {
+
+	private static final ParameterSampling EXHAUSTIVE = new ParameterSampling(Strategy.EXHAUSTIVE, 0, 0);
+
+	private final Strategy strategy;
+	private final int samples;
+	private final long seed;
+
+	private ParameterSampling(Strategy strategy, int samples, long seed) {
+		this.strategy = strategy;
+		this.samples = samples;
+		this.seed = seed;
+	}
+
+	/**
+	 * @return {@link ParameterSampling} selecting all combinations.
+	 */
+	public static ParameterSampling exhaustive() {
+		return EXHAUSTIVE;
+	}
+
+	/**
+	 * Create a {@link ParameterSampling} for a strategy name.
+	 *
+	 * @param strategy name of the strategy: {@code exhaustive}, {@code random}, {@code latin-hypercube} or
+	 * {@code pairwise}. {@literal null} or empty selects {@code exhaustive}.
+	 * @param samples number of samples for {@code random} and {@code latin-hypercube}.
+	 * @param seed random seed for {@code random} and {@code latin-hypercube}.
+	 * @return the {@link ParameterSampling}.
+	 * @throws IllegalArgumentException if the strategy is unknown or the number of samples is not positive.
+	 */
+	public static ParameterSampling create(String strategy, int samples, long seed) {
+
+		Strategy resolved = Strategy.from(strategy);
+
+		if (resolved == Strategy.EXHAUSTIVE) {
+			return EXHAUSTIVE;
+		}
+
+		if ((resolved == Strategy.RANDOM || resolved == Strategy.LATIN_HYPERCUBE) && samples <= 0) {
+			throw new IllegalArgumentException(String
+					.format("Sampling strategy %s requires a positive number of samples", strategy));
+		}
+
+		return new ParameterSampling(resolved, samples, seed);
+	}
+
+	/**
+	 * @return {@literal true} if this sampling selects all combinations.
+	 */
+	public boolean isExhaustive() {
+		return strategy == Strategy.EXHAUSTIVE;
+	}
+
+	/**
+	 * Select combinations of a parameter space.
+	 *
+	 * @param radices number of values per parameter.
+	 * @param size total number of combinations.
+	 * @return ascending indices of the selected combinations or {@literal null} to select all combinations.
+	 */
+	int[] select(int[] radices, int size) {
+
+		switch (strategy) {
+			case RANDOM:
+				return samples >= size ? null : random(size);
+			case LATIN_HYPERCUBE:
+				return samples >= size ? null : latinHypercube(radices);
+			case PAIRWISE:
+				return radices.length <= 2 ? null : pairwise(radices);
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Floyd's algorithm selecting {@code samples} distinct indices without materializing the space.
+	 */
+	private int[] random(int size) {
+
+		Random random = new Random(seed);
+		Set<Integer> selected = new HashSet<>(samples * 2);
+
+		for (int i = size - samples; i < size; i++) {
+
+			int candidate = random.nextInt(i + 1);
+			selected.add(selected.contains(candidate) ? i : candidate);
+		}
+
+		return toSortedArray(selected);
+	}
+
+	/**
+	 * Each parameter is divided into {@code samples} strata. Every sample is assigned a distinct stratum per parameter
+	 * through a random permutation. Strata map to parameter values proportionally.
+	 */
+	private int[] latinHypercube(int[] radices) {
+
+		Random random = new Random(seed);
+		int[][] permutations = new int[radices.length][];
+
+		for (int dimension = 0; dimension < radices.length; dimension++) {
+			permutations[dimension] = permutation(samples, random);
+		}
+
+		int[] strides = strides(radices);
+		Set<Integer> selected = new TreeSet<>();
+
+		for (int sample = 0; sample < samples; sample++) {
+
+			int index = 0;
+			for (int dimension = 0; dimension < radices.length; dimension++) {
+
+				int value = (int) ((long) permutations[dimension][sample] * radices[dimension] / samples);
+				index += value * strides[dimension];
+			}
+
+			selected.add(index);
+		}
+
+		return toSortedArray(selected);
+	}
+
+	/**
+	 * Greedy all-pairs construction: each row starts with an uncovered pair and completes the remaining parameters
+	 * with the value that covers most uncovered pairs.
+	 */
+	private static int[] pairwise(int[] radices) {
+
+		int dimensions = radices.length;
+		boolean[][][] covered = new boolean[dimensions][dimensions][];
+		int uncovered = 0;
+
+		for (int i = 0; i < dimensions; i++) {
+			for (int j = i + 1; j < dimensions; j++) {
+				covered[i][j] = new boolean[radices[i] * radices[j]];
+				uncovered += covered[i][j].length;
+			}
+		}
+
+		int[] strides = strides(radices);
+		Set<Integer> selected = new TreeSet<>();
+		int[] row = new int[dimensions];
+
+		while (uncovered > 0) {
+
+			Arrays.fill(row, -1);
+			seed(row, covered, radices);
+
+			for (int k = 0; k < dimensions; k++) {
+
+				if (row[k] != -1) {
+					continue;
+				}
+
+				int best = 0;
+				int bestGain = -1;
+
+				for (int value = 0; value < radices[k]; value++) {
+
+					int gain = 0;
+					for (int other = 0; other < dimensions; other++) {
+						if (other != k && row[other] != -1 && !isCovered(covered, radices, k, value, other, row[other])) {
+							gain++;
+						}
+					}
+
+					if (gain > bestGain) {
+						best = value;
+						bestGain = gain;
+					}
+				}
+
+				row[k] = best;
+			}
+
+			int index = 0;
+			for (int i = 0; i < dimensions; i++) {
+
+				index += row[i] * strides[i];
+
+				for (int j = i + 1; j < dimensions; j++) {
+
+					int pair = row[i] * radices[j] + row[j];
+					if (!covered[i][j][pair]) {
+						covered[i][j][pair] = true;
+						uncovered--;
+					}
+				}
+			}
+
+			selected.add(index);
+		}
+
+		return toSortedArray(selected);
+	}
+
+	private static void seed(int[] row, boolean[][][] covered, int[] radices) {
+
+		for (int i = 0; i < radices.length; i++) {
+			for (int j = i + 1; j < radices.length; j++) {
+				for (int pair = 0; pair < covered[i][j].length; pair++) {
+
+					if (!covered[i][j][pair]) {
+						row[i] = pair / radices[j];
+						row[j] = pair % radices[j];
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean isCovered(boolean[][][] covered, int[] radices, int dimension, int value, int other,
+			int otherValue) {
+
+		if (dimension < other) {
+			return covered[dimension][other][value * radices[other] + otherValue];
+		}
+
+		return covered[other][dimension][otherValue * radices[dimension] + value];
+	}
+
+	private static int[] permutation(int size, Random random) {
+
+		int[] permutation = new int[size];
+		for (int i = 0; i < size; i++) {
+			permutation[i] = i;
+		}
+
+		for (int i = size - 1; i > 0; i--) {
+
+			int j = random.nextInt(i + 1);
+			int tmp = permutation[i];
+			permutation[i] = permutation[j];
+			permutation[j] = tmp;
+		}
+
+		return permutation;
+	}
+
+	static int[] strides(int[] radices) {
+
+		int[] strides = new int[radices.length];
+		int stride = 1;
+
+		for (int i = radices.length - 1; i >= 0; i--) {
+			strides[i] = stride;
+			stride *= radices[i];
+		}
+
+		return strides;
+	}
+
+	private static int[] toSortedArray(Set<Integer> indices) {
+
+		int[] result = indices.stream().mapToInt(Integer::intValue).toArray();
+		Arrays.sort(result);
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return strategy.name + (strategy == Strategy.RANDOM || strategy == Strategy.LATIN_HYPERCUBE ? "(samples="
+				+ samples + ", seed=" + seed + ")" : "");
+	}
+
+	enum Strategy {
+
+		EXHAUSTIVE("exhaustive"), RANDOM("random"), LATIN_HYPERCUBE("latin-hypercube"), PAIRWISE("pairwise");
+
+		private final String name;
+
+		Strategy(String name) {
+			this.name = name;
+		}
+
+		static Strategy from(String name) {
+
+			if (name == null || name.trim().isEmpty()) {
+				return EXHAUSTIVE;
+			}
+
+			String normalized = name.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+
+			for (Strategy strategy : values()) {
+				if (strategy.name.equals(normalized)) {
+					return strategy;
+				}
+			}
+
+			throw new IllegalArgumentException(String.format("Unknown sampling strategy %s, supported strategies: %s",
+					name, Arrays.toString(Arrays.stream(values()).map(it -> it.name).toArray())));
+		}
+	}
+}
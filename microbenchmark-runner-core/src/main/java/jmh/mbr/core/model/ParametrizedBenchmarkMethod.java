@@ -11,14 +11,19 @@ package jmh.mbr.core.model;
 
 import java.lang.reflect.Method;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Represents a parametrized benchmark method along with the actual {@link BenchmarkFixture fixtures}.
  */
 public class ParametrizedBenchmarkMethod extends HierarchicalBenchmarkDescriptor implements MethodAware {
 
+	private final List<BenchmarkFixture> fixtures;
+
 	ParametrizedBenchmarkMethod(BenchmarkMethod descriptor, List<BenchmarkFixture> children) {
 		super(descriptor, children);
+		this.fixtures = children;
 	}
 
 	@Override
@@ -31,6 +36,45 @@ public class ParametrizedBenchmarkMethod extends HierarchicalBenchmarkDescriptor
 		return (List) super.getChildren();
 	}
 
+	/**
+	 * @return {@literal true} if the fixtures are a sample of all parameter combinations.
+	 * @see ParameterSampling
+	 */
+	public boolean isSampled() {
+		return fixtures instanceof FixtureSpace && ((FixtureSpace) fixtures).isSampled();
+	}
+
+	/**
+	 * Find a fixture by its {@link BenchmarkFixture#getDisplayName() display name}.
+	 *
+	 * @param displayName the display name of the fixture.
+	 * @return the {@link BenchmarkFixture} or {@link Optional#empty()} if not found.
+	 */
+	public Optional<BenchmarkFixture> getFixture(String displayName) {
+
+		if (fixtures instanceof FixtureSpace) {
+			return ((FixtureSpace) fixtures).find(displayName);
+		}
+
+		return fixtures.stream().filter(it -> it.getDisplayName().equals(displayName)).findFirst();
+	}
+
+	/**
+	 * Find a fixture by its parameter values.
+	 *
+	 * @param params parameter values by parameter name, e.g. as reported by JMH.
+	 * @return the {@link BenchmarkFixture} or {@link Optional#empty()} if not found.
+	 */
+	public Optional<BenchmarkFixture> getFixture(Map<String, String> params) {
+
+		if (fixtures instanceof FixtureSpace) {
+			return ((FixtureSpace) fixtures).find(params);
+		}
+
+		return fixtures.stream().filter(it -> it.getFixture().entrySet().stream()
+				.allMatch(entry -> String.valueOf(entry.getValue()).equals(params.get(entry.getKey())))).findFirst();
+	}
+
 	@Override
 	public Method getMethod() {
 		return getDescriptor().getMethod();
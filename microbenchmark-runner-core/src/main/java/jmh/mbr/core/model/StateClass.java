@@ -15,10 +15,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.openjdk.jmh.annotations.Param;
-import org.openjdk.jmh.annotations.State;
 
 /**
  * Value object to encapsulate a JMH {@code @State} class.
@@ -51,14 +49,7 @@ class StateClass {
 	 */
 	public static boolean isParametrized(Class<?> stateClass) {
 
-		Objects.requireNonNull(stateClass, "Class must not be null!");
-
-		if (!stateClass.isAnnotationPresent(State.class)) {
-			return false;
-		}
-
-		return Stream.concat(Arrays.stream(stateClass.getFields()), Arrays.stream(stateClass.getDeclaredFields()))
-				.anyMatch(it -> it.isAnnotationPresent(Param.class));
+		return ClassMetadata.of(stateClass).isParametrized();
 	}
 
 	/**
@@ -89,11 +80,7 @@ class StateClass {
 	 * @return {@link List}of {@link Param} fields.
 	 */
 	public List<Field> getParametrizedFields() {
-
-		return Stream.concat(Arrays.stream(stateClass.getFields()), Arrays.stream(stateClass.getDeclaredFields()))
-				.filter(it -> it.isAnnotationPresent(Param.class)) //
-				.distinct() //
-				.collect(Collectors.toList());
+		return ClassMetadata.of(stateClass).getParametrizedFields();
 	}
 
 	@Override
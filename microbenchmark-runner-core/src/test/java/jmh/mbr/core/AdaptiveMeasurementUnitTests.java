@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.AdaptiveMeasurement.FollowUpRun;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.SampleTimeResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.SampleBuffer;
+
+/**
+ * Unit tests for {@link AdaptiveMeasurement}.
+ */
+class AdaptiveMeasurementUnitTests {
+
+	BenchmarkParams params = params(3);
+
+	@Test
+	void shouldCompleteStableBenchmark() {
+
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 50, 3);
+
+		assertThat(measurement.record(result(100, 100, 100))).isTrue();
+		assertThat(measurement.getFollowUpRuns()).isEmpty();
+	}
+
+	@Test
+	void shouldScheduleFollowUpForNoisyBenchmark() {
+
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 5, 3);
+
+		assertThat(measurement.contains(params)).isFalse();
+		assertThat(measurement.record(result(10, 100, 1000))).isFalse();
+		assertThat(measurement.contains(params)).isTrue();
+
+		List<FollowUpRun> followUpRuns = measurement.getFollowUpRuns();
+		assertThat(followUpRuns).hasSize(1);
+		assertThat(followUpRuns.get(0).getIterations()).isEqualTo(2);
+
+		assertThat(measurement.record(result(50, 500))).isTrue();
+		assertThat(measurement.getFollowUpRuns()).isEmpty();
+
+		RunResult merged = measurement.getResults().iterator().next();
+		assertThat(merged.getAggregatedResult().getPrimaryResult().getStatistics().getN()).isEqualTo(5);
+	}
+
+	@Test
+	void shouldMeasureConfiguredIterationsInFollowUpAfterSmallInitialRun() {
+
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 50, 20);
+		measurement.record(result(10, 100, 1000));
+
+		assertThat(measurement.getFollowUpRuns().get(0).getIterations()).isEqualTo(20);
+	}
+
+	@Test
+	void shouldCountIterationsRatherThanSamples() {
+
+		BenchmarkParams sampleTime = BenchmarkParamsGenerator.params("benchmark", Mode.SampleTime,
+				new WorkloadParams(), 2, "java", Collections.emptyList());
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 5, 2);
+
+		List<IterationResult> iterations = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+
+			SampleBuffer buffer = new SampleBuffer();
+			for (int sample = 1; sample <= 1000; sample++) {
+				buffer.add(sample);
+			}
+
+			IterationResult iteration = new IterationResult(sampleTime, sampleTime.getMeasurement(), null);
+			iteration.addResult(new SampleTimeResult(ResultRole.PRIMARY, "test", buffer, TimeUnit.NANOSECONDS));
+			iterations.add(iteration);
+		}
+
+		assertThat(measurement.record(new BenchmarkResult(sampleTime, iterations))).isFalse();
+
+		List<FollowUpRun> followUpRuns = measurement.getFollowUpRuns();
+		assertThat(followUpRuns).hasSize(1);
+		assertThat(followUpRuns.get(0).getIterations()).isEqualTo(2);
+	}
+
+	@Test
+	void shouldStartWithHalfOfConfiguredIterations() {
+
+		assertThat(AdaptiveMeasurement.getInitialIterations(20)).isEqualTo(10);
+		assertThat(AdaptiveMeasurement.getInitialIterations(0)).isEqualTo(3);
+		assertThat(AdaptiveMeasurement.getInitialIterations(2)).isEqualTo(2);
+	}
+
+	@Test
+	void shouldStartAdaptiveMeasurementWithInitialIterations() {
+
+		System.setProperty("jmh.mbr.adaptive.targetError", "0.02");
+		System.setProperty("jmh.mbr.measurement.iterations", "20");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+
+			assertThat(support.options().build().getMeasurementIterations().get())
+					.isEqualTo(10);
+		} finally {
+			System.clearProperty("jmh.mbr.adaptive.targetError");
+			System.clearProperty("jmh.mbr.measurement.iterations");
+		}
+	}
+
+	@Test
+	void shouldCompleteFailedFollowUp() {
+
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 50, 3);
+		measurement.record(result(10, 100, 1000));
+
+		measurement.complete(measurement.getFollowUpRuns().get(0));
+
+		assertThat(measurement.getFollowUpRuns()).isEmpty();
+	}
+
+	@Test
+	void shouldIgnoreCompletingUnknownBenchmark() {
+
+		AdaptiveMeasurement measurement = new AdaptiveMeasurement(0.01, 50, 3);
+
+		measurement.complete(new FollowUpRun(params, 1));
+
+		assertThat(measurement.contains(params)).isFalse();
+	}
+
+	@Test
+	void shouldRunFollowUpWithFlagSetOfBenchmark() {
+
+		System.setProperty("jmh.mbr.jvmFlagSets", "-XX:+UseSerialGC | -XX:+UseParallelGC");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			FollowUpRun followUpRun = new FollowUpRun(params(3, "-Xmx1g", "-XX:+UseParallelGC"), 2);
+
+			Options options = support.jvmFlagSet(followUpRun.apply(support.options()), BenchmarkOverrides.none(),
+					followUpRun.getParams()).build();
+
+			assertThat(options.getIncludes()).containsExactly("\\Qbenchmark\\E$");
+			assertThat(options.getMeasurementIterations().get()).isEqualTo(2);
+			assertThat(options.getJvmArgsAppend().get()).containsExactly("-XX:+UseParallelGC");
+		} finally {
+			System.clearProperty("jmh.mbr.jvmFlagSets");
+		}
+	}
+
+	private BenchmarkResult result(int... scores) {
+
+		List<IterationResult> iterations = new ArrayList<>();
+
+		for (int score : scores) {
+			IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+			iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000 * 1000, TimeUnit.MILLISECONDS));
+			iterations.add(iteration);
+		}
+
+		return new BenchmarkResult(params, iterations);
+	}
+
+	private static BenchmarkParams params(int iterations, String... jvmArgs) {
+		return BenchmarkParamsGenerator.params("benchmark", Mode.Throughput, new WorkloadParams(), iterations, "java",
+				Arrays.asList(jvmArgs));
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AsyncResultsPublisher}.
+ */
+class AsyncResultsPublisherUnitTests {
+
+	@Test
+	void shouldNotWriteOnSubmittingThreadWhenWritersAreSlow() throws Exception {
+
+		AsyncResultsPublisher publisher = new AsyncResultsPublisher(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger writtenOnCaller = new AtomicInteger();
+		Thread caller = Thread.currentThread();
+
+		ResultsWriter writer = (output, results) -> {
+
+			if (Thread.currentThread() == caller) {
+				writtenOnCaller.incrementAndGet();
+			}
+
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		try {
+			for (int i = 0; i < 10; i++) {
+				publisher.publish(writer, "slow", null, null, 0);
+			}
+
+			assertThat(writtenOnCaller).hasValue(0);
+			assertThat(publisher.flush(Duration.ofMillis(50))).isFalse();
+
+			release.countDown();
+
+			assertThat(publisher.flush(Duration.ofSeconds(10))).isTrue();
+		}
+		finally {
+			release.countDown();
+			publisher.shutdown(Duration.ofSeconds(1));
+		}
+	}
+
+	@Test
+	void shouldDropResultsIfQueueRemainsFull() {
+
+		AsyncResultsPublisher publisher = new AsyncResultsPublisher(1, 1, Duration.ofMillis(200));
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger written = new AtomicInteger();
+
+		ResultsWriter writer = (output, results) -> {
+
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			written.incrementAndGet();
+		};
+
+		try {
+			publisher.publish(writer, "slow", null, null, 0);
+			publisher.publish(writer, "slow", null, null, 0);
+
+			long start = System.nanoTime();
+			publisher.publish(writer, "slow", null, null, 0);
+
+			assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+
+			release.countDown();
+
+			assertThat(publisher.flush(Duration.ofSeconds(10))).isTrue();
+			assertThat(written).hasValue(2);
+		}
+		finally {
+			release.countDown();
+			publisher.shutdown(Duration.ofSeconds(1));
+		}
+	}
+
+	@Test
+	void shouldWaitForQueueCapacity() {
+
+		AsyncResultsPublisher publisher = new AsyncResultsPublisher(1, 1, Duration.ofSeconds(10));
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger written = new AtomicInteger();
+
+		ResultsWriter writer = (output, results) -> {
+
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			written.incrementAndGet();
+		};
+
+		Thread releaser = new Thread(() -> {
+
+			try {
+				Thread.sleep(200);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			release.countDown();
+		});
+
+		try {
+			publisher.publish(writer, "slow", null, null, 0);
+			publisher.publish(writer, "slow", null, null, 0);
+
+			releaser.start();
+			publisher.publish(writer, "slow", null, null, 0);
+
+			assertThat(publisher.flush(Duration.ofSeconds(10))).isTrue();
+			assertThat(written).hasValue(3);
+		}
+		finally {
+			release.countDown();
+			publisher.shutdown(Duration.ofSeconds(1));
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.BenchmarkOverrides.Setting;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Unit tests for {@link BenchmarkOverrides}.
+ */
+class BenchmarkOverridesUnitTests {
+
+	@Test
+	void shouldResolveMethodAndClassAnnotations() throws Exception {
+
+		BenchmarkOverrides overrides = BenchmarkOverrides.from(AnnotatedBenchmark.class.getMethod("large"));
+
+		assertThat(overrides.isDeclared(Setting.FORKS)).isTrue();
+		assertThat(overrides.isDeclared(Setting.WARMUP_ITERATIONS)).isTrue();
+		assertThat(overrides.isDeclared(Setting.WARMUP_TIME)).isFalse();
+		assertThat(overrides.isDeclared(Setting.MEASUREMENT_ITERATIONS)).isTrue();
+		assertThat(overrides.isDeclared(Setting.MODE)).isTrue();
+		assertThat(overrides.getJvmArgsPrepend()).containsExactly("-XX:+UseSerialGC");
+		assertThat(overrides.getJvmArgsAppend()).containsExactly("-Xmx4g");
+	}
+
+	@Test
+	void shouldNotDeclareBlankAttributes() throws Exception {
+
+		BenchmarkOverrides overrides = BenchmarkOverrides.from(PlainBenchmark.class.getMethod("blank"));
+
+		assertThat(overrides.isEmpty()).isTrue();
+		assertThat(overrides).isEqualTo(BenchmarkOverrides.none());
+	}
+
+	@Test
+	void shouldGroupBySettings() throws Exception {
+
+		Map<String, BenchmarkOverrides> overrides = new HashMap<>();
+		overrides.put("large", BenchmarkOverrides.from(AnnotatedBenchmark.class.getMethod("large")));
+		overrides.put("small", BenchmarkOverrides.from(AnnotatedBenchmark.class.getMethod("small")));
+		overrides.put("other", BenchmarkOverrides.from(AnnotatedBenchmark.class.getMethod("other")));
+		overrides.put("plain", BenchmarkOverrides.from(PlainBenchmark.class.getMethod("plain")));
+
+		Map<BenchmarkOverrides, List<String>> groups = BenchmarkOverrides
+				.group(Arrays.asList("large", "small", "plain", "other"), overrides::get);
+
+		assertThat(groups.values()).containsExactly(Arrays.asList("large"), Arrays.asList("small", "other"),
+				Arrays.asList("plain"));
+	}
+
+	@Measurement(iterations = 3)
+	static class AnnotatedBenchmark {
+
+		@Benchmark
+		@BenchmarkMode(Mode.AverageTime)
+		@Warmup(iterations = 1)
+		@Fork(value = 1, jvmArgsPrepend = "-XX:+UseSerialGC", jvmArgsAppend = "-Xmx4g")
+		public void large() {
+		}
+
+		@Benchmark
+		public void small() {
+		}
+
+		@Benchmark
+		@Warmup(timeUnit = TimeUnit.MILLISECONDS)
+		public void other() {
+		}
+	}
+
+	static class PlainBenchmark {
+
+		@Benchmark
+		@Fork(jvmArgsAppend = "-Xmx1g")
+		public void plain() {
+		}
+
+		@Benchmark
+		@Warmup(timeUnit = TimeUnit.MILLISECONDS)
+		public void blank() {
+		}
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Creates {@link BenchmarkParams} for tests.
+ */
+public class BenchmarkParamsGenerator {
+
+	public static BenchmarkParams params(String benchmark) {
+		return params(benchmark, new WorkloadParams());
+	}
+
+	public static BenchmarkParams params(String benchmark, WorkloadParams workloadParams) {
+		return params(benchmark, workloadParams, Collections.emptyList());
+	}
+
+	public static BenchmarkParams params(String benchmark, WorkloadParams workloadParams, List<String> jvmArgs) {
+		return params(benchmark, Mode.Throughput, workloadParams, 1, "java", jvmArgs);
+	}
+
+	public static BenchmarkParams params(String benchmark, int measurementIterations) {
+		return params(benchmark, Mode.Throughput, new WorkloadParams(), measurementIterations, "java",
+				Collections.emptyList());
+	}
+
+	public static BenchmarkParams params(String benchmark, Mode mode, WorkloadParams workloadParams,
+			int measurementIterations, String jvm, List<String> jvmArgs) {
+
+		return new BenchmarkParams(benchmark, benchmark, false, 1, new int[] { 1 }, Collections.emptyList(), 1, 1,
+				new IterationParams(IterationType.WARMUP, 1, TimeValue.seconds(1), 1),
+				new IterationParams(IterationType.MEASUREMENT, measurementIterations, TimeValue.seconds(1), 1), mode,
+				workloadParams, TimeUnit.SECONDS, 1, jvm, jvmArgs, "17", "VM", "17", "1.37", TimeValue.days(1));
+	}
+}
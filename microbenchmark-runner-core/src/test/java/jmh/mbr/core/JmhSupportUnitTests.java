@@ -12,24 +12,48 @@ package jmh.mbr.core;
 import static org.assertj.core.api.Assertions.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Warmup;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.IterationResult;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
 
 /**
  * Unit tests for {@link JmhSupport}.
  */
 class JmhSupportUnitTests {
 
+	@Test
+	void shouldRequireForkForJvmSettings() {
+
+		JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+
+		assertThat(JmhSupport.getForkRequirement(support.options().build(), SilentOutputFormat.INSTANCE)).isNull();
+		assertThat(JmhSupport.getForkRequirement(support.cpuSet(support.options(), 2).build(),
+				SilentOutputFormat.INSTANCE)).isEqualTo("JVM arguments");
+		assertThat(JmhSupport.getForkRequirement(support.options().jvm("/opt/jdk/bin/java").build(),
+				SilentOutputFormat.INSTANCE)).isEqualTo("JVM '/opt/jdk/bin/java'");
+		assertThat(JmhSupport.getForkRequirement(support.options().addProfiler("jfr").build(),
+				SilentOutputFormat.INSTANCE)).isEqualTo("the jfr profiler");
+	}
+
 	@Test
 	void shouldConsiderCompositeResultWriterUri() {
 
@@ -68,6 +92,352 @@ class JmhSupportUnitTests {
 		assertThat(FooResultWriter.written).isTrue();
 	}
 
+	@Test
+	void shouldPartitionIncludesRoundRobin() {
+
+		List<List<String>> partitions = JmhSupport.partition(Arrays.asList("a", "b", "c"), 2);
+
+		assertThat(partitions).containsExactly(Arrays.asList("a", "c"), Collections.singletonList("b"));
+	}
+
+	@Test
+	void shouldNotPartitionIncludesIfJmhLockIsNotIgnored() {
+
+		System.setProperty("jmh.mbr.parallelism", "2");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			List<List<String>> partitions = support.partition(Arrays.asList("a", "b", "c"));
+
+			assertThat(partitions).containsExactly(Arrays.asList("a", "b", "c"));
+		} finally {
+			System.clearProperty("jmh.mbr.parallelism");
+		}
+	}
+
+	@Test
+	void shouldNotPartitionIncludesByDefault() {
+
+		JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+		List<List<String>> partitions = support.partition(Arrays.asList("a", "b", "c"));
+
+		assertThat(partitions).containsExactly(Arrays.asList("a", "b", "c"));
+	}
+
+	@Test
+	void shouldRetainAnnotationJvmArgsWithCpuSet() throws Exception {
+
+		JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+		BenchmarkOverrides overrides = support.overrides(OverridingBenchmark.class.getMethod("forked"));
+
+		Options options = support.cpuSet(support.options(overrides), 2, overrides).build();
+
+		assertThat(options.getJvmArgsPrepend().get()).hasSize(2).endsWith("-Xss2m").first().asString()
+				.startsWith("-XX:ActiveProcessorCount=");
+	}
+
+	@Test
+	void shouldRunPartitionsOnCallingThreadIfJmhLockIsNotIgnored() throws Exception {
+
+		List<Thread> observed = Collections.synchronizedList(new ArrayList<>());
+		Callable<Collection<RunResult>> run = () -> {
+			observed.add(Thread.currentThread());
+			return Collections.emptyList();
+		};
+
+		JmhSupport.runConcurrently(Arrays.asList(run, run));
+
+		assertThat(observed).containsExactly(Thread.currentThread(), Thread.currentThread());
+		assertThat(System.getProperty("jmh.ignoreLock")).isNull();
+	}
+
+	@Test
+	void shouldApplyProfilers() {
+
+		System.setProperty("jmh.mbr.profilers", "gc, stack:lines=5;top=3");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			List<ProfilerConfig> profilers = support.options().build().getProfilers();
+
+			assertThat(profilers).extracting(ProfilerConfig::getKlass).containsExactly("gc", "stack");
+			assertThat(profilers).extracting(ProfilerConfig::getOpts).containsExactly("", "lines=5;top=3");
+		} finally {
+			System.clearProperty("jmh.mbr.profilers");
+		}
+	}
+
+	@Test
+	void shouldApplyJfrProfiler() {
+
+		System.setProperty("jmh.mbr.jfr", "true");
+		System.setProperty("jmh.mbr.report.dir", "target/reports");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			List<ProfilerConfig> profilers = support.options().build().getProfilers();
+
+			assertThat(profilers).extracting(ProfilerConfig::getKlass).containsExactly("jfr");
+			assertThat(profilers.get(0).getOpts()).startsWith("dir=").endsWith("reports");
+		} finally {
+			System.clearProperty("jmh.mbr.jfr");
+			System.clearProperty("jmh.mbr.report.dir");
+		}
+	}
+
+	@Test
+	void shouldLeaveDeclaredSettingsToAnnotations() throws Exception {
+
+		System.setProperty("jmh.mbr.annotationOverrides", "true");
+		System.setProperty("jmh.mbr.forks", "3");
+		System.setProperty("jmh.mbr.warmup.iterations", "5");
+		System.setProperty("jmh.mbr.measurement.iterations", "7");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			Options options = support.options(support.overrides(OverridingBenchmark.class.getMethod("forked")))
+					.build();
+
+			assertThat(options.getForkCount().hasValue()).isFalse();
+			assertThat(options.getWarmupIterations().hasValue()).isFalse();
+			assertThat(options.getMeasurementIterations().get()).isEqualTo(7);
+
+			Options defaults = support.options(support.overrides(OverridingBenchmark.class.getMethod("plain")))
+					.build();
+
+			assertThat(defaults.getForkCount().get()).isEqualTo(3);
+			assertThat(defaults.getWarmupIterations().hasValue()).isFalse();
+		} finally {
+			System.clearProperty("jmh.mbr.annotationOverrides");
+			System.clearProperty("jmh.mbr.forks");
+			System.clearProperty("jmh.mbr.warmup.iterations");
+			System.clearProperty("jmh.mbr.measurement.iterations");
+		}
+	}
+
+	@Test
+	void shouldExpandJvmFlagSets() throws Exception {
+
+		System.setProperty("jmh.mbr.jvmFlagSets", "-XX:+UseSerialGC | -XX:+UseParallelGC -Xmx1g");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			BenchmarkOverrides overrides = support.overrides(OverridingBenchmark.class.getMethod("forked"));
+
+			List<ChainedOptionsBuilder> builders = support.jvmFlagSets(support.options(overrides).include("forked"),
+					overrides);
+
+			assertThat(builders).hasSize(2);
+			assertThat(builders.get(0).build().getIncludes()).containsExactly("forked");
+			assertThat(builders.get(0).build().getJvmArgsAppend().get()).containsExactly("-Xmx1g", "-XX:+UseSerialGC");
+			assertThat(builders.get(1).build().getJvmArgsAppend().get()).containsExactly("-Xmx1g", "-XX:+UseParallelGC",
+					"-Xmx1g");
+		} finally {
+			System.clearProperty("jmh.mbr.jvmFlagSets");
+		}
+	}
+
+	@Test
+	void shouldExpandJvmFlagSetsWithAnnotationOverrides() throws Exception {
+
+		System.setProperty("jmh.mbr.jvmFlagSets", "-XX:+UseSerialGC");
+		System.setProperty("jmh.mbr.annotationOverrides", "true");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			BenchmarkOverrides overrides = support.overrides(OverridingBenchmark.class.getMethod("forked"));
+
+			List<ChainedOptionsBuilder> builders = support.jvmFlagSets(support.options(overrides).include("forked"),
+					overrides);
+
+			assertThat(builders).hasSize(1);
+			assertThat(builders.get(0).build().getJvmArgsAppend().get()).containsExactly("-Xmx1g", "-XX:+UseSerialGC");
+		} finally {
+			System.clearProperty("jmh.mbr.jvmFlagSets");
+			System.clearProperty("jmh.mbr.annotationOverrides");
+		}
+	}
+
+	@Test
+	void shouldRetryAsyncPublishing() {
+
+		TestResultsWriterFactory.REGISTRY.put("flaky", FlakyResultWriter::new);
+		System.setProperty("jmh.mbr.report.publishTo", "flaky");
+		System.setProperty("jmh.mbr.report.publishAsync", "true");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			RunResult runResult = new RunResult(null, Collections.emptyList());
+			support.publishResults(SilentOutputFormat.INSTANCE, new BenchmarkResults(MetaData.none(), Collections.singleton(runResult)));
+			support.flushResults();
+		} finally {
+			System.clearProperty("jmh.mbr.report.publishTo");
+			System.clearProperty("jmh.mbr.report.publishAsync");
+			TestResultsWriterFactory.REGISTRY.remove("flaky");
+		}
+
+		assertThat(FlakyResultWriter.attempts).isEqualTo(3);
+	}
+
+	@Test
+	void shouldPublishIncrementalResultsAsync() {
+
+		TestResultsWriterFactory.REGISTRY.put("incremental", IncrementalResultWriter::new);
+		System.setProperty("jmh.mbr.report.publishTo", "incremental");
+		System.setProperty("jmh.mbr.report.publishAsync", "true");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			RunResult runResult = new RunResult(null, Collections.emptyList());
+
+			support.publishResult(SilentOutputFormat.INSTANCE, runResult);
+			support.publishResults(SilentOutputFormat.INSTANCE, new BenchmarkResults(MetaData.none(), Collections.singleton(runResult)));
+
+			support.flushResults();
+		} finally {
+			System.clearProperty("jmh.mbr.report.publishTo");
+			System.clearProperty("jmh.mbr.report.publishAsync");
+			TestResultsWriterFactory.REGISTRY.remove("incremental");
+		}
+
+		assertThat(IncrementalResultWriter.written).isEqualTo(1);
+	}
+
+	@Test
+	void shouldPublishReplayedResultsOnlyToReports() {
+
+		TestResultsWriterFactory.REGISTRY.put("report", ReportResultWriter::new);
+		TestResultsWriterFactory.REGISTRY.put("store", StoreResultWriter::new);
+		System.setProperty("jmh.mbr.report.publishTo", "report,store");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			RunResult measured = new RunResult(null, Collections.emptyList());
+			RunResult replayed = new RunResult(null, Collections.emptyList());
+
+			support.publishResults(SilentOutputFormat.INSTANCE, new BenchmarkResults(MetaData.none(), Arrays
+					.asList(measured, replayed)), Collections.singletonList(replayed));
+			support.flushResults();
+
+			assertThat(ReportResultWriter.received).containsExactly(measured, replayed);
+			assertThat(StoreResultWriter.received).containsExactly(measured);
+		} finally {
+			System.clearProperty("jmh.mbr.report.publishTo");
+			TestResultsWriterFactory.REGISTRY.remove("report");
+			TestResultsWriterFactory.REGISTRY.remove("store");
+		}
+	}
+
+	@Test
+	void shouldReuseWritersWithinRunAndCloseThemWhenFlushing() {
+
+		TestResultsWriterFactory.REGISTRY.put("closeable", () -> {
+			CloseableResultWriter.created++;
+			return new CloseableResultWriter();
+		});
+		System.setProperty("jmh.mbr.report.publishTo", "closeable");
+		System.setProperty("jmh.mbr.report.publishAsync", "true");
+
+		try {
+			JmhSupport support = new JmhSupport(BenchmarkConfiguration.defaultOptions());
+			RunResult runResult = new RunResult(null, Collections.emptyList());
+
+			support.publishResult(SilentOutputFormat.INSTANCE, runResult);
+			support.publishResult(SilentOutputFormat.INSTANCE, runResult);
+			support.publishResults(SilentOutputFormat.INSTANCE, new BenchmarkResults(MetaData.none(), Collections.singleton(runResult)));
+			support.flushResults();
+
+			assertThat(CloseableResultWriter.created).isEqualTo(1);
+			assertThat(CloseableResultWriter.written).isEqualTo(2);
+			assertThat(CloseableResultWriter.closed).isEqualTo(1);
+
+			support.publishResult(SilentOutputFormat.INSTANCE, runResult);
+			support.flushResults();
+
+			assertThat(CloseableResultWriter.created).isEqualTo(2);
+			assertThat(CloseableResultWriter.closed).isEqualTo(2);
+		} finally {
+			System.clearProperty("jmh.mbr.report.publishTo");
+			System.clearProperty("jmh.mbr.report.publishAsync");
+			TestResultsWriterFactory.REGISTRY.remove("closeable");
+		}
+	}
+
+	static class FlakyResultWriter implements ResultsWriter {
+
+		static int attempts = 0;
+
+		@Override
+		public void write(OutputFormat output, BenchmarkResults results) {
+
+			if (++attempts < 3) {
+				throw new IllegalStateException("Unavailable");
+			}
+		}
+	}
+
+	static class IncrementalResultWriter implements ResultsWriter {
+
+		static int written = 0;
+
+		@Override
+		public void write(OutputFormat output, BenchmarkResults results) {
+			written++;
+		}
+
+		@Override
+		public boolean isIncremental() {
+			return true;
+		}
+	}
+
+	static class ReportResultWriter implements ResultsWriter {
+
+		static List<RunResult> received = new ArrayList<>();
+
+		@Override
+		public void write(OutputFormat output, BenchmarkResults results) {
+			received.addAll(results.getRawResults());
+		}
+	}
+
+	static class StoreResultWriter extends ReportResultWriter {
+
+		static List<RunResult> received = new ArrayList<>();
+
+		@Override
+		public void write(OutputFormat output, BenchmarkResults results) {
+			received.addAll(results.getRawResults());
+		}
+
+		@Override
+		public boolean isIncremental() {
+			return true;
+		}
+	}
+
+	static class CloseableResultWriter implements ResultsWriter, AutoCloseable {
+
+		static int created = 0;
+		static int written = 0;
+		static int closed = 0;
+
+		@Override
+		public void write(OutputFormat output, BenchmarkResults results) {
+			written++;
+		}
+
+		@Override
+		public boolean isIncremental() {
+			return true;
+		}
+
+		@Override
+		public void close() {
+			closed++;
+		}
+	}
+
 	static class FooResultWriter implements ResultsWriter {
 
 		static boolean written = false;
@@ -158,4 +528,17 @@ class JmhSupportUnitTests {
 
 		}
 	}
+
+	@Warmup(iterations = 1)
+	static class OverridingBenchmark {
+
+		@Benchmark
+		@Fork(value = 1, jvmArgsPrepend = "-Xss2m", jvmArgsAppend = "-Xmx1g")
+		public void forked() {
+		}
+
+		@Benchmark
+		public void plain() {
+		}
+	}
 }
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.baseline.Baseline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.AverageTimeResult;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.WorkloadParams;
+
+/**
+ * Unit tests for {@link RegressionGate}.
+ */
+class RegressionGateUnitTests {
+
+	@TempDir
+	Path directory;
+
+	Baseline baseline;
+
+	@BeforeEach
+	void setUp() throws IOException {
+
+		String report = "[\n" //
+				+ "  {\n" //
+				+ "    \"benchmark\" : \"Benchmark.throughput\",\n" //
+				+ "    \"mode\" : \"thrpt\",\n" //
+				+ "    \"params\" : { \"size\" : \"10\" },\n" //
+				+ "    \"primaryMetric\" : {\n" //
+				+ "      \"score\" : 100.0,\n" //
+				+ "      \"rawData\" : [ [ 99.0, 100.0, 101.0 ], [ 100.0, 99.0, 101.0 ] ]\n" //
+				+ "    }\n" //
+				+ "  },\n" //
+				+ "  {\n" //
+				+ "    \"benchmark\" : \"Benchmark.averageTime\",\n" //
+				+ "    \"mode\" : \"avgt\",\n" //
+				+ "    \"primaryMetric\" : {\n" //
+				+ "      \"score\" : 10.0,\n" //
+				+ "      \"rawDataHistogram\" : [ [ [ [ 9.0, 2 ], [ 10.0, 4 ], [ 11.0, 2 ] ] ] ]\n" //
+				+ "    }\n" //
+				+ "  }\n" //
+				+ "]";
+
+		Path file = directory.resolve("baseline.json");
+		Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+
+		baseline = Baseline.forUri(directory.toString());
+	}
+
+	@Test
+	void shouldDetectThroughputRegression() {
+
+		RegressionGate gate = new RegressionGate(baseline, 0.1, 0.99);
+
+		String regression = gate.check(result(throughput("10"), 70, 71, 69, 70));
+
+		assertThat(regression).startsWith("Benchmark.throughput {size=10} regressed by 30.0%");
+	}
+
+	@Test
+	void shouldDetectAverageTimeRegression() {
+
+		RegressionGate gate = new RegressionGate(baseline, 0.1, 0.99);
+
+		assertThat(gate.check(result(averageTime(), 15, 15, 16, 14))).contains("regressed by 50.0%");
+		assertThat(gate.check(result(averageTime(), 5, 5, 6, 4))).isNull();
+	}
+
+	@Test
+	void shouldIgnoreChangesWithinThreshold() {
+
+		RegressionGate gate = new RegressionGate(baseline, 0.1, 0.99);
+
+		assertThat(gate.check(result(throughput("10"), 95, 95, 96, 94))).isNull();
+		assertThat(gate.check(result(throughput("10"), 150, 150, 151, 149))).isNull();
+	}
+
+	@Test
+	void shouldIgnoreInsignificantChanges() {
+
+		RegressionGate gate = new RegressionGate(baseline, 0.1, 0.99);
+
+		assertThat(gate.check(result(throughput("10"), 10, 150, 40, 120))).isNull();
+	}
+
+	@Test
+	void shouldIgnoreBenchmarksWithoutBaseline() {
+
+		RegressionGate gate = new RegressionGate(baseline, 0.1, 0.99);
+
+		assertThat(gate.check(result(throughput("20"), 1, 1, 1))).isNull();
+	}
+
+	@Test
+	void shouldNotCreateGateWithoutBaseline() {
+		assertThat(RegressionGate.create(BenchmarkConfiguration.defaultOptions())).isNull();
+	}
+
+	private static RunResult result(BenchmarkParams params, double... scores) {
+
+		List<IterationResult> iterations = new ArrayList<>();
+
+		for (double score : scores) {
+
+			IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+			Result<?> result = params.getMode() == Mode.Throughput
+					? new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000 * 1000 * 1000, TimeUnit.SECONDS)
+					: new AverageTimeResult(ResultRole.PRIMARY, "test", 1, (long) (score * 1000 * 1000 * 1000),
+							TimeUnit.SECONDS);
+			iteration.addResult(result);
+			iterations.add(iteration);
+		}
+
+		return new RunResult(params, Collections.singletonList(new BenchmarkResult(params, iterations)));
+	}
+
+	private static BenchmarkParams throughput(String size) {
+
+		WorkloadParams workloadParams = new WorkloadParams();
+		workloadParams.put("size", size, 0);
+
+		return params("Benchmark.throughput", Mode.Throughput, workloadParams);
+	}
+
+	private static BenchmarkParams averageTime() {
+		return params("Benchmark.averageTime", Mode.AverageTime, new WorkloadParams());
+	}
+
+	private static BenchmarkParams params(String benchmark, Mode mode, WorkloadParams workloadParams) {
+		return BenchmarkParamsGenerator.params(benchmark, mode, workloadParams, 4, "java", Collections.emptyList());
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link BenchmarkDaemonClient}.
+ */
+class BenchmarkDaemonClientUnitTests {
+
+	@TempDir
+	Path userDirectory;
+
+	@Test
+	void shouldShareDaemonAcrossConcurrentClients() throws Exception {
+
+		String classpath = System.getProperty("java.class.path");
+		String fingerprint = ClasspathFingerprint.of(classpath);
+		BenchmarkDaemonClient client = new BenchmarkDaemonClient(userDirectory, "test", classpath);
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+
+		try {
+			Callable<Properties> ensureDaemon = () -> client.ensureDaemon(fingerprint);
+			List<Future<Properties>> states = executor.invokeAll(Arrays.asList(ensureDaemon, ensureDaemon));
+
+			assertThat(states.get(0).get()).isEqualTo(states.get(1).get());
+			assertThat(states.get(0).get().getProperty("token")).hasSize(64);
+
+			client.shutdown(states.get(0).get());
+			awaitShutdown();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldRestrictStateToCurrentUser() throws Exception {
+
+		Assumptions.assumeTrue(userDirectory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+
+		Path stateDirectory = userDirectory.resolve("test");
+		BenchmarkDaemonClient.createPrivateDirectory(stateDirectory);
+		Path file = BenchmarkDaemonClient.createPrivateFile(stateDirectory, "daemon", ".tmp");
+
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(stateDirectory))).isEqualTo("rwx------");
+		assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(file))).isEqualTo("rw-------");
+	}
+
+	@Test
+	void shouldIgnoreShutdownWithoutToken() throws Exception {
+
+		String classpath = System.getProperty("java.class.path");
+		String fingerprint = ClasspathFingerprint.of(classpath);
+		BenchmarkDaemonClient client = new BenchmarkDaemonClient(userDirectory, "test", classpath);
+
+		Properties state = client.ensureDaemon(fingerprint);
+
+		try {
+			Properties forged = new Properties();
+			forged.setProperty("port", state.getProperty("port"));
+			forged.setProperty("token", "forged");
+
+			client.shutdown(forged);
+
+			assertThat(client.ensureDaemon(fingerprint)).isEqualTo(state);
+		}
+		finally {
+			client.shutdown(state);
+			awaitShutdown();
+		}
+	}
+
+	@Test
+	void shouldConsiderUnreachableDaemonShutDown() throws Exception {
+
+		BenchmarkDaemonClient client = new BenchmarkDaemonClient(userDirectory, "test", "");
+		Properties state = new Properties();
+
+		try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			state.setProperty("port", Integer.toString(socket.getLocalPort()));
+			state.setProperty("token", "token");
+		}
+
+		assertThatCode(() -> client.shutdown(state)).doesNotThrowAnyException();
+	}
+
+	private void awaitShutdown() throws Exception {
+
+		Path stateDirectory = userDirectory.resolve("test");
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+		while (BenchmarkDaemonClient.readState(stateDirectory) != null && System.nanoTime() < deadline) {
+			Thread.sleep(50);
+		}
+
+		assertThat(BenchmarkDaemonClient.readState(stateDirectory)).isNull();
+	}
+}
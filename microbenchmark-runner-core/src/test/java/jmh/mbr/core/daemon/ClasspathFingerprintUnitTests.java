@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link ClasspathFingerprint}.
+ */
+class ClasspathFingerprintUnitTests {
+
+	@TempDir
+	Path classes;
+
+	@Test
+	void shouldComputeStableFingerprint() throws IOException {
+
+		Files.write(classes.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+
+		assertThat(ClasspathFingerprint.of(classes.toString())).isEqualTo(ClasspathFingerprint.of(classes.toString()));
+	}
+
+	@Test
+	void shouldDetectChangedClasses() throws IOException {
+
+		Path file = classes.resolve("Foo.class");
+		Files.write(file, new byte[] { 1, 2, 3 });
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+
+		String before = ClasspathFingerprint.of(classes.toString());
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+
+		assertThat(ClasspathFingerprint.of(classes.toString())).isNotEqualTo(before);
+	}
+
+	@Test
+	void shouldDetectAddedClasspathEntries() throws IOException {
+
+		Path jar = Files.write(classes.resolve("lib.jar"), new byte[] { 1 });
+		Path directory = Files.createDirectory(classes.resolve("dir"));
+
+		assertThat(ClasspathFingerprint.of(directory.toString()))
+				.isNotEqualTo(ClasspathFingerprint.of(directory + File.pathSeparator + jar));
+	}
+
+	@Test
+	void shouldDetectChangedClassesReferencedByManifestClassPath() throws IOException {
+
+		Path directory = Files.createDirectory(classes.resolve("target-classes"));
+		Path file = Files.write(directory.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+		Files.setLastModifiedTime(file, FileTime.fromMillis(1000));
+		Path jar = manifestJar(classes.resolve("booter.jar"), "target-classes/ " + directory.toUri());
+
+		String before = ClasspathFingerprint.of(jar.toString());
+
+		Files.setLastModifiedTime(file, FileTime.fromMillis(2000));
+
+		assertThat(ClasspathFingerprint.getManifestClassPath(jar)).containsExactly(directory, directory);
+		assertThat(ClasspathFingerprint.of(jar.toString())).isNotEqualTo(before);
+	}
+
+	@Test
+	void shouldNotFollowManifestClassPathCycles() throws IOException {
+
+		Path jar = manifestJar(classes.resolve("booter.jar"), "booter.jar");
+
+		assertThat(ClasspathFingerprint.getManifestClassPath(jar)).containsExactly(jar);
+		assertThat(ClasspathFingerprint.of(jar.toString())).isNotEmpty();
+	}
+
+	private static Path manifestJar(Path jar, String classPath) throws IOException {
+
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.CLASS_PATH, classPath);
+
+		try (OutputStream out = new JarOutputStream(Files.newOutputStream(jar), manifest)) {
+			return jar;
+		}
+	}
+}
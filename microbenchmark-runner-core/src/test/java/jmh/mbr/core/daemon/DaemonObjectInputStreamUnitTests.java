@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.daemon;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.BenchmarkConfiguration;
+import jmh.mbr.core.BenchmarkParamsGenerator;
+import jmh.mbr.core.JmhSupport;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.options.Options;
+
+/**
+ * Unit tests for {@link DaemonObjectInputStream}.
+ */
+class DaemonObjectInputStreamUnitTests {
+
+	@Test
+	void shouldReadRunRequest() throws Exception {
+
+		Options options = new JmhSupport(BenchmarkConfiguration.defaultOptions()).options().include("benchmark")
+				.param("size", "1", "2").addProfiler("gc").build();
+
+		DaemonMessage message = roundTrip(new DaemonMessage(DaemonMessage.Type.RUN, "fingerprint", options));
+
+		assertThat(message.getType()).isEqualTo(DaemonMessage.Type.RUN);
+		assertThat(message.<Options> getArgument(1).getIncludes()).containsExactly("benchmark");
+		assertThat(message.<Options> getArgument(1).getParameter("size").get()).containsExactly("1", "2");
+	}
+
+	@Test
+	void shouldReadRunResults() throws Exception {
+
+		BenchmarkParams params = BenchmarkParamsGenerator.params("benchmark", 2);
+		List<IterationResult> iterations = new ArrayList<>();
+
+		for (int score : new int[] { 10, 20 }) {
+			IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+			iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", score, 1000, TimeUnit.MILLISECONDS));
+			iterations.add(iteration);
+		}
+
+		RunResult runResult = new RunResult(params, Collections
+				.singletonList(new BenchmarkResult(params, iterations)));
+
+		DaemonMessage message = roundTrip(new DaemonMessage(DaemonMessage.Type.COMPLETED, new ArrayList<>(Collections
+				.singletonList(runResult))));
+
+		List<RunResult> results = message.getArgument(0);
+		assertThat(results).hasSize(1);
+		assertThat(results.get(0).getPrimaryResult().getScore()).isEqualTo(runResult.getPrimaryResult().getScore());
+	}
+
+	@Test
+	void shouldRejectDisallowedClasses() {
+
+		assertThatExceptionOfType(InvalidClassException.class).isThrownBy(
+				() -> roundTrip(new DaemonMessage(DaemonMessage.Type.PRINTLN, new URL("http://localhost"))));
+	}
+
+	@Test
+	void shouldAllowArraysOfAllowedTypes() {
+
+		assertThat(DaemonObjectInputStream.isAllowed("[B")).isTrue();
+		assertThat(DaemonObjectInputStream.isAllowed("[[Ljava.lang.String;")).isTrue();
+		assertThat(DaemonObjectInputStream.isAllowed("[Ljava.net.URL;")).isFalse();
+	}
+
+	private static DaemonMessage roundTrip(DaemonMessage message) throws IOException, ClassNotFoundException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(message);
+		}
+
+		try (DaemonObjectInputStream in = new DaemonObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return (DaemonMessage) in.readObject();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.incremental;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * Unit tests for {@link IncrementalResultsCache}.
+ */
+class IncrementalResultsCacheUnitTests {
+
+	@TempDir
+	Path cacheDir;
+
+	@Test
+	void shouldComputeStableFingerprintPerMethod() throws Exception {
+
+		IncrementalResultsCache cache = new IncrementalResultsCache(cacheDir, Collections.emptyMap());
+
+		String foo = cache.fingerprint(SimpleBenchmark.class.getMethod("foo"));
+
+		assertThat(cache.fingerprint(SimpleBenchmark.class.getMethod("foo"))).isEqualTo(foo);
+		assertThat(cache.fingerprint(SimpleBenchmark.class.getMethod("bar", State.class))).isNotEqualTo(foo);
+	}
+
+	@Test
+	void shouldConsiderConfiguration() throws Exception {
+
+		Map<String, Object> forks = Collections.singletonMap("jmh.mbr.forks", "1");
+		Map<String, Object> publishTo = Collections.singletonMap("jmh.mbr.report.publishTo", "sysout");
+
+		String fingerprint = new IncrementalResultsCache(cacheDir, Collections.emptyMap())
+				.fingerprint(SimpleBenchmark.class.getMethod("foo"));
+
+		assertThat(new IncrementalResultsCache(cacheDir, forks).fingerprint(SimpleBenchmark.class.getMethod("foo")))
+				.isNotEqualTo(fingerprint);
+		assertThat(new IncrementalResultsCache(cacheDir, publishTo).fingerprint(SimpleBenchmark.class.getMethod("foo")))
+				.isEqualTo(fingerprint);
+	}
+
+	@Test
+	void shouldStoreAndRetrieveResults() {
+
+		IncrementalResultsCache cache = new IncrementalResultsCache(cacheDir, Collections.emptyMap());
+
+		assertThat(cache.get("abc")).isNull();
+
+		cache.put("abc", Collections.singletonList(new RunResult(null, Collections.emptyList())));
+
+		assertThat(cache.get("abc")).hasSize(1);
+	}
+
+	@Test
+	void shouldReadReferencedClasses() throws IOException {
+
+		assertThat(ClassReferences.read(readClass(SimpleBenchmark.class))).contains("java/lang/Object",
+				"jmh/mbr/core/incremental/IncrementalResultsCacheUnitTests$State", "org/openjdk/jmh/annotations/Benchmark");
+	}
+
+	private static byte[] readClass(Class<?> type) throws IOException {
+
+		try (InputStream in = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	static class SimpleBenchmark {
+
+		@Benchmark
+		public void foo() {
+		}
+
+		@Benchmark
+		public void bar(State state) {
+		}
+	}
+
+	static class State {
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.jfr;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.BenchmarkParamsGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.TextResult;
+import org.openjdk.jmh.results.ThroughputResult;
+
+/**
+ * Unit tests for {@link JfrSummary}.
+ */
+class JfrSummaryUnitTests {
+
+	@Test
+	void shouldFindRecordingsReportedByProfiler(@TempDir Path directory) throws Exception {
+
+		Path recording = Files.createFile(directory.resolve("profile.jfr"));
+
+		RunResult result = result(new TextResult("JFR profiler results:\n  " + recording + "\n  "
+				+ directory.resolve("missing.jfr") + "\n", "jfr"));
+
+		assertThat(JfrSummary.findRecordings(result)).containsExactly(recording);
+	}
+
+	@Test
+	void shouldIgnoreUnreadableRecording(@TempDir Path directory) throws Exception {
+
+		Path recording = Files.write(directory.resolve("profile.jfr"), new byte[] { 1, 2, 3 });
+
+		assertThat(JfrSummary.read(recording)).isEmpty();
+	}
+
+	@Test
+	void shouldRankTopEntries() {
+
+		Map<String, Double> values = new LinkedHashMap<>();
+		for (int i = 0; i < 10; i++) {
+			values.put("m" + i, (double) i);
+		}
+
+		assertThat(JfrSummary.top(values, 2)).extracting(JfrSummary.Entry::getName).containsExactly("m9", "m8", "m7",
+				"m6", "m5");
+		assertThat(JfrSummary.top(values, 2).get(0).getValue()).isEqualTo(18);
+	}
+
+	@Test
+	void shouldSummarizeRecording(@TempDir Path directory) throws Exception {
+
+		Class<?> recordingType;
+		try {
+			recordingType = Class.forName("jdk.jfr.Recording");
+		}
+		catch (ClassNotFoundException e) {
+			assumeTrue(false, "Flight Recorder not available");
+			return;
+		}
+
+		Path file = directory.resolve("profile.jfr");
+		Object recording = recordingType.getConstructor().newInstance();
+		recordingType.getMethod("enable", String.class).invoke(recording, "jdk.ExecutionSample");
+		recordingType.getMethod("enable", String.class).invoke(recording, "jdk.ObjectAllocationInNewTLAB");
+		recordingType.getMethod("start").invoke(recording);
+
+		List<Object> garbage = new ArrayList<>();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+		while (System.nanoTime() < deadline) {
+			garbage.add(new byte[1024]);
+			if (garbage.size() > 1000) {
+				garbage.clear();
+			}
+		}
+
+		recordingType.getMethod("stop").invoke(recording);
+		recordingType.getMethod("dump", Path.class).invoke(recording, file);
+		recordingType.getMethod("close").invoke(recording);
+
+		Optional<JfrSummary> summary = JfrSummary.read(file);
+
+		assertThat(summary).isPresent();
+		assertThat(summary.get().getAllocationSites()).isNotEmpty();
+		assertThat(summary.get().toMap()).containsKeys("jfr.recording", "jfr.hotMethods", "jfr.allocationSites",
+				"jfr.lockContention");
+		assertThat(summary.get().toString()).contains("Hot methods:", "Allocation sites:", "Lock contention:");
+	}
+
+	private static RunResult result(TextResult secondary) {
+
+		BenchmarkParams params = BenchmarkParamsGenerator.params("benchmark");
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "benchmark", 1000, 1000 * 1000, TimeUnit.MILLISECONDS));
+
+		BenchmarkResult benchmarkResult = new BenchmarkResult(params, Collections.singletonList(iteration));
+		benchmarkResult.addBenchmarkResult(secondary);
+
+		return new RunResult(params, Collections.singleton(benchmarkResult));
+	}
+}
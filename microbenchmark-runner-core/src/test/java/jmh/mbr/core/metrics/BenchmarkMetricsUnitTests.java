@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.BenchmarkParamsGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+/**
+ * Unit tests for {@link BenchmarkMetrics}.
+ */
+class BenchmarkMetricsUnitTests {
+
+	BenchmarkMetrics metrics = new BenchmarkMetrics();
+	ByteArrayOutputStream console = new ByteArrayOutputStream();
+	OutputFormat format = metrics.decorate(OutputFormatFactory.createFormatInstance(new PrintStream(console),
+			VerboseMode.NORMAL));
+	BenchmarkParams params = params();
+
+	@Test
+	void shouldRecordProgressOfRunningBenchmark() {
+
+		format.startRun();
+		format.println("# Run progress: 12.50% complete, ETA 1 days, 02:03:04");
+		format.startBenchmark(params);
+		format.iteration(params, params.getMeasurement(), 2);
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", 1000, 1000 * 1000, TimeUnit.MILLISECONDS));
+		iteration.addResult(new ScalarResult("·gc.time", 250, "ms", AggregationPolicy.SUM));
+		format.iterationResult(params, params.getMeasurement(), 2, iteration);
+
+		String metrics = this.metrics.render(true);
+
+		assertThat(metrics).contains("# TYPE mbr_run_progress_ratio gauge")
+				.contains("mbr_run_progress_ratio{run=\"1\"} 0.125")
+				.contains("mbr_run_eta_seconds{run=\"1\"} 93784")
+				.contains(
+						"mbr_benchmark_iteration{run=\"1\",benchmark=\"Benchmark.benchmark\",mode=\"thrpt\",params=\"\",phase=\"measurement\"} 2")
+				.contains("mbr_benchmark_iterations{run=\"1\"")
+				.contains("mbr_benchmark_iteration_score{run=\"1\"").contains("unit=\"ops/ms\"} 1000")
+				.contains("mbr_benchmark_iteration_gc_time_seconds{run=\"1\"").contains("phase=\"measurement\"} 0.25")
+				.endsWith("# EOF\n");
+		assertThat(console.toString()).contains("# Run progress: 12.50% complete");
+	}
+
+	@Test
+	void shouldDistinguishInterleavedRunsSharingOutput() {
+
+		OutputFormat shared = OutputFormatFactory.createFormatInstance(new PrintStream(console), VerboseMode.NORMAL);
+		OutputFormat first = metrics.decorate(shared);
+		OutputFormat second = metrics.decorate(shared);
+		BenchmarkParams other = BenchmarkParamsGenerator.params("Benchmark.other");
+
+		first.startRun();
+		second.startRun();
+		first.println("# Run progress: 10.00% complete, ETA 00:00:30");
+		second.println("# Run progress: 50.00% complete, ETA 00:00:10");
+		first.startBenchmark(params);
+		second.startBenchmark(other);
+		first.iteration(params, params.getMeasurement(), 1);
+		second.iteration(other, other.getMeasurement(), 3);
+
+		assertThat(metrics.render(false)).contains("mbr_run_progress_ratio{run=\"1\"} 0.1")
+				.contains("mbr_run_progress_ratio{run=\"2\"} 0.5")
+				.contains("mbr_benchmark_iteration{run=\"1\",benchmark=\"Benchmark.benchmark\"")
+				.contains("mbr_benchmark_iteration{run=\"2\",benchmark=\"Benchmark.other\"");
+
+		first.endRun(Collections.emptyList());
+
+		assertThat(metrics.render(false)).doesNotContain("run=\"1\"")
+				.contains("mbr_run_progress_ratio{run=\"2\"} 0.5")
+				.contains("mbr_benchmark_running{run=\"2\",benchmark=\"Benchmark.other\"");
+	}
+
+	@Test
+	void shouldRecordCompletedBenchmarks() {
+
+		format.startRun();
+		format.startBenchmark(params);
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "test", 1000, 1000 * 1000, TimeUnit.MILLISECONDS));
+		format.endBenchmark(new BenchmarkResult(params, Collections.singletonList(iteration)));
+		format.endRun(Collections.emptyList());
+
+		String metrics = this.metrics.render(false);
+
+		assertThat(metrics).doesNotContain("mbr_benchmark_running{")
+				.contains("mbr_benchmarks_completed 1")
+				.contains("mbr_benchmark_score{benchmark=\"Benchmark.benchmark\",mode=\"thrpt\",params=\"\",unit=\"ops/ms\"} 1000")
+				.doesNotContain("# EOF");
+	}
+
+	@Test
+	void shouldRewriteTextFile(@TempDir Path directory) throws Exception {
+
+		Path file = directory.resolve("metrics").resolve("mbr.prom");
+
+		MetricsExporter.write(file, metrics);
+
+		assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+				.contains("# TYPE mbr_benchmarks_completed gauge");
+	}
+
+	@Test
+	void shouldStopHttpEndpointOnceReleased() throws Exception {
+
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+
+		String uri = "http://localhost:" + port + "/metrics";
+
+		BenchmarkMetrics.getInstance(uri);
+		BenchmarkMetrics.getInstance(uri);
+		BenchmarkMetrics.release(uri);
+
+		assertThat(isListening(port)).isTrue();
+
+		BenchmarkMetrics.release(uri);
+
+		assertThat(isListening(port)).isFalse();
+		assertThat(Thread.getAllStackTraces().keySet()).noneMatch(it -> it.getName().equals("HTTP-Dispatcher"));
+	}
+
+	@Test
+	void shouldRewriteTextFileWhenReleased(@TempDir Path directory) throws Exception {
+
+		Path file = directory.resolve("mbr.prom");
+		String uri = file.toUri().toString();
+
+		BenchmarkMetrics.getInstance(uri);
+		Files.deleteIfExists(file);
+		BenchmarkMetrics.release(uri);
+
+		assertThat(file).exists();
+	}
+
+	@Test
+	void shouldRejectUnsupportedUri() {
+		assertThatIllegalArgumentException().isThrownBy(() -> MetricsExporter.start("ftp://localhost/metrics", metrics));
+	}
+
+	private static boolean isListening(int port) {
+
+		try (Socket ignored = new Socket("localhost", port)) {
+			return true;
+		}
+		catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static BenchmarkParams params() {
+		return BenchmarkParamsGenerator.params("Benchmark.benchmark", 5);
+	}
+}
@@ -17,6 +17,8 @@ import jmh.mbr.core.model.BenchmarkDescriptorFactoryUnitTests.BenchmarkClass.Thr
 import jmh.mbr.core.model.BenchmarkDescriptorFactoryUnitTests.BenchmarkClass.TwoParameters;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.Test;
 import org.openjdk.jmh.annotations.Benchmark;
@@ -79,6 +81,61 @@ class BenchmarkDescriptorFactoryUnitTests {
 		assertThat(fixtures).hasSize(9);
 	}
 
+	@Test
+	void shouldGenerateFixturesInDeclarationOrder() {
+
+		BenchmarkDescriptorFactory factory = BenchmarkDescriptorFactory.create(BenchmarkClass.class);
+		BenchmarkMethod single = factory.getRequiredBenchmarkMethod("nine", Three1.class, Three2.class);
+
+		List<BenchmarkFixture> fixtures = factory.createFixtures(single);
+
+		assertThat(fixtures.get(0).getDisplayName()).isEqualTo("[foo=1, bar=1]");
+		assertThat(fixtures.get(1).getDisplayName()).isEqualTo("[foo=1, bar=2]");
+		assertThat(fixtures.get(3).getDisplayName()).isEqualTo("[foo=2, bar=1]");
+		assertThat(fixtures.get(8).getFixture()).containsEntry("foo", "3").containsEntry("bar", "3");
+		assertThat(fixtures.get(4)).isEqualTo(BenchmarkFixture.create("foo", "2").enhance("bar", "2"))
+				.hasSameHashCodeAs(BenchmarkFixture.create("foo", "2").enhance("bar", "2"));
+		assertThat(fixtures).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void shouldFindFixtureByDisplayName() {
+
+		BenchmarkDescriptorFactory factory = BenchmarkDescriptorFactory.create(BenchmarkClass.class);
+		ParametrizedBenchmarkMethod method = (ParametrizedBenchmarkMethod) factory.createDescriptor().getChildren()
+				.stream().filter(it -> it instanceof ParametrizedBenchmarkMethod
+						&& ((ParametrizedBenchmarkMethod) it).getMethod().getName().equals("nine"))
+				.findFirst().get();
+
+		assertThat(method.getFixture("[foo=2, bar=3]")).hasValue(method.getChildren().get(5));
+		assertThat(method.getFixture("[foo=2, bar=4]")).isEmpty();
+		assertThat(method.getFixture("[foo=2]")).isEmpty();
+		assertThat(method.getFixture("[bar=3, foo=2]")).isEmpty();
+		assertThat(method.getFixture("[foo=2, bar=3]x")).isEmpty();
+	}
+
+	@Test
+	void shouldFindFixtureByParameterValues() {
+
+		BenchmarkDescriptorFactory factory = BenchmarkDescriptorFactory.create(BenchmarkClass.class);
+		ParametrizedBenchmarkMethod method = (ParametrizedBenchmarkMethod) factory.createDescriptor().getChildren()
+				.stream().filter(it -> it instanceof ParametrizedBenchmarkMethod
+						&& ((ParametrizedBenchmarkMethod) it).getMethod().getName().equals("nine"))
+				.findFirst().get();
+
+		Map<String, String> params = new TreeMap<>();
+		params.put("foo", "2");
+		params.put("bar", "3");
+
+		assertThat(method.getFixture(params)).hasValue(method.getChildren().get(5));
+
+		params.put("bar", "4");
+		assertThat(method.getFixture(params)).isEmpty();
+
+		params.remove("bar");
+		assertThat(method.getFixture(params)).isEmpty();
+	}
+
 	@Test
 	public void shouldCreateMultipleFixturesParametrizedBenchmarkClass() {
 
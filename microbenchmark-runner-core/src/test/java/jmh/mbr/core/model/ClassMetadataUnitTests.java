@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Unit tests for {@link ClassMetadata}.
+ */
+class ClassMetadataUnitTests {
+
+	@Test
+	void shouldCacheMetadata() {
+		assertThat(ClassMetadata.of(PublicState.class)).isSameAs(ClassMetadata.of(PublicState.class));
+	}
+
+	@Test
+	void shouldDiscoverPublicAndDeclaredMembersOnce() {
+
+		ClassMetadata metadata = ClassMetadata.of(PublicState.class);
+
+		assertThat(metadata.isParametrized()).isTrue();
+		assertThat(metadata.getParametrizedFields()).extracting(Field::getName).containsExactlyInAnyOrder("foo",
+				"bar");
+		assertThat(metadata.getMethods()).extracting(Method::getName).containsOnlyOnce("benchmark", "hidden");
+	}
+
+	@Test
+	void shouldNotConsiderNonStateClassParametrized() {
+
+		ClassMetadata metadata = ClassMetadata.of(NoState.class);
+
+		assertThat(metadata.isParametrized()).isFalse();
+		assertThat(metadata.getParametrizedFields()).hasSize(1);
+	}
+
+	@State(Scope.Benchmark)
+	public static class PublicState {
+
+		@Param("1") public String foo;
+
+		@Param("2") String bar;
+
+		@Benchmark
+		public void benchmark() {
+
+		}
+
+		void hidden() {
+
+		}
+	}
+
+	static class NoState {
+
+		@Param("1") String foo;
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import jmh.mbr.core.BenchmarkParamsGenerator;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.WorkloadParams;
+
+/**
+ * Unit tests for {@link JvmFlagSet}.
+ */
+class JvmFlagSetUnitTests {
+
+	@Test
+	void shouldParseFlagSets() {
+
+		List<JvmFlagSet> flagSets = JvmFlagSet.parse(" -XX:+UseG1GC | -XX:+UseZGC  -XX:+ZGenerational || ");
+
+		assertThat(flagSets).hasSize(2);
+		assertThat(flagSets.get(0).getFlags()).containsExactly("-XX:+UseG1GC");
+		assertThat(flagSets.get(1).getFlags()).containsExactly("-XX:+UseZGC", "-XX:+ZGenerational");
+		assertThat(flagSets.get(1).getDisplayName()).isEqualTo("[-XX:+UseZGC -XX:+ZGenerational]");
+		assertThat(JvmFlagSet.parse(null)).isEmpty();
+	}
+
+	@Test
+	void shouldFindLongestMatchingFlagSet() {
+
+		List<JvmFlagSet> flagSets = JvmFlagSet.parse("-Xmx1g | -XX:+UseZGC -Xmx1g | -XX:+UseG1GC");
+
+		assertThat(JvmFlagSet.find(flagSets, params("-Xss1m", "-XX:+UseZGC", "-Xmx1g"))).contains(flagSets.get(1));
+		assertThat(JvmFlagSet.find(flagSets, params("-XX:+UseG1GC"))).contains(flagSets.get(2));
+		assertThat(JvmFlagSet.find(flagSets, params("-XX:+UseG1GC", "-Xss1m"))).isEmpty();
+	}
+
+	@Test
+	void shouldParseFlagSetsPerJdk(@TempDir Path directory) throws Exception {
+
+		Path jdk = Files.createDirectory(directory.resolve("jdk-21"));
+		List<JvmFlagSet> flagSets = JvmFlagSet.parse("/opt/jdk-17/bin/java | " + jdk, "-XX:+UseG1GC | -XX:+UseZGC");
+
+		assertThat(flagSets).extracting(JvmFlagSet::getDisplayName).containsExactly("[/opt/jdk-17/bin/java -XX:+UseG1GC]",
+				"[/opt/jdk-17/bin/java -XX:+UseZGC]", "[jdk-21 -XX:+UseG1GC]", "[jdk-21 -XX:+UseZGC]");
+		assertThat(flagSets.get(2).getJvm()).isEqualTo(jdk.resolve("bin").resolve("java").toString());
+		assertThat(JvmFlagSet.parse("/opt/jdk-17/bin/java", null)).extracting(JvmFlagSet::getFlags)
+				.containsExactly(Collections.emptyList());
+		assertThat(JvmFlagSet.parse(" ", "-XX:+UseG1GC")).extracting(JvmFlagSet::getJdk).containsExactly((String) null);
+	}
+
+	@Test
+	void shouldFindFlagSetByJvm() {
+
+		List<JvmFlagSet> flagSets = JvmFlagSet.parse("/opt/jdk-17/bin/java | /opt/jdk-21/bin/java", null);
+
+		assertThat(JvmFlagSet.find(flagSets, jvm("/opt/jdk-21/bin/java"))).contains(flagSets.get(1));
+		assertThat(JvmFlagSet.find(flagSets, jvm("java"))).isEmpty();
+	}
+
+	@Test
+	void shouldTagResultsWithFlagSet() {
+
+		MetaData metaData = MetaData.from(Collections.singletonMap("jmh.mbr.jvmFlagSets", "-XX:+UseG1GC | -XX:+UseZGC"));
+		BenchmarkResults results = new BenchmarkResults(metaData, Arrays.asList(
+				new RunResult(params("-XX:+UseZGC"), Collections.emptyList()),
+				new RunResult(params("-Xmx1g"), Collections.emptyList())));
+
+		assertThat(results.stream().map(it -> it.getMetaData().getAdditionalParameters().get(MetaData.JVM_FLAGS)))
+				.containsExactly("-XX:+UseZGC", null);
+		assertThat(metaData.getAdditionalParameters()).doesNotContainKey(MetaData.JVM_FLAGS);
+	}
+
+	private static BenchmarkParams params(String... jvmArgs) {
+		return jvm("java", jvmArgs);
+	}
+
+	private static BenchmarkParams jvm(String jvm, String... jvmArgs) {
+		return BenchmarkParamsGenerator.params("benchmark", Mode.Throughput, new WorkloadParams(), 1, jvm,
+				Arrays.asList(jvmArgs));
+	}
+}
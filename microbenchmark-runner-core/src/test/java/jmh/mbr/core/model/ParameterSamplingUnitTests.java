@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.core.model;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jmh.mbr.core.SampledRun;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Unit tests for {@link ParameterSampling}.
+ */
+class ParameterSamplingUnitTests {
+
+	@Test
+	void shouldSelectAllCombinationsByDefault() {
+
+		List<BenchmarkFixture> fixtures = createFixtures(ParameterSampling.create(null, 0, 0));
+
+		assertThat(fixtures).hasSize(5 * 4 * 3 * 2);
+		assertThat(getMethod(ParameterSampling.exhaustive()).isSampled()).isFalse();
+	}
+
+	@Test
+	void shouldSelectRandomSamplesWithFixedSeed() {
+
+		List<BenchmarkFixture> fixtures = createFixtures(ParameterSampling.create("random", 7, 1));
+
+		assertThat(fixtures).hasSize(7).doesNotHaveDuplicates();
+		assertThat(createFixtures(ParameterSampling.create("random", 7, 1))).isEqualTo(fixtures);
+		assertThat(createFixtures(ParameterSampling.create("random", 7, 2))).isNotEqualTo(fixtures);
+		assertThat(createFixtures(ParameterSampling.create("random", 1000, 1))).hasSize(120);
+	}
+
+	@Test
+	void shouldSpreadLatinHypercubeSamplesAcrossValues() {
+
+		List<BenchmarkFixture> fixtures = createFixtures(ParameterSampling.create("latin-hypercube", 5, 1));
+
+		assertThat(fixtures).hasSize(5);
+		assertThat(values(fixtures, "a")).containsExactlyInAnyOrder("1", "2", "3", "4", "5");
+		assertThat(values(fixtures, "b")).containsExactlyInAnyOrder("1", "2", "3", "4");
+		assertThat(values(fixtures, "d")).containsExactlyInAnyOrder("1", "2");
+	}
+
+	@Test
+	void shouldCoverAllPairs() {
+
+		List<BenchmarkFixture> fixtures = createFixtures(ParameterSampling.create("pairwise", 0, 0));
+
+		assertThat(fixtures.size()).isLessThan(120).isGreaterThanOrEqualTo(5 * 4);
+
+		String[] names = { "a", "b", "c", "d" };
+		int[] radices = { 5, 4, 3, 2 };
+
+		for (int i = 0; i < names.length; i++) {
+			for (int j = i + 1; j < names.length; j++) {
+
+				Set<String> pairs = new HashSet<>();
+				for (BenchmarkFixture fixture : fixtures) {
+					pairs.add(fixture.getFixture().get(names[i]) + "|" + fixture.getFixture().get(names[j]));
+				}
+
+				assertThat(pairs).hasSize(radices[i] * radices[j]);
+			}
+		}
+	}
+
+	@Test
+	void shouldFindSampledFixturesOnly() {
+
+		ParametrizedBenchmarkMethod method = getMethod(ParameterSampling.create("random", 3, 1));
+		BenchmarkFixture sampled = method.getChildren().get(0);
+
+		assertThat(method.isSampled()).isTrue();
+		assertThat(method.getFixture(sampled.getDisplayName())).hasValue(sampled);
+		assertThat(createFixtures(ParameterSampling.exhaustive()).stream()
+				.filter(it -> method.getFixture(it.getDisplayName()).isPresent())).hasSize(3);
+	}
+
+	@Test
+	void shouldCreateSampledRuns() {
+
+		List<BenchmarkFixture> fixtures = createFixtures(ParameterSampling.create("pairwise", 0, 0));
+		List<SampledRun> runs = SampledRun.create("pattern", fixtures);
+
+		Set<String> prefixes = fixtures.stream()
+				.map(it -> it.getFixture().get("a") + "|" + it.getFixture().get("b") + "|" + it.getFixture().get("c"))
+				.collect(Collectors.toSet());
+
+		assertThat(runs).hasSize(prefixes.size());
+		assertThat(runs.get(0).getIncludePattern()).isEqualTo("pattern");
+	}
+
+	@Test
+	void shouldRejectUnknownStrategy() {
+
+		assertThatIllegalArgumentException().isThrownBy(() -> ParameterSampling.create("sobol", 1, 1));
+		assertThatIllegalArgumentException().isThrownBy(() -> ParameterSampling.create("random", 0, 1));
+	}
+
+	private static List<BenchmarkFixture> createFixtures(ParameterSampling sampling) {
+		return getMethod(sampling).getChildren();
+	}
+
+	private static ParametrizedBenchmarkMethod getMethod(ParameterSampling sampling) {
+		return (ParametrizedBenchmarkMethod) BenchmarkDescriptorFactory.create(SweepBenchmark.class, sampling)
+				.createDescriptor().getChildren().get(0);
+	}
+
+	private static List<Object> values(List<BenchmarkFixture> fixtures, String name) {
+		return fixtures.stream().map(it -> it.getFixture().get(name)).distinct().collect(Collectors.toList());
+	}
+
+	@State(Scope.Benchmark)
+	static class SweepBenchmark {
+
+		@Param({ "1", "2", "3", "4", "5" }) String a;
+
+		@Param({ "1", "2", "3", "4" }) String b;
+
+		@Param({ "1", "2", "3" }) String c;
+
+		@Param({ "1", "2" }) String d;
+
+		@Benchmark
+		void sweep() {
+
+		}
+	}
+}
@@ -0,0 +1,699 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.BenchmarkResult;
+import jmh.mbr.extras.store.StoredResult.Score;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.util.Statistics;
+
+/**
+ * Local append-only store for benchmark results. The store consists of two files within a directory:
+ * <ul>
+ * <li>{@code results.dat} holds result records. Each record is prefixed with its length and a CRC32 checksum.</li>
+ * <li>{@code results.idx} holds an index entry per record with its offset, timestamp, project, version, benchmark
+ * name and parameters.</li>
+ * </ul>
+ * Both files are only ever appended to. The index is loaded into memory when opening the store so that queries only
+ * read matching records. Records that are missing from the index (e.g. after a crash between writing record and index
+ * entry) are re-indexed, incomplete trailing records are ignored. Appends and queries are guarded by a file lock so
+ * that multiple processes can share a store, queries pick up records appended by other processes.
+ */
+public class ResultsStore {
+
+	static final String DATA_FILE = "results.dat";
+
+	static final String INDEX_FILE = "results.idx";
+
+	static final String LOCK_FILE = "results.lock";
+
+	private static final int DATA_MAGIC = 0x4d425253; // MBRS
+
+	private static final int INDEX_MAGIC = 0x4d425249; // MBRI
+
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_LENGTH = 8;
+
+	private static final int RECORD_HEADER_LENGTH = 8;
+
+	private static final Map<Path, Object> MONITORS = new ConcurrentHashMap<>();
+
+	private final Path dataFile;
+	private final Path indexFile;
+	private final Path lockFile;
+	private final Object monitor;
+
+	private final List<IndexEntry> entries = new ArrayList<>();
+	private final Map<String, List<IndexEntry>> byBenchmark = new LinkedHashMap<>();
+	private long indexedIndexLength = HEADER_LENGTH;
+	private long indexedDataLength = HEADER_LENGTH;
+
+	private ResultsStore(Path directory) {
+		this.dataFile = directory.resolve(DATA_FILE);
+		this.indexFile = directory.resolve(INDEX_FILE);
+		this.lockFile = directory.resolve(LOCK_FILE);
+		this.monitor = MONITORS.computeIfAbsent(directory.toAbsolutePath().normalize(), it -> new Object());
+	}
+
+	/**
+	 * Open or create a {@link ResultsStore} in {@code directory}.
+	 *
+	 * @param directory the store directory, created if it does not exist.
+	 * @return the {@link ResultsStore}.
+	 * @throws UncheckedIOException if the store cannot be opened.
+	 */
+	public static ResultsStore open(Path directory) {
+
+		ResultsStore store = new ResultsStore(directory);
+
+		try {
+			Files.createDirectories(directory);
+			store.withLock(store::refresh);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return store;
+	}
+
+	/**
+	 * Append {@link BenchmarkResults} to the store.
+	 *
+	 * @param results the results to append.
+	 * @throws UncheckedIOException if the results cannot be written.
+	 */
+	public void append(BenchmarkResults results) {
+
+		List<BenchmarkResult> toAppend = new ArrayList<>();
+		for (BenchmarkResult result : results) {
+			if (result.getParams() != null && result.getAggregatedResult() != null) {
+				toAppend.add(result);
+			}
+		}
+
+		if (toAppend.isEmpty()) {
+			return;
+		}
+
+		try {
+			withLock(() -> {
+
+				// pick up records appended by other processes
+				refresh();
+
+				try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.WRITE);
+						FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+
+					// drop incomplete trailing bytes before appending
+					data.truncate(indexedDataLength);
+					index.truncate(indexedIndexLength);
+
+					for (BenchmarkResult result : toAppend) {
+
+						byte[] record = encodeRecord(result);
+						IndexEntry entry = IndexEntry.of(indexedDataLength, record.length, result);
+
+						writeFully(data, ByteBuffer.wrap(frame(record)), indexedDataLength);
+						indexedDataLength += RECORD_HEADER_LENGTH + record.length;
+
+						byte[] encodedEntry = entry.encode();
+						writeFully(index, ByteBuffer.wrap(encodedEntry), indexedIndexLength);
+						indexedIndexLength += encodedEntry.length;
+
+						add(entry);
+					}
+
+					data.force(false);
+					index.force(false);
+				}
+			});
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Create a new {@link Query} to retrieve stored results.
+	 *
+	 * @return a new {@link Query} matching all results.
+	 */
+	public Query query() {
+		return new Query();
+	}
+
+	/**
+	 * @return the number of stored results.
+	 */
+	public int size() {
+
+		try {
+			return withLock(() -> {
+
+				// pick up records appended by other processes
+				refresh();
+				return entries.size();
+			});
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void withLock(IoAction action) throws IOException {
+
+		withLock(() -> {
+			action.run();
+			return null;
+		});
+	}
+
+	private <T> T withLock(IoCallback<T> callback) throws IOException {
+
+		synchronized (monitor) {
+
+			try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+
+				FileLock lock = channel.lock();
+
+				try {
+					initialize(dataFile, DATA_MAGIC);
+					initialize(indexFile, INDEX_MAGIC);
+					return callback.call();
+				}
+				finally {
+					lock.release();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Load index entries appended since the last refresh and re-index records that are missing from the index.
+	 */
+	private void refresh() throws IOException {
+
+		try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+
+			long size = index.size();
+			ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+
+			while (indexedIndexLength + 4 <= size) {
+
+				lengthBuffer.clear();
+				readFully(index, lengthBuffer, indexedIndexLength);
+				int length = lengthBuffer.getInt(0);
+
+				if (length <= 0 || indexedIndexLength + 4 + length > size) {
+					break;
+				}
+
+				ByteBuffer payload = ByteBuffer.allocate(length);
+				readFully(index, payload, indexedIndexLength + 4);
+
+				IndexEntry entry = IndexEntry.decode(payload.array());
+				add(entry);
+				indexedIndexLength += 4 + length;
+				indexedDataLength = Math.max(indexedDataLength, entry.offset + RECORD_HEADER_LENGTH + entry.length);
+			}
+		}
+
+		List<IndexEntry> missing = new ArrayList<>();
+
+		try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+
+			long size = data.size();
+			long position = indexedDataLength;
+
+			while (position + RECORD_HEADER_LENGTH <= size) {
+
+				byte[] record = readRecord(data, position, size);
+
+				if (record == null) {
+					break;
+				}
+
+				missing.add(IndexEntry.of(position, record.length, decodeRecord(record)));
+				position += RECORD_HEADER_LENGTH + record.length;
+			}
+		}
+
+		if (missing.isEmpty()) {
+			return;
+		}
+
+		try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.WRITE)) {
+
+			index.truncate(indexedIndexLength);
+
+			for (IndexEntry entry : missing) {
+
+				byte[] encodedEntry = entry.encode();
+				writeFully(index, ByteBuffer.wrap(encodedEntry), indexedIndexLength);
+				indexedIndexLength += encodedEntry.length;
+				indexedDataLength = entry.offset + RECORD_HEADER_LENGTH + entry.length;
+				add(entry);
+			}
+		}
+	}
+
+	private void add(IndexEntry entry) {
+		entries.add(entry);
+		byBenchmark.computeIfAbsent(entry.benchmark, it -> new ArrayList<>()).add(entry);
+	}
+
+	/**
+	 * Read and verify the record at {@code position}.
+	 *
+	 * @return the record payload or {@literal null} if the record is incomplete or corrupt.
+	 */
+	private static byte[] readRecord(FileChannel data, long position, long size) throws IOException {
+
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_LENGTH);
+		readFully(data, header, position);
+
+		int length = header.getInt(0);
+		int checksum = header.getInt(4);
+
+		if (length <= 0 || position + RECORD_HEADER_LENGTH + length > size) {
+			return null;
+		}
+
+		ByteBuffer payload = ByteBuffer.allocate(length);
+		readFully(data, payload, position + RECORD_HEADER_LENGTH);
+
+		return checksum(payload.array()) == checksum ? payload.array() : null;
+	}
+
+	private static void initialize(Path file, int magic) throws IOException {
+
+		if (Files.exists(file) && Files.size(file) >= HEADER_LENGTH) {
+
+			try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+
+				if (in.readInt() != magic || in.readInt() != FORMAT_VERSION) {
+					throw new IOException(String.format("%s is not a results store file of version %d", file,
+							FORMAT_VERSION));
+				}
+			}
+			return;
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+		header.putInt(magic).putInt(FORMAT_VERSION).flip();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+			channel.truncate(0);
+			writeFully(channel, header, 0);
+		}
+	}
+
+	private static byte[] frame(byte[] record) {
+
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + record.length);
+		buffer.putInt(record.length).putInt(checksum(record)).put(record);
+		return buffer.array();
+	}
+
+	private static int checksum(byte[] bytes) {
+
+		CRC32 crc = new CRC32();
+		crc.update(bytes, 0, bytes.length);
+		return (int) crc.getValue();
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) == -1) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+	static byte[] encodeRecord(BenchmarkResult result) throws IOException {
+
+		BenchmarkParams params = result.getParams();
+		org.openjdk.jmh.results.BenchmarkResult aggregated = result.getAggregatedResult();
+		Result<?> primary = aggregated.getPrimaryResult();
+		Statistics statistics = primary.getStatistics();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		writeNullable(out, result.getMetaData().getProject());
+		writeNullable(out, result.getMetaData().getVersion());
+		out.writeLong(result.getMetaData().getTime().toEpochMilli());
+		out.writeUTF(params.getBenchmark());
+		out.writeUTF(params.getMode().shortLabel());
+		writeParams(out, getParams(params));
+
+		writeScore(out, primary);
+		out.writeLong(statistics.getN());
+		out.writeDouble(statistics.getMin());
+		out.writeDouble(statistics.getMax());
+		out.writeDouble(statistics.getN() > 0 ? statistics.getPercentile(50) : Double.NaN);
+		out.writeDouble(statistics.getN() > 1 ? statistics.getVariance() : 0);
+
+		Map<String, Result> secondary = aggregated.getSecondaryResults();
+		out.writeShort(secondary.size());
+		for (Entry<String, Result> entry : secondary.entrySet()) {
+			out.writeUTF(entry.getKey());
+			writeScore(out, entry.getValue());
+		}
+
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	static StoredResult decodeRecord(byte[] record) throws IOException {
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+
+		String project = readNullable(in);
+		String version = readNullable(in);
+		Instant time = Instant.ofEpochMilli(in.readLong());
+		String benchmark = in.readUTF();
+		String mode = in.readUTF();
+		Map<String, String> params = readParams(in);
+
+		Score primary = readScore(in);
+		long sampleCount = in.readLong();
+		double min = in.readDouble();
+		double max = in.readDouble();
+		double median = in.readDouble();
+		double variance = in.readDouble();
+
+		int secondaryCount = in.readUnsignedShort();
+		Map<String, Score> secondary = new LinkedHashMap<>(secondaryCount);
+		for (int i = 0; i < secondaryCount; i++) {
+			secondary.put(in.readUTF(), readScore(in));
+		}
+
+		return new StoredResult(project, version, time, benchmark, mode, params, primary, sampleCount, min, max,
+				median, variance, secondary);
+	}
+
+	private static Map<String, String> getParams(BenchmarkParams params) {
+
+		Map<String, String> result = new LinkedHashMap<>();
+		for (String key : params.getParamsKeys()) {
+			result.put(key, params.getParam(key));
+		}
+		return result;
+	}
+
+	private static void writeScore(DataOutputStream out, Result<?> result) throws IOException {
+		out.writeDouble(result.getScore());
+		out.writeDouble(result.getScoreError());
+		out.writeUTF(result.getScoreUnit());
+	}
+
+	private static Score readScore(DataInputStream in) throws IOException {
+		return new Score(in.readDouble(), in.readDouble(), in.readUTF());
+	}
+
+	private static void writeParams(DataOutputStream out, Map<String, String> params) throws IOException {
+
+		out.writeShort(params.size());
+		for (Entry<String, String> entry : params.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeUTF(entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readParams(DataInputStream in) throws IOException {
+
+		int count = in.readUnsignedShort();
+		Map<String, String> params = new LinkedHashMap<>(count);
+		for (int i = 0; i < count; i++) {
+			params.put(in.readUTF(), in.readUTF());
+		}
+		return params;
+	}
+
+	private static void writeNullable(DataOutputStream out, String value) throws IOException {
+
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readNullable(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private interface IoAction {
+
+		void run() throws IOException;
+	}
+
+	private interface IoCallback<T> {
+
+		T call() throws IOException;
+	}
+
+	/**
+	 * Query for stored results. Criteria are combined using logical AND. Results are returned in the order in which
+	 * they were appended.
+	 */
+	public class Query {
+
+		private String benchmark;
+		private final List<Predicate<IndexEntry>> predicates = new ArrayList<>();
+
+		private Query() {
+		}
+
+		/**
+		 * Match results of a benchmark.
+		 *
+		 * @param benchmark the fully qualified benchmark method name.
+		 * @return {@code this} {@link Query}.
+		 */
+		public Query benchmark(String benchmark) {
+			this.benchmark = benchmark;
+			return this;
+		}
+
+		/**
+		 * Match results measured with a parameter value.
+		 *
+		 * @param name the parameter name.
+		 * @param value the parameter value.
+		 * @return {@code this} {@link Query}.
+		 */
+		public Query param(String name, String value) {
+			predicates.add(entry -> value.equals(entry.params.get(name)));
+			return this;
+		}
+
+		/**
+		 * Match results of a project.
+		 *
+		 * @param project the project name.
+		 * @return {@code this} {@link Query}.
+		 */
+		public Query project(String project) {
+			predicates.add(entry -> project.equals(entry.project));
+			return this;
+		}
+
+		/**
+		 * Match results of a project version.
+		 *
+		 * @param version the project version.
+		 * @return {@code this} {@link Query}.
+		 */
+		public Query version(String version) {
+			predicates.add(entry -> version.equals(entry.version));
+			return this;
+		}
+
+		/**
+		 * Match results recorded within a time range.
+		 *
+		 * @param from inclusive lower bound, can be {@literal null}.
+		 * @param to exclusive upper bound, can be {@literal null}.
+		 * @return {@code this} {@link Query}.
+		 */
+		public Query between(Instant from, Instant to) {
+
+			long fromMillis = from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+			long toMillis = to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+
+			predicates.add(entry -> entry.time >= fromMillis && entry.time < toMillis);
+			return this;
+		}
+
+		/**
+		 * Retrieve matching results.
+		 *
+		 * @return the matching results.
+		 * @throws UncheckedIOException if results cannot be read.
+		 */
+		public List<StoredResult> list() {
+
+			List<IndexEntry> matches = new ArrayList<>();
+
+			try {
+				withLock(() -> {
+
+					// pick up records appended by other processes
+					refresh();
+
+					List<IndexEntry> candidates = benchmark != null ? byBenchmark
+							.getOrDefault(benchmark, Collections.emptyList()) : entries;
+
+					for (IndexEntry candidate : candidates) {
+						if (matches(candidate)) {
+							matches.add(candidate);
+						}
+					}
+				});
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			if (matches.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			List<StoredResult> results = new ArrayList<>(matches.size());
+
+			try (FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ)) {
+
+				for (IndexEntry match : matches) {
+
+					ByteBuffer buffer = ByteBuffer.allocate(match.length);
+					readFully(data, buffer, match.offset + RECORD_HEADER_LENGTH);
+					results.add(decodeRecord(buffer.array()));
+				}
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			return results;
+		}
+
+		private boolean matches(IndexEntry entry) {
+
+			for (Predicate<IndexEntry> predicate : predicates) {
+				if (!predicate.test(entry)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Index entry pointing to a record in the data file.
+	 */
+	static class IndexEntry {
+
+		final long offset;
+		final int length;
+		final long time;
+		final String project;
+		final String version;
+		final String benchmark;
+		final Map<String, String> params;
+
+		IndexEntry(long offset, int length, long time, String project, String version, String benchmark,
+				Map<String, String> params) {
+			this.offset = offset;
+			this.length = length;
+			this.time = time;
+			this.project = project;
+			this.version = version;
+			this.benchmark = benchmark;
+			this.params = params;
+		}
+
+		static IndexEntry of(long offset, int length, BenchmarkResult result) {
+			return new IndexEntry(offset, length, result.getMetaData().getTime().toEpochMilli(), result.getMetaData()
+					.getProject(), result.getMetaData().getVersion(), result.getParams().getBenchmark(),
+					getParams(result.getParams()));
+		}
+
+		static IndexEntry of(long offset, int length, StoredResult result) {
+			return new IndexEntry(offset, length, result.getTime().toEpochMilli(), result.getProject(), result
+					.getVersion(), result.getBenchmark(), result.getParams());
+		}
+
+		byte[] encode() throws IOException {
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+			DataOutputStream out = new DataOutputStream(bytes);
+
+			out.writeInt(0); // length placeholder
+			out.writeLong(offset);
+			out.writeInt(length);
+			out.writeLong(time);
+			writeNullable(out, project);
+			writeNullable(out, version);
+			out.writeUTF(benchmark);
+			writeParams(out, params);
+			out.flush();
+
+			byte[] result = bytes.toByteArray();
+			ByteBuffer.wrap(result).putInt(result.length - 4);
+			return result;
+		}
+
+		static IndexEntry decode(byte[] payload) throws IOException {
+
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+
+			return new IndexEntry(in.readLong(), in.readInt(), in.readLong(), readNullable(in), readNullable(in), in
+					.readUTF(), readParams(in));
+		}
+	}
+}
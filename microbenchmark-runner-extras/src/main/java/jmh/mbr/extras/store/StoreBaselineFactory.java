@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jmh.mbr.core.baseline.Baseline;
+import jmh.mbr.core.baseline.BaselineFactory;
+import jmh.mbr.extras.store.ResultsStore.Query;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummaryValues;
+
+/**
+ * A {@link BaselineFactory} that uses results of a {@link ResultsStore} as baseline. Activated with
+ * <code>-Djmh.mbr.baseline=store:./path/to/directory</code>. The most recent result of each benchmark is used as
+ * baseline. Results can be restricted to a project version using <code>store:./path/to/directory?version=1.0</code>.
+ */
+public class StoreBaselineFactory implements BaselineFactory {
+
+	@Override
+	public Baseline forUri(String uri) {
+
+		if (!uri.startsWith("store:")) {
+			return null;
+		}
+
+		String location = uri.substring("store:".length());
+		String version = null;
+
+		if (location.contains("?version=")) {
+			version = location.substring(location.indexOf("?version=") + "?version=".length());
+			location = location.substring(0, location.indexOf('?'));
+		}
+
+		File directory = new File(location);
+
+		if (!directory.isDirectory()) {
+			throw new IllegalArgumentException(String.format("Baseline store %s does not exist", directory));
+		}
+
+		Query query = ResultsStore.open(directory.toPath()).query();
+
+		if (version != null) {
+			query.version(version);
+		}
+
+		return new StoreBaseline(query.list());
+	}
+
+	/**
+	 * {@link Baseline} retaining the most recent {@link StoredResult} per benchmark.
+	 */
+	static class StoreBaseline implements Baseline {
+
+		private final Map<String, StoredResult> results = new HashMap<>();
+
+		StoreBaseline(List<StoredResult> results) {
+
+			// results are ordered by time of appending, later results replace earlier ones
+			for (StoredResult result : results) {
+				this.results.put(getKey(result.getBenchmark(), result.getMode(), result.getParams()), result);
+			}
+		}
+
+		@Override
+		public StatisticalSummary getPrimaryResult(String benchmark, String mode, Map<String, String> params) {
+
+			StoredResult result = results.get(getKey(benchmark, mode, params));
+
+			if (result == null) {
+				return null;
+			}
+
+			double mean = result.getPrimary().getScore();
+			return new StatisticalSummaryValues(mean, result.getVariance(), result.getSampleCount(), result
+					.getMax(), result.getMin(), mean * result.getSampleCount());
+		}
+
+		private static String getKey(String benchmark, String mode, Map<String, String> params) {
+			return benchmark + "|" + mode + "|" + new TreeMap<>(params);
+		}
+	}
+}
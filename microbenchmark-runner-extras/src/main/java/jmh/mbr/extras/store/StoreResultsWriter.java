@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import java.io.File;
+
+import jmh.mbr.core.ResultsWriter;
+import jmh.mbr.core.model.BenchmarkResults;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * {@link ResultsWriter} appending {@link BenchmarkResults} to a {@link ResultsStore}.
+ */
+class StoreResultsWriter implements ResultsWriter {
+
+	private final String uri;
+
+	StoreResultsWriter(String uri) {
+		this.uri = uri;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
+	}
+
+	@Override
+	public void write(OutputFormat output, BenchmarkResults results) {
+
+		if (results == null) {
+			return;
+		}
+
+		File directory = new File(uri.substring("store:".length()));
+		ResultsStore.open(directory.toPath()).append(results);
+	}
+}
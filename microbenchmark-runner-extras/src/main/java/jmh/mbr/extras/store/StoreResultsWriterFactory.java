@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import jmh.mbr.core.ResultsWriter;
+import jmh.mbr.core.ResultsWriterFactory;
+
+/**
+ * A {@link ResultsWriterFactory} that appends results to a local {@link ResultsStore}. Activated with
+ * <code>-Djmh.mbr.report.publishTo=store:./path/to/directory</code>. The store is created if it does not exist.
+ */
+public class StoreResultsWriterFactory implements ResultsWriterFactory {
+
+	@Override
+	public ResultsWriter forUri(String uri) {
+
+		if (!uri.startsWith("store:")) {
+			return null;
+		}
+
+		return new StoreResultsWriter(uri);
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Benchmark result persisted in a {@link ResultsStore}. Captures the primary score along with its statistics and the
+ * scores of secondary results.
+ */
+public class StoredResult {
+
+	private final String project;
+	private final String version;
+	private final Instant time;
+	private final String benchmark;
+	private final String mode;
+	private final Map<String, String> params;
+	private final Score primary;
+	private final long sampleCount;
+	private final double min;
+	private final double max;
+	private final double median;
+	private final double variance;
+	private final Map<String, Score> secondary;
+
+	StoredResult(String project, String version, Instant time, String benchmark, String mode,
+			Map<String, String> params, Score primary, long sampleCount, double min, double max, double median,
+			double variance, Map<String, Score> secondary) {
+
+		this.project = project;
+		this.version = version;
+		this.time = time;
+		this.benchmark = benchmark;
+		this.mode = mode;
+		this.params = Collections.unmodifiableMap(params);
+		this.primary = primary;
+		this.sampleCount = sampleCount;
+		this.min = min;
+		this.max = max;
+		this.median = median;
+		this.variance = variance;
+		this.secondary = Collections.unmodifiableMap(secondary);
+	}
+
+	public String getProject() {
+		return project;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public Instant getTime() {
+		return time;
+	}
+
+	public String getBenchmark() {
+		return benchmark;
+	}
+
+	public String getMode() {
+		return mode;
+	}
+
+	public Map<String, String> getParams() {
+		return params;
+	}
+
+	public Score getPrimary() {
+		return primary;
+	}
+
+	public long getSampleCount() {
+		return sampleCount;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMedian() {
+		return median;
+	}
+
+	/**
+	 * @return the sample variance of the primary result.
+	 */
+	public double getVariance() {
+		return variance;
+	}
+
+	public Map<String, Score> getSecondary() {
+		return secondary;
+	}
+
+	@Override
+	public String toString() {
+		return "StoredResult{" +
+				"benchmark='" + benchmark + '\'' +
+				", params=" + params +
+				", version='" + version + '\'' +
+				", time=" + time +
+				", primary=" + primary +
+				'}';
+	}
+
+	/**
+	 * Score of a result along with its error and unit.
+	 */
+	public static class Score {
+
+		private final double score;
+		private final double error;
+		private final String unit;
+
+		Score(double score, double error, String unit) {
+			this.score = score;
+			this.error = error;
+			this.unit = unit;
+		}
+
+		public double getScore() {
+			return score;
+		}
+
+		public double getError() {
+			return error;
+		}
+
+		public String getUnit() {
+			return unit;
+		}
+
+		@Override
+		public String toString() {
+			return score + " ± " + error + " " + unit;
+		}
+	}
+}
@@ -9,111 +9,252 @@
  */
 package jmh.mbr.extras.writer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.util.ScoreFormatter;
 import org.openjdk.jmh.util.Statistics;
 
 /**
- * Utility to create a CSV-formatted report.
+ * Utility to create a CSV-formatted report. Rows are streamed to a {@link Writer}. Parameter and auxiliary counter
+ * columns are resolved through a column index so that the cost of a row is linear in its number of values. Results run
+ * on multiple JVMs are reported with a {@code jvm} column followed by a {@link JvmComparison comparison} table.
  */
 class CsvResultsFormatter {
 
+	private static final String SEPARATOR = ", ";
+
 	/**
 	 * Create a report in CSV format.
 	 *
-	 * @param results
-	 * @return
+	 * @param results the results to render.
+	 * @return the report.
 	 */
 	static String createReport(Collection<RunResult> results) {
+		return createReport(new BenchmarkResults(MetaData.none(), results));
+	}
+
+	/**
+	 * Create a report in CSV format. JVMs are compared in the order configured through the {@link MetaData}.
+	 *
+	 * @param results the results to render.
+	 * @return the report.
+	 */
+	static String createReport(BenchmarkResults results) {
+
+		StringWriter writer = new StringWriter();
+
+		try {
+			writeReport(results, writer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return writer.toString();
+	}
+
+	/**
+	 * Write a report in CSV format to {@link Writer}. JVMs are compared in the order configured through the
+	 * {@link MetaData}.
+	 *
+	 * @param benchmarkResults the results to render.
+	 * @param writer the target {@link Writer}, the writer is not flushed or closed.
+	 * @throws IOException if writing fails.
+	 */
+	static void writeReport(BenchmarkResults benchmarkResults, Writer writer) throws IOException {
+
+		Collection<RunResult> results = benchmarkResults.getRawResults();
+
+		// aggregation merges all iterations, compute it once per result
+		List<BenchmarkResult> aggregated = new ArrayList<>(results.size());
+		for (RunResult result : results) {
+			aggregated.add(result.getAggregatedResult());
+		}
 
-		StringBuilder report = new StringBuilder(System.lineSeparator());
 		Map<String, Integer> params = detectParameters(results);
-		Map<String, Integer> auxes = detectAuxes(results);
+		Map<String, Integer> auxes = detectAuxes(aggregated);
+		JvmComparison comparison = JvmComparison.of(benchmarkResults);
 
-		StringBuilder header = new StringBuilder();
-		header.append("class, method, ");
-		params.forEach((key, value) -> header.append(key).append(", "));
-		auxes.forEach((key, value) -> header.append(propertyName(key)).append(", "));
-		header.append("median, mean, range");
-		report.append(header.toString()).append(System.lineSeparator());
+		writer.write(System.lineSeparator());
+		writer.write("class, method, ");
+		if (comparison.isComparing()) {
+			writer.write("jvm, ");
+		}
+		for (String param : params.keySet()) {
+			writer.write(param);
+			writer.write(SEPARATOR);
+		}
+		for (String aux : auxes.keySet()) {
+			writer.write(propertyName(aux));
+			writer.write(SEPARATOR);
+		}
+		writer.write("median, mean, range");
+		writer.write(System.lineSeparator());
+
+		String[] paramValues = new String[params.size()];
+		Result<?>[] auxValues = new Result<?>[auxes.size()];
+		Iterator<BenchmarkResult> aggregatedResults = aggregated.iterator();
 
 		for (RunResult result : results) {
-			StringBuilder builder = new StringBuilder();
-			if (result.getParams() != null) {
-				String benchmark = result.getParams().getBenchmark();
-				String cls = benchmark.contains(".")
-						? benchmark.substring(0, benchmark.lastIndexOf("."))
-						: benchmark;
-				String mthd = benchmark.substring(benchmark.lastIndexOf(".") + 1);
-				builder.append(cls).append(", ").append(mthd).append(", ");
-				for (int i = 0; i < params.values().size(); i++) {
-					boolean found = false;
-					for (String param : result.getParams().getParamsKeys()) {
-						if (params.get(param) == i) {
-							builder.append(result.getParams().getParam(param))
-									.append(", ");
-							found = true;
-						}
-					}
-					if (!found) {
-						builder.append(", ");
-					}
+
+			BenchmarkResult aggregatedResult = aggregatedResults.next();
+
+			if (aggregatedResult == null) {
+				continue;
+			}
+
+			BenchmarkParams benchmarkParams = result.getParams();
+
+			if (benchmarkParams != null) {
+
+				String benchmark = benchmarkParams.getBenchmark();
+				int lastDot = benchmark.lastIndexOf('.');
+
+				writer.write(benchmark, 0, lastDot == -1 ? benchmark.length() : lastDot);
+				writer.write(SEPARATOR);
+				writer.write(benchmark, lastDot + 1, benchmark.length() - lastDot - 1);
+				writer.write(SEPARATOR);
+
+				if (comparison.isComparing()) {
+					writer.write(comparison.getLabel(benchmarkParams.getJvm()));
+					writer.write(SEPARATOR);
+				}
+
+				Arrays.fill(paramValues, null);
+				for (String param : benchmarkParams.getParamsKeys()) {
+					paramValues[params.get(param)] = benchmarkParams.getParam(param);
 				}
+
+				writeCells(paramValues, writer);
+			}
+
+			Arrays.fill(auxValues, null);
+			for (Map.Entry<String, Result> entry : aggregatedResult.getSecondaryResults().entrySet()) {
+				auxValues[auxes.get(entry.getKey())] = entry.getValue();
+			}
+
+			for (Result<?> aux : auxValues) {
+				if (aux != null) {
+					writer.write(ScoreFormatter.format(aux.getStatistics().getPercentile(0.5)));
+				}
+				writer.write(SEPARATOR);
+			}
+
+			// primary result is derived from aggregate result
+			Statistics statistics = aggregatedResult.getPrimaryResult().getStatistics();
+			writer.write(ScoreFormatter.format(statistics.getPercentile(0.5)));
+			writer.write(SEPARATOR);
+			writer.write(ScoreFormatter.format(statistics.getMean()));
+			writer.write(SEPARATOR);
+			double error = (statistics.getMax() - statistics.getMin()) / 2;
+			writer.write(ScoreFormatter.format(error));
+			writer.write(System.lineSeparator());
+		}
+
+		if (comparison.isComparing()) {
+			writeComparison(comparison, params, paramValues, writer);
+		}
+	}
+
+	/**
+	 * Write scores of each benchmark side by side per JVM along with the change relative to the first JVM.
+	 */
+	private static void writeComparison(JvmComparison comparison, Map<String, Integer> params, String[] paramValues,
+			Writer writer) throws IOException {
+
+		List<String> jvms = comparison.getJvms();
+		String baseline = jvms.get(0);
+
+		writer.write(System.lineSeparator());
+		writer.write("class, method, ");
+		for (String param : params.keySet()) {
+			writer.write(param);
+			writer.write(SEPARATOR);
+		}
+		for (String jvm : jvms) {
+			writer.write(comparison.getLabel(jvm));
+			writer.write(SEPARATOR);
+		}
+		for (int i = 1; i < jvms.size(); i++) {
+			writer.write(comparison.getLabel(jvms.get(i)));
+			writer.write(" change");
+			writer.write(i < jvms.size() - 1 ? SEPARATOR : "");
+		}
+		writer.write(System.lineSeparator());
+
+		for (Map<String, RunResult> row : comparison.getRows()) {
+
+			BenchmarkParams benchmarkParams = row.values().iterator().next().getParams();
+			String benchmark = benchmarkParams.getBenchmark();
+			int lastDot = benchmark.lastIndexOf('.');
+
+			writer.write(benchmark, 0, lastDot == -1 ? benchmark.length() : lastDot);
+			writer.write(SEPARATOR);
+			writer.write(benchmark, lastDot + 1, benchmark.length() - lastDot - 1);
+			writer.write(SEPARATOR);
+
+			Arrays.fill(paramValues, null);
+			for (String param : benchmarkParams.getParamsKeys()) {
+				paramValues[params.get(param)] = benchmarkParams.getParam(param);
 			}
+			writeCells(paramValues, writer);
 
-			if (result.getAggregatedResult() != null) {
-
-				Map<String, Result> second = result.getAggregatedResult()
-						.getSecondaryResults();
-				for (int i = 0; i < auxes.values().size(); i++) {
-					boolean found = false;
-					for (String param : second.keySet()) {
-						if (auxes.get(param) == i) {
-							builder.append(ScoreFormatter.format(
-									second.get(param).getStatistics().getPercentile(0.5)))
-									.append(", ");
-							found = true;
-						}
-					}
-					if (!found) {
-						builder.append(", ");
-					}
+			for (String jvm : jvms) {
+				RunResult result = row.get(jvm);
+				if (result != null) {
+					writer.write(ScoreFormatter.format(result.getPrimaryResult().getScore()));
 				}
-				// primary result is derived from aggregate result
-				Statistics statistics = result.getPrimaryResult().getStatistics();
-				builder.append(ScoreFormatter.format(statistics.getPercentile(0.5)));
-				builder.append(", ");
-				builder.append(ScoreFormatter.format(statistics.getMean()));
-				builder.append(", ");
-				double error = (statistics.getMax() - statistics.getMin()) / 2;
-				builder.append(ScoreFormatter.format(error));
-
-				report.append(builder.toString()).append(System.lineSeparator());
+				writer.write(SEPARATOR);
 			}
+
+			for (int i = 1; i < jvms.size(); i++) {
+				RunResult result = row.get(jvms.get(i));
+				Double change = result != null && row.containsKey(baseline)
+						? JvmComparison.getChange(row.get(baseline), result)
+						: null;
+				if (change != null) {
+					writer.write(String.format(Locale.US, "%+.2f%%", change * 100));
+				}
+				writer.write(i < jvms.size() - 1 ? SEPARATOR : "");
+			}
+			writer.write(System.lineSeparator());
 		}
+	}
 
-		return report.toString();
+	private static void writeCells(String[] values, Writer writer) throws IOException {
+
+		for (String value : values) {
+			if (value != null) {
+				writer.write(value);
+			}
+			writer.write(SEPARATOR);
+		}
 	}
 
-	private static Map<String, Integer> detectAuxes(Collection<RunResult> results) {
+	private static Map<String, Integer> detectAuxes(Collection<BenchmarkResult> results) {
+
 		Map<String, Integer> auxes = new LinkedHashMap<>();
-		int auxPlaces = 0;
-		for (RunResult result : results) {
-			if (result.getAggregatedResult() != null) {
-				@SuppressWarnings("rawtypes")
-				Map<String, Result> second = result.getAggregatedResult()
-						.getSecondaryResults();
-				if (second != null) {
-					for (String aux : second.keySet()) {
-						int count = auxPlaces;
-						auxes.computeIfAbsent(aux, key -> count);
-						auxPlaces++;
-					}
+		for (BenchmarkResult result : results) {
+			if (result != null) {
+				for (String aux : result.getSecondaryResults().keySet()) {
+					auxes.putIfAbsent(aux, auxes.size());
 				}
 			}
 		}
@@ -121,17 +262,12 @@ class CsvResultsFormatter {
 	}
 
 	private static Map<String, Integer> detectParameters(Collection<RunResult> results) {
+
 		Map<String, Integer> params = new LinkedHashMap<>();
-		int paramPlaces = 0;
 		for (RunResult result : results) {
 			if (result.getParams() != null) {
 				for (String param : result.getParams().getParamsKeys()) {
-					int count = paramPlaces;
-					if (params.containsKey(param)) {
-						continue;
-					}
-					params.put(param, count);
-					paramPlaces++;
+					params.putIfAbsent(param, params.size());
 				}
 			}
 		}
@@ -12,12 +12,16 @@ package jmh.mbr.extras.writer;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Collections;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 import jmh.mbr.core.ResultsWriter;
 import jmh.mbr.core.model.BenchmarkResults;
 import org.openjdk.jmh.runner.format.OutputFormat;
-import org.openjdk.jmh.util.FileUtils;
 
 class CsvResultsWriter implements ResultsWriter {
 
@@ -30,37 +34,79 @@ class CsvResultsWriter implements ResultsWriter {
 	@Override
 	public void write(OutputFormat output, BenchmarkResults results) {
 
-		String report;
-
-		try {
-			report = CsvResultsFormatter.createReport(results.getRawResults());
-		}
-		catch (Exception e) {
-			output.println("Report creation failed: " + StackTraceCapture.from(e));
-			return;
-		}
+		File file;
 		try {
 
-			File file = new File(uri.substring("csv:".length())).getCanonicalFile();
+			file = new File(uri.substring("csv:".length())).getCanonicalFile();
 			output.println(System.lineSeparator());
 			output.println("Writing result to file: " + file);
 
 			File parent = file.getParentFile();
 			if (parent != null) {
-
 				parent.mkdirs();
+			}
+
+			if (parent == null || !parent.exists()) {
+				throw new FileNotFoundException("Parent directory " + parent + " does not exist");
+			}
+		}
+		catch (IOException e) {
+			output.println("Write failed: " + e
+					.getMessage() + " " + StackTraceCapture.from(e));
+			return;
+		}
+
+		Path temp = null;
+		try {
+
+			// write to a temporary file first so that a failing report does not replace the previous one
+			temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+
+			try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
 
-				if (parent.exists()) {
-					FileUtils.writeLines(file, Collections.singleton(report));
-					return;
-				}
+				CsvResultsFormatter.writeReport(results, writer);
+				writer.write(System.lineSeparator());
 			}
 
-			throw new FileNotFoundException("Parent directory " + parent + " does not exist");
+			move(temp, file.toPath());
 		}
 		catch (IOException e) {
 			output.println("Write failed: " + e
 					.getMessage() + " " + StackTraceCapture.from(e));
 		}
+		catch (Exception e) {
+			output.println("Report creation failed: " + StackTraceCapture.from(e));
+		}
+		finally {
+			deleteQuietly(temp);
+		}
+	}
+
+	/**
+	 * Move {@code source} to {@code target} atomically if supported by the file system so that readers never observe
+	 * a partially written file.
+	 */
+	static void move(Path source, Path target) throws IOException {
+
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	static void deleteQuietly(Path temp) {
+
+		if (temp == null) {
+			return;
+		}
+
+		try {
+			Files.deleteIfExists(temp);
+		}
+		catch (IOException e) {
+			// best effort
+		}
 	}
 }
@@ -9,7 +9,12 @@
  */
 package jmh.mbr.extras.writer;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
 import jmh.mbr.core.ResultsWriter;
@@ -19,53 +24,156 @@ import org.apache.http.Header;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpHost;
 import org.apache.http.message.BasicHeader;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.openjdk.jmh.runner.format.OutputFormat;
 
 /**
  * {@link ResultsWriter} to write {@link BenchmarkResults} to Elasticserarch.
  */
-public class ElasticsearchResultsWriter implements ResultsWriter {
+public class ElasticsearchResultsWriter implements ResultsWriter, Closeable {
+
+	static final int DEFAULT_BATCH_SIZE = 500;
+
+	static final long DEFAULT_BATCH_BYTES = 5 * 1024 * 1024;
 
 	private final RestHighLevelClient client;
+	private final int batchSize;
+	private final long batchBytes;
 
 	public ElasticsearchResultsWriter(String uri) {
-		this(createClient(ConnectionString.fromUri(uri)));
+		this(ConnectionString.fromUri(uri));
+	}
+
+	private ElasticsearchResultsWriter(ConnectionString connectionString) {
+		this(createClient(connectionString), connectionString.batchSize, connectionString.batchBytes);
 	}
 
-	ElasticsearchResultsWriter(RestHighLevelClient client) {
+	ElasticsearchResultsWriter(RestHighLevelClient client, int batchSize, long batchBytes) {
 		this.client = client;
+		this.batchSize = batchSize;
+		this.batchBytes = batchBytes;
+	}
+
+	@Override
+	public boolean isIncremental() {
+		return true;
 	}
 
+	/**
+	 * Index {@link BenchmarkResults} using {@code _bulk} requests. Documents are batched until a batch reaches either
+	 * the configured number of documents or the configured size in bytes. Documents include a {@code comparison} if
+	 * {@code results} contain the result of the same benchmark on the baseline JVM. Results published
+	 * asynchronously are written per benchmark and therefore do not include comparisons. A failed bulk request is
+	 * retried once. Batches that fail again are reported and do not prevent subsequent batches from being written.
+	 *
+	 * @param output original {@link OutputFormat} to report failures of batches and individual documents.
+	 * @param results can be {@literal null}.
+	 */
 	@Override
 	public void write(OutputFormat output, BenchmarkResults results) {
-		results.forEach(result -> formatAndPublish(output, result));
+
+		if (results == null) {
+			return;
+		}
+
+		BulkRequest bulk = new BulkRequest();
+		JvmComparison comparison = JvmComparison.of(results);
+
+		for (BenchmarkResult result : results) {
+
+			IndexRequest request = new IndexRequest(result.getMetaData().getProject()).source(toJson(result, comparison),
+					XContentType.JSON);
+
+			if (bulk.numberOfActions() > 0 && (bulk.numberOfActions() >= batchSize
+					|| bulk.estimatedSizeInBytes() + request.source().length() > batchBytes)) {
+
+				execute(output, bulk);
+				bulk = new BulkRequest();
+			}
+
+			bulk.add(request);
+		}
+
+		if (bulk.numberOfActions() > 0) {
+			execute(output, bulk);
+		}
 	}
 
-	private void formatAndPublish(OutputFormat output, BenchmarkResult result) {
-		publishJson(output, result.getMetaData().getProject(), result
-				.map(JsonResultsFormatter::format));
+	/**
+	 * Close the underlying {@link RestHighLevelClient} and release its connections and I/O threads.
+	 *
+	 * @throws IOException if the client cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		client.close();
 	}
 
-	void publishJson(OutputFormat output, String index, String json) {
+	/**
+	 * Stream the JSON document of {@link BenchmarkResult} into the bytes of the request body without building an
+	 * intermediate {@link String}.
+	 */
+	private static BytesReference toJson(BenchmarkResult result, JvmComparison comparison) {
 
-		IndexRequest request = new IndexRequest(index);
-		request.source(json, XContentType.JSON);
+		BytesStreamOutput bytes = new BytesStreamOutput(1024);
+		Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8);
 
 		try {
-			client.index(request, RequestOptions.DEFAULT);
+			JsonResultsFormatter.write(result, comparison, writer);
+			writer.flush();
 		}
 		catch (IOException e) {
-			output.println("Write failed: " + e
-					.getMessage() + " " + StackTraceCapture.from(e));
+			throw new UncheckedIOException(e);
+		}
+
+		return bytes.bytes();
+	}
+
+	private void execute(OutputFormat output, BulkRequest bulk) {
+
+		BulkResponse response;
+		try {
+			response = bulk(bulk);
+		}
+		catch (IOException | ElasticsearchException e) {
+
+			try {
+				response = bulk(bulk);
+			}
+			catch (IOException | ElasticsearchException retryException) {
+				output.println(String.format("Write of %d documents to Elasticsearch failed: %s", bulk
+						.numberOfActions(), retryException));
+				return;
+			}
+		}
+
+		if (!response.hasFailures()) {
+			return;
+		}
+
+		for (BulkItemResponse item : response) {
+			if (item.isFailed()) {
+				output.println(String.format("Write of document %d to index '%s' failed: %s", item.getItemId(), item
+						.getIndex(), item.getFailureMessage()));
+			}
 		}
 	}
 
+	private BulkResponse bulk(BulkRequest bulk) throws IOException {
+		return client.bulk(bulk, RequestOptions.DEFAULT);
+	}
+
 	static RestHighLevelClient createClient(ConnectionString connectionString) {
 
 		RestClientBuilder builder = RestClient.builder(connectionString.getHttpHost());
@@ -81,7 +189,7 @@ public class ElasticsearchResultsWriter implements ResultsWriter {
 	}
 
 	/**
-	 * elasticsearch://[username]:[password]@[host]:[port]/
+	 * elasticsearch://[username]:[password]@[host]:[port]/[?batchSize=…&amp;batchBytes=…]
 	 */
 	static class ConnectionString {
 
@@ -90,30 +198,64 @@ public class ElasticsearchResultsWriter implements ResultsWriter {
 		final String username;
 		final char[] password;
 		final boolean ssl;
+		final int batchSize;
+		final long batchBytes;
 
-		ConnectionString(String host, int port, String username, char[] password, boolean ssl) {
+		ConnectionString(String host, int port, String username, char[] password, boolean ssl, int batchSize,
+				long batchBytes) {
 
 			this.host = host;
 			this.port = port;
 			this.username = username;
 			this.password = password;
 			this.ssl = ssl;
+			this.batchSize = batchSize;
+			this.batchBytes = batchBytes;
 		}
 
 		static ConnectionString fromUri(String uri) {
 
 			boolean ssl = isSsl(uri);
+			int batchSize = DEFAULT_BATCH_SIZE;
+			long batchBytes = DEFAULT_BATCH_BYTES;
+
+			if (uri.contains("?")) {
+
+				for (String parameter : uri.substring(uri.indexOf('?') + 1).split("&")) {
+
+					String[] keyValue = parameter.split("=", 2);
+
+					if (keyValue.length != 2) {
+						continue;
+					}
+
+					if (keyValue[0].equals("batchSize")) {
+						batchSize = Integer.parseInt(keyValue[1]);
+					}
+
+					if (keyValue[0].equals("batchBytes")) {
+						batchBytes = Long.parseLong(keyValue[1]);
+					}
+				}
+
+				uri = uri.substring(0, uri.indexOf('?'));
+			}
 
 			if (!uri.contains("://")) {
-				return new ConnectionString("localhost", 9200, null, null, ssl);
+				return new ConnectionString("localhost", 9200, null, null, ssl, batchSize, batchBytes);
 			}
 
 			String authority = uri.substring(uri.indexOf("://") + 3);
 
+			if (authority.contains("/")) {
+				authority = authority.substring(0, authority.indexOf('/'));
+			}
+
 			UserPassword upw = UserPassword.from(authority);
 			HostPort hostPort = HostPort.from(authority);
 
-			return new ConnectionString(hostPort.host, hostPort.port, upw.username, upw.password, ssl);
+			return new ConnectionString(hostPort.host, hostPort.port, upw.username, upw.password, ssl, batchSize,
+					batchBytes);
 		}
 
 		HttpHost getHttpHost() {
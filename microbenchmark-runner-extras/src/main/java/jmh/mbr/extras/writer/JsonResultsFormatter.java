@@ -9,28 +9,50 @@
  */
 package jmh.mbr.extras.writer;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import jmh.mbr.core.StringUtils;
 import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.BenchmarkResult;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.TextResult;
+import org.openjdk.jmh.util.Statistics;
 
+/**
+ * Formatter rendering a {@link BenchmarkResult} as JSON document. Documents are streamed to a {@link Writer} without
+ * building intermediate {@link String}s. String values are escaped according to RFC 8259.
+ */
 class JsonResultsFormatter {
 
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private static final ThreadLocal<DecimalFormat> NUMBER_FORMAT = ThreadLocal.withInitial(() -> {
+
+		DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
+		symbols.setDecimalSeparator('.');
+		return new DecimalFormat("###.###", symbols);
+	});
+
 	static List<String> createReport(BenchmarkResults results) {
-		return results.stream().map(JsonResultsFormatter::format)
+
+		JvmComparison comparison = JvmComparison.of(results);
+		return results.stream().map(it -> format(it, comparison))
 				.collect(Collectors.toList());
 	}
 
@@ -39,177 +61,368 @@ class JsonResultsFormatter {
 	}
 
 	static String format(BenchmarkResult result) {
-
-		StringBuilder sb = new StringBuilder();
-		sb.append("{\n");
-		sb.append(formatMetadata(result.getMetaData()));
-		sb.append(formatMainData(result.getParams()));
-		sb.append(formatEnvironmentData(result.getMetaData(), result.getParams()));
-		sb.append(formatResult("primary", result.getPrimaryResult()));
-		sb.append('}');
-		return sb.toString();
+		return format(result, null);
 	}
 
-	static String formatMetadata(MetaData metaData) {
+	static String format(BenchmarkResult result, JvmComparison comparison) {
 
-		StringBuilder sb = new StringBuilder();
+		StringWriter writer = new StringWriter(1024);
 
-		sb.append("    \"date\" : \"" + metaData.getTime().toString() + "\",\n");
-		sb.append("    \"project\" : \"" + metaData.getProject() + "\",\n");
-		sb.append("    \"version\" : \"" + metaData.getVersion() + "\",\n");
+		try {
+			write(result, comparison, writer);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 
-		return sb.toString();
+		return writer.toString();
 	}
 
-	static String formatMainData(BenchmarkParams params) {
+	/**
+	 * Write {@link BenchmarkResult} as JSON document to {@link Writer}.
+	 *
+	 * @param result the result to write.
+	 * @param writer the target {@link Writer}, the writer is not flushed or closed.
+	 * @throws IOException if writing fails.
+	 */
+	static void write(BenchmarkResult result, Writer writer) throws IOException {
+		write(result, null, writer);
+	}
 
-		StringBuilder sb = new StringBuilder();
-		sb.append("    \"group\" : \"" + extractClass(params.getBenchmark()) + "\",\n");
-		sb.append("    \"benchmark\" : \"" + extractBenchmarkName(params.getBenchmark()) + "\",\n");
-		sb.append("    \"method\" : \"" + params.getBenchmark() + "\",\n");
-		sb.append("    \"mode\" : \"" + params.getMode().shortLabel() + "\",\n");
+	/**
+	 * Write {@link BenchmarkResult} as JSON document to {@link Writer}. Results run on a different JVM than the
+	 * baseline JVM of {@link JvmComparison} include a {@code comparison} with the baseline result.
+	 *
+	 * @param result the result to write.
+	 * @param comparison the comparison across JVMs, may be {@literal null}.
+	 * @param writer the target {@link Writer}, the writer is not flushed or closed.
+	 * @throws IOException if writing fails.
+	 */
+	static void write(BenchmarkResult result, JvmComparison comparison, Writer writer) throws IOException {
+
+		writer.write("{\n");
+		writeMetadata(result.getMetaData(), writer);
+		writeMainData(result.getParams(), writer);
+		writeEnvironmentData(result.getMetaData(), result.getParams(), writer);
+		writeResult("primary", result.getPrimaryResult(), writer);
+		writeSecondaryResults(result.getSecondaryResults(), writer);
+
+		if (comparison != null) {
+			RunResult runResult = result.map((metaData, it) -> it);
+			Optional<RunResult> baseline = comparison.getBaseline(runResult);
+			if (baseline.isPresent()) {
+				writeComparison(baseline.get(), runResult, writer);
+			}
+		}
 
-		return sb.toString();
+		writer.write("\n}");
 	}
 
-	static String formatEnvironmentData(MetaData metaData, BenchmarkParams params) {
+	static void writeMetadata(MetaData metaData, Writer writer) throws IOException {
 
-		StringBuilder sb = new StringBuilder();
-		sb.append("    \"env\" : {\n");
-		sb.append("        \"jvm\" : \"" + toJsonString(params.getJvm()) + "\",\n");
-		sb.append("        \"jvmArgs\" : " + toJsonArray(params.getJvmArgs()) + ",\n");
-		sb.append("        \"vmVersion\" : \"" + toJsonString(params.getVmVersion()) + "\",\n");
-		sb.append("        \"os\" : \"" + metaData.getOs() + "\"");
+		writeField("    ", "date", metaData.getTime().toString(), writer);
+		writer.write(",\n");
+		writeField("    ", "project", metaData.getProject(), writer);
+		writer.write(",\n");
+		writeField("    ", "version", metaData.getVersion(), writer);
+		writer.write(",\n");
+	}
 
-		if(metaData.hasAdditionalMetadata()) {
+	static void writeMainData(BenchmarkParams params, Writer writer) throws IOException {
 
-			for(Entry<String,Object> entry : metaData.getAdditionalParameters().entrySet()) {
-				sb.append(",\n");
-				sb.append("        \""+entry.getKey()+"\" : \"" + entry.getValue() + "\"");
-			}
+		String benchmark = params.getBenchmark();
+		int lastDot = benchmark.lastIndexOf('.');
+
+		writer.write("    \"group\" : \"");
+		if (lastDot <= 0) {
+			writeEscaped(benchmark, 0, benchmark.length(), writer);
 		}
-		sb.append("\n");
-		sb.append("    },\n");
-		return sb.toString();
+		else {
+			int classStart = benchmark.lastIndexOf('.', lastDot - 1) + 1;
+			writeEscaped(benchmark, classStart, lastDot, writer);
+		}
+		writer.write("\",\n");
+
+		writer.write("    \"benchmark\" : \"");
+		writeEscaped(benchmark, lastDot <= 0 ? 0 : lastDot + 1, benchmark.length(), writer);
+		writer.write("\",\n");
+
+		writeField("    ", "method", benchmark, writer);
+		writer.write(",\n");
+		writeField("    ", "mode", params.getMode().shortLabel(), writer);
+		writer.write(",\n");
 	}
 
-	static String formatResult(String name, Result result) {
+	static void writeEnvironmentData(MetaData metaData, BenchmarkParams params, Writer writer) throws IOException {
 
-		StringBuilder sb = new StringBuilder();
-		sb.append("    \"" + name + "\" : {\n");
-		sb.append("        \"score\" : " + formatNumber(result.getScore()) + ",\n");
-		sb.append("        \"scoreError\" : " + formatNumber(result.getScoreError()) + ",\n");
-		{
+		writer.write("    \"env\" : {\n");
+		writeField("        ", "jvm", params.getJvm(), writer);
+		writer.write(",\n");
 
-			List<Double> scoreConfidence = Arrays.stream(result.getScoreConfidence()).boxed().collect(Collectors.toList());
-			sb.append("        \"scoreConfidence\" : " + toJsonArray(scoreConfidence, JsonResultsFormatter::formatNumber) + ",\n");
+		writer.write("        \"jvmArgs\" : ");
+		writeArray(params.getJvmArgs(), writer);
+		writer.write(",\n");
+
+		writeField("        ", "vmVersion", params.getVmVersion(), writer);
+		writer.write(",\n");
+		writeField("        ", "os", metaData.getOs(), writer);
+
+		if (metaData.hasAdditionalMetadata()) {
+
+			for (Entry<String, Object> entry : metaData.getAdditionalParameters().entrySet()) {
+				writer.write(",\n");
+				writeField("        ", entry.getKey(), String.valueOf(entry.getValue()), writer);
+			}
 		}
-		sb.append("        \"scoreUnit\" : \"" + result.getScoreUnit() + "\"\n");
 
-		sb.append("    }\n"); // primaryMetric end
-		return sb.toString();
+		writer.write("\n    },\n");
+	}
+
+	static void writeResult(String name, Result<?> result, Writer writer) throws IOException {
+
+		writer.write("    \"");
+		writeEscaped(name, writer);
+		writer.write("\" : {\n");
+		writeResultFields("        ", result, writer);
+		writer.write("\n    }");
 	}
 
+	/**
+	 * Write secondary results (e.g. profiler metrics) as object keyed by a field-safe form of the result name so that
+	 * names such as {@code ·gc.alloc.rate} and {@code ·gc.alloc.rate.norm} do not turn into conflicting object paths
+	 * when indexed by Elasticsearch. The original name is retained in the {@code name} field. Textual results such as
+	 * profiler output do not have a score and are skipped.
+	 */
+	static void writeSecondaryResults(Map<String, Result> results, Writer writer) throws IOException {
+
+		boolean first = true;
+		Set<String> keys = new HashSet<>();
+		for (Entry<String, Result> entry : results.entrySet()) {
 
-	static String toJsonString(String s) {
-		StringBuilder sb = new StringBuilder();
-		for (char c : s.toCharArray()) {
-			if (Character.isISOControl(c)) {
+			if (entry.getValue() instanceof TextResult) {
 				continue;
 			}
-			switch (c) {
-				// use & as escape character to escape the tidying
-				case '&':
-					sb.append("&&");
-					break;
-				// we cannot escape to \\\\ since this would create sequences interpreted by the tidying
-				case '\\':
-					sb.append("&/");
-					break;
-				case '"':
-					sb.append("&'");
-					break;
-				// escape spacial chars for the tidying formatting below that might appear in a string
-				case ',':
-					sb.append(";");
-					break;
-				case '[':
-					sb.append("<");
-					break;
-				case ']':
-					sb.append(">");
-					break;
-				case '<':
-					sb.append("&-");
-					break;
-				case '>':
-					sb.append("&=");
-					break;
-				case ';':
-					sb.append("&:");
-					break;
-				case '{':
-					sb.append("&(");
-					break;
-				case '}':
-					sb.append("&)");
-					break;
-				default:
-					sb.append(c);
+
+			if (first) {
+				writer.write(",\n    \"secondary\" : {\n");
+			}
+			else {
+				writer.write(",\n");
 			}
+
+			String key = fieldName(entry.getKey());
+			for (int i = 2; !keys.add(key); i++) {
+				key = fieldName(entry.getKey()) + "_" + i;
+			}
+
+			writer.write("        \"");
+			writeEscaped(key, writer);
+			writer.write("\" : {\n");
+			writeField("            ", "name", entry.getKey(), writer);
+			writer.write(",\n");
+			writeResultFields("            ", entry.getValue(), writer);
+			writer.write("\n        }");
+			first = false;
+		}
+
+		if (!first) {
+			writer.write("\n    }");
 		}
-		return sb.toString();
 	}
 
-	private static String toJsonArray(Collection<String> col) {
-		return toJsonArray(col, JsonResultsFormatter::wrap);
+	static void writeComparison(RunResult baseline, RunResult result, Writer writer) throws IOException {
+
+		writer.write(",\n    \"comparison\" : {\n");
+		writeField("        ", "baselineJvm", baseline.getParams().getJvm(), writer);
+		writer.write(",\n");
+		writeField("        ", "baselineVmVersion", baseline.getParams().getVmVersion(), writer);
+		writer.write(",\n");
+		writer.write("        \"baselineScore\" : ");
+		writeNumber(baseline.getPrimaryResult().getScore(), writer);
+		writer.write(",\n");
+		writer.write("        \"change\" : ");
+		Double change = JvmComparison.getChange(baseline, result);
+		if (change != null) {
+			writeNumber(change, writer);
+		}
+		else {
+			writer.write("null");
+		}
+		writer.write("\n    }");
 	}
 
+	private static void writeResultFields(String indent, Result<?> result, Writer writer) throws IOException {
 
-	private static <T> String toJsonArray(Collection<T> col, Function<T, String> mapFunction) {
-		return "[" + StringUtils.collectionToDelimitedString(col.stream().map(mapFunction).collect(Collectors.toList()), ",") + "]";
-	}
+		writer.write(indent);
+		writer.write("\"score\" : ");
+		writeNumber(result.getScore(), writer);
+		writer.write(",\n");
 
-	private static String wrap(String source) {
-		return "\"" + source + "\"";
+		writer.write(indent);
+		writer.write("\"scoreError\" : ");
+		writeNumber(result.getScoreError(), writer);
+		writer.write(",\n");
+
+		writer.write(indent);
+		writer.write("\"scoreConfidence\" : [");
+		double[] scoreConfidence = result.getScoreConfidence();
+		for (int i = 0; i < scoreConfidence.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			writeNumber(scoreConfidence[i], writer);
+		}
+		writer.write("],\n");
+
+		writeField(indent, "scoreUnit", result.getScoreUnit(), writer);
+
+		Statistics statistics = result.getStatistics();
+		if (statistics.getN() > 0) {
+
+			writer.write(",\n");
+			writer.write(indent);
+			writer.write("\"statistics\" : {\"n\" : ");
+			writer.write(Long.toString(statistics.getN()));
+			writer.write(", \"min\" : ");
+			writeNumber(statistics.getMin(), writer);
+			writer.write(", \"max\" : ");
+			writeNumber(statistics.getMax(), writer);
+			writer.write(", \"mean\" : ");
+			writeNumber(statistics.getMean(), writer);
+			writer.write('}');
+		}
 	}
 
-	private static java.lang.String formatNumber(Number number) {
+	/**
+	 * Convert a result name into a field name consisting of letters, digits and underscores, e.g.
+	 * {@code ·gc.alloc.rate} into {@code gc_alloc_rate}.
+	 */
+	static String fieldName(String name) {
+
+		StringBuilder builder = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
 
-		if (number == null) {
-			return "NaN";
+			char c = name.charAt(i);
+			if (c < 0x80 && Character.isLetterOrDigit(c)) {
+				builder.append(c);
+			}
+			else if (builder.length() > 0 && builder.charAt(builder.length() - 1) != '_') {
+				builder.append('_');
+			}
+		}
+
+		if (builder.length() > 0 && builder.charAt(builder.length() - 1) == '_') {
+			builder.setLength(builder.length() - 1);
 		}
 
-		double value = number.doubleValue();
-		if (Double.isInfinite(value)) {
-			if (value == Double.POSITIVE_INFINITY) {
-				return "+INF";
+		return builder.length() > 0 ? builder.toString() : "result";
+	}
+
+	private static void writeField(String indent, String name, String value, Writer writer) throws IOException {
+
+		writer.write(indent);
+		writer.write('"');
+		writeEscaped(name, writer);
+		writer.write("\" : \"");
+		writeEscaped(value, writer);
+		writer.write('"');
+	}
+
+	private static void writeArray(Collection<String> values, Writer writer) throws IOException {
+
+		writer.write('[');
+
+		boolean first = true;
+		for (String value : values) {
+
+			if (!first) {
+				writer.write(',');
 			}
-			return "-INF";
+
+			writer.write('"');
+			writeEscaped(value, writer);
+			writer.write('"');
+			first = false;
 		}
 
-		DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
-		symbols.setDecimalSeparator('.');
-		return new DecimalFormat("###.###", symbols).format(value);
+		writer.write(']');
 	}
 
-	private static String extractClass(String source) {
+	static void writeEscaped(String value, Writer writer) throws IOException {
 
-		int index = source.lastIndexOf('.');
-		if (index <= 0) {
-			return source;
+		if (value == null) {
+			return;
 		}
 
-		String tmp = source.substring(0, index);
-		return tmp.substring(tmp.lastIndexOf(".") + 1);
+		writeEscaped(value, 0, value.length(), writer);
 	}
 
-	private static String extractBenchmarkName(String source) {
+	/**
+	 * Write {@code value} as JSON string content, escaping quotes, backslashes and control characters. Unescaped runs
+	 * are written as a whole.
+	 */
+	private static void writeEscaped(String value, int start, int end, Writer writer) throws IOException {
+
+		int run = start;
+
+		for (int i = start; i < end; i++) {
+
+			char c = value.charAt(i);
 
-		int index = source.lastIndexOf('.');
-		if (index <= 0) {
-			return source;
+			if (c >= 0x20 && c != '"' && c != '\\') {
+				continue;
+			}
+
+			if (i > run) {
+				writer.write(value, run, i - run);
+			}
+			run = i + 1;
+
+			switch (c) {
+				case '"':
+					writer.write("\\\"");
+					break;
+				case '\\':
+					writer.write("\\\\");
+					break;
+				case '\n':
+					writer.write("\\n");
+					break;
+				case '\r':
+					writer.write("\\r");
+					break;
+				case '\t':
+					writer.write("\\t");
+					break;
+				case '\b':
+					writer.write("\\b");
+					break;
+				case '\f':
+					writer.write("\\f");
+					break;
+				default:
+					writer.write("\\u00");
+					writer.write(HEX[c >> 4]);
+					writer.write(HEX[c & 0xF]);
+			}
+		}
+
+		if (end > run) {
+			writer.write(value, run, end - run);
+		}
+	}
+
+	/**
+	 * Write a number. JSON has no representation for {@code NaN} and infinite values (e.g. the score of the stack
+	 * profiler) so these are written as {@literal null}.
+	 */
+	private static void writeNumber(double value, Writer writer) throws IOException {
+
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			writer.write("null");
+			return;
 		}
-		return source.substring(source.lastIndexOf(".") + 1);
+
+		writer.write(NUMBER_FORMAT.get().format(value));
 	}
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jmh.mbr.core.BenchmarkConfigProperties;
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.core.model.JvmFlagSet;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * Side-by-side view of benchmarks run on multiple JVMs. Results of the same benchmark, mode, parameters and JVM
+ * arguments form a row with a result per JVM. JVMs are ordered as configured through
+ * {@link BenchmarkConfigProperties#JVMS}, JVMs that are not configured follow in order of appearance. The first JVM is
+ * the baseline that other JVMs are compared against. Changes are relative score changes, so whether a positive change
+ * is an improvement depends on the benchmark mode.
+ */
+class JvmComparison {
+
+	private final List<String> jvms;
+	private final Map<String, String> labels;
+	private final Map<String, Map<String, RunResult>> rows;
+
+	private JvmComparison(List<String> jvms, Map<String, String> labels, Map<String, Map<String, RunResult>> rows) {
+		this.jvms = jvms;
+		this.labels = labels;
+		this.rows = rows;
+	}
+
+	/**
+	 * Create a {@link JvmComparison} from {@link BenchmarkResults} using the JVM order of their {@link MetaData}.
+	 *
+	 * @param results the results to compare.
+	 * @return the {@link JvmComparison}.
+	 */
+	static JvmComparison of(BenchmarkResults results) {
+
+		Object jdks = results.getMetaData().getAdditionalParameters()
+				.get(BenchmarkConfigProperties.JVMS.propertyName());
+
+		return of(results.getRawResults(), jdks == null ? null : jdks.toString());
+	}
+
+	/**
+	 * Create a {@link JvmComparison} from {@link RunResult}s. Results without {@link BenchmarkParams} or measurements
+	 * are skipped.
+	 *
+	 * @param results the results to compare.
+	 * @param jdks the configured JDKs separated by {@code |}, may be {@literal null} to order JVMs by appearance.
+	 * @return the {@link JvmComparison}.
+	 */
+	static JvmComparison of(Collection<RunResult> results, String jdks) {
+
+		Map<String, BenchmarkParams> jvms = new LinkedHashMap<>();
+		Map<String, Map<String, RunResult>> rows = new LinkedHashMap<>();
+
+		for (RunResult result : results) {
+
+			BenchmarkParams params = result.getParams();
+
+			if (params == null || result.getBenchmarkResults().isEmpty()) {
+				continue;
+			}
+
+			jvms.putIfAbsent(params.getJvm(), params);
+			rows.computeIfAbsent(getKey(params), it -> new LinkedHashMap<>()).put(params.getJvm(), result);
+		}
+
+		List<String> order = new ArrayList<>(jvms.keySet());
+
+		if (jdks != null) {
+
+			List<String> configured = JvmFlagSet.parse(jdks, null).stream().map(JvmFlagSet::getJvm)
+					.collect(Collectors.toList());
+			order.sort(Comparator.comparingInt(it -> {
+
+				int index = configured.indexOf(it);
+				return index == -1 ? configured.size() : index;
+			}));
+		}
+
+		return new JvmComparison(order, getLabels(jvms), rows);
+	}
+
+	/**
+	 * Label JVMs with their JDK version. Falls back to the path of the JVM if JDK versions are ambiguous.
+	 */
+	private static Map<String, String> getLabels(Map<String, BenchmarkParams> jvms) {
+
+		Map<String, String> labels = new LinkedHashMap<>();
+		Set<String> versions = new HashSet<>();
+
+		for (Map.Entry<String, BenchmarkParams> entry : jvms.entrySet()) {
+			labels.put(entry.getKey(), entry.getValue().getJdkVersion());
+			versions.add(entry.getValue().getJdkVersion());
+		}
+
+		if (versions.size() < jvms.size()) {
+			jvms.keySet().forEach(it -> labels.put(it, it));
+		}
+
+		return labels;
+	}
+
+	private static String getKey(BenchmarkParams params) {
+
+		StringBuilder key = new StringBuilder(params.getBenchmark()).append('|').append(params.getMode());
+
+		for (String paramKey : params.getParamsKeys()) {
+			key.append('|').append(paramKey).append('=').append(params.getParam(paramKey));
+		}
+
+		key.append('|').append(params.getJvmArgs());
+
+		return key.toString();
+	}
+
+	/**
+	 * @return {@literal true} if results were run on more than one JVM.
+	 */
+	boolean isComparing() {
+		return jvms.size() > 1;
+	}
+
+	/**
+	 * @return the JVMs in configured order, the first JVM is the baseline.
+	 */
+	List<String> getJvms() {
+		return jvms;
+	}
+
+	/**
+	 * @param jvm the JVM.
+	 * @return a short label for {@code jvm}.
+	 */
+	String getLabel(String jvm) {
+		return labels.get(jvm);
+	}
+
+	/**
+	 * @return rows of results keyed by JVM.
+	 */
+	Collection<Map<String, RunResult>> getRows() {
+		return rows.values();
+	}
+
+	/**
+	 * Resolve the baseline result for {@code result}.
+	 *
+	 * @param result the result.
+	 * @return the result of the same benchmark on the baseline JVM. Empty if {@code result} was run on the baseline JVM
+	 * or the benchmark was not run on the baseline JVM.
+	 */
+	Optional<RunResult> getBaseline(RunResult result) {
+
+		BenchmarkParams params = result.getParams();
+
+		if (!isComparing() || params == null || params.getJvm().equals(jvms.get(0))) {
+			return Optional.empty();
+		}
+
+		return Optional.ofNullable(rows.get(getKey(params))).map(it -> it.get(jvms.get(0)));
+	}
+
+	/**
+	 * @param baseline the baseline result.
+	 * @param result the result to compare.
+	 * @return the score change of {@code result} relative to {@code baseline}, e.g. {@code 0.1} for a score that is 10%
+	 * higher. {@literal null} if the baseline score is zero or not a finite number.
+	 */
+	static Double getChange(RunResult baseline, RunResult result) {
+
+		double baselineScore = baseline.getPrimaryResult().getScore();
+
+		if (baselineScore == 0 || Double.isNaN(baselineScore) || Double.isInfinite(baselineScore)) {
+			return null;
+		}
+
+		return (result.getPrimaryResult().getScore() - baselineScore) / baselineScore;
+	}
+}
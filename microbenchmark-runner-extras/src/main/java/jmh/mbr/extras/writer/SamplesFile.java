@@ -0,0 +1,458 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.BenchmarkResult;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.util.Statistics;
+
+/**
+ * Binary sidecar file holding the raw samples of benchmark results: the score of every iteration of every fork,
+ * secondary results per iteration, a percentile table and the full distribution of the primary result. For
+ * {@code SampleTime} benchmarks, the distribution is the histogram of all sampled operation times.
+ * <p>
+ * The file is GZIP-compressed and written with {@link DataOutputStream}. Values are stored column by column per
+ * benchmark:
+ *
+ * <pre class="code">
+ * int magic ("MBRR"), int version
+ * UTF project, UTF version, long timestamp (epoch millis)
+ * int benchmarks
+ * per benchmark:
+ *   UTF benchmark, UTF mode, UTF unit
+ *   int params, (UTF name, UTF value)[params]
+ *   int iterations, int fork[iterations], int iteration[iterations], double score[iterations]
+ *   int secondaries, (UTF name, UTF unit, double score[iterations])[secondaries]
+ *   int percentiles, double percentile[percentiles], double value[percentiles]
+ *   int values, double value[values], long count[values]
+ * </pre>
+ *
+ * Missing secondary results of an iteration are stored as {@code NaN}. Fork and iteration numbers start at
+ * {@code 1}.
+ */
+public class SamplesFile {
+
+	private static final int MAGIC = 0x4d425252; // MBRR
+
+	private static final int FORMAT_VERSION = 1;
+
+	static final double[] PERCENTILES = { 0, 50, 90, 95, 99, 99.9, 99.99, 99.999, 99.9999, 100 };
+
+	private final String project;
+	private final String version;
+	private final Instant time;
+	private final List<Samples> samples;
+
+	private SamplesFile(String project, String version, Instant time, List<Samples> samples) {
+		this.project = project;
+		this.version = version;
+		this.time = time;
+		this.samples = samples;
+	}
+
+	/**
+	 * Read a samples file.
+	 *
+	 * @param file the file to read.
+	 * @return the {@link SamplesFile}.
+	 * @throws IOException if the file cannot be read or is not a samples file.
+	 */
+	public static SamplesFile read(Path file) throws IOException {
+
+		try (InputStream stream = Files.newInputStream(file)) {
+			return read(stream);
+		}
+	}
+
+	/**
+	 * Read a samples file from {@link InputStream}. The stream is not closed.
+	 *
+	 * @param stream the stream to read from.
+	 * @return the {@link SamplesFile}.
+	 * @throws IOException if the stream cannot be read or does not contain a samples file.
+	 */
+	public static SamplesFile read(InputStream stream) throws IOException {
+
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+
+		if (in.readInt() != MAGIC) {
+			throw new IOException("Not a samples file");
+		}
+
+		int version = in.readInt();
+		if (version != FORMAT_VERSION) {
+			throw new IOException(String.format("Unsupported samples file version %d", version));
+		}
+
+		String project = in.readUTF();
+		String projectVersion = in.readUTF();
+		Instant time = Instant.ofEpochMilli(in.readLong());
+
+		int count = in.readInt();
+		List<Samples> samples = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			samples.add(Samples.read(in));
+		}
+
+		return new SamplesFile(project, projectVersion, time, samples);
+	}
+
+	/**
+	 * Write {@link BenchmarkResults} as samples file to {@link OutputStream}. The stream is not closed.
+	 *
+	 * @param results the results to write.
+	 * @param stream the stream to write to.
+	 * @throws IOException if writing fails.
+	 */
+	static void write(BenchmarkResults results, OutputStream stream) throws IOException {
+
+		GZIPOutputStream gzip = new GZIPOutputStream(stream, 8192);
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(gzip, 8192));
+		MetaData metaData = results.getMetaData();
+
+		List<BenchmarkResult> benchmarks = new ArrayList<>();
+		for (BenchmarkResult result : results) {
+			if (result.getParams() != null && result.getAggregatedResult() != null) {
+				benchmarks.add(result);
+			}
+		}
+
+		out.writeInt(MAGIC);
+		out.writeInt(FORMAT_VERSION);
+		writeString(metaData.getProject(), out);
+		writeString(metaData.getVersion(), out);
+		out.writeLong(metaData.getTime().toEpochMilli());
+
+		out.writeInt(benchmarks.size());
+		for (BenchmarkResult result : benchmarks) {
+			writeBenchmark(result, out);
+		}
+
+		out.flush();
+		gzip.finish();
+	}
+
+	private static void writeBenchmark(BenchmarkResult result, DataOutputStream out) throws IOException {
+
+		BenchmarkParams params = result.getParams();
+		Result<?> primary = result.getAggregatedResult().getPrimaryResult();
+
+		writeString(params.getBenchmark(), out);
+		writeString(params.getMode().shortLabel(), out);
+		writeString(primary.getScoreUnit(), out);
+
+		out.writeInt(params.getParamsKeys().size());
+		for (String key : params.getParamsKeys()) {
+			writeString(key, out);
+			writeString(params.getParam(key), out);
+		}
+
+		List<Integer> forks = new ArrayList<>();
+		List<IterationResult> iterations = new ArrayList<>();
+		Map<String, String> secondaries = new LinkedHashMap<>();
+
+		int fork = 0;
+		for (org.openjdk.jmh.results.BenchmarkResult forkResult : result.getBenchmarkResults()) {
+
+			fork++;
+			for (IterationResult iteration : forkResult.getIterationResults()) {
+
+				forks.add(fork);
+				iterations.add(iteration);
+
+				for (Map.Entry<String, Result> entry : iteration.getSecondaryResults().entrySet()) {
+					secondaries.putIfAbsent(entry.getKey(), entry.getValue().getScoreUnit());
+				}
+			}
+		}
+
+		// columns: fork, iteration within the fork, primary score
+		out.writeInt(iterations.size());
+		for (int value : forks) {
+			out.writeInt(value);
+		}
+
+		int previousFork = 0;
+		int iterationNumber = 0;
+		for (int value : forks) {
+			iterationNumber = value == previousFork ? iterationNumber + 1 : 1;
+			previousFork = value;
+			out.writeInt(iterationNumber);
+		}
+
+		for (IterationResult iteration : iterations) {
+			out.writeDouble(iteration.getPrimaryResult().getScore());
+		}
+
+		out.writeInt(secondaries.size());
+		for (Map.Entry<String, String> secondary : secondaries.entrySet()) {
+
+			writeString(secondary.getKey(), out);
+			writeString(secondary.getValue(), out);
+
+			for (IterationResult iteration : iterations) {
+				Result<?> value = iteration.getSecondaryResults().get(secondary.getKey());
+				out.writeDouble(value != null ? value.getScore() : Double.NaN);
+			}
+		}
+
+		Statistics statistics = primary.getStatistics();
+
+		out.writeInt(PERCENTILES.length);
+		for (double percentile : PERCENTILES) {
+			out.writeDouble(percentile);
+		}
+		for (double percentile : PERCENTILES) {
+			out.writeDouble(statistics.getN() > 0 ? statistics.getPercentile(percentile) : Double.NaN);
+		}
+
+		List<Double> values = new ArrayList<>();
+		List<Long> counts = new ArrayList<>();
+		for (Iterator<Map.Entry<Double, Long>> it = statistics.getRawData(); it.hasNext();) {
+
+			Map.Entry<Double, Long> entry = it.next();
+			values.add(entry.getKey());
+			counts.add(entry.getValue());
+		}
+
+		out.writeInt(values.size());
+		for (double value : values) {
+			out.writeDouble(value);
+		}
+		for (long count : counts) {
+			out.writeLong(count);
+		}
+	}
+
+	private static void writeString(String value, DataOutputStream out) throws IOException {
+		out.writeUTF(value != null ? value : "");
+	}
+
+	public String getProject() {
+		return project;
+	}
+
+	public String getVersion() {
+		return version;
+	}
+
+	public Instant getTime() {
+		return time;
+	}
+
+	public List<Samples> getSamples() {
+		return samples;
+	}
+
+	/**
+	 * Raw samples of a single benchmark.
+	 */
+	public static class Samples {
+
+		private final String benchmark;
+		private final String mode;
+		private final String unit;
+		private final Map<String, String> params;
+		private final int[] forks;
+		private final int[] iterations;
+		private final double[] scores;
+		private final Map<String, double[]> secondaryScores;
+		private final Map<String, String> secondaryUnits;
+		private final double[] percentiles;
+		private final double[] percentileValues;
+		private final double[] values;
+		private final long[] counts;
+
+		private Samples(String benchmark, String mode, String unit, Map<String, String> params, int[] forks,
+				int[] iterations, double[] scores, Map<String, double[]> secondaryScores,
+				Map<String, String> secondaryUnits, double[] percentiles, double[] percentileValues, double[] values,
+				long[] counts) {
+			this.benchmark = benchmark;
+			this.mode = mode;
+			this.unit = unit;
+			this.params = params;
+			this.forks = forks;
+			this.iterations = iterations;
+			this.scores = scores;
+			this.secondaryScores = secondaryScores;
+			this.secondaryUnits = secondaryUnits;
+			this.percentiles = percentiles;
+			this.percentileValues = percentileValues;
+			this.values = values;
+			this.counts = counts;
+		}
+
+		static Samples read(DataInputStream in) throws IOException {
+
+			String benchmark = in.readUTF();
+			String mode = in.readUTF();
+			String unit = in.readUTF();
+
+			int paramCount = in.readInt();
+			Map<String, String> params = new LinkedHashMap<>();
+			for (int i = 0; i < paramCount; i++) {
+				params.put(in.readUTF(), in.readUTF());
+			}
+
+			int iterationCount = in.readInt();
+			int[] forks = readInts(in, iterationCount);
+			int[] iterations = readInts(in, iterationCount);
+			double[] scores = readDoubles(in, iterationCount);
+
+			int secondaryCount = in.readInt();
+			Map<String, double[]> secondaryScores = new LinkedHashMap<>();
+			Map<String, String> secondaryUnits = new LinkedHashMap<>();
+			for (int i = 0; i < secondaryCount; i++) {
+
+				String name = in.readUTF();
+				secondaryUnits.put(name, in.readUTF());
+				secondaryScores.put(name, readDoubles(in, iterationCount));
+			}
+
+			int percentileCount = in.readInt();
+			double[] percentiles = readDoubles(in, percentileCount);
+			double[] percentileValues = readDoubles(in, percentileCount);
+
+			int valueCount = in.readInt();
+			double[] values = readDoubles(in, valueCount);
+			long[] counts = new long[valueCount];
+			for (int i = 0; i < valueCount; i++) {
+				counts[i] = in.readLong();
+			}
+
+			return new Samples(benchmark, mode, unit, params, forks, iterations, scores, secondaryScores,
+					secondaryUnits, percentiles, percentileValues, values, counts);
+		}
+
+		private static int[] readInts(DataInputStream in, int count) throws IOException {
+
+			int[] result = new int[count];
+			for (int i = 0; i < count; i++) {
+				result[i] = in.readInt();
+			}
+			return result;
+		}
+
+		private static double[] readDoubles(DataInputStream in, int count) throws IOException {
+
+			double[] result = new double[count];
+			for (int i = 0; i < count; i++) {
+				result[i] = in.readDouble();
+			}
+			return result;
+		}
+
+		public String getBenchmark() {
+			return benchmark;
+		}
+
+		public String getMode() {
+			return mode;
+		}
+
+		public String getUnit() {
+			return unit;
+		}
+
+		public Map<String, String> getParams() {
+			return Collections.unmodifiableMap(params);
+		}
+
+		/**
+		 * @return the fork number of each iteration, starting at {@code 1}.
+		 */
+		public int[] getForks() {
+			return forks.clone();
+		}
+
+		/**
+		 * @return the iteration number within its fork, starting at {@code 1}.
+		 */
+		public int[] getIterations() {
+			return iterations.clone();
+		}
+
+		/**
+		 * @return the primary score of each iteration.
+		 */
+		public double[] getScores() {
+			return scores.clone();
+		}
+
+		/**
+		 * @return the score of a secondary result per iteration or {@literal null} if the secondary result is not
+		 * present.
+		 */
+		public double[] getSecondaryScores(String name) {
+
+			double[] scores = secondaryScores.get(name);
+			return scores != null ? scores.clone() : null;
+		}
+
+		/**
+		 * @return names and units of secondary results.
+		 */
+		public Map<String, String> getSecondaryUnits() {
+			return Collections.unmodifiableMap(secondaryUnits);
+		}
+
+		/**
+		 * @param percentile the percentile (0-100).
+		 * @return the value at {@code percentile} or {@link Double#NaN} if the percentile was not recorded.
+		 */
+		public double getPercentile(double percentile) {
+
+			for (int i = 0; i < percentiles.length; i++) {
+				if (percentiles[i] == percentile) {
+					return percentileValues[i];
+				}
+			}
+
+			return Double.NaN;
+		}
+
+		/**
+		 * @return the distinct values of the primary result distribution, see {@link #getCounts()}.
+		 */
+		public double[] getValues() {
+			return values.clone();
+		}
+
+		/**
+		 * @return the number of occurrences of each of {@link #getValues()}.
+		 */
+		public long[] getCounts() {
+			return counts.clone();
+		}
+	}
+}
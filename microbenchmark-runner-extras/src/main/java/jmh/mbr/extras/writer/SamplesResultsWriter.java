@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jmh.mbr.core.ResultsWriter;
+import jmh.mbr.core.model.BenchmarkResults;
+import org.openjdk.jmh.runner.format.OutputFormat;
+
+/**
+ * {@link ResultsWriter} writing raw samples of {@link BenchmarkResults} to a {@link SamplesFile}.
+ */
+class SamplesResultsWriter implements ResultsWriter {
+
+	private final String uri;
+
+	SamplesResultsWriter(String uri) {
+		this.uri = uri;
+	}
+
+	@Override
+	public void write(OutputFormat output, BenchmarkResults results) {
+
+		if (results == null) {
+			return;
+		}
+
+		File file;
+		try {
+
+			file = new File(uri.substring("samples:".length())).getCanonicalFile();
+			output.println("Writing samples to file: " + file);
+
+			File parent = file.getParentFile();
+			if (parent != null) {
+				parent.mkdirs();
+			}
+
+			if (parent == null || !parent.exists()) {
+				throw new FileNotFoundException("Parent directory " + parent + " does not exist");
+			}
+		}
+		catch (IOException e) {
+			output.println("Write failed: " + e.getMessage() + " " + StackTraceCapture.from(e));
+			return;
+		}
+
+		Path temp = null;
+		try {
+
+			// write to a temporary file first so that a failing write does not replace the previous samples file
+			temp = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+
+			try (OutputStream stream = Files.newOutputStream(temp)) {
+				SamplesFile.write(results, stream);
+			}
+
+			CsvResultsWriter.move(temp, file.toPath());
+		}
+		catch (IOException e) {
+			output.println("Write failed: " + e.getMessage() + " " + StackTraceCapture.from(e));
+		}
+		catch (Exception e) {
+			output.println("Samples creation failed: " + StackTraceCapture.from(e));
+		}
+		finally {
+			CsvResultsWriter.deleteQuietly(temp);
+		}
+	}
+}
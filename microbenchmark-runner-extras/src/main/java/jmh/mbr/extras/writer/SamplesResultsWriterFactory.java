@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import jmh.mbr.core.ResultsWriter;
+import jmh.mbr.core.ResultsWriterFactory;
+
+/**
+ * A {@link ResultsWriterFactory} that writes raw iteration samples and distributions to a binary {@link SamplesFile}.
+ * Activated with <code>-Djmh.mbr.report.publishTo=samples:./path/to/file.samples</code>, typically alongside another
+ * writer (e.g. <code>csv:./results.csv,samples:./results.samples</code>). The file will be overwritten if it already
+ * exists.
+ */
+public class SamplesResultsWriterFactory implements ResultsWriterFactory {
+
+	@Override
+	public ResultsWriter forUri(String uri) {
+
+		if (!uri.startsWith("samples:")) {
+			return null;
+		}
+
+		return new SamplesResultsWriter(uri);
+	}
+}
@@ -53,6 +53,14 @@ public class RunResultGenerator {
 
 
 	public static BenchmarkParams params(String name) {
+		return params(name, new WorkloadParams());
+	}
+
+	public static BenchmarkParams params(String name, WorkloadParams workloadParams) {
+		return params(name, workloadParams, JVM_DUMMY, JDK_VERSION_DUMMY);
+	}
+
+	public static BenchmarkParams params(String name, WorkloadParams workloadParams, String jvm, String jdkVersion) {
 
 		BenchmarkParams params = new BenchmarkParams(
 				name+".log",
@@ -67,11 +75,11 @@ public class RunResultGenerator {
 				new IterationParams(IterationType.WARMUP, 10, TimeValue.seconds(5), 1),
 				new IterationParams(IterationType.MEASUREMENT, 10, TimeValue.seconds(10), 1),
 				Mode.Throughput,
-				new WorkloadParams(),
+				workloadParams,
 				TimeUnit.SECONDS, 1,
-				JVM_DUMMY,
+				jvm,
 				Collections.<String>emptyList(),
-				JDK_VERSION_DUMMY, VM_NAME_DUMMY, VM_VERSION_DUMMY, JMH_VERSION_DUMMY,
+				jdkVersion, VM_NAME_DUMMY, VM_VERSION_DUMMY, JMH_VERSION_DUMMY,
 				TimeValue.days(1));
 
 		return params;
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.store;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jmh.mbr.core.baseline.Baseline;
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.extras.RunResultGenerator;
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.WorkloadParams;
+
+class ResultsStoreUnitTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void shouldAppendAndQueryResults() {
+
+		ResultsStore store = ResultsStore.open(directory);
+		store.append(results("1.0", "Foo", "10"));
+		store.append(results("1.1", "Foo", "20"));
+		store.append(results("1.1", "Bar", "10"));
+
+		assertThat(store.size()).isEqualTo(3);
+		assertThat(store.query().list()).hasSize(3);
+		assertThat(store.query().benchmark("Foo.log").list()).extracting(StoredResult::getVersion)
+				.containsExactly("1.0", "1.1");
+		assertThat(store.query().version("1.1").param("size", "10").list()).extracting(StoredResult::getBenchmark)
+				.containsExactly("Bar.log");
+		assertThat(store.query().benchmark("Baz.log").list()).isEmpty();
+
+		StoredResult result = store.query().benchmark("Foo.log").version("1.0").list().get(0);
+		assertThat(result.getProject()).isEqualTo("project");
+		assertThat(result.getParams()).containsEntry("size", "10");
+		assertThat(result.getPrimary().getScore()).isPositive();
+		assertThat(result.getPrimary().getUnit()).isEqualTo("ops/ms");
+		assertThat(result.getSampleCount()).isEqualTo(3);
+	}
+
+	@Test
+	void shouldQueryByTimeRange() {
+
+		ResultsStore store = ResultsStore.open(directory);
+		store.append(results("1.0", "Foo", "10"));
+
+		assertThat(store.query().between(Instant.now().minusSeconds(60), null).list()).hasSize(1);
+		assertThat(store.query().between(null, Instant.now().minusSeconds(60)).list()).isEmpty();
+	}
+
+	@Test
+	void shouldReopenStore() {
+
+		ResultsStore.open(directory).append(results("1.0", "Foo", "10"));
+		ResultsStore.open(directory).append(results("1.1", "Foo", "10"));
+
+		assertThat(ResultsStore.open(directory).query().benchmark("Foo.log").list()).hasSize(2);
+	}
+
+	@Test
+	void shouldQueryResultsAppendedByOtherStores() {
+
+		ResultsStore store = ResultsStore.open(directory);
+		ResultsStore other = ResultsStore.open(directory);
+
+		other.append(results("1.0", "Foo", "10"));
+
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.query().benchmark("Foo.log").list()).extracting(StoredResult::getVersion)
+				.containsExactly("1.0");
+	}
+
+	@Test
+	void shouldReindexRecordsMissingFromIndex() throws IOException {
+
+		ResultsStore.open(directory).append(results("1.0", "Foo", "10"));
+		ResultsStore.open(directory).append(results("1.1", "Foo", "10"));
+
+		// simulate a crash between writing the record and the index entry
+		try (FileChannel index = FileChannel.open(directory.resolve(ResultsStore.INDEX_FILE),
+				StandardOpenOption.WRITE)) {
+			index.truncate(8);
+		}
+
+		ResultsStore store = ResultsStore.open(directory);
+		assertThat(store.query().list()).extracting(StoredResult::getVersion).containsExactly("1.0", "1.1");
+	}
+
+	@Test
+	void shouldIgnoreIncompleteTrailingRecord() throws IOException {
+
+		ResultsStore.open(directory).append(results("1.0", "Foo", "10"));
+		Files.write(directory.resolve(ResultsStore.DATA_FILE), new byte[] { 0, 0, 1, 0, 1, 2 },
+				StandardOpenOption.APPEND);
+
+		ResultsStore store = ResultsStore.open(directory);
+		assertThat(store.size()).isEqualTo(1);
+
+		store.append(results("1.1", "Foo", "10"));
+		assertThat(ResultsStore.open(directory).query().list()).hasSize(2);
+	}
+
+	@Test
+	void shouldProvideLatestResultAsBaseline() {
+
+		ResultsStore store = ResultsStore.open(directory);
+		store.append(results("1.0", "Foo", "10"));
+		store.append(results("1.1", "Foo", "10"));
+
+		Baseline baseline = new StoreBaselineFactory().forUri("store:" + directory);
+		StatisticalSummary summary = baseline.getPrimaryResult("Foo.log", "thrpt", Collections
+				.singletonMap("size", "10"));
+
+		StoredResult latest = store.query().version("1.1").list().get(0);
+		assertThat(summary.getN()).isEqualTo(3);
+		assertThat(summary.getMean()).isEqualTo(latest.getPrimary().getScore());
+		assertThat(summary.getVariance()).isEqualTo(latest.getVariance());
+		assertThat(baseline.getPrimaryResult("Foo.log", "thrpt", Collections.singletonMap("size", "20"))).isNull();
+
+		assertThat(new StoreBaselineFactory().forUri("store:" + directory + "?version=2.0")
+				.getPrimaryResult("Foo.log", "thrpt", Collections.singletonMap("size", "10"))).isNull();
+		assertThat(new StoreBaselineFactory().forUri(directory.toString())).isNull();
+	}
+
+	private static BenchmarkResults results(String version, String benchmark, String size) {
+
+		WorkloadParams workloadParams = new WorkloadParams();
+		workloadParams.put("size", size, 0);
+		BenchmarkParams params = RunResultGenerator.params(benchmark, workloadParams);
+
+		Map<String, Object> metadata = new LinkedHashMap<>();
+		metadata.put("jmh.mbr.project", "project");
+		metadata.put("jmh.mbr.project.version", version);
+
+		List<RunResult> runResults = new ArrayList<>(RunResultGenerator
+				.generate(params, RunResultGenerator.benchmarkResults(params, 3, 10, 20, 30)));
+
+		return new BenchmarkResults(MetaData.from(metadata), runResults);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.extras.RunResultGenerator;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.WorkloadParams;
+
+class CsvResultsFormatterUnitTests {
+
+	@Test
+	void alignsParameterAndAuxiliaryColumns() {
+
+		WorkloadParams first = new WorkloadParams();
+		first.put("size", "10", 0);
+		first.put("mode", "fast", 1);
+
+		WorkloadParams second = new WorkloadParams();
+		second.put("mode", "slow", 0);
+		second.put("depth", "3", 1);
+
+		List<RunResult> results = new ArrayList<>();
+		results.add(runResult(RunResultGenerator.params("Foo", first), "getHits", "misses"));
+		results.add(runResult(RunResultGenerator.params("Bar", second), "misses", "getFaults"));
+
+		String[] lines = CsvResultsFormatter.createReport(results).split(System.lineSeparator());
+
+		assertThat(lines[0]).isEmpty();
+		assertThat(lines[1]).isEqualTo("class, method, mode, size, depth, hits, misses, faults, median, mean, range");
+		assertThat(lines[2]).startsWith("Foo, log, fast, 10, , 1000.000, 1000.000, , 10.000");
+		assertThat(lines[3]).startsWith("Bar, log, slow, , 3, , 1000.000, 1000.000, 10.000");
+		assertThat(lines).hasSize(4);
+	}
+
+	@Test
+	void skipsResultsWithoutMeasurements() {
+
+		String report = CsvResultsFormatter.createReport(Collections.singletonList(new RunResult(null, Collections
+				.emptyList())));
+
+		assertThat(report).isEqualTo(System.lineSeparator() + "class, method, median, mean, range" + System
+				.lineSeparator());
+	}
+
+	@Test
+	void comparesResultsAcrossJvms() {
+
+		WorkloadParams workloadParams = new WorkloadParams();
+		workloadParams.put("size", "10", 0);
+
+		List<RunResult> results = new ArrayList<>();
+		results.add(runResult(RunResultGenerator.params("Foo", workloadParams, "/opt/jdk-17/bin/java", "17"), 10));
+		results.add(runResult(RunResultGenerator.params("Foo", workloadParams, "/opt/jdk-21/bin/java", "21"), 12));
+
+		String[] lines = CsvResultsFormatter.createReport(results).split(System.lineSeparator());
+
+		assertThat(lines[1]).isEqualTo("class, method, jvm, size, median, mean, range");
+		assertThat(lines[2]).startsWith("Foo, log, 17, 10, 10.000");
+		assertThat(lines[3]).startsWith("Foo, log, 21, 10, 12.000");
+		assertThat(lines[4]).isEmpty();
+		assertThat(lines[5]).isEqualTo("class, method, size, 17, 21, 21 change");
+		assertThat(lines[6]).isEqualTo("Foo, log, 10, 10.000, 12.000, +20.00%");
+		assertThat(lines).hasSize(7);
+	}
+
+	@Test
+	void comparesResultsInConfiguredJvmOrder() {
+
+		List<RunResult> results = new ArrayList<>();
+		results.add(runResult(RunResultGenerator.params("Foo", new WorkloadParams(), "/opt/jdk-21/bin/java", "21"), 12));
+		results.add(runResult(RunResultGenerator.params("Foo", new WorkloadParams(), "/opt/jdk-17/bin/java", "17"), 10));
+
+		MetaData metaData = MetaData.from(Collections.singletonMap("jmh.mbr.jvms",
+				"/opt/jdk-17/bin/java | /opt/jdk-21/bin/java"));
+		String[] lines = CsvResultsFormatter.createReport(new BenchmarkResults(metaData, results))
+				.split(System.lineSeparator());
+
+		assertThat(lines[5]).isEqualTo("class, method, 17, 21, 21 change");
+		assertThat(lines[6]).isEqualTo("Foo, log, 10.000, 12.000, +20.00%");
+	}
+
+	@Test
+	void omitsChangeForZeroBaseline() {
+
+		List<RunResult> results = new ArrayList<>();
+		results.add(runResult(RunResultGenerator.params("Foo", new WorkloadParams(), "/opt/jdk-17/bin/java", "17"), 0));
+		results.add(runResult(RunResultGenerator.params("Foo", new WorkloadParams(), "/opt/jdk-21/bin/java", "21"), 12));
+
+		String[] lines = CsvResultsFormatter.createReport(results).split(System.lineSeparator());
+
+		assertThat(lines[6]).startsWith("Foo, log, ").endsWith(", 12.000, ").doesNotContain("%");
+	}
+
+	private static RunResult runResult(BenchmarkParams params, String... auxes) {
+		return runResult(params, 10, auxes);
+	}
+
+	private static RunResult runResult(BenchmarkParams params, long ops, String... auxes) {
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "log", ops, 1000 * 1000, TimeUnit.MILLISECONDS));
+
+		for (String aux : auxes) {
+			iteration.addResult(new ThroughputResult(ResultRole.SECONDARY, aux, 1000, 1000 * 1000 * 1000,
+					TimeUnit.SECONDS));
+		}
+
+		return new RunResult(params, Collections.singletonList(new BenchmarkResult(params, Collections
+				.singletonList(iteration))));
+	}
+}
@@ -11,8 +11,11 @@ package jmh.mbr.extras.writer;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -20,6 +23,7 @@ import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.format.OutputFormatFactory;
@@ -53,6 +57,24 @@ class CsvResultsWriterFactoryTests {
 		assertThat(new File(TARGET_FILE)).exists();
 	}
 
+	@Test
+	void failingReportRetainsPreviousFile() throws IOException {
+
+		output(new RunResult(null, Collections.emptyList()));
+		byte[] previous = Files.readAllBytes(Paths.get(TARGET_FILE));
+
+		String output = output(new RunResult(null, Collections.emptyList()) {
+			@Override
+			public BenchmarkResult getAggregatedResult() {
+				throw new IllegalStateException("Boom");
+			}
+		});
+
+		assertThat(output).contains("Report creation failed");
+		assertThat(Files.readAllBytes(Paths.get(TARGET_FILE))).isEqualTo(previous);
+		assertThat(new File(TARGET_FILE).getParentFile().list((dir, name) -> name.endsWith(".tmp"))).isEmpty();
+	}
+
 	private String output(RunResult... runResult) {
 		OutputStream stream = new ByteArrayOutputStream();
 		OutputFormat output = OutputFormatFactory
@@ -10,9 +10,26 @@
 package jmh.mbr.extras.writer;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpServer;
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.extras.RunResultGenerator;
 import jmh.mbr.extras.writer.ElasticsearchResultsWriter.ConnectionString;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
 
 class ElasticsearchResultsWriterUnitTests {
 
@@ -61,4 +78,129 @@ class ElasticsearchResultsWriterUnitTests {
 		assertThat(connectionString.username).isEqualTo("es-user");
 		assertThat(connectionString.ssl).isFalse();
 	}
+
+	@Test
+	void withTrailingSlashAndBatchParameters() {
+
+		ConnectionString connectionString = ElasticsearchResultsWriter.ConnectionString.fromUri("elasticsearch://es-host:666/?batchSize=10&batchBytes=2048");
+		assertThat(connectionString.host).isEqualTo("es-host");
+		assertThat(connectionString.port).isEqualTo(666);
+		assertThat(connectionString.batchSize).isEqualTo(10);
+		assertThat(connectionString.batchBytes).isEqualTo(2048);
+	}
+
+	@Test
+	void defaultBatchParameters() {
+
+		ConnectionString connectionString = ElasticsearchResultsWriter.ConnectionString.fromUri("elasticsearch://es-host:666/");
+		assertThat(connectionString.port).isEqualTo(666);
+		assertThat(connectionString.batchSize).isEqualTo(ElasticsearchResultsWriter.DEFAULT_BATCH_SIZE);
+		assertThat(connectionString.batchBytes).isEqualTo(ElasticsearchResultsWriter.DEFAULT_BATCH_BYTES);
+	}
+
+	@Test
+	void shouldWriteBatchesAndReportFailedDocuments() throws IOException {
+
+		List<String> requests = new ArrayList<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/_bulk", exchange -> {
+
+			String body = read(exchange.getRequestBody());
+			requests.add(body);
+
+			// fail the first document of each batch
+			String response = "{\"took\":1,\"errors\":true,\"items\":[" +
+					"{\"index\":{\"_index\":\"test-project\",\"_type\":\"_doc\",\"_id\":\"1\",\"status\":400,\"error\":{\"type\":\"mapper_parsing_exception\",\"reason\":\"failed to parse\"}}}," +
+					"{\"index\":{\"_index\":\"test-project\",\"_type\":\"_doc\",\"_id\":\"2\",\"_version\":1,\"result\":\"created\",\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0},\"_seq_no\":0,\"_primary_term\":1,\"status\":201}}]}";
+
+			byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		});
+		server.start();
+
+		try {
+
+			ConnectionString connectionString = ConnectionString.fromUri("elasticsearch://localhost:" + server.getAddress().getPort());
+			ElasticsearchResultsWriter writer = new ElasticsearchResultsWriter(ElasticsearchResultsWriter.createClient(connectionString), 2, Long.MAX_VALUE);
+			OutputFormat output = mock(OutputFormat.class);
+
+			List<RunResult> runResults = new ArrayList<>();
+			runResults.addAll(RunResultGenerator.generate("One"));
+			runResults.addAll(RunResultGenerator.generate("Two"));
+			runResults.addAll(RunResultGenerator.generate("Three"));
+
+			writer.write(output, new BenchmarkResults(new MetaData("test-project", "1.0.0.SNAPSHOT"), runResults));
+
+			assertThat(requests).hasSize(2);
+			assertThat(requests).allSatisfy(it -> assertThat(it).contains("\"index\":{\"_index\":\"test-project\""));
+			assertThat(requests.get(0)).contains("\"One.log\"").contains("\"Two.log\"");
+			assertThat(requests.get(1)).contains("\"Three.log\"");
+			verify(output, times(requests.size())).println(contains("failed to parse"));
+		}
+		finally {
+			server.stop(0);
+		}
+	}
+
+	@Test
+	void shouldRetryFailedBatchOnceAndContinueWithNextBatch() throws IOException {
+
+		List<String> requests = new ArrayList<>();
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		server.createContext("/_bulk", exchange -> {
+
+			String body = read(exchange.getRequestBody());
+			requests.add(body);
+
+			// reject the first batch including its retry
+			boolean reject = body.contains("\"One.log\"");
+			String response = reject ? "{\"error\":{\"type\":\"unavailable\",\"reason\":\"overloaded\"},\"status\":500}"
+					: "{\"took\":1,\"errors\":false,\"items\":[]}";
+
+			byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(reject ? 500 : 200, bytes.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(bytes);
+			}
+		});
+		server.start();
+
+		try {
+
+			ConnectionString connectionString = ConnectionString.fromUri("elasticsearch://localhost:" + server.getAddress().getPort());
+			ElasticsearchResultsWriter writer = new ElasticsearchResultsWriter(ElasticsearchResultsWriter.createClient(connectionString), 1, Long.MAX_VALUE);
+			OutputFormat output = mock(OutputFormat.class);
+
+			List<RunResult> runResults = new ArrayList<>();
+			runResults.addAll(RunResultGenerator.generate("One"));
+			runResults.addAll(RunResultGenerator.generate("Two"));
+
+			writer.write(output, new BenchmarkResults(new MetaData("test-project", "1.0.0.SNAPSHOT"), runResults));
+
+			assertThat(requests).hasSize(3);
+			assertThat(requests.get(0)).contains("\"One.log\"");
+			assertThat(requests.get(1)).contains("\"One.log\"");
+			assertThat(requests.get(2)).contains("\"Two.log\"");
+			verify(output).println(contains("Write of 1 documents to Elasticsearch failed"));
+		}
+		finally {
+			server.stop(0);
+		}
+	}
+
+	private static String read(InputStream in) throws IOException {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
 }
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * https://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import jmh.mbr.core.StringUtils;
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.BenchmarkResult;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.extras.RunResultGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark for {@link JsonResultsFormatter} rendering a report of 10.000 results. Compares streaming documents to a
+ * {@link Writer} against the former approach of building documents from nested {@link StringBuilder}s and
+ * concatenations. Run {@link #main(String[])} to report allocation per result ({@code gc.alloc.rate.norm}) through the
+ * GC profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(JsonResultsFormatterBenchmark.RESULTS)
+public class JsonResultsFormatterBenchmark {
+
+	static final int RESULTS = 10_000;
+
+	List<BenchmarkResult> results;
+
+	@Setup
+	public void setUp() {
+
+		List<RunResult> runResults = new ArrayList<>(RESULTS);
+
+		for (int i = 0; i < RESULTS; i++) {
+			runResults.addAll(RunResultGenerator.generate("Benchmark" + i));
+		}
+
+		results = new BenchmarkResults(new MetaData("benchmark-project", "1.0.0.SNAPSHOT"), runResults).stream()
+				.collect(Collectors.toList());
+	}
+
+	@Benchmark
+	public void buildString(Blackhole blackhole) {
+
+		for (BenchmarkResult result : results) {
+			blackhole.consume(StringBuildingFormatter.format(result));
+		}
+	}
+
+	@Benchmark
+	public void formatToString(Blackhole blackhole) {
+
+		for (BenchmarkResult result : results) {
+			blackhole.consume(JsonResultsFormatter.format(result));
+		}
+	}
+
+	@Benchmark
+	public void streamToWriter(Blackhole blackhole) throws IOException {
+
+		BlackholeWriter writer = new BlackholeWriter(blackhole);
+
+		for (BenchmarkResult result : results) {
+			JsonResultsFormatter.write(result, writer);
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JsonResultsFormatterBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class).build()).run();
+	}
+
+	/**
+	 * Former {@link JsonResultsFormatter} that builds documents from nested {@link StringBuilder}s and concatenations,
+	 * retained as baseline.
+	 */
+	static class StringBuildingFormatter {
+
+		static String format(BenchmarkResult result) {
+
+			StringBuilder sb = new StringBuilder();
+			sb.append("{\n");
+			sb.append(formatMetadata(result.getMetaData()));
+			sb.append(formatMainData(result.getParams()));
+			sb.append(formatEnvironmentData(result.getMetaData(), result.getParams()));
+			sb.append(formatResult("primary", result.getPrimaryResult()));
+			sb.append('}');
+			return sb.toString();
+		}
+
+		static String formatMetadata(MetaData metaData) {
+
+			StringBuilder sb = new StringBuilder();
+
+			sb.append("    \"date\" : \"" + metaData.getTime().toString() + "\",\n");
+			sb.append("    \"project\" : \"" + metaData.getProject() + "\",\n");
+			sb.append("    \"version\" : \"" + metaData.getVersion() + "\",\n");
+
+			return sb.toString();
+		}
+
+		static String formatMainData(BenchmarkParams params) {
+
+			StringBuilder sb = new StringBuilder();
+			sb.append("    \"group\" : \"" + extractClass(params.getBenchmark()) + "\",\n");
+			sb.append("    \"benchmark\" : \"" + extractBenchmarkName(params.getBenchmark()) + "\",\n");
+			sb.append("    \"method\" : \"" + params.getBenchmark() + "\",\n");
+			sb.append("    \"mode\" : \"" + params.getMode().shortLabel() + "\",\n");
+
+			return sb.toString();
+		}
+
+		static String formatEnvironmentData(MetaData metaData, BenchmarkParams params) {
+
+			StringBuilder sb = new StringBuilder();
+			sb.append("    \"env\" : {\n");
+			sb.append("        \"jvm\" : \"" + toJsonString(params.getJvm()) + "\",\n");
+			sb.append("        \"jvmArgs\" : " + toJsonArray(params.getJvmArgs()) + ",\n");
+			sb.append("        \"vmVersion\" : \"" + toJsonString(params.getVmVersion()) + "\",\n");
+			sb.append("        \"os\" : \"" + metaData.getOs() + "\"");
+
+			if (metaData.hasAdditionalMetadata()) {
+
+				for (Entry<String, Object> entry : metaData.getAdditionalParameters().entrySet()) {
+					sb.append(",\n");
+					sb.append("        \"" + entry.getKey() + "\" : \"" + entry.getValue() + "\"");
+				}
+			}
+			sb.append("\n");
+			sb.append("    },\n");
+			return sb.toString();
+		}
+
+		static String formatResult(String name, Result<?> result) {
+
+			StringBuilder sb = new StringBuilder();
+			sb.append("    \"" + name + "\" : {\n");
+			sb.append("        \"score\" : " + formatNumber(result.getScore()) + ",\n");
+			sb.append("        \"scoreError\" : " + formatNumber(result.getScoreError()) + ",\n");
+
+			List<Double> scoreConfidence = Arrays.stream(result.getScoreConfidence()).boxed()
+					.collect(Collectors.toList());
+			sb.append("        \"scoreConfidence\" : " + toJsonArray(scoreConfidence,
+					StringBuildingFormatter::formatNumber) + ",\n");
+			sb.append("        \"scoreUnit\" : \"" + result.getScoreUnit() + "\"\n");
+
+			sb.append("    }\n");
+			return sb.toString();
+		}
+
+		static String toJsonString(String s) {
+
+			StringBuilder sb = new StringBuilder();
+			for (char c : s.toCharArray()) {
+				if (Character.isISOControl(c)) {
+					continue;
+				}
+				switch (c) {
+					case '&':
+						sb.append("&&");
+						break;
+					case '\\':
+						sb.append("&/");
+						break;
+					case '"':
+						sb.append("&'");
+						break;
+					case ',':
+						sb.append(";");
+						break;
+					case '[':
+						sb.append("<");
+						break;
+					case ']':
+						sb.append(">");
+						break;
+					case '<':
+						sb.append("&-");
+						break;
+					case '>':
+						sb.append("&=");
+						break;
+					case ';':
+						sb.append("&:");
+						break;
+					case '{':
+						sb.append("&(");
+						break;
+					case '}':
+						sb.append("&)");
+						break;
+					default:
+						sb.append(c);
+				}
+			}
+			return sb.toString();
+		}
+
+		private static String toJsonArray(Collection<String> col) {
+			return toJsonArray(col, it -> "\"" + it + "\"");
+		}
+
+		private static <T> String toJsonArray(Collection<T> col, Function<T, String> mapFunction) {
+			return "[" + StringUtils.collectionToDelimitedString(col.stream().map(mapFunction)
+					.collect(Collectors.toList()), ",") + "]";
+		}
+
+		private static String formatNumber(Number number) {
+
+			if (number == null) {
+				return "NaN";
+			}
+
+			double value = number.doubleValue();
+			if (Double.isInfinite(value)) {
+				return value == Double.POSITIVE_INFINITY ? "+INF" : "-INF";
+			}
+
+			DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.US);
+			symbols.setDecimalSeparator('.');
+			return new DecimalFormat("###.###", symbols).format(value);
+		}
+
+		private static String extractClass(String source) {
+
+			int index = source.lastIndexOf('.');
+			if (index <= 0) {
+				return source;
+			}
+
+			String tmp = source.substring(0, index);
+			return tmp.substring(tmp.lastIndexOf(".") + 1);
+		}
+
+		private static String extractBenchmarkName(String source) {
+
+			int index = source.lastIndexOf('.');
+			if (index <= 0) {
+				return source;
+			}
+			return source.substring(source.lastIndexOf(".") + 1);
+		}
+	}
+
+	/**
+	 * {@link Writer} that discards its output into a {@link Blackhole}.
+	 */
+	static class BlackholeWriter extends Writer {
+
+		private final Blackhole blackhole;
+
+		BlackholeWriter(Blackhole blackhole) {
+			this.blackhole = blackhole;
+		}
+
+		@Override
+		public void write(int c) {
+			blackhole.consume(c);
+		}
+
+		@Override
+		public void write(String str, int off, int len) {
+			blackhole.consume(str);
+			blackhole.consume(len);
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) {
+			blackhole.consume(cbuf);
+			blackhole.consume(len);
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
@@ -12,9 +12,15 @@ package jmh.mbr.extras.writer;
 import static org.openjdk.jmh.results.format.ResultFormatType.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,10 +29,22 @@ import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
 import jmh.mbr.extras.RunResultGenerator;
 import org.assertj.core.api.Assertions;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.xcontent.XContentHelper;
+import org.elasticsearch.common.xcontent.XContentType;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.results.TextResult;
 import org.openjdk.jmh.results.format.ResultFormatFactory;
 import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.WorkloadParams;
 
 class JsonResultsFormatterUnitTests {
 
@@ -90,4 +108,137 @@ class JsonResultsFormatterUnitTests {
 					.contains("\"jmh.mbr.marker-2\" : \"2-marker\"");
 		});
 	}
+
+	@Test
+	void escapesStrings() throws IOException {
+
+		StringWriter writer = new StringWriter();
+		JsonResultsFormatter.writeEscaped("a\"b\\c\nd\u0001e,[f]{g}", writer);
+
+		Assertions.assertThat(writer.toString()).isEqualTo("a\\\"b\\\\c\\nd\\u0001e,[f]{g}");
+	}
+
+	@Test
+	void rendersDocumentLayout() {
+
+		Map<String, Object> raw = new LinkedHashMap<>();
+		raw.put("jmh.mbr.project", "test-\"project\"");
+		raw.put("jmh.mbr.project.version", "1.0.0.SNAPSHOT");
+		raw.put("jmh.mbr.marker", "C:\\temp");
+
+		BenchmarkResults results = new BenchmarkResults(MetaData.from(raw), RunResultGenerator.generate("UnitTest"));
+		String json = JsonResultsFormatter.createReport(results).get(0);
+
+		Assertions.assertThat(json).startsWith("{\n    \"date\" : \"")
+				.contains("    \"project\" : \"test-\\\"project\\\"\",\n")
+				.contains("    \"group\" : \"UnitTest\",\n    \"benchmark\" : \"log\",\n    \"method\" : \"UnitTest.log\",\n")
+				.contains("        \"jvmArgs\" : [],\n")
+				.contains("        \"jmh.mbr.marker\" : \"C:\\\\temp\"\n    },\n")
+				.contains("    \"primary\" : {\n        \"score\" : ")
+				.endsWith("\n    }\n}");
+	}
+
+	@Test
+	void comparesResultsAcrossJvms() {
+
+		BenchmarkParams jdk17 = RunResultGenerator.params("UnitTest", new WorkloadParams(), "/opt/jdk-17/bin/java", "17");
+		BenchmarkParams jdk21 = RunResultGenerator.params("UnitTest", new WorkloadParams(), "/opt/jdk-21/bin/java", "21");
+
+		List<RunResult> runResults = new ArrayList<>();
+		runResults.addAll(RunResultGenerator.generate(jdk17, RunResultGenerator.benchmarkResults(jdk17, 1, 10)));
+		runResults.addAll(RunResultGenerator.generate(jdk21, RunResultGenerator.benchmarkResults(jdk21, 1, 12)));
+
+		MetaData metaData = MetaData.from(Collections.singletonMap("jmh.mbr.jvms",
+				"/opt/jdk-17/bin/java | /opt/jdk-21/bin/java"));
+		List<String> json = JsonResultsFormatter.createReport(new BenchmarkResults(metaData, runResults));
+
+		Assertions.assertThat(json.get(0)).contains("        \"jdk\" : \"/opt/jdk-17/bin/java\"")
+				.doesNotContain("\"comparison\"");
+		Assertions.assertThat(json.get(1)).contains("        \"jdk\" : \"/opt/jdk-21/bin/java\"")
+				.contains("    \"comparison\" : {\n        \"baselineJvm\" : \"/opt/jdk-17/bin/java\",\n")
+				.contains("        \"change\" : 0.2\n    }").endsWith("\n    }\n}");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void comparesResultsInConfiguredJvmOrder() {
+
+		BenchmarkParams jdk17 = RunResultGenerator.params("UnitTest", new WorkloadParams(), "/opt/jdk-17/bin/java", "17");
+		BenchmarkParams jdk21 = RunResultGenerator.params("UnitTest", new WorkloadParams(), "/opt/jdk-21/bin/java", "21");
+
+		List<RunResult> runResults = new ArrayList<>();
+		runResults.addAll(RunResultGenerator.generate(jdk21, RunResultGenerator.benchmarkResults(jdk21, 1, 12)));
+		runResults.addAll(RunResultGenerator.generate(jdk17, RunResultGenerator.benchmarkResults(jdk17, 1, 0)));
+
+		MetaData metaData = MetaData.from(Collections.singletonMap("jmh.mbr.jvms",
+				"/opt/jdk-17/bin/java | /opt/jdk-21/bin/java"));
+		List<String> json = JsonResultsFormatter.createReport(new BenchmarkResults(metaData, runResults));
+
+		Map<String, Object> document = XContentHelper
+				.convertToMap(new BytesArray(json.get(0)), false, XContentType.JSON).v2();
+
+		Assertions.assertThat((Map<String, Object>) document.get("comparison"))
+				.containsEntry("baselineJvm", "/opt/jdk-17/bin/java").containsEntry("change", null);
+		Assertions.assertThat(json.get(1)).doesNotContain("\"comparison\"");
+	}
+
+	@Test
+	void rendersSecondaryResults() {
+
+		BenchmarkParams params = RunResultGenerator.params("UnitTest");
+		Collection<BenchmarkResult> benchmarkResults = RunResultGenerator.benchmarkResults(params, 2, 10);
+
+		for (BenchmarkResult benchmarkResult : benchmarkResults) {
+			for (IterationResult iteration : benchmarkResult.getIterationResults()) {
+				iteration.addResult(new ScalarResult("·gc.alloc.rate", 512, "MB/sec", AggregationPolicy.AVG));
+				iteration.addResult(new ScalarResult("·gc.alloc.rate.norm", 24, "B/op", AggregationPolicy.AVG));
+			}
+		}
+
+		BenchmarkResults results = new BenchmarkResults(MetaData.none(),
+				RunResultGenerator.generate(params, benchmarkResults));
+		String json = JsonResultsFormatter.createReport(results).get(0);
+
+		Assertions.assertThat(json).contains("    \"secondary\" : {\n        \"gc_alloc_rate\" : {\n")
+				.contains("            \"name\" : \"·gc.alloc.rate\",\n            \"score\" : 512,\n")
+				.contains("            \"scoreUnit\" : \"MB/sec\",\n            \"statistics\" : {\"n\" : 2, \"min\" : 512")
+				.contains("        \"gc_alloc_rate_norm\" : {\n")
+				.contains("            \"scoreUnit\" : \"B/op\"")
+				.endsWith("\n        }\n    }\n}");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void rendersParseableJsonForProfilerResults() {
+
+		BenchmarkParams params = RunResultGenerator.params("UnitTest");
+		Collection<BenchmarkResult> benchmarkResults = RunResultGenerator.benchmarkResults(params, 2, 10);
+
+		for (BenchmarkResult benchmarkResult : benchmarkResults) {
+			for (IterationResult iteration : benchmarkResult.getIterationResults()) {
+				iteration.addResult(new StackProfiler.StackResult(new EnumMap<>(Thread.State.class), 10));
+				iteration.addResult(new TextResult("some \"profiler\" output", "·text"));
+			}
+		}
+
+		BenchmarkResults results = new BenchmarkResults(MetaData.none(),
+				RunResultGenerator.generate(params, benchmarkResults));
+		String json = JsonResultsFormatter.createReport(results).get(0);
+
+		Map<String, Object> document = XContentHelper.convertToMap(new BytesArray(json), false, XContentType.JSON)
+				.v2();
+		Map<String, Object> secondary = (Map<String, Object>) document.get("secondary");
+
+		Assertions.assertThat(secondary).containsOnlyKeys("stack");
+		Assertions.assertThat((Map<String, Object>) secondary.get("stack")).containsEntry("name", "stack")
+				.containsEntry("score", null).containsEntry("scoreError", null);
+	}
+
+	@Test
+	void createsFieldNames() {
+
+		Assertions.assertThat(JsonResultsFormatter.fieldName("·gc.alloc.rate.norm")).isEqualTo("gc_alloc_rate_norm");
+		Assertions.assertThat(JsonResultsFormatter.fieldName("·stack")).isEqualTo("stack");
+		Assertions.assertThat(JsonResultsFormatter.fieldName("·")).isEqualTo("result");
+	}
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.extras.writer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jmh.mbr.core.ResultsWriter;
+import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.extras.RunResultGenerator;
+import jmh.mbr.extras.writer.SamplesFile.Samples;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.SampleTimeResult;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.runner.format.OutputFormat;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.openjdk.jmh.util.SampleBuffer;
+
+/**
+ * Unit tests for {@link SamplesFile}.
+ */
+class SamplesFileUnitTests {
+
+	@Test
+	void shouldWriteIterationsOfAllForks() throws Exception {
+
+		BenchmarkParams params = RunResultGenerator.params("samples");
+		List<BenchmarkResult> forks = new ArrayList<>();
+		forks.addAll(RunResultGenerator.benchmarkResults(params, 2, 10));
+		forks.addAll(RunResultGenerator.benchmarkResults(params, 3, 20));
+
+		for (BenchmarkResult fork : forks) {
+			for (IterationResult iteration : fork.getIterationResults()) {
+				iteration.addResult(new ScalarResult("·gc.time", 5, "ms", AggregationPolicy.SUM));
+			}
+		}
+
+		Samples samples = writeAndRead(new RunResult(params, forks)).getSamples().get(0);
+
+		assertThat(samples.getBenchmark()).isEqualTo(params.getBenchmark());
+		assertThat(samples.getMode()).isEqualTo("thrpt");
+		assertThat(samples.getUnit()).isEqualTo("ops/ms");
+		assertThat(samples.getForks()).containsExactly(1, 1, 2, 2, 2);
+		assertThat(samples.getIterations()).containsExactly(1, 2, 1, 2, 3);
+		assertThat(samples.getScores()).containsExactly(10, 10, 20, 20, 20);
+		assertThat(samples.getSecondaryUnits()).containsEntry("·gc.time", "ms");
+		assertThat(samples.getSecondaryScores("·gc.time")).containsExactly(5, 5, 5, 5, 5);
+		assertThat(samples.getValues()).containsOnly(10, 20);
+		assertThat(Arrays.stream(samples.getCounts()).sum()).isEqualTo(5);
+		assertThat(samples.getPercentile(100)).isEqualTo(20);
+	}
+
+	@Test
+	void shouldWriteSampleTimeHistogram() throws Exception {
+
+		BenchmarkParams params = RunResultGenerator.params("latency");
+
+		SampleBuffer buffer = new SampleBuffer();
+		for (int i = 1; i <= 1000; i++) {
+			buffer.add(i);
+		}
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new SampleTimeResult(ResultRole.PRIMARY, "latency", buffer, TimeUnit.NANOSECONDS));
+
+		Samples samples = writeAndRead(new RunResult(params,
+				Collections.singletonList(new BenchmarkResult(params, Collections.singletonList(iteration)))))
+				.getSamples().get(0);
+
+		assertThat(samples.getUnit()).isEqualTo("ns/op");
+		assertThat(samples.getScores()).hasSize(1);
+		assertThat(Arrays.stream(samples.getCounts()).sum()).isEqualTo(1000);
+		assertThat(samples.getPercentile(0)).isEqualTo(1);
+		assertThat(samples.getPercentile(99)).isGreaterThan(samples.getPercentile(50));
+	}
+
+	@Test
+	void shouldWriteSamplesFile(@TempDir Path directory) throws Exception {
+
+		Path file = directory.resolve("results.samples");
+		BenchmarkResults results = new BenchmarkResults(new MetaData("project", "1.0"),
+				RunResultGenerator.generate("file"));
+
+		new SamplesResultsWriterFactory().forUri("samples:" + file).write(
+				OutputFormatFactory.createFormatInstance(new PrintStream(new ByteArrayOutputStream()),
+						VerboseMode.NORMAL), results);
+
+		SamplesFile samplesFile = SamplesFile.read(file);
+
+		assertThat(samplesFile.getProject()).isEqualTo("project");
+		assertThat(samplesFile.getVersion()).isEqualTo("1.0");
+		assertThat(samplesFile.getSamples()).hasSize(1);
+	}
+
+	@Test
+	void shouldKeepPreviousSamplesFileIfWriteFails(@TempDir Path directory) throws Exception {
+
+		Path file = directory.resolve("results.samples");
+		ResultsWriter writer = new SamplesResultsWriterFactory().forUri("samples:" + file);
+		OutputFormat output = OutputFormatFactory.createFormatInstance(new PrintStream(new ByteArrayOutputStream()),
+				VerboseMode.NORMAL);
+
+		writer.write(output, new BenchmarkResults(new MetaData("project", "1.0"), RunResultGenerator.generate("file")));
+		byte[] previous = Files.readAllBytes(file);
+
+		writer.write(output, new BenchmarkResults(new MetaData("project", "2.0"), Collections.singletonList(null)));
+
+		assertThat(Files.readAllBytes(file)).isEqualTo(previous);
+		assertThat(directory.toFile().list()).containsExactly("results.samples");
+	}
+
+	private static SamplesFile writeAndRead(RunResult result) throws Exception {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SamplesFile.write(new BenchmarkResults(MetaData.none(), Collections.singletonList(result)), out);
+
+		return SamplesFile.read(new ByteArrayInputStream(out.toByteArray()));
+	}
+}
@@ -9,10 +9,7 @@
  */
 package jmh.mbr.junit4;
 
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -24,17 +21,24 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import jmh.mbr.core.AdaptiveMeasurement;
 import jmh.mbr.core.Environment;
 import jmh.mbr.core.BenchmarkConfiguration;
+import jmh.mbr.core.BenchmarkOverrides;
 import jmh.mbr.core.JmhSupport;
+import jmh.mbr.core.RegressionGate;
+import jmh.mbr.core.SampledRun;
 import jmh.mbr.core.StringUtils;
+import jmh.mbr.core.jfr.JfrSummary;
 import jmh.mbr.core.model.BenchmarkClass;
 import jmh.mbr.core.model.BenchmarkDescriptor;
 import jmh.mbr.core.model.BenchmarkDescriptorFactory;
@@ -43,6 +47,7 @@ import jmh.mbr.core.model.BenchmarkMethod;
 import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
 import jmh.mbr.core.model.HierarchicalBenchmarkDescriptor;
+import jmh.mbr.core.model.ParametrizedBenchmarkMethod;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.Filterable;
@@ -60,15 +65,10 @@ import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.IterationResult;
 import org.openjdk.jmh.results.RunResult;
-import org.openjdk.jmh.runner.Defaults;
 import org.openjdk.jmh.runner.NoBenchmarksException;
-import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.format.OutputFormat;
-import org.openjdk.jmh.runner.format.OutputFormatFactory;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.Options;
-import org.openjdk.jmh.util.UnCloseablePrintStream;
-import org.openjdk.jmh.util.Utils;
 
 /**
  * JMH Microbenchmark runner that turns methods annotated with {@link Benchmark} into runnable methods allowing
@@ -96,7 +96,8 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 	public Microbenchmark(Class<?> testClass) throws InitializationError {
 
 		super(testClass);
-		this.benchmarkClass = BenchmarkDescriptorFactory.create(testClass).createDescriptor();
+		this.benchmarkClass = BenchmarkDescriptorFactory
+				.create(testClass, BenchmarkConfiguration.defaultOptions().getParameterSampling()).createDescriptor();
 		this.children = benchmarkClass.getChildren();
 
 		for (BenchmarkDescriptor child : children) {
@@ -304,20 +305,146 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 			throw new NoTestsRemainException();
 		}
 
-		ChainedOptionsBuilder optionsBuilder = jmhRunner.options(jmhTestClass);
-
 		if (!jmhRunner.isEnabled()) {
 			notifier.fireTestIgnored(getDescription());
 			return;
 		}
 
-		includes.forEach(optionsBuilder::include);
+		// follow-up runs of adaptive measurement are not supported by this runner
+		if (AdaptiveMeasurement.create(BenchmarkConfiguration.defaultOptions()) != null) {
+			throw new IllegalStateException(
+					"Adaptive measurement (adaptive.targetError) is not supported by the JUnit 4 runner, use the JUnit 5 engine instead");
+		}
+
+		RegressionGate regressionGate = RegressionGate.create(BenchmarkConfiguration.defaultOptions());
+		List<String> excludes = new ArrayList<>();
+		List<SampledRun> sampledRuns = collectSampledRuns(methods, includes, excludes);
+		boolean runIncludes = sampledRuns.isEmpty() || methods.stream().filter(it -> !isSampled(it))
+				.anyMatch(it -> matches(includes, getBenchmarkName(it)));
+
+		List<List<String>> partitions = runIncludes ? jmhRunner.partition(includes) : Collections.emptyList();
+		List<List<SampledRun>> sampledPartitions = jmhRunner.partition(sampledRuns);
+		Function<String, BenchmarkOverrides> overrides = resolveOverrides(methods);
+		int partitionCount = Math.max(partitions.size(), sampledRuns.isEmpty() ? 0 : sampledPartitions.size());
+		List<Callable<Collection<RunResult>>> runs = new ArrayList<>();
+		OutputFormat output = null;
+		NotifyingOutputFormat notifyingOutputFormat = null;
+
+		for (int i = 0; i < partitionCount; i++) {
+
+			String suffix = partitionCount > 1 ? "_" + i : "";
+			List<Options> partitionOptions = new ArrayList<>();
+
+			if (i < partitions.size()) {
+
+				int group = 0;
+				for (Entry<BenchmarkOverrides, List<String>> entry : BenchmarkOverrides
+						.group(partitions.get(i), overrides).entrySet()) {
+
+					ChainedOptionsBuilder optionsBuilder = jmhRunner.options(jmhTestClass, group == 0 ? suffix : suffix
+							+ "_group_" + group, partitionCount, entry.getKey());
+					entry.getValue().forEach(optionsBuilder::include);
+					excludes.forEach(optionsBuilder::exclude);
+					jmhRunner.jvmFlagSets(optionsBuilder, entry.getKey()).forEach(it -> partitionOptions.add(it.build()));
+					group++;
+				}
+			}
+
+			if (i < sampledPartitions.size()) {
+
+				List<SampledRun> sampledPartition = sampledPartitions.get(i);
+				for (int j = 0; j < sampledPartition.size(); j++) {
+
+					SampledRun sampledRun = sampledPartition.get(j);
+					BenchmarkOverrides sampledOverrides = overrides.apply(sampledRun.getIncludePattern());
+					ChainedOptionsBuilder optionsBuilder = sampledRun.apply(jmhRunner.options(jmhTestClass, suffix
+							+ "_sampled_" + j, partitionCount, sampledOverrides));
+					jmhRunner.jvmFlagSets(optionsBuilder, sampledOverrides).forEach(it -> partitionOptions.add(it.build()));
+				}
+			}
+
+			// partitions share a single output, metrics record each partition as a separate run
+			if (output == null) {
+				output = jmhRunner.createSharedOutputFormat(partitionOptions.get(0));
+			}
+
+			OutputFormat delegate = jmhRunner.decorate(output);
+			NotifyingOutputFormat outputFormat = new NotifyingOutputFormat(notifier, cache, delegate, regressionGate,
+					result -> jmhRunner.publishResult(delegate, result));
+
+			if (notifyingOutputFormat == null) {
+				notifyingOutputFormat = outputFormat;
+			}
+
+			runs.add(() -> {
+
+				List<RunResult> results = new ArrayList<>();
+				for (Options options : partitionOptions) {
+					results.addAll(jmhRunner.run(options, outputFormat));
+				}
+
+				return results;
+			});
+		}
+
+		try {
+			jmhRunner.publishResults(notifyingOutputFormat, new BenchmarkResults(MetaData.from(Environment.jmhConfigProperties()), JmhSupport.runConcurrently(runs)));
+		} finally {
+			jmhRunner.flushResults();
+		}
+	}
+
+	/**
+	 * Resolve {@link BenchmarkOverrides} by include pattern so that benchmarks declaring different settings run in
+	 * separate {@link org.openjdk.jmh.runner.Runner} invocations. Custom include patterns resolve to
+	 * {@link BenchmarkOverrides#none()}.
+	 */
+	private Function<String, BenchmarkOverrides> resolveOverrides(Collection<BenchmarkDescriptor> methods) {
+
+		Map<String, BenchmarkOverrides> overrides = new HashMap<>();
 
-		Options options = optionsBuilder.build();
-		NotifyingOutputFormat notifyingOutputFormat = new NotifyingOutputFormat(notifier, cache,
-				createOutputFormat(options));
+		for (BenchmarkDescriptor descriptor : methods) {
 
-		jmhRunner.publishResults(notifyingOutputFormat, new BenchmarkResults(MetaData.from(Environment.jmhConfigProperties()), new Runner(options, notifyingOutputFormat).run()));
+			BenchmarkMethod method = getBenchmarkMethod(descriptor);
+			overrides.put(getIncludePattern(method), jmhRunner.overrides(method.getMethod()));
+		}
+
+		return it -> overrides.getOrDefault(it, BenchmarkOverrides.none());
+	}
+
+	/**
+	 * Create {@link SampledRun}s for included benchmark methods with sampled fixtures. Their include patterns are moved
+	 * to {@code excludes} so that other runs do not measure all parameter combinations.
+	 */
+	private static List<SampledRun> collectSampledRuns(Collection<BenchmarkDescriptor> methods, List<String> includes,
+			List<String> excludes) {
+
+		List<SampledRun> sampledRuns = new ArrayList<>();
+
+		for (BenchmarkDescriptor method : methods) {
+
+			if (!isSampled(method) || !matches(includes, getBenchmarkName(method))) {
+				continue;
+			}
+
+			String includePattern = getIncludePattern(getBenchmarkMethod(method));
+			excludes.add(includePattern);
+			sampledRuns.addAll(SampledRun.create(includePattern, ((ParametrizedBenchmarkMethod) method).getChildren()));
+		}
+
+		return sampledRuns;
+	}
+
+	private static boolean isSampled(BenchmarkDescriptor descriptor) {
+		return descriptor instanceof ParametrizedBenchmarkMethod && ((ParametrizedBenchmarkMethod) descriptor).isSampled();
+	}
+
+	private static boolean matches(List<String> includes, String benchmarkName) {
+		return includes.stream().anyMatch(it -> Pattern.compile(it).matcher(benchmarkName).find());
+	}
+
+	private static String getIncludePattern(BenchmarkMethod method) {
+		return Pattern.quote(method.getDeclaringClass().getName()) + "\\." + Pattern.quote(method.getName()) + "$";
 	}
 
 	/**
@@ -336,8 +463,7 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 
 		if (!StringUtils.hasText(tests)) {
 
-			return methods.stream().map(Microbenchmark::getBenchmarkMethod)
-					.map(it -> Pattern.quote(it.getDeclaringClass().getName()) + "\\." + Pattern.quote(it.getName()) + "$")
+			return methods.stream().map(Microbenchmark::getBenchmarkMethod).map(Microbenchmark::getIncludePattern)
 					.collect(Collectors.toList());
 		}
 
@@ -365,33 +491,6 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 		return filteredChildren;
 	}
 
-	private static OutputFormat createOutputFormat(Options options) {
-
-		// sadly required here as the check cannot be made before calling this method in
-		// constructor
-		if (options == null) {
-			throw new IllegalArgumentException("Options not allowed to be null.");
-		}
-
-		PrintStream out;
-		if (options.getOutput().hasValue()) {
-			try {
-				out = new PrintStream(options.getOutput().get());
-			} catch (FileNotFoundException ex) {
-				throw new IllegalStateException(ex);
-			}
-		} else {
-			// Protect the System.out from accidental closing
-			try {
-				out = new UnCloseablePrintStream(System.out, Utils.guessConsoleEncoding());
-			} catch (UnsupportedEncodingException ex) {
-				throw new IllegalStateException(ex);
-			}
-		}
-
-		return OutputFormatFactory.createFormatInstance(out, options.verbosity().orElse(Defaults.VERBOSITY));
-	}
-
 	private static String getBenchmarkName(BenchmarkDescriptor descriptor) {
 
 		BenchmarkMethod benchmarkMethod = getBenchmarkMethod(descriptor);
@@ -426,14 +525,19 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 		private final CacheFunction descriptionResolver;
 		private final OutputFormat delegate;
 		private final List<String> log = new CopyOnWriteArrayList<>();
+		private final RegressionGate regressionGate;
+		private final Consumer<RunResult> resultConsumer;
 
 		private volatile BenchmarkParams lastKnownBenchmark;
 		private volatile boolean recordOutput;
 
-		NotifyingOutputFormat(RunNotifier notifier, CacheFunction methods, OutputFormat delegate) {
+		NotifyingOutputFormat(RunNotifier notifier, CacheFunction methods, OutputFormat delegate,
+				RegressionGate regressionGate, Consumer<RunResult> resultConsumer) {
 			this.notifier = notifier;
 			this.descriptionResolver = methods;
 			this.delegate = delegate;
+			this.regressionGate = regressionGate;
+			this.resultConsumer = resultConsumer;
 		}
 
 		@Override
@@ -465,7 +569,22 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 			recordOutput = false;
 			BenchmarkParams lastKnownBenchmark = this.lastKnownBenchmark;
 			if (result != null) {
-				notifier.fireTestFinished(descriptionResolver.apply(result.getParams()));
+
+				Description description = descriptionResolver.apply(result.getParams());
+				RunResult runResult = new RunResult(result.getParams(), Collections.singleton(result));
+				String regression = regressionGate != null ? regressionGate.check(runResult) : null;
+
+				if (regression != null) {
+					delegate.println("# Regression: " + regression);
+					notifier.fireTestFailure(new Failure(description, new AssertionError(regression)));
+				}
+
+				for (JfrSummary summary : JfrSummary.summarize(runResult)) {
+					delegate.println(summary.toString());
+				}
+
+				notifier.fireTestFinished(description);
+				resultConsumer.accept(runResult);
 			} else if (lastKnownBenchmark != null) {
 
 				String output = StringUtils.collectionToDelimitedString(log, System.getProperty("line.separator"));
@@ -550,20 +669,24 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 	}
 
 	/**
-	 * Cache {@link Function} for benchmark names to {@link Description}.
+	 * Cache {@link Function} for benchmark names to {@link Description}. Benchmark methods are indexed upfront by
+	 * benchmark name, fixtures are resolved through their {@link ParametrizedBenchmarkMethod} by parameter values.
 	 */
 	static class CacheFunction implements Function<BenchmarkParams, Description> {
 
-		private final Map<String, BenchmarkDescriptor> methodMap = new ConcurrentHashMap<>();
-		private final Collection<BenchmarkDescriptor> methods;
+		private final Map<String, BenchmarkDescriptor> methodMap = new HashMap<>();
 		private final Function<BenchmarkDescriptor, Description> describeFunction;
 		private final BiFunction<BenchmarkMethod, BenchmarkFixture, Description> describeParametrizedMethodFunction;
 
 		CacheFunction(Collection<BenchmarkDescriptor> methods, Function<BenchmarkDescriptor, Description> describeFunction,
 				BiFunction<BenchmarkMethod, BenchmarkFixture, Description> describeParametrizedMethodFunction) {
-			this.methods = methods;
+
 			this.describeFunction = describeFunction;
 			this.describeParametrizedMethodFunction = describeParametrizedMethodFunction;
+
+			for (BenchmarkDescriptor method : methods) {
+				methodMap.putIfAbsent(getBenchmarkName(method), method);
+			}
 		}
 
 		/**
@@ -577,22 +700,17 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 
 			BenchmarkDescriptor descriptor = getBenchmarkDescriptor(benchmark);
 
-			if (descriptor instanceof HierarchicalBenchmarkDescriptor) {
+			if (descriptor instanceof ParametrizedBenchmarkMethod) {
 
-				Map<String, String> lookup = new HashMap<>();
+				Map<String, String> params = new HashMap<>();
 				for (String key : benchmark.getParamsKeys()) {
-					lookup.put(key, benchmark.getParam(key));
+					params.put(key, benchmark.getParam(key));
 				}
 
-				for (BenchmarkDescriptor child : ((HierarchicalBenchmarkDescriptor) descriptor).getChildren()) {
+				BenchmarkFixture fixture = ((ParametrizedBenchmarkMethod) descriptor).getFixture(params).orElse(null);
 
-					if (child instanceof BenchmarkFixture) {
-						BenchmarkFixture fixture = (BenchmarkFixture) child;
-
-						if (fixture.getFixture().equals(lookup)) {
-							return describeParametrizedMethodFunction.apply(getBenchmarkMethod(descriptor), fixture);
-						}
-					}
+				if (fixture != null) {
+					return describeParametrizedMethodFunction.apply(getBenchmarkMethod(descriptor), fixture);
 				}
 			}
 
@@ -605,14 +723,14 @@ public class Microbenchmark extends ParentRunner<BenchmarkDescriptor> implements
 
 		public BenchmarkDescriptor getBenchmarkDescriptor(BenchmarkParams benchmark) {
 
-			return methodMap.computeIfAbsent(benchmark.getBenchmark(), key -> {
+			BenchmarkDescriptor descriptor = methodMap.get(benchmark.getBenchmark());
 
-				Optional<BenchmarkDescriptor> method = methods.stream().filter(it -> getBenchmarkName(it).equals(key))
-						.findFirst();
+			if (descriptor == null) {
+				throw new IllegalArgumentException(
+						String.format("Cannot resolve %s to a BenchmarkDescriptor!", benchmark.getBenchmark()));
+			}
 
-				return method.orElseThrow(() -> new IllegalArgumentException(
-						String.format("Cannot resolve %s to a BenchmarkDescriptor!", benchmark.getBenchmark())));
-			});
+			return descriptor;
 		}
 	}
 }
@@ -11,8 +11,14 @@ package jmh.mbr.junit4;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.runner.Description;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.model.InitializationError;
 
 class MicrobenchmarkUnitTests {
@@ -67,4 +73,29 @@ class MicrobenchmarkUnitTests {
 		assertThat(description.getMethodName()).isNull();
 		assertThat(description.getChildren()).hasSize(3);
 	}
+
+	@Test
+	void shouldRejectAdaptiveMeasurement() throws InitializationError {
+
+		System.setProperty("jmh.mbr.adaptive.targetError", "0.01");
+
+		try {
+			List<Failure> failures = new ArrayList<>();
+			RunNotifier notifier = new RunNotifier();
+			notifier.addListener(new RunListener() {
+				@Override
+				public void testFailure(Failure failure) {
+					failures.add(failure);
+				}
+			});
+
+			new Microbenchmark(SimpleBenchmark.class).run(notifier);
+
+			assertThat(failures).hasSize(1);
+			assertThat(failures.get(0).getException()).isInstanceOf(IllegalStateException.class)
+					.hasMessageContaining("adaptive.targetError");
+		} finally {
+			System.clearProperty("jmh.mbr.adaptive.targetError");
+		}
+	}
 }
@@ -28,11 +28,13 @@ import org.junit.platform.engine.support.descriptor.MethodSource;
  */
 public class BenchmarkFixtureDescriptor extends AbstractBenchmarkDescriptor {
 
+	private final BenchmarkMethod method;
 	private final BenchmarkFixture fixture;
 	private final Set<TestTag> tags;
 
 	public BenchmarkFixtureDescriptor(UniqueId uniqueId, BenchmarkMethod method, BenchmarkFixture fixture) {
 		super(uniqueId, fixture.getDisplayName(), MethodSource.from(method.getMethod()));
+		this.method = method;
 		this.fixture = fixture;
 		this.tags = DescriptorUtils.getTags(method.getDeclaringClass());
 	}
@@ -44,7 +46,7 @@ public class BenchmarkFixtureDescriptor extends AbstractBenchmarkDescriptor {
 
 	@Override
 	public Type getType() {
-		return Type.TEST;
+		return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
 	}
 
 	@Override
@@ -57,6 +59,10 @@ public class BenchmarkFixtureDescriptor extends AbstractBenchmarkDescriptor {
 		throw new UnsupportedOperationException();
 	}
 
+	public BenchmarkMethod getBenchmarkMethod() {
+		return method;
+	}
+
 	public BenchmarkFixture getFixture() {
 		return fixture;
 	}
@@ -38,7 +38,7 @@ public class BenchmarkMethodDescriptor extends AbstractBenchmarkDescriptor imple
 
 	@Override
 	public Type getType() {
-		return Type.TEST;
+		return getChildren().isEmpty() ? Type.TEST : Type.CONTAINER;
 	}
 
 	@Override
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.descriptor;
+
+import jmh.mbr.core.model.BenchmarkMethod;
+import jmh.mbr.core.model.JvmFlagSet;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.engine.config.JupiterConfiguration;
+import org.junit.jupiter.engine.extension.ExtensionRegistry;
+import org.junit.jupiter.engine.extension.MutableExtensionRegistry;
+import org.junit.platform.engine.EngineExecutionListener;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+
+/**
+ * Descriptor for a benchmark method or fixture run with a {@link JvmFlagSet}. Child of {@link BenchmarkMethodDescriptor}
+ * or {@link BenchmarkFixtureDescriptor}.
+ */
+public class JvmFlagSetDescriptor extends AbstractBenchmarkDescriptor {
+
+	private final JvmFlagSet flagSet;
+	private final Set<TestTag> tags;
+
+	public JvmFlagSetDescriptor(UniqueId uniqueId, BenchmarkMethod method, JvmFlagSet flagSet) {
+		super(uniqueId, flagSet.getDisplayName(), MethodSource.from(method.getMethod()));
+		this.flagSet = flagSet;
+		this.tags = DescriptorUtils.getTags(method.getDeclaringClass());
+	}
+
+	@Override
+	public Set<TestTag> getTags() {
+		return tags;
+	}
+
+	@Override
+	public Type getType() {
+		return Type.TEST;
+	}
+
+	@Override
+	public ExtensionContext getExtensionContext(ExtensionContext parent, EngineExecutionListener engineExecutionListener, JupiterConfiguration configuration) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public ExtensionRegistry getExtensionRegistry(MutableExtensionRegistry parent) {
+		throw new UnsupportedOperationException();
+	}
+
+	public JvmFlagSet getFlagSet() {
+		return flagSet;
+	}
+}
@@ -11,6 +11,7 @@ package jmh.mbr.junit5.discovery;
 
 import jmh.mbr.core.model.BenchmarkClass;
 import jmh.mbr.core.model.BenchmarkDescriptorFactory;
+import jmh.mbr.core.model.ParameterSampling;
 import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
 import jmh.mbr.junit5.discovery.predicates.IsBenchmarkClass;
 
@@ -33,7 +34,11 @@ class BenchmarkContainerResolver implements ElementResolver {
 
 	private static final String SEGMENT_TYPE = "class";
 
-	BenchmarkContainerResolver() {}
+	private final ParameterSampling sampling;
+
+	BenchmarkContainerResolver(ParameterSampling sampling) {
+		this.sampling = sampling;
+	}
 
 	@Override
 	public Set<TestDescriptor> resolveElement(AnnotatedElement element, TestDescriptor parent) {
@@ -96,7 +101,7 @@ class BenchmarkContainerResolver implements ElementResolver {
 
 	private TestDescriptor resolveClass(Class<?> benchmarkClass, UniqueId uniqueId) {
 
-		BenchmarkClass descriptor = BenchmarkDescriptorFactory.create(benchmarkClass).createDescriptor();
+		BenchmarkClass descriptor = BenchmarkDescriptorFactory.create(benchmarkClass, sampling).createDescriptor();
 
 		return new BenchmarkClassDescriptor(uniqueId, descriptor);
 	}
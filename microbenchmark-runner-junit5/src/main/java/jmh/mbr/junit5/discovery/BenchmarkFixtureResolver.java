@@ -82,13 +82,11 @@ class BenchmarkFixtureResolver implements ElementResolver {
 	private Optional<TestDescriptor> findTestDescriptor(String segmentValue, UniqueId parentId,
 			ParametrizedBenchmarkMethod parametrizedMethod) {
 
-		return parametrizedMethod.getChildren().stream().filter(it -> {
-			return it.getDisplayName().equals(segmentValue);
-		}).map(it -> {
+		return parametrizedMethod.getFixture(segmentValue).map(it -> {
 
 			UniqueId uniqueId = parentId.append(SEGMENT_TYPE, it.getDisplayName());
 
 			return (TestDescriptor) new BenchmarkFixtureDescriptor(uniqueId, parametrizedMethod.getDescriptor(), it);
-		}).findFirst();
+		});
 	}
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.discovery;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.platform.commons.function.Try;
+import org.junit.platform.commons.support.scanning.ClassFilter;
+import org.junit.platform.commons.util.ReflectionUtils;
+import org.openjdk.jmh.runner.BenchmarkList;
+import org.openjdk.jmh.runner.BenchmarkListEntry;
+
+/**
+ * Index of benchmark classes read from {@code META-INF/BenchmarkList} that is generated by the JMH annotation
+ * processor. Allows resolving benchmark classes without scanning the classpath.
+ * <p>
+ * An index within a directory is considered stale if a class file was compiled after the JMH-generated classes, for
+ * example by an incremental compilation without annotation processing. Indexes within JAR files are considered to be
+ * up to date.
+ */
+class BenchmarkIndex {
+
+	private static final String GENERATED_PACKAGE = "jmh_generated";
+
+	private final List<String> classNames;
+
+	private BenchmarkIndex(List<String> classNames) {
+		this.classNames = classNames;
+	}
+
+	/**
+	 * Read the index of a classpath root directory.
+	 *
+	 * @param classpathRoot the classpath root.
+	 * @return the {@link BenchmarkIndex} or {@link Optional#empty()} if the classpath root does not contain an index
+	 * or the index is stale.
+	 */
+	static Optional<BenchmarkIndex> forClasspathRoot(URI classpathRoot) {
+
+		if (!"file".equals(classpathRoot.getScheme())) {
+			return Optional.empty();
+		}
+
+		Path root = Paths.get(classpathRoot);
+		Path index = root.resolve(BenchmarkList.BENCHMARK_LIST.substring(1));
+
+		if (!Files.isRegularFile(index) || isStale(root)) {
+			return Optional.empty();
+		}
+
+		try (InputStream stream = Files.newInputStream(index)) {
+			return Optional.of(new BenchmarkIndex(readClassNames(stream)));
+		}
+		catch (IOException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Read the index of all classpath roots that contain {@code packageName}.
+	 *
+	 * @param packageName the package name, empty for the default package.
+	 * @param classLoader the class loader to obtain classpath roots from.
+	 * @return the {@link BenchmarkIndex} containing classes within {@code packageName} and its subpackages or
+	 * {@link Optional#empty()} if no classpath root contains an index or an index is stale.
+	 */
+	static Optional<BenchmarkIndex> forPackage(String packageName, ClassLoader classLoader) {
+
+		String packagePath = packageName.replace('.', '/');
+
+		try {
+
+			Map<String, URL> indexes = new LinkedHashMap<>();
+			for (URL index : list(classLoader, BenchmarkList.BENCHMARK_LIST.substring(1))) {
+				indexes.put(getRoot(index, BenchmarkList.BENCHMARK_LIST.substring(1)), index);
+			}
+
+			if (indexes.isEmpty()) {
+				return Optional.empty();
+			}
+
+			Set<String> classNames = new LinkedHashSet<>();
+			for (URL packageUrl : list(classLoader, packagePath)) {
+
+				String root = getRoot(packageUrl, packagePath);
+				URL index = indexes.get(root);
+
+				// JMH runs only benchmarks listed in an index, classpath roots without an index do not contribute
+				if (index == null) {
+					continue;
+				}
+
+				if ("file".equals(index.getProtocol()) && isStale(Paths.get(URI.create(root)))) {
+					return Optional.empty();
+				}
+
+				try (InputStream stream = index.openStream()) {
+					for (String className : readClassNames(stream)) {
+						if (packageName.isEmpty() || className.startsWith(packageName + ".")) {
+							classNames.add(className);
+						}
+					}
+				}
+			}
+
+			return Optional.of(new BenchmarkIndex(new ArrayList<>(classNames)));
+		}
+		catch (IOException | RuntimeException e) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Load the indexed classes that match {@link ClassFilter}.
+	 *
+	 * @param classFilter the filter to apply.
+	 * @return the matching classes or {@link Optional#empty()} if an indexed class cannot be loaded.
+	 */
+	Optional<List<Class<?>>> loadClasses(ClassFilter classFilter) {
+
+		List<Class<?>> classes = new ArrayList<>();
+
+		for (String className : this.classNames) {
+
+			Optional<Class<?>> benchmarkClass = loadClass(className);
+
+			if (!benchmarkClass.isPresent()) {
+				return Optional.empty();
+			}
+
+			if (classFilter.match(benchmarkClass.get().getName()) && classFilter.match(benchmarkClass.get())) {
+				classes.add(benchmarkClass.get());
+			}
+		}
+
+		return Optional.of(classes);
+	}
+
+	List<String> getClassNames() {
+		return Collections.unmodifiableList(this.classNames);
+	}
+
+	/**
+	 * Load a class by its canonical name as used in {@code BenchmarkList}. Nested classes are resolved by replacing
+	 * trailing dots with {@code $}.
+	 */
+	private static Optional<Class<?>> loadClass(String canonicalName) {
+
+		String className = canonicalName;
+
+		while (true) {
+
+			Try<Class<?>> result = ReflectionUtils.tryToLoadClass(className);
+			if (result.toOptional().isPresent()) {
+				return result.toOptional();
+			}
+
+			int index = className.lastIndexOf('.');
+			if (index == -1) {
+				return Optional.empty();
+			}
+
+			className = className.substring(0, index) + "$" + className.substring(index + 1);
+		}
+	}
+
+	private static List<String> readClassNames(InputStream stream) throws IOException {
+
+		Set<String> classNames = new LinkedHashSet<>();
+		for (BenchmarkListEntry entry : BenchmarkList.readBenchmarkList(stream)) {
+			classNames.add(entry.getUserClassQName());
+		}
+
+		return new ArrayList<>(classNames);
+	}
+
+	private static List<URL> list(ClassLoader classLoader, String name) throws IOException {
+
+		List<URL> urls = new ArrayList<>();
+		Enumeration<URL> resources = classLoader.getResources(name);
+		while (resources.hasMoreElements()) {
+			urls.add(resources.nextElement());
+		}
+
+		return urls;
+	}
+
+	private static String getRoot(URL resource, String name) {
+
+		String url = resource.toString();
+		if (!name.isEmpty() && url.endsWith("/")) {
+			url = url.substring(0, url.length() - 1);
+		}
+
+		return url.substring(0, url.length() - name.length());
+	}
+
+	/**
+	 * Check whether a class outside of JMH-generated packages was compiled after the JMH-generated classes. The
+	 * annotation processor output is compiled last, so an up-to-date index is accompanied by generated classes that
+	 * are at least as recent as all other classes.
+	 */
+	private static boolean isStale(Path root) {
+
+		long generated = Long.MIN_VALUE;
+		long compiled = Long.MIN_VALUE;
+
+		try (Stream<Path> files = Files.walk(root)) {
+
+			for (Path file : (Iterable<Path>) files::iterator) {
+
+				if (!file.toString().endsWith(".class") || !Files.isRegularFile(file)) {
+					continue;
+				}
+
+				long lastModified = Files.getLastModifiedTime(file).toMillis();
+
+				if (file.getParent().endsWith(GENERATED_PACKAGE)) {
+					generated = Math.max(generated, lastModified);
+				}
+				else {
+					compiled = Math.max(compiled, lastModified);
+				}
+			}
+		}
+		catch (IOException | UncheckedIOException e) {
+			return true;
+		}
+
+		return generated == Long.MIN_VALUE || compiled > generated;
+	}
+}
@@ -9,7 +9,12 @@
  */
 package jmh.mbr.junit5.discovery;
 
+import jmh.mbr.core.model.JvmFlagSet;
+import jmh.mbr.core.model.ParameterSampling;
 import jmh.mbr.junit5.discovery.predicates.IsBenchmarkClass;
+import jmh.mbr.junit5.execution.ConfigurationParameterBenchmarkConfiguration;
+
+import java.util.List;
 
 import org.junit.platform.commons.support.scanning.ClassFilter;
 import org.junit.platform.engine.ConfigurationParameters;
@@ -60,7 +65,14 @@ public class DiscoverySelectorResolver {
 
 	private JavaElementsResolver createJavaElementsResolver(ConfigurationParameters configurationParameters,
 			TestDescriptor engineDescriptor, ClassFilter classFilter) {
-		return new JavaElementsResolver(engineDescriptor, classFilter, ElementResolvers.getResolvers());
+		ConfigurationParameterBenchmarkConfiguration configuration = new ConfigurationParameterBenchmarkConfiguration(
+				configurationParameters);
+		ParameterSampling sampling = configuration.getParameterSampling();
+
+		List<JvmFlagSet> flagSets = JvmFlagSet.parse(configuration.getJvms(), configuration.getJvmFlagSets());
+
+		return new JavaElementsResolver(engineDescriptor, classFilter, ElementResolvers.getResolvers(sampling, flagSets),
+				configuration.isParallelDiscovery());
 	}
 
 }
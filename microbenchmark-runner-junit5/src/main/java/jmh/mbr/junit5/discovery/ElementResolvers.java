@@ -9,7 +9,12 @@
  */
 package jmh.mbr.junit5.discovery;
 
+import jmh.mbr.core.model.JvmFlagSet;
+import jmh.mbr.core.model.ParameterSampling;
+
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -21,12 +26,33 @@ class ElementResolvers {
 	 * @return a {@link Set} of known {@link ElementResolver}s.
 	 */
 	public static Set<ElementResolver> getResolvers() {
+		return getResolvers(ParameterSampling.exhaustive());
+	}
+
+	/**
+	 * @param sampling the {@link ParameterSampling} to apply to parametrized benchmarks.
+	 * @return a {@link Set} of known {@link ElementResolver}s.
+	 */
+	public static Set<ElementResolver> getResolvers(ParameterSampling sampling) {
+		return getResolvers(sampling, Collections.emptyList());
+	}
+
+	/**
+	 * @param sampling the {@link ParameterSampling} to apply to parametrized benchmarks.
+	 * @param flagSets the {@link JvmFlagSet}s to run each benchmark with, may be empty.
+	 * @return a {@link Set} of known {@link ElementResolver}s.
+	 */
+	public static Set<ElementResolver> getResolvers(ParameterSampling sampling, List<JvmFlagSet> flagSets) {
 
 		Set<ElementResolver> resolvers = new LinkedHashSet<>();
-		resolvers.add(new BenchmarkContainerResolver());
+		resolvers.add(new BenchmarkContainerResolver(sampling));
 		resolvers.add(new BenchmarkMethodResolver());
 		resolvers.add(new BenchmarkFixtureResolver());
 
+		if (!flagSets.isEmpty()) {
+			resolvers.add(new JvmFlagSetResolver(flagSets));
+		}
+
 		return resolvers;
 	}
 }
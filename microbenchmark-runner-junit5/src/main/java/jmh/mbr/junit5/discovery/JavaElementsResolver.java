@@ -9,10 +9,14 @@
  */
 package jmh.mbr.junit5.discovery;
 
+import jmh.mbr.core.model.MethodAware;
 import jmh.mbr.junit5.MicrobenchmarkEngine;
 import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
 import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
 import jmh.mbr.junit5.discovery.predicates.IsBenchmarkMethod;
+import jmh.mbr.junit5.discovery.predicates.IsPotentialBenchmarkClass;
 
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
@@ -24,6 +28,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
@@ -31,6 +38,7 @@ import org.junit.platform.commons.logging.Logger;
 import org.junit.platform.commons.logging.LoggerFactory;
 import org.junit.platform.commons.support.scanning.ClassFilter;
 import org.junit.platform.commons.util.BlacklistedExceptions;
+import org.junit.platform.commons.util.ClassLoaderUtils;
 import org.junit.platform.commons.util.ReflectionUtils;
 import org.junit.platform.commons.util.StringUtils;
 import org.junit.platform.engine.TestDescriptor;
@@ -46,6 +54,11 @@ import org.junit.platform.engine.discovery.UniqueIdSelector;
 /**
  * Resolve {@link TestDescriptor} by traversing classes and methods and attaching these to the root
  * {@link TestDescriptor test engine descriptor}.
+ * <p>
+ * Classpath roots and packages are resolved from the {@link BenchmarkIndex} if it is present and up to date. Otherwise,
+ * classpath root, module and package scanning skips classes whose class file does not reference {@code @Benchmark}
+ * without loading these. In parallel mode, scanned classes are resolved into detached {@link TestDescriptor} trees
+ * using a {@link ForkJoinPool} and then attached to the engine descriptor in scan order.
  */
 class JavaElementsResolver {
 
@@ -53,18 +66,38 @@ class JavaElementsResolver {
 
 	private final TestDescriptor engineDescriptor;
 	private final ClassFilter classFilter;
+	private final ClassFilter scanFilter;
 	private final Set<ElementResolver> resolvers;
+	private final boolean parallel;
 
 	JavaElementsResolver(TestDescriptor engineDescriptor, ClassFilter classFilter, Set<ElementResolver> resolvers) {
+		this(engineDescriptor, classFilter, resolvers, false);
+	}
+
+	JavaElementsResolver(TestDescriptor engineDescriptor, ClassFilter classFilter, Set<ElementResolver> resolvers,
+			boolean parallel) {
+
+		IsPotentialBenchmarkClass prefilter = new IsPotentialBenchmarkClass(ClassLoaderUtils.getDefaultClassLoader());
+
 		this.engineDescriptor = engineDescriptor;
 		this.classFilter = classFilter;
+		this.scanFilter = ClassFilter.of(name -> classFilter.match(name) && prefilter.test(name), classFilter::match);
 		this.resolvers = resolvers;
+		this.parallel = parallel;
 	}
 
 	void resolveClasspathRoot(ClasspathRootSelector selector) {
 		try {
-			ReflectionUtils.findAllClassesInClasspathRoot(selector.getClasspathRoot(), this.classFilter)
-					.forEach(this::resolveClass);
+			Optional<List<Class<?>>> indexedClasses = BenchmarkIndex.forClasspathRoot(selector.getClasspathRoot())
+					.flatMap(it -> it.loadClasses(this.classFilter));
+
+			if (!indexedClasses.isPresent()) {
+				logger.debug(() -> String.format("No up-to-date benchmark index in classpath root '%s', scanning classes.",
+						selector.getClasspathRoot()));
+			}
+
+			resolveClasses(indexedClasses.orElseGet(() -> ReflectionUtils
+					.findAllClassesInClasspathRoot(selector.getClasspathRoot(), this.scanFilter)));
 		} catch (Throwable t) {
 			BlacklistedExceptions.rethrowIfBlacklisted(t);
 			logger.debug(t,
@@ -74,7 +107,7 @@ class JavaElementsResolver {
 
 	void resolveModule(ModuleSelector selector) {
 		try {
-			ReflectionUtils.findAllClassesInModule(selector.getModuleName(), this.classFilter).forEach(this::resolveClass);
+			resolveClasses(ReflectionUtils.findAllClassesInModule(selector.getModuleName(), this.scanFilter));
 		} catch (Throwable t) {
 			BlacklistedExceptions.rethrowIfBlacklisted(t);
 			logger.debug(t, () -> String.format("Failed to resolve classes in module '%s'.", selector.getModuleName()));
@@ -83,7 +116,17 @@ class JavaElementsResolver {
 
 	void resolvePackage(PackageSelector selector) {
 		try {
-			ReflectionUtils.findAllClassesInPackage(selector.getPackageName(), this.classFilter).forEach(this::resolveClass);
+			Optional<List<Class<?>>> indexedClasses = BenchmarkIndex
+					.forPackage(selector.getPackageName(), ClassLoaderUtils.getDefaultClassLoader())
+					.flatMap(it -> it.loadClasses(this.classFilter));
+
+			if (!indexedClasses.isPresent()) {
+				logger.debug(() -> String.format("No up-to-date benchmark index for package '%s', scanning classes.",
+						selector.getPackageName()));
+			}
+
+			resolveClasses(indexedClasses.orElseGet(
+					() -> ReflectionUtils.findAllClassesInPackage(selector.getPackageName(), this.scanFilter)));
 		} catch (Throwable t) {
 			BlacklistedExceptions.rethrowIfBlacklisted(t);
 			logger.debug(t, () -> String.format("Failed to resolve classes in package '%s'.", selector.getPackageName()));
@@ -102,6 +145,68 @@ class JavaElementsResolver {
 		}
 	}
 
+	private void resolveClasses(List<Class<?>> testClasses) {
+
+		if (!this.parallel || testClasses.size() < 2) {
+			testClasses.forEach(this::resolveClass);
+			return;
+		}
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), it -> {
+
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(it);
+			thread.setName("mbr-discovery-" + thread.getPoolIndex());
+			thread.setContextClassLoader(classLoader);
+			return thread;
+		}, null, false);
+
+		try {
+
+			// the engine descriptor is only read while resolving detached descriptors
+			List<Set<TestDescriptor>> resolved = pool.invoke(ForkJoinTask.adapt(() -> testClasses.parallelStream()
+					.map(this::resolveDetached).collect(Collectors.toList())));
+
+			for (int i = 0; i < testClasses.size(); i++) {
+				attach(testClasses.get(i), resolved.get(i));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private Set<TestDescriptor> resolveDetached(Class<?> testClass) {
+		try {
+			Set<TestDescriptor> resolvedDescriptors = new LinkedHashSet<>();
+			this.resolvers.forEach(it -> resolvedDescriptors.addAll(it.resolveElement(testClass, this.engineDescriptor)));
+			resolvedDescriptors.forEach(this::resolveChildren);
+
+			return resolvedDescriptors;
+		} catch (Throwable t) {
+			BlacklistedExceptions.rethrowIfBlacklisted(t);
+			logger.debug(t,
+					() -> String.format("Class '%s' could not be resolved.", StringUtils.nullSafeToString(testClass)));
+			return Collections.emptySet();
+		}
+	}
+
+	private void attach(Class<?> testClass, Set<TestDescriptor> resolvedDescriptors) {
+
+		resolvedDescriptors.forEach(testDescriptor -> {
+			Optional<TestDescriptor> existingTestDescriptor = findTestDescriptorByUniqueId(this.engineDescriptor,
+					testDescriptor.getUniqueId());
+			if (existingTestDescriptor.isPresent()) {
+				resolveChildren(existingTestDescriptor.get());
+			} else {
+				this.engineDescriptor.addChild(testDescriptor);
+			}
+		});
+
+		if (resolvedDescriptors.isEmpty()) {
+			logger.debug(() -> String.format("Class '%s' could not be resolved.", StringUtils.nullSafeToString(testClass)));
+		}
+	}
+
 	private void resolveClass(Class<?> testClass) {
 		try {
 			Set<TestDescriptor> resolvedDescriptors = resolveContainerWithParents(testClass);
@@ -171,7 +276,8 @@ class JavaElementsResolver {
 			TestDescriptor parent = resolvedDescriptors.getLast();
 			UniqueId partialUniqueId = parent.getUniqueId().append(segment);
 
-			Optional<TestDescriptor> resolvedDescriptor = findTestDescriptorByUniqueId(partialUniqueId);
+			Optional<TestDescriptor> resolvedDescriptor = findTestDescriptorByUniqueId(this.engineDescriptor,
+					partialUniqueId);
 			if (!resolvedDescriptor.isPresent()) {
 				resolvedDescriptor = this.resolvers.stream().map(resolver -> resolver.resolveUniqueId(segment, parent))
 						.filter(Optional::isPresent).map(Optional::get).findFirst();
@@ -211,14 +317,28 @@ class JavaElementsResolver {
 		if (descriptor instanceof BenchmarkClassDescriptor) {
 
 			Class<?> testClass = ((BenchmarkClassDescriptor) descriptor).getJavaClass();
-			resolveContainedMethods(descriptor, testClass, this::resolve);
+			resolveContainedMethods(descriptor, testClass, this::resolveNested);
 		}
 
-		if (descriptor instanceof ParametrizedBenchmarkMethodDescriptor) {
+		if (descriptor instanceof ParametrizedBenchmarkMethodDescriptor || descriptor instanceof BenchmarkMethodDescriptor) {
 
-			Method benchmarkMethod = ((ParametrizedBenchmarkMethodDescriptor) descriptor).getMethod();
-			resolve(benchmarkMethod, descriptor);
+			Method benchmarkMethod = ((MethodAware) descriptor).getMethod();
+			resolveNested(benchmarkMethod, descriptor);
 		}
+
+		if (descriptor instanceof BenchmarkFixtureDescriptor) {
+
+			Method benchmarkMethod = ((BenchmarkFixtureDescriptor) descriptor).getBenchmarkMethod().getMethod();
+			resolveNested(benchmarkMethod, descriptor);
+		}
+	}
+
+	/**
+	 * Resolve descriptors of a benchmark method below {@code parent}, such as fixtures and JVM flag sets, including
+	 * their nested descriptors.
+	 */
+	private void resolveNested(AnnotatedElement element, TestDescriptor parent) {
+		resolve(element, parent).forEach(it -> resolveNested(element, it));
 	}
 
 	private void resolveContainedMethods(TestDescriptor containerDescriptor, Class<?> testClass,
@@ -247,7 +367,8 @@ class JavaElementsResolver {
 		Set<TestDescriptor> result = new LinkedHashSet<>();
 
 		resolvedDescriptors.forEach(testDescriptor -> {
-			Optional<TestDescriptor> existingTestDescriptor = findTestDescriptorByUniqueId(testDescriptor.getUniqueId());
+			Optional<TestDescriptor> existingTestDescriptor = findTestDescriptorByUniqueId(getRoot(parent),
+					testDescriptor.getUniqueId());
 			if (existingTestDescriptor.isPresent()) {
 				result.add(existingTestDescriptor.get());
 			} else {
@@ -259,8 +380,21 @@ class JavaElementsResolver {
 		return result;
 	}
 
+	/**
+	 * Return the root of the tree containing {@code descriptor}. This is the engine descriptor unless
+	 * {@code descriptor} belongs to a detached tree.
+	 */
+	private static TestDescriptor getRoot(TestDescriptor descriptor) {
+
+		TestDescriptor root = descriptor;
+		while (root.getParent().isPresent()) {
+			root = root.getParent().get();
+		}
+		return root;
+	}
+
 	@SuppressWarnings("unchecked")
-	private Optional<TestDescriptor> findTestDescriptorByUniqueId(UniqueId uniqueId) {
-		return (Optional<TestDescriptor>) this.engineDescriptor.findByUniqueId(uniqueId);
+	private static Optional<TestDescriptor> findTestDescriptorByUniqueId(TestDescriptor root, UniqueId uniqueId) {
+		return (Optional<TestDescriptor>) root.findByUniqueId(uniqueId);
 	}
 }
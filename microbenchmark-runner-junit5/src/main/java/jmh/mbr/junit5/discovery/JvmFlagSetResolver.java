@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.discovery;
+
+import jmh.mbr.core.model.BenchmarkMethod;
+import jmh.mbr.core.model.JvmFlagSet;
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.JvmFlagSetDescriptor;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.UniqueId.Segment;
+
+/**
+ * {@link ElementResolver} expanding benchmark methods and fixtures into {@link JvmFlagSetDescriptor}s, one per
+ * configured {@link JvmFlagSet}.
+ */
+class JvmFlagSetResolver implements ElementResolver {
+
+	private static final String SEGMENT_TYPE = "jvmFlags";
+
+	private final List<JvmFlagSet> flagSets;
+
+	JvmFlagSetResolver(List<JvmFlagSet> flagSets) {
+		this.flagSets = flagSets;
+	}
+
+	@Override
+	public Set<TestDescriptor> resolveElement(AnnotatedElement element, TestDescriptor parent) {
+
+		if (!(element instanceof Method)) {
+			return Collections.emptySet();
+		}
+
+		BenchmarkMethod method = getBenchmarkMethod(parent);
+
+		if (method == null || !method.getMethod().equals(element)) {
+			return Collections.emptySet();
+		}
+
+		Set<TestDescriptor> descriptors = new LinkedHashSet<>();
+
+		for (JvmFlagSet flagSet : flagSets) {
+			descriptors.add(createDescriptor(parent.getUniqueId(), method, flagSet));
+		}
+
+		return descriptors;
+	}
+
+	@Override
+	public Optional<TestDescriptor> resolveUniqueId(Segment segment, TestDescriptor parent) {
+
+		if (!segment.getType().equals(SEGMENT_TYPE)) {
+			return Optional.empty();
+		}
+
+		BenchmarkMethod method = getBenchmarkMethod(parent);
+
+		if (method == null) {
+			return Optional.empty();
+		}
+
+		return flagSets.stream().filter(it -> it.toString().equals(segment.getValue())).findFirst()
+				.map(it -> createDescriptor(parent.getUniqueId(), method, it));
+	}
+
+	private static TestDescriptor createDescriptor(UniqueId parentId, BenchmarkMethod method, JvmFlagSet flagSet) {
+		return new JvmFlagSetDescriptor(parentId.append(SEGMENT_TYPE, flagSet.toString()), method, flagSet);
+	}
+
+	private static BenchmarkMethod getBenchmarkMethod(TestDescriptor parent) {
+
+		if (parent instanceof BenchmarkMethodDescriptor) {
+			return ((BenchmarkMethodDescriptor) parent).getBenchmarkMethod();
+		}
+
+		if (parent instanceof BenchmarkFixtureDescriptor) {
+			return ((BenchmarkFixtureDescriptor) parent).getBenchmarkMethod();
+		}
+
+		return null;
+	}
+}
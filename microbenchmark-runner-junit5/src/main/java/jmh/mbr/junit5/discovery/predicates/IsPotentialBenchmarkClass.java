@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.discovery.predicates;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * {@link Predicate} to check by class name whether a class may contain {@code @Benchmark} methods without loading the
+ * class. The class file is inspected for a constant pool reference to the {@code @Benchmark} annotation type. Classes
+ * without such a reference are considered if one of their supertypes references {@code @Benchmark}. Class files that
+ * cannot be read or parsed are considered to be potential benchmark classes.
+ *
+ * @see IsBenchmarkClass
+ */
+public class IsPotentialBenchmarkClass implements Predicate<String> {
+
+	private static final String BENCHMARK_DESCRIPTOR = "Lorg/openjdk/jmh/annotations/Benchmark;";
+
+	private final ClassLoader classLoader;
+	private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+	public IsPotentialBenchmarkClass(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+	}
+
+	@Override
+	public boolean test(String className) {
+		return isPotentialBenchmarkClass(className.replace('.', '/'));
+	}
+
+	private boolean isPotentialBenchmarkClass(String internalName) {
+
+		if (internalName.startsWith("java/")) {
+			return false;
+		}
+
+		Boolean cached = cache.get(internalName);
+		if (cached != null) {
+			return cached;
+		}
+
+		boolean result;
+		try (InputStream stream = classLoader.getResourceAsStream(internalName + ".class")) {
+
+			if (stream == null) {
+				result = true;
+			}
+			else {
+
+				ClassFileSummary summary = ClassFileSummary.read(stream);
+				result = summary == null || summary.referencesBenchmark || summary.supertypes.stream()
+						.anyMatch(this::isPotentialBenchmarkClass);
+			}
+		}
+		catch (IOException | RuntimeException e) {
+			result = true;
+		}
+
+		cache.put(internalName, result);
+		return result;
+	}
+
+	/**
+	 * Parsed subset of a class file: whether its constant pool references {@code @Benchmark} and its supertypes.
+	 */
+	static class ClassFileSummary {
+
+		final boolean referencesBenchmark;
+		final List<String> supertypes;
+
+		private ClassFileSummary(boolean referencesBenchmark, List<String> supertypes) {
+			this.referencesBenchmark = referencesBenchmark;
+			this.supertypes = supertypes;
+		}
+
+		/**
+		 * Read the constant pool, the superclass and the interfaces of a class file.
+		 *
+		 * @param stream the class file.
+		 * @return the {@link ClassFileSummary} or {@literal null} if the constant pool contains unknown entries.
+		 * @throws IOException if the class file cannot be read.
+		 */
+		static ClassFileSummary read(InputStream stream) throws IOException {
+
+			DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+
+			if (in.readInt() != 0xCAFEBABE) {
+				return null;
+			}
+
+			in.readUnsignedShort(); // minor version
+			in.readUnsignedShort(); // major version
+
+			int count = in.readUnsignedShort();
+			String[] utf8 = new String[count];
+			int[] classNames = new int[count];
+			boolean referencesBenchmark = false;
+
+			for (int i = 1; i < count; i++) {
+
+				int tag = in.readUnsignedByte();
+
+				switch (tag) {
+					case 1: // Utf8
+						utf8[i] = in.readUTF();
+						referencesBenchmark |= BENCHMARK_DESCRIPTOR.equals(utf8[i]);
+						break;
+					case 7: // Class
+						classNames[i] = in.readUnsignedShort();
+						break;
+					case 8: // String
+					case 16: // MethodType
+					case 19: // Module
+					case 20: // Package
+						in.skipBytes(2);
+						break;
+					case 15: // MethodHandle
+						in.skipBytes(3);
+						break;
+					case 3: // Integer
+					case 4: // Float
+					case 9: // Fieldref
+					case 10: // Methodref
+					case 11: // InterfaceMethodref
+					case 12: // NameAndType
+					case 17: // Dynamic
+					case 18: // InvokeDynamic
+						in.skipBytes(4);
+						break;
+					case 5: // Long
+					case 6: // Double
+						in.skipBytes(8);
+						i++;
+						break;
+					default:
+						return null;
+				}
+			}
+
+			in.readUnsignedShort(); // access flags
+			in.readUnsignedShort(); // this class
+
+			List<String> supertypes = new ArrayList<>();
+			int superClass = in.readUnsignedShort();
+			if (superClass != 0) {
+				supertypes.add(utf8[classNames[superClass]]);
+			}
+
+			int interfaces = in.readUnsignedShort();
+			for (int i = 0; i < interfaces; i++) {
+				supertypes.add(utf8[classNames[in.readUnsignedShort()]]);
+			}
+
+			return new ClassFileSummary(referencesBenchmark, supertypes);
+		}
+	}
+}
@@ -25,12 +25,16 @@ import org.junit.platform.engine.ConfigurationParameters;
 /**
  * {@link BenchmarkConfiguration} obtained from {@link ConfigurationParameters}.
  */
-class ConfigurationParameterBenchmarkConfiguration implements BenchmarkConfiguration {
+public class ConfigurationParameterBenchmarkConfiguration implements BenchmarkConfiguration {
 
-	private final JupiterConfiguration configuration;
+	private final Function<String, Optional<String>> configuration;
 
 	public ConfigurationParameterBenchmarkConfiguration(JupiterConfiguration configuration) {
-		this.configuration = configuration;
+		this.configuration = configuration::getRawConfigurationParameter;
+	}
+
+	public ConfigurationParameterBenchmarkConfiguration(ConfigurationParameters configurationParameters) {
+		this.configuration = configurationParameters::get;
 	}
 
 	@Override
@@ -105,6 +109,111 @@ class ConfigurationParameterBenchmarkConfiguration implements BenchmarkConfigura
 		return getConfigParameterOrDefault(BenchmarkConfigProperties.FORKS, Integer::parseInt);
 	}
 
+	@Override
+	public int getParallelism() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.PARALLELISM, Integer::parseInt);
+	}
+
+	@Override
+	public boolean isPublishAsync() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.PUBLISH_ASYNC, Boolean::parseBoolean);
+	}
+
+	@Override
+	public int getPublishThreads() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.PUBLISH_THREADS, Integer::parseInt);
+	}
+
+	@Override
+	public int getPublishRetries() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.PUBLISH_RETRIES, Integer::parseInt);
+	}
+
+	@Override
+	public double getAdaptiveTargetError() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.ADAPTIVE_TARGET_ERROR, Double::parseDouble);
+	}
+
+	@Override
+	public int getAdaptiveMaxIterations() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.ADAPTIVE_MAX_ITERATIONS, Integer::parseInt);
+	}
+
+	@Override
+	public boolean isDaemon() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.DAEMON, Boolean::parseBoolean);
+	}
+
+	@Override
+	public String getIncrementalCacheDirectory() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.INCREMENTAL_CACHE_DIR, it -> it);
+	}
+
+	@Override
+	public String getBaseline() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.BASELINE, it -> it);
+	}
+
+	@Override
+	public double getBaselineThreshold() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.BASELINE_THRESHOLD, Double::parseDouble);
+	}
+
+	@Override
+	public double getBaselineConfidence() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.BASELINE_CONFIDENCE, Double::parseDouble);
+	}
+
+	@Override
+	public String getSamplingStrategy() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.SAMPLING_STRATEGY, it -> it);
+	}
+
+	@Override
+	public int getSamplingSamples() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.SAMPLING_SAMPLES, Integer::parseInt);
+	}
+
+	@Override
+	public long getSamplingSeed() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.SAMPLING_SEED, Long::parseLong);
+	}
+
+	@Override
+	public boolean isParallelDiscovery() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.DISCOVERY_PARALLEL, Boolean::parseBoolean);
+	}
+
+	@Override
+	public String getMetricsUri() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.METRICS_URI, it -> it);
+	}
+
+	@Override
+	public String getProfilers() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.PROFILERS, it -> it);
+	}
+
+	@Override
+	public boolean isJfr() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.JFR, Boolean::parseBoolean);
+	}
+
+	@Override
+	public boolean isAnnotationOverrides() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.ANNOTATION_OVERRIDES, Boolean::parseBoolean);
+	}
+
+	@Override
+	public String getJvmFlagSets() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.JVM_FLAG_SETS, it -> it);
+	}
+
+	@Override
+	public String getJvms() {
+		return getConfigParameterOrDefault(BenchmarkConfigProperties.JVMS, it -> it);
+	}
+
 	@Override
 	public String publishUri() {
 		return getConfigParameterOrDefault(BenchmarkConfigProperties.PUBLISH_URI, it -> it);
@@ -114,7 +223,7 @@ class ConfigurationParameterBenchmarkConfiguration implements BenchmarkConfigura
 
 		for (String propertyName : property.propertyNames()) {
 
-			Optional<T> configValue = configuration.getRawConfigurationParameter(propertyName, mapFunction);
+			Optional<T> configValue = configuration.apply(propertyName).map(mapFunction);
 			if (configValue.isPresent()) {
 				return configValue.get();
 			}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.execution;
+
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.JvmFlagSetDescriptor;
+import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.junit.platform.engine.TestDescriptor;
+
+/**
+ * Tracks the completion of containers within a {@link TestDescriptor} tree. The number of benchmarks to run is
+ * computed once per container from the benchmarks that are included in the run so that skipped and filtered
+ * benchmarks do not keep containers open. Containers are started along with their first benchmark and finished once
+ * their last benchmark finished. The root descriptor is not tracked.
+ */
+class ContainerCompletionTracker {
+
+	private final Map<TestDescriptor, Node> nodes;
+
+	private ContainerCompletionTracker(Map<TestDescriptor, Node> nodes) {
+		this.nodes = nodes;
+	}
+
+	/**
+	 * Create a {@link ContainerCompletionTracker} for benchmarks below {@code root}.
+	 *
+	 * @param root the root descriptor.
+	 * @param isIncluded predicate whether a benchmark method is included in the run.
+	 * @return the {@link ContainerCompletionTracker}.
+	 */
+	static ContainerCompletionTracker create(TestDescriptor root, Predicate<TestDescriptor> isIncluded) {
+
+		Map<TestDescriptor, Node> nodes = new HashMap<>();
+
+		root.accept(it -> {
+
+			if (!isIncluded.test(it)) {
+				return;
+			}
+
+			if (it instanceof BenchmarkMethodDescriptor) {
+				registerWithFlagSets(nodes, root, it);
+			}
+
+			if (it instanceof ParametrizedBenchmarkMethodDescriptor) {
+				for (TestDescriptor child : it.getChildren()) {
+					if (child instanceof BenchmarkFixtureDescriptor) {
+						registerWithFlagSets(nodes, root, child);
+					}
+				}
+			}
+		});
+
+		return new ContainerCompletionTracker(nodes);
+	}
+
+	/**
+	 * Register a benchmark or, if it is expanded into JVM flag sets, its {@link JvmFlagSetDescriptor}s.
+	 */
+	private static void registerWithFlagSets(Map<TestDescriptor, Node> nodes, TestDescriptor root,
+			TestDescriptor benchmark) {
+
+		boolean expanded = false;
+		for (TestDescriptor child : benchmark.getChildren()) {
+			if (child instanceof JvmFlagSetDescriptor) {
+				register(nodes, root, child);
+				expanded = true;
+			}
+		}
+
+		if (!expanded) {
+			register(nodes, root, benchmark);
+		}
+	}
+
+	private static void register(Map<TestDescriptor, Node> nodes, TestDescriptor root, TestDescriptor benchmark) {
+
+		Node leaf = new Node(benchmark, null);
+		nodes.put(benchmark, leaf);
+
+		Node child = leaf;
+		Optional<TestDescriptor> parent = benchmark.getParent();
+
+		while (parent.isPresent() && parent.get() != root) {
+
+			TestDescriptor container = parent.get();
+			Node node = nodes.get(container);
+			boolean known = node != null;
+
+			if (!known) {
+				node = new Node(container, new AtomicInteger());
+				nodes.put(container, node);
+			}
+
+			node.remaining.incrementAndGet();
+			child.parent = node;
+
+			if (known) {
+				// remaining ancestors are linked and counted already except for the count of this benchmark
+				for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+					ancestor.remaining.incrementAndGet();
+				}
+				return;
+			}
+
+			child = node;
+			parent = container.getParent();
+		}
+	}
+
+	/**
+	 * @param descriptor the descriptor to inspect.
+	 * @return {@literal true} if {@code descriptor} is a benchmark included in the run.
+	 */
+	boolean isTracked(TestDescriptor descriptor) {
+
+		Node node = nodes.get(descriptor);
+		return node != null && node.isLeaf();
+	}
+
+	/**
+	 * Start containers of a benchmark that were not started yet, outermost first.
+	 *
+	 * @param benchmark the benchmark that is about to start.
+	 * @param containerStarted callback for started containers.
+	 */
+	void started(TestDescriptor benchmark, Consumer<TestDescriptor> containerStarted) {
+
+		Node node = nodes.get(benchmark);
+
+		if (node == null) {
+			return;
+		}
+
+		List<Node> ancestors = new ArrayList<>();
+		for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+			ancestors.add(0, ancestor);
+		}
+
+		for (Node ancestor : ancestors) {
+			ancestor.start(containerStarted);
+		}
+	}
+
+	/**
+	 * Record that a benchmark finished and finish containers that have no remaining benchmarks, innermost first.
+	 *
+	 * @param benchmark the finished benchmark.
+	 * @param containerFinished callback for finished containers.
+	 * @return {@literal true} if the benchmark was tracked and not finished before.
+	 */
+	boolean finished(TestDescriptor benchmark, Consumer<TestDescriptor> containerFinished) {
+
+		Node node = nodes.get(benchmark);
+
+		if (node == null || !node.isLeaf() || !node.finished.compareAndSet(false, true)) {
+			return false;
+		}
+
+		for (Node ancestor = node.parent; ancestor != null; ancestor = ancestor.parent) {
+
+			if (ancestor.remaining.decrementAndGet() == 0 && ancestor.finished.compareAndSet(false, true)) {
+				containerFinished.accept(ancestor.descriptor);
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finish containers that were started but did not finish, for example because benchmarks did not report results.
+	 * Containers are finished innermost first.
+	 *
+	 * @param containerFinished callback for finished containers.
+	 */
+	void finishOpenContainers(Consumer<TestDescriptor> containerFinished) {
+
+		List<Node> open = new ArrayList<>();
+
+		for (Node node : nodes.values()) {
+			if (!node.isLeaf() && node.started && !node.finished.get()) {
+				open.add(node);
+			}
+		}
+
+		open.sort(Comparator.comparingInt(Node::getDepth).reversed());
+
+		for (Node node : open) {
+			if (node.finished.compareAndSet(false, true)) {
+				containerFinished.accept(node.descriptor);
+			}
+		}
+	}
+
+	private static class Node {
+
+		private final TestDescriptor descriptor;
+		private final AtomicInteger remaining;
+		private final AtomicBoolean finished = new AtomicBoolean();
+		private Node parent;
+		private volatile boolean started;
+
+		Node(TestDescriptor descriptor, AtomicInteger remaining) {
+			this.descriptor = descriptor;
+			this.remaining = remaining;
+		}
+
+		boolean isLeaf() {
+			return remaining == null;
+		}
+
+		int getDepth() {
+
+			int depth = 0;
+			for (Node node = parent; node != null; node = node.parent) {
+				depth++;
+			}
+			return depth;
+		}
+
+		void start(Consumer<TestDescriptor> containerStarted) {
+
+			if (started) {
+				return;
+			}
+
+			synchronized (this) {
+				if (!started) {
+					containerStarted.accept(descriptor);
+					started = true;
+				}
+			}
+		}
+	}
+}
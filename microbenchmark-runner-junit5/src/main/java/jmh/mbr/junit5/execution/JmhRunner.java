@@ -9,29 +9,42 @@
  */
 package jmh.mbr.junit5.execution;
 
+import jmh.mbr.core.AdaptiveMeasurement;
+import jmh.mbr.core.AdaptiveMeasurement.FollowUpRun;
 import jmh.mbr.core.BenchmarkConfiguration;
+import jmh.mbr.core.BenchmarkOverrides;
 import jmh.mbr.core.JmhSupport;
+import jmh.mbr.core.RegressionGate;
+import jmh.mbr.core.SampledRun;
 import jmh.mbr.core.StringUtils;
+import jmh.mbr.core.incremental.IncrementalResultsCache;
+import jmh.mbr.core.jfr.JfrSummary;
+import jmh.mbr.core.model.BenchmarkFixture;
 import jmh.mbr.core.model.BenchmarkResults;
 import jmh.mbr.core.model.BenchmarkResults.MetaData;
+import jmh.mbr.core.model.JvmFlagSet;
 import jmh.mbr.core.model.MethodAware;
 import jmh.mbr.junit5.descriptor.AbstractBenchmarkDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.JvmFlagSetDescriptor;
 import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
 
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -46,17 +59,20 @@ import org.junit.jupiter.engine.extension.MutableExtensionRegistry;
 import org.junit.platform.engine.EngineExecutionListener;
 import org.junit.platform.engine.TestDescriptor;
 import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.reporting.ReportEntry;
 import org.junit.platform.engine.support.hierarchical.Node.SkipResult;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.infra.IterationParams;
 import org.openjdk.jmh.results.BenchmarkResult;
 import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
-import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.results.TextResult;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.format.OutputFormat;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.util.ScoreFormatter;
 
 /**
  * JMH Benchmark runner.
@@ -68,6 +84,8 @@ public class JmhRunner {
 	private final JupiterConfiguration configuration;
 	private final MutableExtensionRegistry extensionRegistry;
 
+	private JmhSupport support;
+
 	public JmhRunner(JupiterConfiguration configuration, MutableExtensionRegistry extensionRegistry) {
 		this.configuration = configuration;
 		this.extensionRegistry = extensionRegistry;
@@ -77,8 +95,7 @@ public class JmhRunner {
 
 		BenchmarkConfiguration jmhOptions = new ConfigurationParameterBenchmarkConfiguration(configuration);
 		JmhSupport support = initJmhSupport(jmhOptions);
-
-		ChainedOptionsBuilder optionsBuilder = support.options();
+		this.support = support;
 
 		List<AbstractBenchmarkDescriptor> methods = collectBenchmarkMethods(testDescriptor);
 		List<AbstractBenchmarkDescriptor> includes = getIncludes(testDescriptor);
@@ -94,34 +111,300 @@ public class JmhRunner {
 			return;
 		}
 
-		includePatterns.forEach(optionsBuilder::include);
+		Set<String> includedPatterns = new HashSet<>(includePatterns);
+		ContainerCompletionTracker containers = ContainerCompletionTracker.create(testDescriptor,
+				it -> it instanceof MethodAware && includedPatterns
+						.contains(ConditionalExecution.getIncludePattern(((MethodAware) it).getMethod())));
+
+		IncrementalResultsCache resultsCache = IncrementalResultsCache.create(jmhOptions);
+		Map<String, CachedBenchmark> cachedBenchmarks = new HashMap<>();
+		List<RunResult> cachedResults = new ArrayList<>();
+
+		if (resultsCache != null) {
+			includePatterns = lookupCachedResults(resultsCache, methods, includePatterns, cachedBenchmarks, cachedResults);
+		}
+
+		List<SampledRun> sampledRuns = new ArrayList<>();
+		includePatterns = collectSampledRuns(methods, includePatterns, sampledRuns);
 
+		AdaptiveMeasurement adaptiveMeasurement = AdaptiveMeasurement.create(jmhOptions);
+		RegressionGate regressionGate = RegressionGate.create(jmhOptions);
 		CacheFunction cache = new CacheFunction(methods);
-		Options runOptions = optionsBuilder.build();
-		NotifyingOutputFormat notifyingOutputFormat = new NotifyingOutputFormat(listener, cache,
-				support.createOutputFormat(runOptions));
+		List<List<String>> partitions = includePatterns.isEmpty() ? Collections.singletonList(includePatterns) : support
+				.partition(includePatterns);
+		List<List<SampledRun>> sampledPartitions = support.partition(sampledRuns);
+		Function<String, BenchmarkOverrides> overrides = resolveOverrides(support, methods);
+		int partitionCount = Math.max(partitions.size(), sampledRuns.isEmpty() ? 0 : sampledPartitions.size());
+		List<Callable<Collection<RunResult>>> runs = new ArrayList<>();
+		OutputFormat output = null;
+		NotifyingOutputFormat notifyingOutputFormat = null;
+
+		for (int i = 0; i < partitionCount; i++) {
+
+			List<String> partition = i < partitions.size() ? partitions.get(i) : Collections.emptyList();
+			List<SampledRun> sampledPartition = i < sampledPartitions.size() ? sampledPartitions
+					.get(i) : Collections.emptyList();
+			List<Options> partitionOptions = new ArrayList<>();
+
+			for (Map.Entry<BenchmarkOverrides, List<String>> group : BenchmarkOverrides.group(partition, overrides)
+					.entrySet()) {
+
+				ChainedOptionsBuilder optionsBuilder = support
+						.cpuSet(support.options(group.getKey()), partitionCount, group.getKey());
+				group.getValue().forEach(optionsBuilder::include);
+				support.jvmFlagSets(optionsBuilder, group.getKey()).forEach(it -> partitionOptions.add(it.build()));
+			}
+
+			for (SampledRun sampledRun : sampledPartition) {
+
+				BenchmarkOverrides sampledOverrides = overrides.apply(sampledRun.getIncludePattern());
+				ChainedOptionsBuilder optionsBuilder = sampledRun
+						.apply(support.cpuSet(support.options(sampledOverrides), partitionCount, sampledOverrides));
+				support.jvmFlagSets(optionsBuilder, sampledOverrides).forEach(it -> partitionOptions.add(it.build()));
+			}
+
+			// partitions share a single output, metrics record each partition as a separate run
+			if (output == null) {
+				output = support.createSharedOutputFormat(partitionOptions.isEmpty() ? support.options()
+						.build() : partitionOptions.get(0));
+			}
+
+			OutputFormat delegate = support.decorate(output);
+			NotifyingOutputFormat outputFormat = new NotifyingOutputFormat(listener, cache, delegate, containers,
+					adaptiveMeasurement, regressionGate, result -> support
+							.publishResult(delegate, result));
+
+			if (notifyingOutputFormat == null) {
+				notifyingOutputFormat = outputFormat;
+			}
+
+			if (!partitionOptions.isEmpty()) {
+				runs.add(() -> runBenchmarks(partitionOptions, outputFormat));
+			}
+		}
 
 		try {
 			listener.executionStarted(testDescriptor);
-			for (TestDescriptor child : testDescriptor.getChildren()) {
-				listener.executionStarted(child);
+
+			replayCachedResults(cachedResults, notifyingOutputFormat);
+
+			Collection<RunResult> runResults = JmhSupport.runConcurrently(runs);
+
+			List<RunResult> results = new ArrayList<>();
+
+			if (adaptiveMeasurement != null) {
+
+				runFollowUps(support, adaptiveMeasurement, cache, partitionCount, notifyingOutputFormat);
+				results.addAll(adaptiveMeasurement.getResults());
+			} else {
+				results.addAll(runResults);
 			}
 
+			if (resultsCache != null) {
+				cacheResults(resultsCache, cachedBenchmarks, results);
+			}
+
+			// reports cover skipped benchmarks through their cached results
+			results.addAll(cachedResults);
+
 			support.publishResults(notifyingOutputFormat, new BenchmarkResults(MetaData
 					.from(jmhOptions
-							.asMap()), runBenchmarks(runOptions, notifyingOutputFormat)));
+							.asMap()), results), cachedResults);
+			containers.finishOpenContainers(it -> listener.executionFinished(it, TestExecutionResult.successful()));
 			listener.executionFinished(testDescriptor, TestExecutionResult.successful());
 		} catch (RuntimeException | RunnerException e) {
 
+			containers.finishOpenContainers(it -> listener.executionFinished(it, TestExecutionResult.failed(e)));
 			listener.executionFinished(testDescriptor, TestExecutionResult.failed(e));
-			for (TestDescriptor child : testDescriptor.getChildren()) {
-				listener.executionFinished(child, TestExecutionResult.failed(e));
+		} finally {
+			support.flushResults();
+		}
+	}
+
+	/**
+	 * Resolve {@link BenchmarkOverrides} by include pattern so that benchmarks declaring different settings run in
+	 * separate {@link org.openjdk.jmh.runner.Runner} invocations.
+	 */
+	private static Function<String, BenchmarkOverrides> resolveOverrides(JmhSupport support,
+			List<AbstractBenchmarkDescriptor> methods) {
+
+		Map<String, BenchmarkOverrides> overrides = new HashMap<>();
+
+		for (AbstractBenchmarkDescriptor descriptor : methods) {
+
+			Method method = ((MethodAware) descriptor).getMethod();
+			overrides.put(ConditionalExecution.getIncludePattern(method), support.overrides(method));
+		}
+
+		return it -> overrides.getOrDefault(it, BenchmarkOverrides.none());
+	}
+
+	/**
+	 * Replace include patterns of benchmarks with sampled fixtures by {@link SampledRun}s that run only the sampled
+	 * parameter combinations.
+	 */
+	private static List<String> collectSampledRuns(List<AbstractBenchmarkDescriptor> methods,
+			List<String> includePatterns, List<SampledRun> sampledRuns) {
+
+		List<String> remaining = new ArrayList<>(includePatterns);
+
+		for (AbstractBenchmarkDescriptor descriptor : methods) {
+
+			if (!(descriptor instanceof ParametrizedBenchmarkMethodDescriptor)
+					|| !((ParametrizedBenchmarkMethodDescriptor) descriptor).getParametrizedMethod().isSampled()) {
+				continue;
+			}
+
+			String includePattern = ConditionalExecution.getIncludePattern(((MethodAware) descriptor).getMethod());
+
+			if (remaining.remove(includePattern)) {
+
+				List<BenchmarkFixture> fixtures = descriptor.getChildren().stream()
+						.filter(BenchmarkFixtureDescriptor.class::isInstance)
+						.map(it -> ((BenchmarkFixtureDescriptor) it).getFixture()).collect(Collectors.toList());
+
+				sampledRuns.addAll(SampledRun.create(includePattern, fixtures));
+			}
+		}
+
+		return remaining;
+	}
+
+	/**
+	 * Remove include patterns of benchmarks with cached results and collect these results. Benchmarks without cached
+	 * results are registered in {@code cachedBenchmarks} to cache their results after the run.
+	 */
+	private List<String> lookupCachedResults(IncrementalResultsCache resultsCache,
+			List<AbstractBenchmarkDescriptor> methods, List<String> includePatterns,
+			Map<String, CachedBenchmark> cachedBenchmarks, List<RunResult> cachedResults) {
+
+		List<String> remaining = new ArrayList<>(includePatterns);
+
+		for (AbstractBenchmarkDescriptor descriptor : methods) {
+
+			Method method = ((MethodAware) descriptor).getMethod();
+			String includePattern = ConditionalExecution.getIncludePattern(method);
+
+			if (!remaining.contains(includePattern)) {
+				continue;
+			}
+
+			String fingerprint = resultsCache.fingerprint(method);
+			Collection<RunResult> cached = resultsCache.get(fingerprint);
+
+			if (cached != null) {
+				remaining.remove(includePattern);
+				cachedResults.addAll(cached);
+			}
+			else {
+				cachedBenchmarks.put(CacheFunction.getBenchmarkName(descriptor), new CachedBenchmark(fingerprint,
+						getExpectedResultCount(descriptor)));
+			}
+		}
+
+		return remaining;
+	}
+
+	private static int getExpectedResultCount(AbstractBenchmarkDescriptor descriptor) {
+
+		int results = 0;
+		for (TestDescriptor child : descriptor.getChildren()) {
+
+			if (child instanceof BenchmarkFixtureDescriptor) {
+				results += Math.max(1, (int) child.getChildren().stream().filter(JvmFlagSetDescriptor.class::isInstance)
+						.count());
+			}
+
+			if (child instanceof JvmFlagSetDescriptor) {
+				results++;
+			}
+		}
+
+		return Math.max(1, results);
+	}
+
+	private static void replayCachedResults(List<RunResult> cachedResults, NotifyingOutputFormat outputFormat) {
+
+		for (RunResult result : cachedResults) {
+
+			outputFormat.println("# Reusing cached result of " + result.getParams().getBenchmark());
+			outputFormat.replay(result);
+		}
+	}
+
+	/**
+	 * Cache results of benchmarks that completed with results for all of their fixtures.
+	 */
+	private static void cacheResults(IncrementalResultsCache resultsCache, Map<String, CachedBenchmark> cachedBenchmarks,
+			Collection<RunResult> runResults) {
+
+		Map<String, List<RunResult>> byBenchmark = runResults.stream()
+				.collect(Collectors.groupingBy(it -> it.getParams().getBenchmark()));
+
+		byBenchmark.forEach((benchmark, results) -> {
+
+			CachedBenchmark cachedBenchmark = cachedBenchmarks.get(benchmark);
+
+			if (cachedBenchmark != null && cachedBenchmark.expectedResults == results.size()) {
+				resultsCache.put(cachedBenchmark.fingerprint, results);
+			}
+		});
+	}
+
+	/**
+	 * Run follow-up measurements until all benchmarks are complete.
+	 */
+	private void runFollowUps(JmhSupport support, AdaptiveMeasurement adaptiveMeasurement, CacheFunction cache,
+			int partitionCount, OutputFormat outputFormat) throws RunnerException {
+
+		List<FollowUpRun> followUpRuns;
+
+		while (!(followUpRuns = adaptiveMeasurement.getFollowUpRuns()).isEmpty()) {
+
+			for (FollowUpRun followUpRun : followUpRuns) {
+
+				outputFormat.println(String.format("# Score error of %s exceeds target, measuring %d additional iterations",
+						followUpRun.getParams().getBenchmark(), followUpRun.getIterations()));
+
+				Options options = followUpOptions(support, followUpRun, cache, partitionCount).build();
+
+				if (runBenchmarks(options, outputFormat).isEmpty()) {
+					adaptiveMeasurement.complete(followUpRun);
+				}
 			}
 		}
 	}
 
+	/**
+	 * Create options for a {@link FollowUpRun} the same way as for the initial run of the benchmark so that the forked
+	 * JVMs use the same settings, JVM arguments and JVM flag set.
+	 */
+	private static ChainedOptionsBuilder followUpOptions(JmhSupport support, FollowUpRun followUpRun,
+			CacheFunction cache, int partitionCount) {
+
+		BenchmarkParams params = followUpRun.getParams();
+		Method method = ((MethodAware) cache.getBenchmarkDescriptor(params)).getMethod();
+		BenchmarkOverrides overrides = support.overrides(method);
+
+		ChainedOptionsBuilder optionsBuilder = followUpRun
+				.apply(support.cpuSet(support.options(overrides), partitionCount, overrides));
+
+		return support.jvmFlagSet(optionsBuilder, overrides, params);
+	}
+
+	private Collection<RunResult> runBenchmarks(List<Options> options, OutputFormat outputFormat) throws RunnerException {
+
+		List<RunResult> results = new ArrayList<>();
+
+		for (Options runOptions : options) {
+			results.addAll(runBenchmarks(runOptions, outputFormat));
+		}
+
+		return results;
+	}
+
 	protected Collection<RunResult> runBenchmarks(Options options, OutputFormat outputFormat) throws RunnerException {
-		return new Runner(options, outputFormat).run();
+		return support.run(options, outputFormat);
 	}
 
 	protected JmhSupport initJmhSupport(BenchmarkConfiguration parameters) {
@@ -266,10 +549,27 @@ public class JmhRunner {
 
 		public void includeIfEnabled(List<String> includePatterns) {
 			if (!skipResult.isSkipped()) {
-				Method method = methodAware.getMethod();
-				includePatterns.add(Pattern.quote(method.getDeclaringClass().getName().replace('$', '.')) + "\\." + Pattern.quote(method.getName()) + "$");
+				includePatterns.add(getIncludePattern(methodAware.getMethod()));
 			}
 		}
+
+		static String getIncludePattern(Method method) {
+			return Pattern.quote(method.getDeclaringClass().getName().replace('$', '.')) + "\\." + Pattern.quote(method.getName()) + "$";
+		}
+	}
+
+	/**
+	 * Fingerprint and expected number of results of a benchmark method to cache results for.
+	 */
+	static class CachedBenchmark {
+
+		private final String fingerprint;
+		private final int expectedResults;
+
+		CachedBenchmark(String fingerprint, int expectedResults) {
+			this.fingerprint = fingerprint;
+			this.expectedResults = expectedResults;
+		}
 	}
 
 	/**
@@ -282,15 +582,53 @@ public class JmhRunner {
 		private final CacheFunction descriptionResolver;
 		private final OutputFormat delegate;
 		private final List<String> log = new CopyOnWriteArrayList<>();
-		private final Map<TestDescriptor, AtomicInteger> expectedContainerCount = new ConcurrentHashMap<>();
+		private final ContainerCompletionTracker containers;
+		private final AdaptiveMeasurement adaptiveMeasurement;
+		private final RegressionGate regressionGate;
+		private final Consumer<RunResult> resultConsumer;
 
 		private volatile BenchmarkParams lastKnownBenchmark;
 		private volatile boolean recordOutput;
+		private volatile boolean replaying;
 
-		NotifyingOutputFormat(EngineExecutionListener listener, CacheFunction methods, OutputFormat delegate) {
+		/**
+		 * Create a new {@link NotifyingOutputFormat}. {@link ContainerCompletionTracker} is shared across instances that
+		 * report benchmarks of the same descriptor tree concurrently. Benchmarks that require additional iterations according to
+		 * {@link AdaptiveMeasurement} (may be {@literal null}) are reported as finished once they complete. Completed
+		 * benchmarks that regressed according to {@link RegressionGate} (may be {@literal null}) are reported as failed.
+		 * Results of completed benchmarks are passed on to {@code resultConsumer}.
+		 */
+		NotifyingOutputFormat(EngineExecutionListener listener, CacheFunction methods, OutputFormat delegate,
+				ContainerCompletionTracker containers, AdaptiveMeasurement adaptiveMeasurement,
+				RegressionGate regressionGate, Consumer<RunResult> resultConsumer) {
 			this.listener = listener;
 			this.descriptionResolver = methods;
 			this.delegate = delegate;
+			this.containers = containers;
+			this.adaptiveMeasurement = adaptiveMeasurement;
+			this.regressionGate = regressionGate;
+			this.resultConsumer = resultConsumer;
+		}
+
+		/**
+		 * Report a cached {@link RunResult} as if its benchmark ran. Cached results are final, they are not recorded by
+		 * {@link AdaptiveMeasurement} and therefore never schedule follow-up runs. Cached results are not passed on to
+		 * {@code resultConsumer} as incremental writers received them when they were measured, they are published with
+		 * the results of the whole run instead.
+		 *
+		 * @param result the cached result.
+		 */
+		void replay(RunResult result) {
+
+			replaying = true;
+
+			try {
+				startBenchmark(result.getParams());
+				endBenchmark(result.getAggregatedResult());
+			}
+			finally {
+				replaying = false;
+			}
 		}
 
 		@Override
@@ -312,8 +650,13 @@ public class JmhRunner {
 			lastKnownBenchmark = benchParams;
 
 			TestDescriptor descriptor = descriptionResolver.apply(benchParams);
+			AdaptiveMeasurement adaptiveMeasurement = replaying ? null : this.adaptiveMeasurement;
 
-			listener.executionStarted(descriptor);
+			if (containers.isTracked(descriptor) && (adaptiveMeasurement == null || !adaptiveMeasurement
+					.contains(benchParams))) {
+				containers.started(descriptor, listener::executionStarted);
+				listener.executionStarted(descriptor);
+			}
 
 			delegate.startBenchmark(benchParams);
 		}
@@ -322,49 +665,80 @@ public class JmhRunner {
 		public void endBenchmark(BenchmarkResult result) {
 
 			recordOutput = false;
+			AdaptiveMeasurement adaptiveMeasurement = replaying ? null : this.adaptiveMeasurement;
+
+			if (result != null && adaptiveMeasurement != null && !adaptiveMeasurement.record(result)) {
+
+				log.clear();
+				delegate.endBenchmark(result);
+				return;
+			}
 
 			BenchmarkParams lastKnownBenchmark = this.lastKnownBenchmark;
-			TestExecutionResult executionResult = getResult(result, lastKnownBenchmark);
+			RunResult runResult = result == null ? null : adaptiveMeasurement != null ? adaptiveMeasurement
+					.getResult(result.getParams()) : new RunResult(result.getParams(), Collections.singleton(result));
+			TestExecutionResult executionResult = getResult(runResult, lastKnownBenchmark);
 			TestDescriptor descriptor = getDescriptor(result, lastKnownBenchmark);
 
-			listener.executionFinished(descriptor, executionResult);
+			if (containers.isTracked(descriptor)) {
 
-			notifyFinishedRecursively(descriptor, it -> listener.executionFinished(it, executionResult));
+				if (runResult != null) {
 
-			log.clear();
-			delegate.endBenchmark(result);
-		}
+					listener.reportingEntryPublished(descriptor, getReportEntry(runResult));
 
-		private void notifyFinishedRecursively(TestDescriptor descriptor, Consumer<TestDescriptor> visitor) {
+					for (JfrSummary summary : JfrSummary.summarize(runResult)) {
+						delegate.println(summary.toString());
+						listener.reportingEntryPublished(descriptor, ReportEntry.from(summary.toMap()));
+					}
+				}
 
-			Optional<TestDescriptor> parent = descriptor.getParent();
+				listener.executionFinished(descriptor, executionResult);
+				containers.finished(descriptor, it -> listener.executionFinished(it, TestExecutionResult.successful()));
+			}
 
-			while (parent.isPresent()) {
+			if (runResult != null && !replaying) {
+				resultConsumer.accept(runResult);
+			}
 
-				TestDescriptor actualParent = parent.get();
-				AtomicInteger integer = expectedContainerCount.computeIfAbsent(actualParent, it -> {
+			log.clear();
+			delegate.endBenchmark(result);
+		}
 
-					AtomicInteger childCount = new AtomicInteger(0);
+		/**
+		 * Create a {@link ReportEntry} containing the primary score and secondary results (profiler metrics such as
+		 * {@code ·gc.alloc.rate.norm}) of a benchmark.
+		 */
+		static ReportEntry getReportEntry(RunResult result) {
 
-					it.accept(item -> {
-						if (item instanceof BenchmarkMethodDescriptor || item instanceof BenchmarkFixtureDescriptor) {
-							childCount.incrementAndGet();
-						}
-					});
-					return childCount;
-				});
+			Map<String, String> values = new LinkedHashMap<>();
+			values.put("score", format(result.getPrimaryResult()));
 
-				if (integer.decrementAndGet() == 0) {
-					visitor.accept(actualParent);
-				}
+			for (Map.Entry<String, Result> entry : result.getSecondaryResults().entrySet()) {
 
-				parent = actualParent.getParent();
+				// textual results such as profiler output do not have a score
+				if (!(entry.getValue() instanceof TextResult)) {
+					values.put(entry.getKey(), format(entry.getValue()));
+				}
 			}
+
+			return ReportEntry.from(values);
 		}
 
-		private TestExecutionResult getResult(BenchmarkResult result, BenchmarkParams lastKnownBenchmark) {
+		private static String format(Result<?> result) {
+			return ScoreFormatter.format(result.getScore()) + " " + result.getScoreUnit();
+		}
+
+		private TestExecutionResult getResult(RunResult result, BenchmarkParams lastKnownBenchmark) {
 
 			if (result != null) {
+
+				String regression = regressionGate != null ? regressionGate.check(result) : null;
+
+				if (regression != null) {
+					delegate.println("# Regression: " + regression);
+					return TestExecutionResult.failed(new AssertionError(regression));
+				}
+
 				return TestExecutionResult.successful();
 			}
 
@@ -463,15 +837,22 @@ public class JmhRunner {
 	}
 
 	/**
-	 * Cache {@link Function} for benchmark names to {@link TestDescriptor}.
+	 * Cache {@link Function} for benchmark names to {@link TestDescriptor}. Benchmark methods are indexed upfront by
+	 * benchmark name. Fixtures are resolved through their {@link jmh.mbr.core.model.ParametrizedBenchmarkMethod} by
+	 * parameter values. Fixture and {@link JvmFlagSetDescriptor JVM flag set} descriptors are indexed on first use
+	 * only.
 	 */
 	static class CacheFunction implements Function<BenchmarkParams, TestDescriptor> {
 
-		private final Map<String, TestDescriptor> methodMap = new ConcurrentHashMap<>();
-		private final Collection<? extends TestDescriptor> methods;
+		private final Map<String, TestDescriptor> methodMap = new HashMap<>();
+		private final Map<TestDescriptor, Map<String, TestDescriptor>> fixtureMap = new ConcurrentHashMap<>();
+		private final Map<TestDescriptor, Map<JvmFlagSet, TestDescriptor>> flagSetMap = new ConcurrentHashMap<>();
 
 		CacheFunction(Collection<? extends TestDescriptor> methods) {
-			this.methods = methods;
+
+			for (TestDescriptor method : methods) {
+				methodMap.putIfAbsent(getBenchmarkName(method), method);
+			}
 		}
 
 		/**
@@ -487,39 +868,78 @@ public class JmhRunner {
 
 			if (descriptor instanceof ParametrizedBenchmarkMethodDescriptor) {
 
-				ParametrizedBenchmarkMethodDescriptor parametrized = (ParametrizedBenchmarkMethodDescriptor) descriptor;
-				Map<String, String> lookup = new HashMap<>();
+				Map<String, String> params = new HashMap<>();
 				for (String key : benchmark.getParamsKeys()) {
-					lookup.put(key, benchmark.getParam(key));
+					params.put(key, benchmark.getParam(key));
 				}
 
-				for (TestDescriptor child : parametrized.getChildren()) {
+				TestDescriptor fixture = ((ParametrizedBenchmarkMethodDescriptor) descriptor).getParametrizedMethod()
+						.getFixture(params).map(it -> getFixtureDescriptors(descriptor).get(it.getDisplayName()))
+						.orElse(null);
 
+				if (fixture != null) {
+					return getFlagSetDescriptor(fixture, benchmark);
+				}
+			}
+
+			return getFlagSetDescriptor(descriptor, benchmark);
+		}
+
+		/**
+		 * Index fixture descriptors of a method by display name. Display names identify fixtures of a method as they
+		 * are part of the {@link org.junit.platform.engine.UniqueId}.
+		 */
+		private Map<String, TestDescriptor> getFixtureDescriptors(TestDescriptor method) {
+
+			return fixtureMap.computeIfAbsent(method, it -> {
+
+				Map<String, TestDescriptor> fixtures = new HashMap<>();
+				for (TestDescriptor child : it.getChildren()) {
 					if (child instanceof BenchmarkFixtureDescriptor) {
-						BenchmarkFixtureDescriptor fixture = (BenchmarkFixtureDescriptor) child;
+						fixtures.put(child.getDisplayName(), child);
+					}
+				}
+				return fixtures;
+			});
+		}
 
-						if (fixture.getFixture().getFixture().equals(lookup)) {
-							return fixture;
-						}
+		/**
+		 * Resolve the {@link JvmFlagSetDescriptor} matching the JVM arguments of the benchmark if {@code descriptor} is
+		 * expanded into JVM flag sets.
+		 */
+		private TestDescriptor getFlagSetDescriptor(TestDescriptor descriptor, BenchmarkParams benchmark) {
+
+			Map<JvmFlagSet, TestDescriptor> flagSets = flagSetMap.computeIfAbsent(descriptor, it -> {
+
+				Map<JvmFlagSet, TestDescriptor> children = new LinkedHashMap<>();
+				for (TestDescriptor child : it.getChildren()) {
+					if (child instanceof JvmFlagSetDescriptor) {
+						children.put(((JvmFlagSetDescriptor) child).getFlagSet(), child);
 					}
 				}
+				return children;
+			});
+
+			if (flagSets.isEmpty()) {
+				return descriptor;
 			}
 
-			return descriptor;
+			return JvmFlagSet.find(flagSets.keySet(), benchmark).map(flagSets::get).orElse(descriptor);
 		}
 
 		TestDescriptor getBenchmarkDescriptor(BenchmarkParams benchmark) {
 
-			return methodMap.computeIfAbsent(benchmark.getBenchmark(), key -> {
+			TestDescriptor descriptor = methodMap.get(benchmark.getBenchmark());
 
-				Optional<? extends TestDescriptor> method = methods.stream().filter(it -> getBenchmarkName(it).equals(key)).findFirst();
+			if (descriptor == null) {
+				throw new IllegalArgumentException(
+						String.format("Cannot resolve %s to a BenchmarkDescriptor!", benchmark.getBenchmark()));
+			}
 
-				return method.orElseThrow(() -> new IllegalArgumentException(
-						String.format("Cannot resolve %s to a BenchmarkDescriptor!", benchmark.getBenchmark())));
-			});
+			return descriptor;
 		}
 
-		private String getBenchmarkName(TestDescriptor descriptor) {
+		static String getBenchmarkName(TestDescriptor descriptor) {
 
 			MethodAware methodAware = (MethodAware) descriptor;
 			return methodAware.getMethod().getDeclaringClass().getName().replace('$', '.') + "." + methodAware.getMethod().getName();
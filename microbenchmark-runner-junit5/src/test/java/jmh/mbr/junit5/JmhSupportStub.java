@@ -16,11 +16,13 @@
 package jmh.mbr.junit5;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import jmh.mbr.core.BenchmarkConfiguration;
 import jmh.mbr.core.JmhSupport;
 import jmh.mbr.core.model.BenchmarkResults;
+import org.openjdk.jmh.results.RunResult;
 import org.openjdk.jmh.runner.format.OutputFormat;
 
 /**
@@ -38,10 +40,10 @@ public class JmhSupportStub extends JmhSupport {
 	}
 
 	@Override
-	public void publishResults(OutputFormat output, BenchmarkResults results) {
+	public void publishResults(OutputFormat output, BenchmarkResults results, Collection<RunResult> replayedResults) {
 
 		this.resultsList.add(results);
-		super.publishResults(output, results);
+		super.publishResults(output, results, replayedResults);
 	}
 
 	public BenchmarkResults getBenchmarkResults() {
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.discovery;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jmh.mbr.junit5.ParametrizedBenchmark;
+import jmh.mbr.junit5.PartiallyParametrizedBenchmark;
+import jmh.mbr.junit5.discovery.predicates.IsBenchmarkClassUnitTests;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.commons.support.scanning.ClassFilter;
+
+/**
+ * Unit tests for {@link BenchmarkIndex}.
+ */
+class BenchmarkIndexUnitTests {
+
+	@TempDir
+	Path root;
+
+	Path userClass;
+	Path generatedClass;
+
+	@BeforeEach
+	void setUp() throws IOException {
+
+		Files.createDirectories(root.resolve("META-INF"));
+		try (InputStream stream = getClass().getResourceAsStream("/META-INF/BenchmarkList")) {
+			Files.copy(stream, root.resolve("META-INF/BenchmarkList"));
+		}
+
+		userClass = Files.createDirectories(root.resolve("foo")).resolve("Bar.class");
+		generatedClass = Files.createDirectories(root.resolve("foo/jmh_generated")).resolve("Bar_jmhTest.class");
+		Files.createFile(userClass);
+		Files.createFile(generatedClass);
+
+		Files.setLastModifiedTime(userClass, FileTime.fromMillis(1000));
+		Files.setLastModifiedTime(generatedClass, FileTime.fromMillis(2000));
+	}
+
+	@Test
+	void shouldReadIndex() {
+
+		Optional<BenchmarkIndex> index = BenchmarkIndex.forClasspathRoot(root.toUri());
+
+		assertThat(index).isPresent();
+		assertThat(index.get().getClassNames()).contains(ParametrizedBenchmark.class.getName(),
+				PartiallyParametrizedBenchmark.class.getName()).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void shouldConsiderIndexStaleIfClassesWereCompiledAfterGeneratedClasses() throws IOException {
+
+		Files.setLastModifiedTime(userClass, FileTime.fromMillis(3000));
+
+		assertThat(BenchmarkIndex.forClasspathRoot(root.toUri())).isEmpty();
+	}
+
+	@Test
+	void shouldLoadNestedClasses() {
+
+		Optional<List<Class<?>>> classes = BenchmarkIndex.forClasspathRoot(root.toUri())
+				.flatMap(it -> it.loadClasses(ClassFilter.of(
+						it1 -> it1.equals(IsBenchmarkClassUnitTests.WithBenchmark.class))));
+
+		assertThat(classes).hasValueSatisfying(
+				it -> assertThat(it).containsExactly(IsBenchmarkClassUnitTests.WithBenchmark.class));
+	}
+
+	@Test
+	void shouldReadIndexForPackage() {
+
+		Optional<BenchmarkIndex> index = BenchmarkIndex.forPackage("jmh.mbr.junit5.discovery",
+				getClass().getClassLoader());
+
+		assertThat(index).hasValueSatisfying(it -> assertThat(it.getClassNames()).isNotEmpty()
+				.allMatch(className -> className.startsWith("jmh.mbr.junit5.discovery.")));
+	}
+}
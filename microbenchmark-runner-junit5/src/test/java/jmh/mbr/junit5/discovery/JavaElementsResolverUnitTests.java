@@ -9,9 +9,13 @@
  */
 package jmh.mbr.junit5.discovery;
 
+import jmh.mbr.core.model.JvmFlagSet;
+import jmh.mbr.core.model.ParameterSampling;
 import jmh.mbr.junit5.PartiallyParametrizedBenchmark;
 import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.JvmFlagSetDescriptor;
 import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
 
 import static org.assertj.core.api.Assertions.*;
@@ -57,6 +61,26 @@ class JavaElementsResolverUnitTests {
 		assertParametrizedMethod(classDescriptor);
 	}
 
+	@Test
+	void shouldResolveClassesInParallel() {
+
+		JavaElementsResolver resolver = new JavaElementsResolver(ENGINE,
+				ClassFilter.of(it -> it.getPackage().equals(PartiallyParametrizedBenchmark.class.getPackage())),
+				ElementResolvers.getResolvers(), true);
+
+		resolver.resolveClass(DiscoverySelectors.selectClass(PartiallyParametrizedBenchmark.class));
+		resolver
+				.resolvePackage(DiscoverySelectors.selectPackage(PartiallyParametrizedBenchmark.class.getPackage().getName()));
+
+		assertThat(ENGINE.getChildren()).hasSize(2).allMatch(BenchmarkClassDescriptor.class::isInstance);
+
+		TestDescriptor classDescriptor = ENGINE.getChildren().stream()
+				.filter(it -> it.getDisplayName().equals(PartiallyParametrizedBenchmark.class.getName())).findFirst().get();
+
+		assertThat(classDescriptor.getChildren()).hasSize(2);
+		assertParametrizedMethod(classDescriptor);
+	}
+
 	@Test
 	void shouldResolveClassByClassSelector() {
 
@@ -119,6 +143,49 @@ class JavaElementsResolverUnitTests {
 		assertThat(parametrizedDescriptor.getChildren()).hasSize(1);
 	}
 
+	@Test
+	void shouldResolveJvmFlagSets() {
+
+		JavaElementsResolver resolver = new JavaElementsResolver(ENGINE, FILTER, ElementResolvers
+				.getResolvers(ParameterSampling.exhaustive(), JvmFlagSet.parse("-XX:+UseSerialGC | -XX:+UseParallelGC -Xmx1g")));
+
+		resolver.resolveClass(DiscoverySelectors.selectClass(PartiallyParametrizedBenchmark.class));
+
+		TestDescriptor classDescriptor = ENGINE.getChildren().iterator().next();
+		TestDescriptor methodDescriptor = classDescriptor.getChildren().stream()
+				.filter(BenchmarkMethodDescriptor.class::isInstance).findFirst().get();
+
+		assertThat(methodDescriptor.getType()).isEqualTo(TestDescriptor.Type.CONTAINER);
+		assertThat(methodDescriptor.getChildren()).hasSize(2).hasOnlyElementsOfType(JvmFlagSetDescriptor.class)
+				.extracting(TestDescriptor::getDisplayName)
+				.containsOnly("[-XX:+UseSerialGC]", "[-XX:+UseParallelGC -Xmx1g]");
+
+		TestDescriptor parametrizedDescriptor = classDescriptor.getChildren().stream()
+				.filter(ParametrizedBenchmarkMethodDescriptor.class::isInstance).findFirst().get();
+
+		assertThat(parametrizedDescriptor.getChildren()).hasSize(2).allSatisfy(it -> {
+			assertThat(it).isInstanceOf(BenchmarkFixtureDescriptor.class);
+			assertThat(it.getChildren()).hasSize(2).hasOnlyElementsOfType(JvmFlagSetDescriptor.class);
+		});
+	}
+
+	@Test
+	void shouldResolveJvmFlagSetByUniqueIdSelector() {
+
+		JavaElementsResolver resolver = new JavaElementsResolver(ENGINE, FILTER, ElementResolvers
+				.getResolvers(ParameterSampling.exhaustive(), JvmFlagSet.parse("-XX:+UseSerialGC | -XX:+UseParallelGC")));
+
+		resolver.resolveUniqueId(DiscoverySelectors.selectUniqueId(UniqueId.forEngine("microbenchmark-engine")
+				.append("class", PartiallyParametrizedBenchmark.class.getName()).append("method", "foo()")
+				.append("jvmFlags", "-XX:+UseParallelGC")));
+
+		TestDescriptor classDescriptor = ENGINE.getChildren().iterator().next();
+		TestDescriptor methodDescriptor = classDescriptor.getChildren().iterator().next();
+
+		assertThat(methodDescriptor.getChildren()).extracting(TestDescriptor::getDisplayName)
+				.containsExactly("[-XX:+UseParallelGC]");
+	}
+
 	private void assertBenchmarkClass(TestDescriptor classDescriptor) {
 		assertThat(classDescriptor).isInstanceOf(BenchmarkClassDescriptor.class);
 		assertThat(classDescriptor.getSource()).isNotEmpty();
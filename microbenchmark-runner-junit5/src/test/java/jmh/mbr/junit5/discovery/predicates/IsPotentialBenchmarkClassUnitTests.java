@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.discovery.predicates;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Unit tests for {@link IsPotentialBenchmarkClass}.
+ */
+public class IsPotentialBenchmarkClassUnitTests {
+
+	IsPotentialBenchmarkClass predicate = new IsPotentialBenchmarkClass(getClass().getClassLoader());
+
+	@Test
+	void shouldConsiderClassReferencingBenchmark() {
+
+		assertThat(predicate).accepts(WithBenchmark.class.getName());
+		assertThat(predicate).rejects(NoBenchmark.class.getName(), String.class.getName());
+	}
+
+	@Test
+	void shouldConsiderSubclassOfBenchmarkClass() {
+		assertThat(predicate).accepts(InheritedBenchmark.class.getName());
+	}
+
+	@Test
+	void shouldConsiderUnreadableClass() {
+		assertThat(predicate).accepts("jmh.mbr.junit5.DoesNotExist");
+	}
+
+	static class NoBenchmark {}
+
+	public static class WithBenchmark {
+
+		@Benchmark
+		public void benchmarkMethod() {
+
+		}
+	}
+
+	public static class InheritedBenchmark extends WithBenchmark {}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 the original author or authors.
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License v2.0 which
+ * accompanies this distribution and is available at
+ *
+ * http://www.eclipse.org/legal/epl-v20.html
+ */
+package jmh.mbr.junit5.execution;
+
+import static org.assertj.core.api.Assertions.*;
+
+import jmh.mbr.core.model.BenchmarkClass;
+import jmh.mbr.core.model.BenchmarkDescriptor;
+import jmh.mbr.core.model.BenchmarkDescriptorFactory;
+import jmh.mbr.core.model.BenchmarkFixture;
+import jmh.mbr.core.model.BenchmarkMethod;
+import jmh.mbr.core.model.MethodAware;
+import jmh.mbr.core.model.ParametrizedBenchmarkMethod;
+import jmh.mbr.junit5.PartiallyParametrizedBenchmark;
+import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.EngineDescriptor;
+
+/**
+ * Unit tests for {@link ContainerCompletionTracker}.
+ */
+class ContainerCompletionTrackerUnitTests {
+
+	EngineDescriptor engine = new EngineDescriptor(UniqueId.forEngine("engine"), "engine");
+	BenchmarkClassDescriptor classDescriptor = createDescriptor(engine);
+
+	List<TestDescriptor> started = new ArrayList<>();
+	List<TestDescriptor> finished = new ArrayList<>();
+
+	@Test
+	void shouldStartAndFinishContainersOnce() {
+
+		ContainerCompletionTracker tracker = ContainerCompletionTracker.create(engine, it -> true);
+
+		List<TestDescriptor> leaves = getLeaves();
+		assertThat(leaves).hasSize(3).allMatch(tracker::isTracked);
+
+		for (TestDescriptor leaf : leaves) {
+			tracker.started(leaf, started::add);
+		}
+
+		assertThat(started).startsWith(classDescriptor).doesNotHaveDuplicates().hasSize(2);
+
+		tracker.finished(leaves.get(0), finished::add);
+		tracker.finished(leaves.get(1), finished::add);
+		assertThat(tracker.finished(leaves.get(1), finished::add)).isFalse();
+
+		TestDescriptor parametrized = leaves.get(2).getParent().get();
+		assertThat(finished).doesNotContain(classDescriptor);
+
+		tracker.finished(leaves.get(2), finished::add);
+
+		assertThat(finished).contains(parametrized, classDescriptor).doesNotContain(engine);
+		assertThat(finished.indexOf(classDescriptor)).isGreaterThan(finished.indexOf(parametrized));
+	}
+
+	@Test
+	void shouldNotCountExcludedBenchmarks() {
+
+		ContainerCompletionTracker tracker = ContainerCompletionTracker.create(engine,
+				it -> it instanceof MethodAware && ((MethodAware) it).getMethod().getName().equals("foo"));
+
+		TestDescriptor foo = classDescriptor.getChildren().stream().filter(BenchmarkMethodDescriptor.class::isInstance)
+				.findFirst().get();
+
+		tracker.started(foo, started::add);
+		tracker.finished(foo, finished::add);
+
+		assertThat(started).containsOnly(classDescriptor);
+		assertThat(finished).containsOnly(classDescriptor);
+	}
+
+	@Test
+	void shouldFinishOpenContainers() {
+
+		ContainerCompletionTracker tracker = ContainerCompletionTracker.create(engine, it -> true);
+
+		List<TestDescriptor> leaves = getLeaves();
+		tracker.started(leaves.get(2), started::add);
+
+		tracker.finishOpenContainers(finished::add);
+
+		assertThat(finished).containsExactly(leaves.get(2).getParent().get(), classDescriptor);
+	}
+
+	private List<TestDescriptor> getLeaves() {
+
+		List<TestDescriptor> leaves = new ArrayList<>();
+		engine.accept(it -> {
+			if (it instanceof BenchmarkMethodDescriptor || it instanceof BenchmarkFixtureDescriptor) {
+				leaves.add(it);
+			}
+		});
+
+		return leaves.stream().sorted((a, b) -> Boolean.compare(a instanceof BenchmarkFixtureDescriptor,
+				b instanceof BenchmarkFixtureDescriptor)).collect(Collectors.toList());
+	}
+
+	private static BenchmarkClassDescriptor createDescriptor(TestDescriptor engine) {
+
+		BenchmarkClass benchmarkClass = BenchmarkDescriptorFactory.create(PartiallyParametrizedBenchmark.class)
+				.createDescriptor();
+
+		BenchmarkClassDescriptor descriptor = new BenchmarkClassDescriptor(engine.getUniqueId()
+				.append("class", PartiallyParametrizedBenchmark.class.getName()), benchmarkClass);
+		engine.addChild(descriptor);
+
+		for (BenchmarkDescriptor child : benchmarkClass.getChildren()) {
+
+			if (child instanceof BenchmarkMethod) {
+				BenchmarkMethod method = (BenchmarkMethod) child;
+				descriptor.addChild(new BenchmarkMethodDescriptor(descriptor.getUniqueId()
+						.append("method", method.getName()), method));
+			}
+
+			if (child instanceof ParametrizedBenchmarkMethod) {
+
+				ParametrizedBenchmarkMethod method = (ParametrizedBenchmarkMethod) child;
+				ParametrizedBenchmarkMethodDescriptor methodDescriptor = new ParametrizedBenchmarkMethodDescriptor(
+						descriptor.getUniqueId().append("method", method.getMethod().getName()), method);
+				descriptor.addChild(methodDescriptor);
+
+				for (BenchmarkFixture fixture : method.getChildren()) {
+					methodDescriptor.addChild(new BenchmarkFixtureDescriptor(methodDescriptor.getUniqueId()
+							.append("fixture", fixture.getDisplayName()), method.getDescriptor(), fixture));
+				}
+			}
+		}
+
+		return descriptor;
+	}
+}
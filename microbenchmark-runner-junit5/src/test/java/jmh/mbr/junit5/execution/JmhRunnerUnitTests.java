@@ -9,28 +9,47 @@
  */
 package jmh.mbr.junit5.execution;
 
+import jmh.mbr.core.AdaptiveMeasurement;
+import jmh.mbr.core.BenchmarkConfiguration;
+import jmh.mbr.core.JmhSupport;
 import jmh.mbr.core.model.BenchmarkClass;
 import jmh.mbr.core.model.BenchmarkDescriptor;
 import jmh.mbr.core.model.BenchmarkDescriptorFactory;
+import jmh.mbr.core.model.BenchmarkFixture;
 import jmh.mbr.core.model.BenchmarkMethod;
 import jmh.mbr.core.model.BenchmarkResults;
+import jmh.mbr.core.model.JvmFlagSet;
+import jmh.mbr.core.model.ParametrizedBenchmarkMethod;
 import jmh.mbr.junit5.JmhRunnerStub;
+import jmh.mbr.junit5.PartiallyParametrizedBenchmark;
 import jmh.mbr.junit5.descriptor.AbstractBenchmarkDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkClassDescriptor;
+import jmh.mbr.junit5.descriptor.BenchmarkFixtureDescriptor;
 import jmh.mbr.junit5.descriptor.BenchmarkMethodDescriptor;
+import jmh.mbr.junit5.descriptor.JvmFlagSetDescriptor;
+import jmh.mbr.junit5.descriptor.ParametrizedBenchmarkMethodDescriptor;
+import jmh.mbr.junit5.execution.JmhRunner.CacheFunction;
+import jmh.mbr.junit5.execution.JmhRunner.NotifyingOutputFormat;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
+import static jmh.mbr.core.BenchmarkParamsGenerator.*;
 import static org.assertj.core.api.Assertions.*;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -45,6 +64,21 @@ import org.junit.platform.engine.UniqueId;
 import org.junit.platform.engine.reporting.OutputDirectoryProvider;
 import org.junit.platform.engine.reporting.ReportEntry;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.ResultRole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.results.ThroughputResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.format.OutputFormatFactory;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
 
 /**
  * Unit tests for {@link JmhRunner}.
@@ -139,6 +173,111 @@ public class JmhRunnerUnitTests {
 		assertThat(results.getMetaData().getProject()).isEqualTo("my beloved one!");
 	}
 
+	@Test
+	void shouldReportScoreAndProfilerMetrics() {
+
+		BenchmarkParams params = params("benchmark");
+
+		IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+		iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "benchmark", 1000, 1000 * 1000, TimeUnit.MILLISECONDS));
+		iteration.addResult(new ScalarResult("·gc.alloc.rate.norm", 24, "B/op", AggregationPolicy.AVG));
+
+		RunResult result = new RunResult(params, Collections
+				.singleton(new BenchmarkResult(params, Collections.singletonList(iteration))));
+
+		Map<String, String> entry = JmhRunner.NotifyingOutputFormat.getReportEntry(result).getKeyValuePairs();
+
+		assertThat(entry).containsOnlyKeys("score", "·gc.alloc.rate.norm");
+		assertThat(entry.get("score")).endsWith(" ops/ms");
+		assertThat(entry.get("·gc.alloc.rate.norm")).startsWith("24").endsWith(" B/op");
+	}
+
+	@Test
+	void shouldRunPartitionsAfterSerialRun() throws Exception {
+
+		Options options = new OptionsBuilder()
+				.include(Pattern.quote(PartiallyParametrizedBenchmark.class.getName()) + "\\.foo$").forks(0)
+				.warmupIterations(0).measurementIterations(1).measurementTime(TimeValue.milliseconds(10))
+				.verbosity(VerboseMode.SILENT).build();
+
+		Callable<Collection<RunResult>> run = () -> new Runner(options).run();
+
+		assertThat(run.call()).hasSize(1);
+		assertThat(JmhSupport.runConcurrently(Arrays.asList(run, run))).hasSize(2);
+	}
+
+	@Test
+	void shouldNotMeasureOrPublishReplayedResults() {
+
+		System.setProperty("jmh.mbr.adaptive.targetError", "0.01");
+
+		try {
+			AdaptiveMeasurement adaptiveMeasurement = AdaptiveMeasurement.create(BenchmarkConfiguration.defaultOptions());
+			List<RunResult> published = new ArrayList<>();
+
+			BenchmarkClassDescriptor descriptor = createDescriptor(SimpleBenchmarkClass.class);
+			NotifyingOutputFormat output = new NotifyingOutputFormat(EmptyEngineExecutionListener.INSTANCE,
+					new CacheFunction(descriptor.getChildren()), OutputFormatFactory.createFormatInstance(
+							new PrintStream(new ByteArrayOutputStream()), VerboseMode.SILENT),
+					ContainerCompletionTracker.create(descriptor, it -> false), adaptiveMeasurement, null,
+					published::add);
+
+			BenchmarkParams params = params(CacheFunction.getBenchmarkName(descriptor.getChildren().iterator().next()));
+			IterationResult iteration = new IterationResult(params, params.getMeasurement(), null);
+			iteration.addResult(new ThroughputResult(ResultRole.PRIMARY, "benchmark", 1000, 1000 * 1000, TimeUnit.MILLISECONDS));
+
+			output.replay(new RunResult(params, Collections
+					.singleton(new BenchmarkResult(params, Collections.singletonList(iteration)))));
+
+			assertThat(published).isEmpty();
+			assertThat(adaptiveMeasurement.contains(params)).isFalse();
+			assertThat(adaptiveMeasurement.getFollowUpRuns()).isEmpty();
+		} finally {
+			System.clearProperty("jmh.mbr.adaptive.targetError");
+		}
+	}
+
+	@Test
+	void shouldResolveFixtureByParameterValues() {
+
+		BenchmarkClassDescriptor descriptor = createDescriptor(PartiallyParametrizedBenchmark.class);
+		CacheFunction cache = new CacheFunction(descriptor.getChildren());
+
+		WorkloadParams workloadParams = new WorkloadParams();
+		workloadParams.put("foo", "b", 0);
+
+		TestDescriptor fixture = cache.apply(params(PartiallyParametrizedBenchmark.class.getName() + ".bar",
+				workloadParams));
+
+		assertThat(fixture).isInstanceOf(BenchmarkFixtureDescriptor.class);
+		assertThat(fixture.getDisplayName()).isEqualTo("[foo=b]");
+		assertThat(cache.apply(params(PartiallyParametrizedBenchmark.class.getName() + ".foo")))
+				.isInstanceOf(BenchmarkMethodDescriptor.class);
+	}
+
+	@Test
+	void shouldResolveJvmFlagSetDescriptor() {
+
+		BenchmarkClassDescriptor descriptor = createDescriptor(SimpleBenchmarkClass.class);
+		BenchmarkMethodDescriptor method = (BenchmarkMethodDescriptor) descriptor.getChildren().iterator().next();
+
+		for (JvmFlagSet flagSet : JvmFlagSet.parse("-XX:+UseSerialGC | -XX:+UseParallelGC")) {
+			method.addChild(new JvmFlagSetDescriptor(method.getUniqueId().append("jvmFlags", flagSet.toString()),
+					method.getBenchmarkMethod(), flagSet));
+		}
+
+		CacheFunction cache = new CacheFunction(descriptor.getChildren());
+		String benchmark = CacheFunction.getBenchmarkName(method);
+
+		TestDescriptor parallel = cache.apply(params(benchmark, new WorkloadParams(),
+				Arrays.asList("-Xmx1g", "-XX:+UseParallelGC")));
+		TestDescriptor serial = cache.apply(params(benchmark, new WorkloadParams(),
+				Collections.singletonList("-XX:+UseSerialGC")));
+
+		assertThat(((JvmFlagSetDescriptor) parallel).getFlagSet().getFlags()).containsExactly("-XX:+UseParallelGC");
+		assertThat(((JvmFlagSetDescriptor) serial).getFlagSet().getFlags()).containsExactly("-XX:+UseSerialGC");
+		assertThat(cache.apply(params(benchmark))).isSameAs(method);
+	}
 
 	private BenchmarkClassDescriptor createDescriptor(Class<?> javaClass) {
 
@@ -156,6 +295,19 @@ public class JmhRunnerUnitTests {
 				descriptor.addChild(new BenchmarkMethodDescriptor(descriptor.getUniqueId()
 						.append("method", (method).getName()), method));
 			}
+
+			if (child instanceof ParametrizedBenchmarkMethod) {
+
+				ParametrizedBenchmarkMethod method = (ParametrizedBenchmarkMethod) child;
+				ParametrizedBenchmarkMethodDescriptor methodDescriptor = new ParametrizedBenchmarkMethodDescriptor(
+						descriptor.getUniqueId().append("method", method.getMethod().getName()), method);
+				descriptor.addChild(methodDescriptor);
+
+				for (BenchmarkFixture fixture : method.getChildren()) {
+					methodDescriptor.addChild(new BenchmarkFixtureDescriptor(methodDescriptor.getUniqueId()
+							.append("fixture", fixture.getDisplayName()), method.getDescriptor(), fixture));
+				}
+			}
 		}
 
 		return descriptor;